@@ -61,6 +61,7 @@ public class DMLOptions {
 	public boolean              fedStats      = false;            // Whether to record and print the federated statistics
 	public int                  fedStatsCount = 10;               // Default federated statistics count
 	public boolean              memStats      = false;            // max memory statistics
+	public String               traceFile     = null;             // Path of Chrome trace file of runtime events
 	public Explain.ExplainType  explainType   = Explain.ExplainType.NONE;  // Whether to print the "Explain" and if so, what type
 	public ExecMode             execMode      = OptimizerUtils.getDefaultExecutionMode();  // Execution mode standalone, MR, Spark or a hybrid
 	public boolean              gpu           = false;            // Whether to use the GPU
@@ -105,6 +106,7 @@ public class DMLOptions {
 			", fedMonitoring=" + fedMonitoring +
 			", fedMonitoringAddress" + fedMonitoringAddress +
 			", memStats=" + memStats +
+			", traceFile='" + traceFile + '\'' +
 			", explainType=" + explainType +
 			", execMode=" + execMode +
 			", gpu=" + gpu +
@@ -258,6 +260,9 @@ public class DMLOptions {
 
 		dmlOptions.memStats = line.hasOption("mem");
 
+		if (line.hasOption("trace"))
+			dmlOptions.traceFile = line.getOptionValue("trace");
+
 		dmlOptions.clean = line.hasOption("clean");
 		
 		if (line.hasOption("config")){
@@ -375,6 +380,9 @@ public class DMLOptions {
 			.hasOptionalArg().create("fedStats");
 		Option memOpt = OptionBuilder.withDescription("monitors and reports max memory consumption in CP; default off")
 			.create("mem");
+		Option traceOpt = OptionBuilder.withArgName("filename")
+			.withDescription("records per-instruction, buffer pool, and federated events into a Chrome trace file; default off")
+			.hasArg().create("trace");
 		Option explainOpt = OptionBuilder.withArgName("level")
 			.withDescription("explains plan levels; can be 'hops' / 'runtime'[default] / 'recompile_hops' / 'recompile_runtime'")
 			.hasOptionalArg().create("explain");
@@ -434,6 +442,7 @@ public class DMLOptions {
 		options.addOption(ngramsOpt);
 		options.addOption(fedStatsOpt);
 		options.addOption(memOpt);
+		options.addOption(traceOpt);
 		options.addOption(explainOpt);
 		options.addOption(execOpt);
 		options.addOption(gpuOpt);
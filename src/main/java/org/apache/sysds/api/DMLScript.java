@@ -33,6 +33,7 @@ import java.net.http.HttpResponse;
 import java.text.DateFormat;
 import java.text.SimpleDateFormat;
 import java.util.Date;
+import java.util.List;
 import java.util.Map;
 import java.util.Scanner;
 
@@ -81,6 +82,7 @@ import org.apache.sysds.runtime.util.LocalFileUtils;
 import org.apache.sysds.utils.Explain;
 import org.apache.sysds.utils.Explain.ExplainCounts;
 import org.apache.sysds.utils.Explain.ExplainType;
+import org.apache.sysds.utils.stats.EventTrace;
 import org.apache.sysds.utils.stats.InfrastructureAnalyzer;
 import org.apache.sysds.utils.NativeHelper;
 import org.apache.sysds.utils.SettingsChecker;
@@ -98,6 +100,8 @@ public class DMLScript
 	public static boolean     STATISTICS_NGRAMS          = DMLOptions.defaultOptions.statsNGrams;
 	// Enable/disable to gather memory use stats in JMLC
 	public static boolean     JMLC_MEM_STATISTICS        = false;
+	// Set file of event trace (null if disabled)
+	public static String      TRACE_FILE                 = DMLOptions.defaultOptions.traceFile;
 	// Set maximum heavy hitter count
 	public static int         STATISTICS_COUNT           = DMLOptions.defaultOptions.statsCount;
 	// The sizes of recorded n-gram tuples
@@ -264,6 +268,7 @@ public class DMLScript
 			FED_STATISTICS        = dmlOptions.fedStats;
 			FED_STATISTICS_COUNT  = dmlOptions.fedStatsCount;
 			JMLC_MEM_STATISTICS   = dmlOptions.memStats;
+			TRACE_FILE            = dmlOptions.traceFile;
 			USE_ACCELERATOR       = dmlOptions.gpu;
 			FORCE_ACCELERATOR     = dmlOptions.forceGPU;
 			EXPLAIN               = dmlOptions.explainType;
@@ -298,6 +303,7 @@ public class DMLScript
 			
 			if(dmlOptions.fedWorker) {
 				loadConfiguration(fnameOptConfig);
+				EventTrace.init(TRACE_FILE);
 				new FederatedWorker(dmlOptions.fedWorkerPort, dmlOptions.debug);
 				return true;
 			}
@@ -443,38 +449,48 @@ public class DMLScript
 		//Step 2: configure codegen
 		configureCodeGen();
 
-		//Step 3: parse dml script
+		//Step 3: parse dml script (unless the runtime program is reused from the plan cache)
 		Statistics.startCompileTimer();
-		ParserWrapper parser = ParserFactory.createParser();
-		DMLProgram prog = parser.parse(DML_FILE_PATH_ANTLR_PARSER, dmlScriptStr, argVals);
-		
-		//Step 4: construct HOP DAGs (incl LVA, validate, and setup)
-		DMLTranslator dmlt = new DMLTranslator(prog);
-		dmlt.liveVariableAnalysis(prog);
-		dmlt.validateParseTree(prog);
-		dmlt.constructHops(prog);
+		String planKey = PlanCache.createKey(dmlScriptStr, argVals);
+		if( planKey != null ) //init working directories (before plan cache lookup)
+			initHadoopExecution( ConfigurationManager.getDMLConfig() );
+		Program rtprog = PlanCache.get(planKey);
+		DMLProgram prog = null;
+		if( rtprog == null ) {
+			ParserWrapper parser = ParserFactory.createParser();
+			prog = parser.parse(DML_FILE_PATH_ANTLR_PARSER, dmlScriptStr, argVals);
+			
+			//Step 4: construct HOP DAGs (incl LVA, validate, and setup)
+			DMLTranslator dmlt = new DMLTranslator(prog);
+			dmlt.liveVariableAnalysis(prog);
+			dmlt.validateParseTree(prog);
+			List<String> planDeps = (planKey != null) ? PlanCache.getDependencies(prog) : null;
+			dmlt.constructHops(prog);
+			
+			//init working directories (before usage by following compilation steps)
+			if( planKey == null )
+				initHadoopExecution( ConfigurationManager.getDMLConfig() );
 		
-		//init working directories (before usage by following compilation steps)
-		initHadoopExecution( ConfigurationManager.getDMLConfig() );
+			//Step 5: rewrite HOP DAGs (incl IPA and memory estimates)
+			dmlt.rewriteHopsDAG(prog);
+			
+			//Step 6: construct lops (incl exec type and op selection)
+			dmlt.constructLops(prog);
 	
-		//Step 5: rewrite HOP DAGs (incl IPA and memory estimates)
-		dmlt.rewriteHopsDAG(prog);
-		
-		//Step 6: construct lops (incl exec type and op selection)
-		dmlt.constructLops(prog);
-
-		//Step 7: rewrite LOP DAGs (incl adding new LOPs s.a. prefetch, broadcast)
-		dmlt.rewriteLopDAG(prog);
-		
-		//Step 8: generate runtime program, incl codegen
-		Program rtprog = dmlt.getRuntimeProgram(prog, ConfigurationManager.getDMLConfig());
+			//Step 7: rewrite LOP DAGs (incl adding new LOPs s.a. prefetch, broadcast)
+			dmlt.rewriteLopDAG(prog);
+			
+			//Step 8: generate runtime program, incl codegen
+			rtprog = dmlt.getRuntimeProgram(prog, ConfigurationManager.getDMLConfig());
+			PlanCache.put(planKey, rtprog, planDeps);
+		}
 		
 		//Step 9: prepare statistics [and optional explain output]
 		//count number compiled MR jobs / SP instructions	
 		ExplainCounts counts = Explain.countDistributedOperations(rtprog);
 		Statistics.resetNoOfCompiledJobs( counts.numJobs );
 		
-		//explain plan of program (hops or runtime)
+		//explain plan of program (hops or runtime), never reused from the plan cache
 		if( EXPLAIN != ExplainType.NONE )
 			System.out.println(Explain.display(prog, rtprog, EXPLAIN, counts));
 		
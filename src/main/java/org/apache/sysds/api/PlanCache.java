@@ -0,0 +1,515 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysds.api;
+
+import java.io.File;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.TreeMap;
+import java.util.UUID;
+
+import org.apache.commons.lang3.StringUtils;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.apache.hadoop.fs.FileSystem;
+import org.apache.hadoop.fs.Path;
+import org.apache.sysds.conf.CompilerConfig;
+import org.apache.sysds.conf.CompilerConfig.ConfigType;
+import org.apache.sysds.conf.ConfigurationManager;
+import org.apache.sysds.conf.DMLConfig;
+import org.apache.sysds.hops.OptimizerUtils;
+import org.apache.sysds.lops.Data;
+import org.apache.sysds.lops.Lop;
+import org.apache.sysds.parser.DMLProgram;
+import org.apache.sysds.parser.ForStatement;
+import org.apache.sysds.parser.ForStatementBlock;
+import org.apache.sysds.parser.FunctionDictionary;
+import org.apache.sysds.parser.FunctionStatementBlock;
+import org.apache.sysds.parser.IfStatement;
+import org.apache.sysds.parser.IfStatementBlock;
+import org.apache.sysds.parser.ImportStatement;
+import org.apache.sysds.parser.ParserWrapper;
+import org.apache.sysds.parser.PathStatement;
+import org.apache.sysds.parser.Statement;
+import org.apache.sysds.parser.StatementBlock;
+import org.apache.sysds.parser.WhileStatement;
+import org.apache.sysds.parser.WhileStatementBlock;
+import org.apache.sysds.runtime.controlprogram.BasicProgramBlock;
+import org.apache.sysds.runtime.controlprogram.ForProgramBlock;
+import org.apache.sysds.runtime.controlprogram.FunctionProgramBlock;
+import org.apache.sysds.runtime.controlprogram.IfProgramBlock;
+import org.apache.sysds.runtime.controlprogram.ParForProgramBlock;
+import org.apache.sysds.runtime.controlprogram.Program;
+import org.apache.sysds.runtime.controlprogram.ProgramBlock;
+import org.apache.sysds.runtime.controlprogram.WhileProgramBlock;
+import org.apache.sysds.runtime.instructions.Instruction;
+import org.apache.sysds.runtime.instructions.cp.CPInstruction;
+import org.apache.sysds.runtime.instructions.cp.EvalNaryCPInstruction;
+import org.apache.sysds.runtime.instructions.cp.SpoofCPInstruction;
+import org.apache.sysds.runtime.instructions.cp.VariableCPInstruction;
+import org.apache.sysds.runtime.io.IOUtilFunctions;
+import org.apache.sysds.runtime.meta.DataCharacteristics;
+import org.apache.sysds.runtime.meta.MetaDataAll;
+import org.apache.sysds.runtime.util.ProgramConverter;
+import org.apache.sysds.utils.Explain.ExplainType;
+import org.apache.sysds.utils.stats.InfrastructureAnalyzer;
+import org.apache.sysds.utils.stats.RecompileStatistics;
+
+/**
+ * Persistent, cross-process cache of compiled runtime programs of DML scripts,
+ * which allows repeated invocations of the same script to skip parsing, 
+ * validation, rewrites, and lop/instruction generation.
+ * 
+ * Cache entries are serialized runtime programs (see ProgramConverter) keyed by
+ * a SHA-256 hash over the SystemDS version, script text, script arguments, DML
+ * and compiler configurations, execution mode, as well as the local memory budget
+ * and degree of parallelism. Since compiled plans embed the metadata of persistent
+ * reads, cached plans are only reused if the metadata files of all inputs still
+ * match the dimensions and number of non-zeros the plan was compiled for, and
+ * inputs without metadata files still have the same size and modification time.
+ * Similarly, entries record the content hashes of all DML-bodied builtin scripts
+ * the plan was compiled from, and are only reused if these scripts are unchanged.
+ * 
+ * Only programs that are fully self-contained are cached, i.e., programs of CP
+ * instructions without dynamic recompilation, parfor, eval, or generated operators.
+ * Scripts that source other scripts or change the working directory are not cached,
+ * which is decided on the parsed program.
+ */
+public class PlanCache
+{
+	private static final Log LOG = LogFactory.getLog(PlanCache.class.getName());
+	private static final String SUFFIX = ".plan";
+	private static final String HEADER_DELIM = "\n";
+	private static final String DEP_DELIM = "\t";
+	//dependency types: builtin scripts (content hash), inputs w/o metadata (size and mtime)
+	private static final String DEP_SCRIPT = "S";
+	private static final String DEP_INPUT = "I";
+
+	//version prefix of cache keys, lazily initialized
+	private static String _version = null;
+
+	/**
+	 * Gets the cache directory of the current (thread-local) configuration.
+	 * 
+	 * @return cache directory, or null if disabled
+	 */
+	public static String getDirectory() {
+		String dir = ConfigurationManager.getDMLConfig().getTextValue(DMLConfig.PLAN_CACHE);
+		return StringUtils.isBlank(dir) ? null : dir;
+	}
+
+	public static boolean isEnabled() {
+		return getDirectory() != null;
+	}
+
+	/**
+	 * Creates the cache key of a script under the current configuration.
+	 * 
+	 * @param script DML script string
+	 * @param args map of script arguments
+	 * @return cache key, or null if disabled or not applicable
+	 */
+	public static String createKey(String script, Map<String,String> args) {
+		return createKey(script, args, null, null, null);
+	}
+
+	/**
+	 * Creates the cache key of a script under the current configuration, 
+	 * including the namespace scripts and registered inputs and outputs 
+	 * of prepared JMLC scripts.
+	 * 
+	 * @param script DML script string
+	 * @param args map of script arguments
+	 * @param nsscripts map of namespace scripts, or null
+	 * @param inputs registered input variables, or null
+	 * @param outputs registered output variables, or null
+	 * @return cache key, or null if disabled or not applicable
+	 */
+	public static String createKey(String script, Map<String,String> args,
+		Map<String,String> nsscripts, String[] inputs, String[] outputs)
+	{
+		if( !isEnabled() || script == null || DMLScript.EXPLAIN != ExplainType.NONE
+			|| DMLScript.LINEAGE || DMLScript.USE_ACCELERATOR )
+			return null;
+		
+		StringBuilder sb = new StringBuilder();
+		sb.append(getVersion()).append('\0');
+		sb.append(script).append('\0');
+		if( args != null )
+			sb.append(new TreeMap<>(args)).append('\0');
+		if( nsscripts != null )
+			sb.append(new TreeMap<>(nsscripts)).append('\0');
+		if( inputs != null )
+			sb.append(Arrays.toString(inputs)).append('\0');
+		if( outputs != null )
+			sb.append(Arrays.toString(outputs)).append('\0');
+		sb.append(ConfigurationManager.getDMLConfig().serializeDMLConfig()).append('\0');
+		CompilerConfig cconf = ConfigurationManager.getCompilerConfig();
+		for( ConfigType type : ConfigType.values() )
+			sb.append(cconf.getBool(type)).append(cconf.getInt(type));
+		sb.append('\0');
+		sb.append(DMLScript.getGlobalExecMode()).append('\0');
+		sb.append(OptimizerUtils.getLocalMemBudget()).append('\0');
+		sb.append(InfrastructureAnalyzer.getLocalParallelism());
+		
+		try {
+			MessageDigest md = MessageDigest.getInstance("SHA-256");
+			md.update(sb.toString().getBytes(StandardCharsets.UTF_8));
+			return String.format("%064x", new BigInteger(1, md.digest()));
+		}
+		catch(NoSuchAlgorithmException ex) {
+			throw new RuntimeException(ex);
+		}
+	}
+
+	/**
+	 * Obtains a previously compiled runtime program from the cache.
+	 * 
+	 * @param key cache key
+	 * @return runtime program, or null if not cached or invalid
+	 */
+	public static Program get(String key) {
+		String dir = getDirectory();
+		if( dir == null || key == null )
+			return null;
+		long t0 = DMLScript.STATISTICS ? System.nanoTime() : 0;
+		File f = new File(dir, key + SUFFIX);
+		Program ret = null;
+		try {
+			if( f.exists() ) {
+				String entry = new String(Files.readAllBytes(f.toPath()), StandardCharsets.UTF_8);
+				//header: process uuid, dependencies, and empty line
+				int pos = entry.indexOf(HEADER_DELIM);
+				String uuid = entry.substring(0, pos);
+				Map<String,String> deps = new TreeMap<>();
+				int next = entry.indexOf(HEADER_DELIM, pos + 1);
+				while( next > pos + 1 ) {
+					String[] dep = entry.substring(pos + 1, next).split(DEP_DELIM, 2);
+					deps.put(dep[0], dep[1]);
+					pos = next;
+					next = entry.indexOf(HEADER_DELIM, pos + 1);
+				}
+				if( !isValidDependencies(deps) ) {
+					LOG.debug("Invalidated plan cache entry "+f.getName()+" due to changed dependencies.");
+				}
+				else {
+					//replace the process uuid of compilation in all scratch space file names
+					String progStr = entry.substring(next + HEADER_DELIM.length()).replace(
+						Lop.PROCESS_PREFIX + uuid, Lop.PROCESS_PREFIX + DMLScript.getUUID());
+					ret = ProgramConverter.parseRuntimeProgram(progStr);
+					if( !isValid(ret, deps) ) {
+						LOG.debug("Invalidated plan cache entry "+f.getName()+" due to changed input metadata.");
+						ret = null;
+					}
+				}
+			}
+		}
+		catch(Exception ex) {
+			LOG.warn("Failed to read plan cache entry "+f.getName()+".", ex);
+			f.delete();
+			ret = null;
+		}
+		if( DMLScript.STATISTICS ) {
+			if( ret != null )
+				RecompileStatistics.incrementPlanCacheHits(System.nanoTime()-t0);
+			else
+				RecompileStatistics.incrementPlanCacheMisses();
+		}
+		return ret;
+	}
+
+	/**
+	 * Collects the builtin scripts a parsed program depends on, and indicates 
+	 * if the program is cacheable w.r.t. its statements, i.e., if it does not 
+	 * source other scripts or change the working directory.
+	 * 
+	 * @param prog parsed (and validated) DML program
+	 * @return list of builtin script files, or null if not cacheable
+	 */
+	public static List<String> getDependencies(DMLProgram prog) {
+		if( !isEnabled() || prog == null || rHasImports(prog.getStatementBlocks()) )
+			return null;
+		List<String> ret = new ArrayList<>();
+		for( Entry<String, FunctionDictionary<FunctionStatementBlock>> ns : prog.getNamespaces().entrySet() ) {
+			boolean builtin = DMLProgram.BUILTIN_NAMESPACE.equals(ns.getKey());
+			for( FunctionStatementBlock fsb : ns.getValue().getFunctions().values() ) {
+				String fname = fsb.getStatement(0).getFilename();
+				if( fname == null || ret.contains(fname) )
+					continue;
+				//functions of other namespaces stem from sourced scripts, except for
+				//scripts sourced by builtin functions (which are builtin scripts too)
+				if( !builtin && !DMLProgram.DEFAULT_NAMESPACE.equals(ns.getKey())
+					&& !fname.startsWith("scripts/") )
+					return null;
+				if( builtin || fname.startsWith("scripts/") )
+					ret.add(fname);
+			}
+		}
+		return ret;
+	}
+
+	/**
+	 * Puts a compiled runtime program into the cache if it is self-contained.
+	 * Failures are logged but not propagated, because the cache is an 
+	 * optimization only.
+	 * 
+	 * @param key cache key
+	 * @param prog runtime program
+	 * @param scripts builtin scripts the program depends on, null if not cacheable
+	 * @return true if the program was written to the cache
+	 */
+	public static boolean put(String key, Program prog, List<String> scripts) {
+		String dir = getDirectory();
+		if( dir == null || key == null || scripts == null || !isCacheable(prog) )
+			return false;
+		new File(dir).mkdirs();
+		File f = new File(dir, key + SUFFIX);
+		File ftmp = new File(dir, f.getName() + "." + UUID.randomUUID() + ".tmp");
+		try {
+			StringBuilder sb = new StringBuilder();
+			sb.append(DMLScript.getUUID()).append(HEADER_DELIM);
+			for( String script : scripts )
+				appendDependency(sb, DEP_SCRIPT + script, hashScript(script));
+			for( String input : getInputsWithoutMetadata(prog) )
+				appendDependency(sb, DEP_INPUT + input, getFingerprint(input));
+			sb.append(HEADER_DELIM);
+			String entry = sb.append(ProgramConverter.serializeRuntimeProgram(prog)).toString();
+			Files.write(ftmp.toPath(), entry.getBytes(StandardCharsets.UTF_8));
+			try {
+				Files.move(ftmp.toPath(), f.toPath(), StandardCopyOption.ATOMIC_MOVE);
+			}
+			catch(AtomicMoveNotSupportedException ex) {
+				Files.move(ftmp.toPath(), f.toPath(), StandardCopyOption.REPLACE_EXISTING);
+			}
+			return true;
+		}
+		catch(Exception ex) {
+			LOG.warn("Failed to write plan cache entry "+f.getName()+".", ex);
+			ftmp.delete();
+			return false;
+		}
+	}
+
+	/**
+	 * Indicates if a runtime program can be reused without its HOP DAGs.
+	 * 
+	 * @param prog runtime program
+	 * @return true if the program is self-contained
+	 */
+	public static boolean isCacheable(Program prog) {
+		return rIsCacheable(prog, new ArrayList<>());
+	}
+
+	private static boolean rIsCacheable(Program prog, ArrayList<Instruction> insts) {
+		for( FunctionProgramBlock fpb : prog.getFunctionProgramBlocks(true).values() )
+			if( !rIsCacheable(fpb, insts) )
+				return false;
+		for( FunctionProgramBlock fpb : prog.getFunctionProgramBlocks(false).values() )
+			if( !rIsCacheable(fpb, insts) )
+				return false;
+		for( ProgramBlock pb : prog.getProgramBlocks() )
+			if( !rIsCacheable(pb, insts) )
+				return false;
+		return insts.stream().allMatch(inst -> isCacheable(inst));
+	}
+
+	private static boolean rIsCacheable(ProgramBlock pb, ArrayList<Instruction> insts) {
+		//note: programs parsed from the cache have no statement blocks
+		boolean recompile = ConfigurationManager.isDynamicRecompilation();
+		StatementBlock sb = pb.getStatementBlock();
+		ArrayList<ProgramBlock> childs = null;
+		if( pb instanceof ParForProgramBlock )
+			return false;
+		else if( pb instanceof WhileProgramBlock ) {
+			WhileProgramBlock wpb = (WhileProgramBlock) pb;
+			if( recompile && sb != null && ((WhileStatementBlock)sb).requiresPredicateRecompilation() )
+				return false;
+			insts.addAll(wpb.getPredicate());
+			childs = wpb.getChildBlocks();
+		}
+		else if( pb instanceof ForProgramBlock ) {
+			ForProgramBlock fpb = (ForProgramBlock) pb;
+			if( recompile && sb != null && ((ForStatementBlock)sb).requiresPredicateRecompilation() )
+				return false;
+			insts.addAll(fpb.getFromInstructions());
+			insts.addAll(fpb.getToInstructions());
+			insts.addAll(fpb.getIncrementInstructions());
+			childs = fpb.getChildBlocks();
+		}
+		else if( pb instanceof IfProgramBlock ) {
+			IfProgramBlock ipb = (IfProgramBlock) pb;
+			if( recompile && sb != null && ((IfStatementBlock)sb).requiresPredicateRecompilation() )
+				return false;
+			insts.addAll(ipb.getPredicate());
+			childs = new ArrayList<>(ipb.getChildBlocksIfBody());
+			if( ipb.getChildBlocksElseBody() != null )
+				childs.addAll(ipb.getChildBlocksElseBody());
+		}
+		else if( pb instanceof FunctionProgramBlock ) {
+			FunctionProgramBlock fpb = (FunctionProgramBlock) pb;
+			if( fpb.isRecompileOnce() )
+				return false;
+			childs = fpb.getChildBlocks();
+		}
+		else if( pb instanceof BasicProgramBlock ) {
+			if( recompile && sb != null && sb.requiresRecompilation() )
+				return false;
+			insts.addAll(((BasicProgramBlock) pb).getInstructions());
+		}
+		else
+			return false;
+		
+		if( childs != null )
+			for( ProgramBlock c : childs )
+				if( !rIsCacheable(c, insts) )
+					return false;
+		return true;
+	}
+
+	private static boolean isCacheable(Instruction inst) {
+		//CP instructions w/o generated operators, eval (which requires the
+		//HOP DAGs of loaded functions), or characters used as delimiters
+		return inst instanceof CPInstruction
+			&& !(inst instanceof SpoofCPInstruction)
+			&& !(inst instanceof EvalNaryCPInstruction)
+			&& !StringUtils.containsAny(inst.toString(), ProgramConverter.COMPONENTS_DELIM,
+				ProgramConverter.ELEMENT_DELIM, ProgramConverter.LEVELIN, ProgramConverter.LEVELOUT);
+	}
+
+	private static boolean isValid(Program prog, Map<String,String> deps) throws Exception {
+		ArrayList<Instruction> insts = new ArrayList<>();
+		if( !rIsCacheable(prog, insts) )
+			return false;
+		for( VariableCPInstruction vinst : getPersistentReads(insts) ) {
+			//compare compiled with current metadata of persistent reads
+			String fname = vinst.getInput2().getName();
+			MetaDataAll mtd = new MetaDataAll(fname + ".mtd", true, true);
+			DataCharacteristics dc = vinst.getMetaData().getDataCharacteristics();
+			if( !mtd.mtdExists() ) {
+				//compare compiled with current size and modification time
+				if( !getFingerprint(fname).equals(deps.get(DEP_INPUT + fname)) )
+					return false;
+			}
+			else if( (dc.rowsKnown() && dc.getRows() != mtd.getDim1())
+				|| (dc.colsKnown() && dc.getCols() != mtd.getDim2())
+				|| (dc.nnzKnown() && dc.getNonZeros() != mtd.getNnz()) )
+				return false;
+		}
+		return true;
+	}
+
+	private static boolean isValidDependencies(Map<String,String> deps) throws Exception {
+		for( Entry<String,String> dep : deps.entrySet() )
+			if( dep.getKey().startsWith(DEP_SCRIPT)
+				&& !hashScript(dep.getKey().substring(1)).equals(dep.getValue()) )
+				return false;
+		return true;
+	}
+
+	private static List<VariableCPInstruction> getPersistentReads(List<Instruction> insts) {
+		List<VariableCPInstruction> ret = new ArrayList<>();
+		for( Instruction inst : insts ) {
+			if( !(inst instanceof VariableCPInstruction) )
+				continue;
+			VariableCPInstruction vinst = (VariableCPInstruction) inst;
+			if( vinst.isCreateVariable() && vinst.getMetaData() != null
+				&& vinst.getInput1().getName().startsWith(Data.PREAD_PREFIX) )
+				ret.add(vinst);
+		}
+		return ret;
+	}
+
+	private static List<String> getInputsWithoutMetadata(Program prog) {
+		ArrayList<Instruction> insts = new ArrayList<>();
+		rIsCacheable(prog, insts);
+		List<String> ret = new ArrayList<>();
+		for( VariableCPInstruction vinst : getPersistentReads(insts) ) {
+			String fname = vinst.getInput2().getName();
+			if( !ret.contains(fname) && !new MetaDataAll(fname + ".mtd", true, true).mtdExists() )
+				ret.add(fname);
+		}
+		return ret;
+	}
+
+	private static String getFingerprint(String fname) throws Exception {
+		//size and modification time of the input file (or directory of part files)
+		Path path = new Path(fname);
+		FileSystem fs = IOUtilFunctions.getFileSystem(path);
+		if( !fs.exists(path) )
+			return "none";
+		return fs.getContentSummary(path).getLength() + ":" + fs.getFileStatus(path).getModificationTime();
+	}
+
+	private static String hashScript(String fname) throws Exception {
+		//resolve the script like the parser (local file system, scripts directory, or jar)
+		MessageDigest md = MessageDigest.getInstance("SHA-256");
+		md.update(ParserWrapper.readDMLScript(fname, LOG).getBytes(StandardCharsets.UTF_8));
+		return String.format("%064x", new BigInteger(1, md.digest()));
+	}
+
+	private static void appendDependency(StringBuilder sb, String name, String value) {
+		sb.append(name).append(DEP_DELIM).append(value).append(HEADER_DELIM);
+	}
+
+	private static boolean rHasImports(List<StatementBlock> sbs) {
+		for( StatementBlock sb : sbs ) {
+			for( Statement stmt : sb.getStatements() ) {
+				if( stmt instanceof ImportStatement || stmt instanceof PathStatement )
+					return true;
+				else if( stmt instanceof IfStatement && (rHasImports(((IfStatement) stmt).getIfBody())
+					|| rHasImports(((IfStatement) stmt).getElseBody())) )
+					return true;
+				else if( stmt instanceof WhileStatement && rHasImports(((WhileStatement) stmt).getBody()) )
+					return true;
+				else if( stmt instanceof ForStatement && rHasImports(((ForStatement) stmt).getBody()) )
+					return true;
+			}
+		}
+		return false;
+	}
+
+	private static String getVersion() {
+		if( _version == null )
+			_version = createVersion();
+		return _version;
+	}
+
+	private static String createVersion() {
+		//note: the implementation version is only available for jar deployments,
+		//for other deployments we use the modification time of the code source
+		String version = PlanCache.class.getPackage().getImplementationVersion();
+		if( version == null ) {
+			File codeSource = new File(PlanCache.class
+				.getProtectionDomain().getCodeSource().getLocation().getPath());
+			version = "dev-" + codeSource.lastModified();
+		}
+		return version + "-" + System.getProperty("java.specification.version");
+	}
+}
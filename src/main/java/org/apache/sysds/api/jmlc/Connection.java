@@ -27,6 +27,7 @@ import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.List;
 import java.util.Map;
 
 import org.apache.hadoop.fs.FileSystem;
@@ -35,6 +36,7 @@ import org.apache.sysds.hops.OptimizerUtils;
 import org.apache.sysds.runtime.meta.MetaDataAll;
 import org.apache.sysds.api.DMLException;
 import org.apache.sysds.api.DMLScript;
+import org.apache.sysds.api.PlanCache;
 import org.apache.sysds.common.Types.ExecMode;
 import org.apache.sysds.common.Types.FileFormat;
 import org.apache.sysds.conf.CompilerConfig;
@@ -248,8 +250,11 @@ public class Connection implements Closeable
 		
 		setLocalConfigs();
 		
-		//simplified compilation chain
-		Program rtprog = null;
+		//simplified compilation chain (unless reused from the plan cache)
+		String planKey = PlanCache.createKey(script, args, nsscripts, inputs, outputs);
+		Program rtprog = PlanCache.get(planKey);
+		if( rtprog != null )
+			return new PreparedScript(rtprog, inputs, outputs, _dmlconf, _cconf);
 		try {
 			//parsing
 			ParserWrapper parser = ParserFactory.createParser(nsscripts);
@@ -259,6 +264,7 @@ public class Connection implements Closeable
 			DMLTranslator dmlt = new DMLTranslator(prog);
 			dmlt.liveVariableAnalysis(prog);
 			dmlt.validateParseTree(prog);
+			List<String> planDeps = (planKey != null) ? PlanCache.getDependencies(prog) : null;
 			
 			//hop construct/rewrite
 			dmlt.constructHops(prog);
@@ -275,6 +281,7 @@ public class Connection implements Closeable
 			
 			//final cleanup runtime prog
 			JMLCUtils.cleanupRuntimeProgram(rtprog, outputs);
+			PlanCache.put(planKey, rtprog, planDeps);
 		}
 		catch(ParseException pe) {
 			// don't chain ParseException (for cleaner error output)
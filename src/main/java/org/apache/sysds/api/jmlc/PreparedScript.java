@@ -37,6 +37,8 @@ import org.apache.sysds.runtime.DMLRuntimeException;
 import org.apache.sysds.runtime.controlprogram.FunctionProgramBlock;
 import org.apache.sysds.runtime.controlprogram.LocalVariableMap;
 import org.apache.sysds.runtime.controlprogram.Program;
+import org.apache.sysds.runtime.controlprogram.caching.CacheableData;
+import org.apache.sysds.runtime.controlprogram.caching.CacheableData.CacheStatus;
 import org.apache.sysds.runtime.controlprogram.caching.FrameObject;
 import org.apache.sysds.runtime.controlprogram.caching.MatrixObject;
 import org.apache.sysds.runtime.controlprogram.context.ExecutionContext;
@@ -55,6 +57,7 @@ import org.apache.sysds.runtime.util.DataConverter;
 import org.apache.sysds.utils.Explain;
 import org.apache.sysds.utils.Statistics;
 
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
@@ -71,6 +74,8 @@ public class PreparedScript implements ConfigurableAPI
 	//input/output specification
 	private final HashSet<String> _inVarnames;
 	private final HashSet<String> _outVarnames;
+	private final String[] _inputs;
+	private final String[] _outputs;
 	private final LocalVariableMap _inVarReuse;
 	
 	//internal state (reused)
@@ -80,6 +85,12 @@ public class PreparedScript implements ConfigurableAPI
 	private final CompilerConfig _cconf;
 	private HashMap<String, String> _outVarLineage;
 	
+	//hot execution state (reused across invocations)
+	private boolean _hot = false;
+	private Data[] _inSlots;
+	private ExecutionContext _ec;
+	private ResultVariables _rvars;
+	
 	private PreparedScript(PreparedScript that) {
 		//shallow copy, except for a separate symbol table
 		//and related meta data of reused inputs
@@ -90,9 +101,13 @@ public class PreparedScript implements ConfigurableAPI
 		_vars.setRegisteredOutputs(that._outVarnames);
 		_inVarnames = that._inVarnames;
 		_outVarnames = that._outVarnames;
+		_inputs = that._inputs;
+		_outputs = that._outputs;
 		_inVarReuse = new LocalVariableMap(that._inVarReuse);
 		_dmlconf = that._dmlconf;
 		_cconf = that._cconf;
+		_outVarLineage = new HashMap<>();
+		enableHotExecution(that._hot);
 	}
 	
 	/**
@@ -114,6 +129,8 @@ public class PreparedScript implements ConfigurableAPI
 		Collections.addAll(_inVarnames, inputs);
 		_outVarnames = new HashSet<>();
 		Collections.addAll(_outVarnames, outputs);
+		_inputs = inputs;
+		_outputs = outputs;
 		_inVarReuse = new LocalVariableMap();
 		
 		//attach registered outputs (for dynamic recompile)
@@ -160,6 +177,125 @@ public class PreparedScript implements ConfigurableAPI
 		return _cconf;
 	}
 	
+	/**
+	 * Enables or disables the hot execution mode for repeated scoring
+	 * with small inputs. In hot mode, inputs are bound by index to slots
+	 * which remain bound across invocations and reuse their matrix/frame
+	 * wrappers, while the execution context and result variables are reused
+	 * as well. Accordingly, the returned {@link ResultVariables} are only
+	 * valid until the next call of {@code executeScript}, and concurrent
+	 * executions require separate clones of the prepared script.
+	 * 
+	 * @param flag if {@code true}, enable hot execution mode
+	 */
+	public void enableHotExecution(boolean flag) {
+		_hot = flag;
+		_inSlots = flag ? new Data[_inputs.length] : null;
+		_ec = null;
+		_rvars = flag ? new ResultVariables() : null;
+	}
+	
+	/**
+	 * Indicates if the hot execution mode is enabled.
+	 * 
+	 * @return true if hot execution mode is enabled
+	 */
+	public boolean isHotExecution() {
+		return _hot;
+	}
+	
+	/**
+	 * Obtain the index of a registered input variable, according to the
+	 * order of inputs at script preparation, for index-based input binding.
+	 * 
+	 * @param varname input variable name
+	 * @return input index
+	 */
+	public int getInputIndex(String varname) {
+		for( int i=0; i<_inputs.length; i++ )
+			if( _inputs[i].equals(varname) )
+				return i;
+		throw new DMLException("Unspecified input variable: "+varname);
+	}
+	
+	/**
+	 * Binds a scalar double to the registered input variable
+	 * at the given index.
+	 * 
+	 * @param index input index, see {@link #getInputIndex(String)}
+	 * @param scalar double value
+	 */
+	public void setScalar(int index, double scalar) {
+		setScalar(index, new DoubleObject(scalar));
+	}
+	
+	/**
+	 * Binds a scalar object to the registered input variable
+	 * at the given index.
+	 * 
+	 * @param index input index, see {@link #getInputIndex(String)}
+	 * @param scalar scalar object
+	 */
+	public void setScalar(int index, ScalarObject scalar) {
+		if( _hot )
+			_inSlots[checkInputIndex(index)] = scalar;
+		else
+			setScalar(_inputs[checkInputIndex(index)], scalar, false);
+	}
+	
+	/**
+	 * Binds a matrix block to the registered input variable at the given
+	 * index. In hot execution mode, the matrix wrapper of the slot is reused.
+	 * 
+	 * @param index input index, see {@link #getInputIndex(String)}
+	 * @param matrix matrix represented as a MatrixBlock
+	 */
+	public void setMatrix(int index, MatrixBlock matrix) {
+		if( !_hot ) {
+			setMatrix(_inputs[checkInputIndex(index)], matrix, false);
+			return;
+		}
+		Data slot = _inSlots[checkInputIndex(index)];
+		MatrixObject mo = (slot instanceof MatrixObject && isReusable((MatrixObject) slot)) ?
+			(MatrixObject) slot : createMatrixObject(matrix);
+		mo.acquireModify(matrix);
+		mo.release();
+		_inSlots[index] = mo;
+	}
+	
+	/**
+	 * Binds a frame block to the registered input variable at the given
+	 * index. In hot execution mode, the frame wrapper of the slot is reused.
+	 * 
+	 * @param index input index, see {@link #getInputIndex(String)}
+	 * @param frame frame represented as a FrameBlock
+	 */
+	public void setFrame(int index, FrameBlock frame) {
+		if( !_hot ) {
+			setFrame(_inputs[checkInputIndex(index)], frame, false);
+			return;
+		}
+		Data slot = _inSlots[checkInputIndex(index)];
+		FrameObject fo = (slot instanceof FrameObject && isReusable((FrameObject) slot)) ?
+			(FrameObject) slot : createFrameObject(frame);
+		fo.acquireModify(frame);
+		fo.release();
+		_inSlots[index] = fo;
+	}
+	
+	private static boolean isReusable(CacheableData<?> cd) {
+		//wrappers might remain pinned after failed executions
+		CacheStatus status = cd.getStatus();
+		return status == CacheStatus.EMPTY || status == CacheStatus.CACHED
+			|| status == CacheStatus.CACHED_NOWRITE;
+	}
+	
+	private int checkInputIndex(int index) {
+		if( index < 0 || index >= _inputs.length )
+			throw new DMLException("Invalid input index: "+index+" (num inputs: "+_inputs.length+").");
+		return index;
+	}
+	
 	/**
 	 * Binds a scalar boolean to a registered input variable.
 	 * 
@@ -292,12 +428,8 @@ public class PreparedScript implements ConfigurableAPI
 		if( !_inVarnames.contains(varname) )
 			throw new DMLException("Unspecified input variable: "+varname);
 				
-		int blocksize = ConfigurationManager.getBlocksize();
-		
 		//create new matrix object
-		MatrixCharacteristics mc = new MatrixCharacteristics(matrix.getNumRows(), matrix.getNumColumns(), blocksize, blocksize);
-		MetaDataFormat meta = new MetaDataFormat(mc, FileFormat.BINARY);
-		MatrixObject mo = new MatrixObject(ValueType.FP64, OptimizerUtils.getUniqueTempFileName(), meta);
+		MatrixObject mo = createMatrixObject(matrix);
 		mo.acquireModify(matrix); 
 		mo.release();
 		
@@ -393,9 +525,7 @@ public class PreparedScript implements ConfigurableAPI
 			throw new DMLException("Unspecified input variable: "+varname);
 		
 		//create new frame object
-		MatrixCharacteristics mc = new MatrixCharacteristics(frame.getNumRows(), frame.getNumColumns(), -1, -1);
-		MetaDataFormat meta = new MetaDataFormat(mc, FileFormat.BINARY);
-		FrameObject fo = new FrameObject(OptimizerUtils.getUniqueTempFileName(), meta);
+		FrameObject fo = createFrameObject(frame);
 		fo.acquireModify(frame);
 		fo.release();
 		
@@ -407,12 +537,33 @@ public class PreparedScript implements ConfigurableAPI
 		}
 	}
 	
+	private MatrixObject createMatrixObject(MatrixBlock matrix) {
+		int blocksize = ConfigurationManager.getBlocksize();
+		MatrixCharacteristics mc = new MatrixCharacteristics(matrix.getNumRows(), matrix.getNumColumns(), blocksize, blocksize);
+		MetaDataFormat meta = new MetaDataFormat(mc, FileFormat.BINARY);
+		MatrixObject mo = new MatrixObject(ValueType.FP64, OptimizerUtils.getUniqueTempFileName(), meta);
+		if( _hot )
+			mo.enableCleanup(false); //prevent cleanup of reused slots
+		return mo;
+	}
+	
+	private FrameObject createFrameObject(FrameBlock frame) {
+		MatrixCharacteristics mc = new MatrixCharacteristics(frame.getNumRows(), frame.getNumColumns(), -1, -1);
+		MetaDataFormat meta = new MetaDataFormat(mc, FileFormat.BINARY);
+		FrameObject fo = new FrameObject(OptimizerUtils.getUniqueTempFileName(), meta);
+		if( _hot )
+			fo.enableCleanup(false); //prevent cleanup of reused slots
+		return fo;
+	}
+	
 	/**
 	 * Remove all current values bound to input or output variables.
 	 * 
 	 */
 	public void clearParameters() {
 		_vars.removeAll();
+		if( _hot )
+			Arrays.fill(_inSlots, null);
 	}
 
 	/**
@@ -431,6 +582,9 @@ public class PreparedScript implements ConfigurableAPI
 	 * @return ResultVariables object encapsulating output results
 	 */
 	public ResultVariables executeScript() {
+		if( _hot )
+			return executeScriptHot();
+		
 		//add reused variables
 		_vars.putAll(_inVarReuse);
 		
@@ -464,6 +618,49 @@ public class PreparedScript implements ConfigurableAPI
 		return rvars;
 	}
 	
+	private ResultVariables executeScriptHot() {
+		//add reused variables and bound input slots
+		_vars.putAll(_inVarReuse);
+		for( int i=0; i<_inSlots.length; i++ )
+			if( _inSlots[i] != null )
+				_vars.put(_inputs[i], _inSlots[i]);
+		
+		//set thread-local configurations
+		ConfigurationManager.setLocalConfig(_dmlconf);
+		ConfigurationManager.setLocalConfig(_cconf);
+		
+		//create execution context once (lineage is maintained per invocation)
+		ExecutionContext ec = (_ec != null) ? _ec :
+			ExecutionContextFactory.createContext(_vars, _prog);
+		
+		try {
+			//core execute runtime program (drop context on failures)
+			_ec = null;
+			_prog.execute(ec);
+			_ec = (ec.getLineage() == null) ? ec : null;
+			
+			//cleanup unnecessary outputs
+			_vars.removeAllNotIn(_outVarnames);
+			
+			//construct results into reused result variables
+			_rvars.clear();
+			for( String ovar : _outputs ) {
+				Data tmpVar = _vars.get(ovar);
+				if( tmpVar != null ) {
+					_rvars.addResult(ovar, tmpVar);
+					if( ec.getLineage() != null )
+						_outVarLineage.put(ovar, Explain.explain(ec.getLineage().get(ovar)));
+				}
+			}
+		}
+		finally {
+			//clear thread-local configurations
+			ConfigurationManager.clearLocalConfigs();
+		}
+		
+		return _rvars;
+	}
+	
 	/**
 	 * Explain the DML/PyDML program and view result as a string.
 	 * 
@@ -500,6 +697,8 @@ public class PreparedScript implements ConfigurableAPI
 	 * program blocks. Use this fine-grained recompilation option for important
 	 * functions in small-data scenarios where dynamic recompilation overheads 
 	 * might not be amortized.  
+	 * Programs reused from the plan cache cannot be recompiled; connections 
+	 * relying on function recompilation need to disable the plan cache.
 	 * 
 	 * @param fnamespace function namespace, null for default namespace
 	 * @param fnames function name
@@ -509,6 +708,11 @@ public class PreparedScript implements ConfigurableAPI
 		if( fnamespace == null )
 			fnamespace = DMLProgram.DEFAULT_NAMESPACE;
 		
+		//programs reused from the plan cache carry no statement blocks and hops
+		if( !_prog.getProgramBlocks().isEmpty() && _prog.getProgramBlocks().get(0).getStatementBlock() == null )
+			throw new DMLException("Function recompile not supported for programs reused from the plan cache "
+				+ "(disable "+DMLConfig.PLAN_CACHE+" in the connection config).");
+		
 		//enable dynamic recompilation (note that this does not globally enable
 		//dynamic recompilation because the program has been compiled already)
 		CompilerConfig cconf = ConfigurationManager.getCompilerConfig();
@@ -229,4 +229,12 @@ public class ResultVariables
 	protected void addResult(String ovar, Data data) {
 		_out.put(ovar, data);
 	}
+	
+	/**
+	 * Remove all output data from this ResultVariables object, which
+	 * allows reusing the object across hot executions of a {@link PreparedScript}.
+	 */
+	protected void clear() {
+		_out.clear();
+	}
 }
@@ -0,0 +1,221 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.sysds.api.jmlc;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.apache.sysds.api.DMLException;
+import org.apache.sysds.runtime.matrix.data.MatrixBlock;
+import org.apache.sysds.runtime.util.DataConverter;
+
+/**
+ * Thread-safe scoring service on top of a prepared script, which owns a pool
+ * of script clones (one per worker) and micro-batches concurrent single-row
+ * requests into one script invocation. Each worker takes all pending requests
+ * (up to the maximum batch size), stacks their rows into one input matrix,
+ * executes its script clone in hot execution mode, and splits the output
+ * rows back into the individual futures. Hence, batching adapts to the load
+ * without adding latency to isolated requests.
+ * 
+ * Additional inputs like model weights are bound once to the given prepared
+ * script with {@code reuse=true} before creating the service. The script is
+ * expected to produce one output row per input row.
+ */
+public class ScoringService implements AutoCloseable
+{
+	private static final Log LOG = LogFactory.getLog(ScoringService.class.getName());
+	
+	private final String _input;
+	private final String _output;
+	private final int _maxBatchSize;
+	private final LinkedBlockingQueue<ScoringRequest> _queue;
+	private final ExecutorService _workers;
+	private volatile boolean _closed = false;
+	
+	/**
+	 * Creates a scoring service with the given number of workers.
+	 * 
+	 * @param pscript prepared script, with all inputs except the scored rows bound for reuse
+	 * @param input input variable name of the stacked rows
+	 * @param output output variable name of the scored rows
+	 * @param numWorkers number of workers, each with a separate script clone
+	 * @param maxBatchSize maximum number of rows per script invocation
+	 */
+	public ScoringService(PreparedScript pscript, String input, String output, int numWorkers, int maxBatchSize) {
+		if( numWorkers < 1 || maxBatchSize < 1 )
+			throw new DMLException("Invalid scoring service configuration: "
+				+ "numWorkers="+numWorkers+", maxBatchSize="+maxBatchSize);
+		_input = input;
+		_output = output;
+		_maxBatchSize = maxBatchSize;
+		_queue = new LinkedBlockingQueue<>();
+		_workers = Executors.newFixedThreadPool(numWorkers, r -> {
+			Thread t = new Thread(r, "ScoringService-Worker");
+			t.setDaemon(true);
+			return t;
+		});
+		for( int i=0; i<numWorkers; i++ ) {
+			PreparedScript clone = pscript.clone(false);
+			clone.enableHotExecution(true);
+			_workers.submit(new ScoringWorker(clone, clone.getInputIndex(input)));
+		}
+	}
+	
+	/**
+	 * Submits a single row for scoring.
+	 * 
+	 * @param row input row as double array
+	 * @return future of the output row as double array
+	 */
+	public Future<double[]> score(double[] row) {
+		return submit(DataConverter.convertToMatrixBlock(row, false))
+			.thenApply(mb -> DataConverter.convertToDoubleVector(mb, false, false));
+	}
+	
+	/**
+	 * Submits a single row for scoring.
+	 * 
+	 * @param row input row as 1 x n matrix block
+	 * @return future of the output row as 1 x m matrix block
+	 */
+	public Future<MatrixBlock> score(MatrixBlock row) {
+		if( row.getNumRows() != 1 )
+			throw new DMLException("Expected a single input row, but got "+row.getNumRows()+" rows.");
+		return submit(row);
+	}
+	
+	/**
+	 * Obtain the number of submitted but not yet processed requests.
+	 * 
+	 * @return number of pending requests
+	 */
+	public int getNumPending() {
+		return _queue.size();
+	}
+	
+	private CompletableFuture<MatrixBlock> submit(MatrixBlock row) {
+		if( _closed )
+			throw new DMLException("Scoring service already closed.");
+		ScoringRequest req = new ScoringRequest(row);
+		_queue.add(req);
+		return req.future;
+	}
+	
+	/**
+	 * Stops all workers and fails all pending requests.
+	 */
+	@Override
+	public void close() {
+		_closed = true;
+		_workers.shutdownNow();
+		try {
+			_workers.awaitTermination(10, TimeUnit.SECONDS);
+		}
+		catch(InterruptedException ex) {
+			Thread.currentThread().interrupt();
+		}
+		ScoringRequest req = null;
+		while( (req = _queue.poll()) != null )
+			req.future.completeExceptionally(new DMLException("Scoring service closed."));
+	}
+	
+	private static class ScoringRequest {
+		private final MatrixBlock row;
+		private final CompletableFuture<MatrixBlock> future;
+		
+		private ScoringRequest(MatrixBlock row) {
+			this.row = row;
+			this.future = new CompletableFuture<>();
+		}
+	}
+	
+	private class ScoringWorker implements Runnable {
+		private final PreparedScript _pscript;
+		private final int _ixInput;
+		private final List<ScoringRequest> _batch;
+		
+		private ScoringWorker(PreparedScript pscript, int ixInput) {
+			_pscript = pscript;
+			_ixInput = ixInput;
+			_batch = new ArrayList<>(_maxBatchSize);
+		}
+		
+		@Override
+		public void run() {
+			try {
+				while( !Thread.currentThread().isInterrupted() ) {
+					//blocking take of first request, then all pending requests
+					_batch.add(_queue.take());
+					_queue.drainTo(_batch, _maxBatchSize - 1);
+					score(_batch);
+					_batch.clear();
+				}
+			}
+			catch(InterruptedException ex) {
+				//shutdown of scoring service
+				for( ScoringRequest req : _batch )
+					req.future.completeExceptionally(new DMLException("Scoring service closed."));
+			}
+		}
+		
+		private void score(List<ScoringRequest> batch) {
+			//fail requests w/ different number of columns than the first
+			int ncol = batch.get(0).row.getNumColumns();
+			batch.removeIf(req -> req.row.getNumColumns() != ncol
+				&& req.future.completeExceptionally(new DMLException("Input '"+_input+"' row with "
+					+req.row.getNumColumns()+" columns, but expected "+ncol+" columns.")));
+			try {
+				_pscript.setMatrix(_ixInput, stackRows(batch, ncol));
+				MatrixBlock out = _pscript.executeScript().getMatrixBlock(_output);
+				if( out.getNumRows() != batch.size() )
+					throw new DMLException("Scoring output '"+_output+"' has "+out.getNumRows()
+						+" rows, but expected "+batch.size()+" rows.");
+				//split output rows (copies, because outputs are reused)
+				for( int i=0; i<batch.size(); i++ )
+					batch.get(i).future.complete(out.slice(i, i));
+			}
+			catch(Exception ex) {
+				LOG.debug("Failed to score batch of "+batch.size()+" rows.", ex);
+				for( ScoringRequest req : batch )
+					req.future.completeExceptionally(ex);
+			}
+		}
+		
+		private MatrixBlock stackRows(List<ScoringRequest> batch, int ncol) {
+			if( batch.size() == 1 )
+				return batch.get(0).row;
+			MatrixBlock ret = new MatrixBlock(batch.size(), ncol, false);
+			ret.allocateDenseBlock();
+			for( int i=0; i<batch.size(); i++ )
+				ret.copy(i, i, 0, ncol-1, batch.get(i).row, false);
+			ret.recomputeNonZeros();
+			ret.examSparsity();
+			return ret;
+		}
+	}
+}
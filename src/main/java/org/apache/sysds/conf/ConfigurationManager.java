@@ -262,6 +262,15 @@ public class ConfigurationManager{
 		return getDMLConfig().getBooleanValue(DMLConfig.USE_SSL_FEDERATED_COMMUNICATION);
 	}
 	
+	public static boolean isFederatedBinaryProtocol(){
+		return getDMLConfig().getTextValue(DMLConfig.FEDERATED_WIRE_PROTOCOL).equalsIgnoreCase("binary");
+	}
+
+	public static boolean isFederatedMultiplexing(){
+		return isFederatedBinaryProtocol()
+			&& getDMLConfig().getBooleanValue(DMLConfig.FEDERATED_MULTIPLEX);
+	}
+
 	public static boolean isFederatedReadCacheEnabled(){
 		return getDMLConfig().getBooleanValue(DMLConfig.FEDERATED_READCACHE);
 	}
@@ -284,6 +293,14 @@ public class ConfigurationManager{
 		return getDMLConfig().getBooleanValue(DMLConfig.CP_PARALLEL_IO);
 	}
 
+	public static boolean isLocalMMapReadEnabled(){
+		return getDMLConfig().getBooleanValue(DMLConfig.IO_LOCAL_MMAP);
+	}
+
+	public static boolean isLocalSinglePassCSVEnabled(){
+		return getDMLConfig().getBooleanValue(DMLConfig.IO_LOCAL_CSV_SINGLEPASS);
+	}
+
 	public static boolean isBroadcastEnabled() {
 		return (getDMLConfig().getBooleanValue(DMLConfig.ASYNC_SPARK_BROADCAST)
 			|| OptimizerUtils.ASYNC_BROADCAST_SPARK);
@@ -73,8 +73,9 @@ public class OptimizerUtils
 	/**
 	 * Utilization factor used in deciding whether an operation to be scheduled on CP or MR. 
 	 * NOTE: it is important that MEM_UTIL_FACTOR+CacheableData.CACHING_BUFFER_SIZE &lt; 1.0
+	 * (volatile because the memory governor adapts it from background threads)
 	 */
-	public static double MEM_UTIL_FACTOR = 0.7d;
+	public static volatile double MEM_UTIL_FACTOR = 0.7d;
 	/** Default buffer pool sizes for static (15%) and unified (85%) memory */
 	public static double DEFAULT_MEM_UTIL_FACTOR = 0.15d;
 	public static double DEFAULT_UMM_UTIL_FACTOR = 0.85d;
@@ -112,6 +112,7 @@ import org.apache.sysds.runtime.util.UtilFunctions;
 import org.apache.sysds.utils.Explain;
 import org.apache.sysds.utils.Statistics;
 import org.apache.sysds.utils.Explain.ExplainType;
+import org.apache.sysds.utils.stats.RecompileStatistics;
 
 /**
  * Dynamic recompilation of hop dags to runtime instructions, which includes the 
@@ -417,8 +418,11 @@ public class Recompiler {
 			l.addToDag(dag);
 		
 		// generate runtime instructions (incl piggybacking)
+		long t0 = DMLScript.STATISTICS ? System.nanoTime() : 0;
 		ArrayList<Instruction> newInst = dag
 			.getJobs(sb, ConfigurationManager.getDMLConfig());
+		if( DMLScript.STATISTICS )
+			RecompileStatistics.incrementInstGenTime(System.nanoTime() - t0);
 		
 		// explain recompiled (and potentially deep copied) DAG, but
 		// defer the explain of instructions after additional modifications
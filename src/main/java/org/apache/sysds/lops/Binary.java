@@ -20,7 +20,10 @@
 package org.apache.sysds.lops;
 
 import org.apache.sysds.common.Types.ExecType;
+import org.apache.sysds.runtime.instructions.Instruction;
 import org.apache.sysds.runtime.instructions.InstructionUtils;
+import org.apache.sysds.runtime.instructions.cp.BinaryCPInstruction;
+import org.apache.sysds.runtime.instructions.cp.CPInstruction.CPType;
 
 import java.util.ArrayList;
 
@@ -117,4 +120,17 @@ public class Binary extends Lop
 
 		return ret;
 	}
+
+	@Override
+	public Instruction getInstruction(String[] inputs, String output) {
+		//direct construction of CP binary instructions (w/o in-place updates)
+		if( getExecType() != ExecType.CP || inplace
+			|| InstructionUtils.getCPTypeByOpcode(getOpcode()) != CPType.Binary )
+			return null;
+		return BinaryCPInstruction.createInstruction(getOpcode(),
+			getInputs().get(0).prepInputCPOperand(inputs[0]),
+			getInputs().get(1).prepInputCPOperand(inputs[1]),
+			prepOutputCPOperand(output), _numThreads,
+			getInstructions(inputs[0], inputs[1], output));
+	}
 }
@@ -21,7 +21,10 @@ package org.apache.sysds.lops;
 
 
 import org.apache.sysds.common.Types.ExecType;
+import org.apache.sysds.runtime.instructions.Instruction;
 import org.apache.sysds.runtime.instructions.InstructionUtils;
+import org.apache.sysds.runtime.instructions.cp.BinaryCPInstruction;
+import org.apache.sysds.runtime.instructions.cp.CPInstruction.CPType;
 import org.apache.sysds.common.Types.DataType;
 import org.apache.sysds.common.Types.OpOp2;
 import org.apache.sysds.common.Types.ValueType;
@@ -71,11 +74,23 @@ public class BinaryScalar extends Lop
 	public String getInstructions(String input1, String input2, String output) {
 		String ret = InstructionUtils.concatOperands(
 			getExecType().name(), operation.toString(),
-			getInputs().get(0).prepScalarInputOperand(getExecType()),
-			getInputs().get(1).prepScalarInputOperand(getExecType()),
+			getInputs().get(0).prepScalarOperand(getExecType(), input1),
+			getInputs().get(1).prepScalarOperand(getExecType(), input2),
 			prepOutputOperand(output));
 		if ( getExecType() == ExecType.FED )
 			ret = InstructionUtils.concatOperands(ret, _fedOutput.name());
 		return ret;
 	}
+
+	@Override
+	public Instruction getInstruction(String[] inputs, String output) {
+		//direct construction of CP binary instructions
+		if( getExecType() != ExecType.CP
+			|| InstructionUtils.getCPTypeByOpcode(operation.toString()) != CPType.Binary )
+			return null;
+		return BinaryCPInstruction.createInstruction(operation.toString(),
+			getInputs().get(0).prepInputCPOperand(inputs[0]),
+			getInputs().get(1).prepInputCPOperand(inputs[1]),
+			prepOutputCPOperand(output), -1, getInstructions(inputs[0], inputs[1], output));
+	}
 }
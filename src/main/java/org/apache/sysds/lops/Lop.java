@@ -29,6 +29,8 @@ import org.apache.sysds.hops.AggBinaryOp.SparkAggType;
 import org.apache.sysds.common.Types.ExecType;
 import org.apache.sysds.hops.OptimizerUtils;
 import org.apache.sysds.lops.compile.Dag;
+import org.apache.sysds.runtime.instructions.Instruction;
+import org.apache.sysds.runtime.instructions.cp.CPOperand;
 import org.apache.sysds.runtime.instructions.fed.FEDInstruction.FederatedOutput;
 
 /**
@@ -600,6 +602,20 @@ public abstract class Lop
 	public String getInstructions(String input1, String input2, String output) {
 		throw new LopsException(this.printErrorLocation() + "Should never be invoked in Baseclass");
 	}
+
+	/**
+	 * Method should be overridden by lops that support the direct construction
+	 * of runtime instructions from structured operands, i.e., without parsing
+	 * the generated instruction string. The default returns null, in which case
+	 * the instruction is generated and parsed from its string representation.
+	 * 
+	 * @param inputs input labels
+	 * @param output output label
+	 * @return instruction or null if direct construction is not supported
+	 */
+	public Instruction getInstruction(String[] inputs, String output) {
+		return null;
+	}
 	
 	/**
 	 * Method should be overridden if needed
@@ -933,4 +949,28 @@ public abstract class Lop
 			return prepScalarInputOperand(label);
 		}
 	}
+
+	/**
+	 * Method to prepare a structured input operand, equivalent to the
+	 * parsed operand string of {@link #prepInputOperand(String)}.
+	 * 
+	 * @param label instruction label
+	 * @return input operand
+	 */
+	public CPOperand prepInputCPOperand(String label) {
+		boolean isLiteral = getDataType() != DataType.MATRIX
+			&& isDataExecLocation() && ((Data)this).isLiteral();
+		return new CPOperand(label, getValueType(), getDataType(), isLiteral);
+	}
+
+	/**
+	 * Method to prepare a structured output operand, equivalent to the
+	 * parsed operand string of {@link #prepOutputOperand(String)}.
+	 * 
+	 * @param label instruction label
+	 * @return output operand
+	 */
+	public CPOperand prepOutputCPOperand(String label) {
+		return new CPOperand(label, getValueType(), getDataType());
+	}
 }
@@ -71,6 +71,10 @@ public class Dag<N extends Lop>
 {
 	private static final Log LOG = LogFactory.getLog(Dag.class.getName());
 
+	//construct supported instructions directly from structured operands
+	//(w/o the round-trip of generating and parsing instruction strings)
+	public static boolean DIRECT_INSTRUCTION_GEN = true;
+
 	private static IDSequence job_id = null;
 	private static IDSequence var_index = null;
 	
@@ -532,9 +536,17 @@ public class Dag<N extends Lop>
 
 				String inst_string = "";
 
+				// Lops that support direct instruction construction from structured
+				// operands bypass the parsing of generated instruction strings
+				Instruction currInstr = DIRECT_INSTRUCTION_GEN ? node.getInstruction(
+					getInputLabels(node), node.getOutputParameters().getLabel()) : null;
+				if( currInstr != null ) {
+					inst_string = currInstr.toString();
+				}
+				
 				// Lops with arbitrary number of inputs (ParameterizedBuiltin, GroupedAggregate, DataGen)
 				// are handled separately, by simply passing ONLY the output variable to getInstructions()
-				if (node.getType() == Lop.Type.ParameterizedBuiltin
+				else if (node.getType() == Lop.Type.ParameterizedBuiltin
 						|| node.getType() == Lop.Type.GroupedAgg 
 						|| node.getType() == Lop.Type.DataGen){
 					inst_string = node.getInstructions(node.getOutputParameters().getLabel());
@@ -635,7 +647,8 @@ public class Dag<N extends Lop>
 				try {
 					if( LOG.isTraceEnabled() )
 						LOG.trace("Generating instruction - "+ inst_string);
-					Instruction currInstr = InstructionParser.parseSingleInstruction(inst_string);
+					if( currInstr == null )
+						currInstr = InstructionParser.parseSingleInstruction(inst_string);
 					if(currInstr == null) {
 						 throw new LopsException("Error parsing the instruction:" + inst_string);
 					}
@@ -747,6 +760,13 @@ public class Dag<N extends Lop>
 		return oparams.getFormat();
 	}
 	
+	private static String[] getInputLabels(Lop node) {
+		String[] inputs = new String[node.getInputs().size()];
+		for( int i=0; i<inputs.length; i++ )
+			inputs[i] = node.getInputs().get(i).getOutputParameters().getLabel();
+		return inputs;
+	}
+
 	private static String prepareAssignVarInstruction(Lop input, Lop node) {
 		StringBuilder sb = new StringBuilder();
 		
@@ -78,6 +78,17 @@ public abstract class Statement implements ParseInfo
 	public static final String PS_NBATCHES = "nbatches";
 	public static final String PS_HE = "he";
 	public static final String PS_NUM_BACKUP_WORKERS = "num_backup_workers";
+	public static final String PS_COMPRESSION = "compression";
+	public static final String PS_COMPRESSION_RATIO = "compression_ratio";
+	public enum PSCompression {
+		NONE,       // uncompressed gradients
+		QUANTIZE8,  // 8-bit linear quantization
+		QUANTIZE16, // 16-bit linear quantization
+		TOPK;       // top-k sparsification (by magnitude)
+		public boolean isEnabled() {
+			return this != NONE;
+		}
+	}
 
 	public enum PSModeType {
 		FEDERATED, LOCAL, REMOTE_SPARK
@@ -132,6 +143,9 @@ public abstract class Statement implements ParseInfo
 	public static final String PS_FED_GRADIENTS_FNAME = "1701-NCC-gradients_fname";
 	public static final String PS_FED_AGGREGATION_FNAME = "1701-NCC-aggregation_fname";
 	public static final String PS_FED_MODEL_VARID = "1701-NCC-model_varid";
+	public static final String PS_FED_COMPRESSION = "1701-NCC-compression";
+	public static final String PS_FED_COMPRESSION_RATIO = "1701-NCC-compression_ratio";
+	public static final String PS_FED_RESIDUALS = "1701-NCC-residuals";
 
 	public abstract boolean controlStatement();
 	
@@ -0,0 +1,167 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysds.runtime.codegen;
+
+import java.io.File;
+import java.io.IOException;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.UUID;
+
+import org.apache.commons.lang3.StringUtils;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.apache.sysds.api.DMLScript;
+import org.apache.sysds.hops.codegen.SpoofCompiler;
+import org.apache.sysds.utils.stats.CodegenStatistics;
+
+/**
+ * Persistent, cross-process cache of compiled classes of generated operators,
+ * which allows fresh processes (e.g., short batch jobs or restarted JMLC
+ * services) to skip the compilation of previously generated operators.
+ * 
+ * Cache entries are class files named by a SHA-256 hash over the SystemDS
+ * version, Java compiler type, and generated source code (which includes the
+ * class name). Entries are written to a temporary file and atomically moved
+ * into place, such that concurrent processes never observe partial entries.
+ */
+public class CodegenClassCache
+{
+	private static final Log LOG = LogFactory.getLog(CodegenClassCache.class.getName());
+	private static final String SUFFIX = ".class";
+
+	//cache directory, null if disabled
+	private static String _dir = null;
+	//version prefix of cache keys, lazily initialized
+	private static String _version = null;
+
+	public static synchronized void setDirectory(String dir) {
+		_dir = StringUtils.isBlank(dir) ? null : dir;
+		if( _dir != null )
+			new File(_dir).mkdirs();
+	}
+
+	public static boolean isEnabled() {
+		return _dir != null;
+	}
+
+	/**
+	 * Obtains the bytecode of a previously compiled class from the cache.
+	 * 
+	 * @param src source code of the generated class
+	 * @return class bytes, or null if not cached
+	 */
+	public static byte[] get(String src) {
+		if( !isEnabled() )
+			return null;
+		long t0 = DMLScript.STATISTICS ? System.nanoTime() : 0;
+		File f = new File(_dir, getKey(src) + SUFFIX);
+		byte[] ret = null;
+		try {
+			if( f.exists() )
+				ret = Files.readAllBytes(f.toPath());
+		}
+		catch(IOException ex) {
+			LOG.warn("Failed to read codegen class cache entry "+f.getName()+".", ex);
+		}
+		if( DMLScript.STATISTICS ) {
+			if( ret != null )
+				CodegenStatistics.incrementClassCacheHits(System.nanoTime()-t0);
+			else
+				CodegenStatistics.incrementClassCacheMisses();
+		}
+		return ret;
+	}
+
+	/**
+	 * Puts the bytecode of a compiled class into the cache. Failures are
+	 * logged but not propagated, because the cache is an optimization only.
+	 * 
+	 * @param src source code of the generated class
+	 * @param classBytes class bytes
+	 */
+	public static void put(String src, byte[] classBytes) {
+		if( !isEnabled() || classBytes == null )
+			return;
+		File f = new File(_dir, getKey(src) + SUFFIX);
+		File ftmp = new File(_dir, f.getName() + "." + UUID.randomUUID() + ".tmp");
+		try {
+			Files.write(ftmp.toPath(), classBytes);
+			try {
+				Files.move(ftmp.toPath(), f.toPath(), StandardCopyOption.ATOMIC_MOVE);
+			}
+			catch(AtomicMoveNotSupportedException ex) {
+				Files.move(ftmp.toPath(), f.toPath(), StandardCopyOption.REPLACE_EXISTING);
+			}
+		}
+		catch(IOException ex) {
+			LOG.warn("Failed to write codegen class cache entry "+f.getName()+".", ex);
+			ftmp.delete();
+		}
+	}
+
+	/**
+	 * Removes a cache entry, e.g., if the cached class fails to load.
+	 * 
+	 * @param src source code of the generated class
+	 */
+	public static void remove(String src) {
+		if( isEnabled() )
+			new File(_dir, getKey(src) + SUFFIX).delete();
+	}
+
+	private static String getKey(String src) {
+		try {
+			MessageDigest md = MessageDigest.getInstance("SHA-256");
+			md.update(getVersion().getBytes(StandardCharsets.UTF_8));
+			md.update((byte) 0);
+			md.update(SpoofCompiler.JAVA_COMPILER.name().getBytes(StandardCharsets.UTF_8));
+			md.update((byte) 0);
+			md.update(src.getBytes(StandardCharsets.UTF_8));
+			return String.format("%064x", new BigInteger(1, md.digest()));
+		}
+		catch(NoSuchAlgorithmException ex) {
+			throw new RuntimeException(ex);
+		}
+	}
+
+	private static String getVersion() {
+		if( _version == null )
+			_version = createVersion();
+		return _version;
+	}
+
+	private static String createVersion() {
+		//note: the implementation version is only available for jar deployments,
+		//for other deployments we use the modification time of the code source
+		String version = CodegenClassCache.class.getPackage().getImplementationVersion();
+		if( version == null ) {
+			File codeSource = new File(CodegenClassCache.class
+				.getProtectionDomain().getCodeSource().getLocation().getPath());
+			version = "dev-" + codeSource.lastModified();
+		}
+		return version + "-" + System.getProperty("java.specification.version");
+	}
+}
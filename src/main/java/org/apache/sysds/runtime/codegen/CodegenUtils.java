@@ -48,6 +48,7 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.net.URL;
 import java.net.URLClassLoader;
+import java.nio.file.Files;
 import java.util.Arrays;
 import java.util.Iterator;
 import java.util.List;
@@ -85,6 +86,13 @@ public class CodegenUtils
 		if( ret != null )
 			return ret;
 
+		//reuse class compiled by this or other processes
+		ret = loadFromClassCache(name, src);
+		if( ret != null ) {
+			_cache.put(name, ret);
+			return ret;
+		}
+
 		long t0 = DMLScript.STATISTICS ? System.nanoTime() : 0;
 
 		//compile java source w/ specific compiler
@@ -93,8 +101,11 @@ public class CodegenUtils
 		else
 			ret = compileClassJavac(name, src);
 
-		//keep compiled class for reuse
+		//keep compiled class for reuse (in-memory and persistent)
 		_cache.put(name, ret);
+		if( CodegenClassCache.isEnabled() && SpoofCompiler.JAVA_COMPILER != CompilerType.JANINO
+			&& !hasInnerClasses(name) )
+			CodegenClassCache.put(src, getClassAsByteArray(name));
 
 		if( DMLScript.STATISTICS ) {
 			CodegenStatistics.incrementClassCompile();
@@ -202,6 +213,10 @@ public class CodegenUtils
 			//keep source code for later re-construction
 			_src.put(name, src);
 
+			//keep class bytes in persistent cache (w/o inner classes)
+			if( CodegenClassCache.isEnabled() && compiler.getBytecodes().size() == 1 )
+				CodegenClassCache.put(src, compiler.getBytecodes().get(name));
+
 			//load compile class
 			return compiler.getClassLoader()
 				.loadClass(name);
@@ -259,12 +274,7 @@ public class CodegenUtils
 					throw new RuntimeException("Failed to compile class "+name);
 
 				//dynamically load compiled class
-				try (URLClassLoader classLoader = new URLClassLoader(
-					new URL[]{new File(_workingDir).toURI().toURL(), runDir},
-					CodegenUtils.class.getClassLoader()))
-				{
-					return classLoader.loadClass(name);
-				}
+				return loadFromWorkingDir(name, false);
 			}
 		}
 		catch(Exception ex) {
@@ -287,11 +297,8 @@ public class CodegenUtils
 		}
 		else {
 			//load compiled class file
-			URL runDir = CodegenUtils.class.getProtectionDomain().getCodeSource().getLocation();
-			try(URLClassLoader classLoader = new URLClassLoader(new URL[]{new File(_workingDir)
-				.toURI().toURL(), runDir}, CodegenUtils.class.getClassLoader()))
-			{
-				return classLoader.loadClass(name);
+			try {
+				return loadFromWorkingDir(name, false);
 			}
 			catch (Exception e) {
 				throw new DMLRuntimeException(e);
@@ -299,6 +306,49 @@ public class CodegenUtils
 		}
 	}
 
+	private static Class<?> loadFromWorkingDir(String name, boolean initialize) throws Exception {
+		//note: the class loader is not closed because it remains in use
+		//by the loaded class (e.g., for loading referenced classes)
+		URL runDir = CodegenUtils.class.getProtectionDomain().getCodeSource().getLocation();
+		@SuppressWarnings("resource")
+		URLClassLoader classLoader = new URLClassLoader(new URL[]{
+			new File(_workingDir).toURI().toURL(), runDir}, CodegenUtils.class.getClassLoader());
+		return Class.forName(name, initialize, classLoader);
+	}
+
+	private static Class<?> loadFromClassCache(String name, String src) {
+		byte[] classBytes = CodegenClassCache.get(src);
+		if( classBytes == null )
+			return null;
+		try {
+			//keep source code for re-construction in remote executors
+			if( SpoofCompiler.JAVA_COMPILER == CompilerType.JANINO )
+				_src.put(name, src);
+			//write class file for remote executors and class reloads
+			if( _workingDir == null )
+				createWorkingDir();
+			File fclass = new File(_workingDir+"/"+name.replace(".", "/")+".class");
+			if( !fclass.getParentFile().exists() )
+				fclass.getParentFile().mkdirs();
+			Files.write(fclass.toPath(), classBytes);
+			//load (like compiled classes) and initialize class to detect invalid cache entries early
+			return loadFromWorkingDir(name, true);
+		}
+		catch(Exception | LinkageError ex) {
+			LOG.warn("Failed to load class "+name+" from codegen class cache, recompiling.", ex);
+			CodegenClassCache.remove(src);
+			_src.remove(name);
+			return null;
+		}
+	}
+
+	private static boolean hasInnerClasses(String name) {
+		final String prefix = name.substring(name.lastIndexOf('.')+1) + "$";
+		File dir = new File(_workingDir+"/"+name.replace(".", "/")).getParentFile();
+		String[] inner = dir.list((d, fname) -> fname.startsWith(prefix));
+		return inner == null || inner.length > 0;
+	}
+
 	private static byte[] getClassAsByteArray(String name) {
 		String classAsPath = name.replace('.', '/') + ".class";
 
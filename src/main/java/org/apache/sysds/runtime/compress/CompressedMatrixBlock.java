@@ -29,6 +29,7 @@ import java.util.ArrayList;
 import java.util.Iterator;
 import java.util.List;
 import java.util.concurrent.Future;
+import java.util.function.Consumer;
 
 import org.apache.commons.lang3.NotImplementedException;
 import org.apache.commons.logging.Log;
@@ -44,6 +45,7 @@ import org.apache.sysds.runtime.compress.colgroup.AColGroup.CompressionType;
 import org.apache.sysds.runtime.compress.colgroup.ColGroupEmpty;
 import org.apache.sysds.runtime.compress.colgroup.ColGroupIO;
 import org.apache.sysds.runtime.compress.colgroup.ColGroupUncompressed;
+import org.apache.sysds.runtime.compress.cost.InstructionTypeCounter;
 import org.apache.sysds.runtime.compress.lib.CLALibAppend;
 import org.apache.sysds.runtime.compress.lib.CLALibBinaryCellOp;
 import org.apache.sysds.runtime.compress.lib.CLALibCMOps;
@@ -52,6 +54,7 @@ import org.apache.sysds.runtime.compress.lib.CLALibDecompress;
 import org.apache.sysds.runtime.compress.lib.CLALibMMChain;
 import org.apache.sysds.runtime.compress.lib.CLALibMatrixMult;
 import org.apache.sysds.runtime.compress.lib.CLALibMerge;
+import org.apache.sysds.runtime.compress.lib.CLALibReCompress;
 import org.apache.sysds.runtime.compress.lib.CLALibRexpand;
 import org.apache.sysds.runtime.compress.lib.CLALibScalar;
 import org.apache.sysds.runtime.compress.lib.CLALibSlice;
@@ -64,6 +67,7 @@ import org.apache.sysds.runtime.controlprogram.caching.MatrixObject.UpdateType;
 import org.apache.sysds.runtime.data.DenseBlock;
 import org.apache.sysds.runtime.data.SparseBlock;
 import org.apache.sysds.runtime.data.SparseRow;
+import org.apache.sysds.runtime.functionobjects.ReduceCol;
 import org.apache.sysds.runtime.functionobjects.SwapIndex;
 import org.apache.sysds.runtime.instructions.InstructionUtils;
 import org.apache.sysds.runtime.instructions.cp.CM_COV_Object;
@@ -116,6 +120,11 @@ public class CompressedMatrixBlock extends MatrixBlock {
 	 */
 	protected transient SoftReference<MatrixBlock> decompressedVersion;
 
+	/**
+	 * Workload observed on this block and the blocks it is derived from, used for workload-aware recompression.
+	 */
+	protected transient volatile CLALibReCompress.Workload workload;
+
 	public CompressedMatrixBlock() {
 		super(true);
 		sparse = false;
@@ -302,6 +311,14 @@ public class CompressedMatrixBlock extends MatrixBlock {
 		return CLALibSquash.squash(this, k);
 	}
 
+	public CLALibReCompress.Workload getWorkload() {
+		return workload;
+	}
+
+	public void setWorkload(CLALibReCompress.Workload workload) {
+		this.workload = workload;
+	}
+
 	@Override
 	public long recomputeNonZeros() {
 		if(isOverlapping())
@@ -473,18 +490,21 @@ public class CompressedMatrixBlock extends MatrixBlock {
 
 	@Override
 	public MatrixBlock scalarOperations(ScalarOperator sop, MatrixValue result) {
-		return CLALibScalar.scalarOperations(sop, this, result);
+		final CompressedMatrixBlock in = CLALibReCompress.observe(this, c -> c.incDictOps());
+		return CLALibReCompress.inherit(in, CLALibScalar.scalarOperations(sop, in, result));
 	}
 
 	@Override
 	public MatrixBlock binaryOperations(BinaryOperator op, MatrixValue thatValue, MatrixValue result) {
 		MatrixBlock that = thatValue == null ? null : (MatrixBlock) thatValue;
-		return CLALibBinaryCellOp.binaryOperationsRight(op, this, that);
+		final CompressedMatrixBlock in = CLALibReCompress.observe(this, c -> c.incDictOps());
+		return CLALibReCompress.inherit(in, CLALibBinaryCellOp.binaryOperationsRight(op, in, that));
 	}
 
 	public MatrixBlock binaryOperationsLeft(BinaryOperator op, MatrixValue thatValue, MatrixValue result) {
 		MatrixBlock that = thatValue == null ? null : (MatrixBlock) thatValue;
-		return CLALibBinaryCellOp.binaryOperationsLeft(op, this, that);
+		final CompressedMatrixBlock in = CLALibReCompress.observe(this, c -> c.incDictOps());
+		return CLALibReCompress.inherit(in, CLALibBinaryCellOp.binaryOperationsLeft(op, in, that));
 	}
 
 	@Override
@@ -525,20 +545,35 @@ public class CompressedMatrixBlock extends MatrixBlock {
 	public MatrixBlock aggregateBinaryOperations(MatrixBlock m1, MatrixBlock m2, MatrixBlock ret,
 		AggregateBinaryOperator op) {
 		checkAggregateBinaryOperations(m1, m2, op);
-		return CLALibMatrixMult.matrixMultiply(m1, m2, ret, op.getNumThreads(), false, false);
+		final MatrixBlock l = observeMM(m1, c -> c.incRMM(m2.getNumColumns()));
+		final MatrixBlock r = observeMM(m2, c -> c.incLMM(m1.getNumRows()));
+		return CLALibMatrixMult.matrixMultiply(l, r, ret, op.getNumThreads(), false, false);
 	}
 
 	public MatrixBlock aggregateBinaryOperations(MatrixBlock m1, MatrixBlock m2, MatrixBlock ret,
 		AggregateBinaryOperator op, boolean transposeLeft, boolean transposeRight) {
 		checkAggregateBinaryOperations(m1, m2, op, transposeLeft, transposeRight);
-		return CLALibMatrixMult.matrixMultiply(m1, m2, ret, op.getNumThreads(), transposeLeft, transposeRight);
+		final MatrixBlock l = observeMM(m1, c -> c.incRMM(transposeRight ? m2.getNumRows() : m2.getNumColumns()));
+		final MatrixBlock r = observeMM(m2, c -> c.incLMM(transposeLeft ? m1.getNumColumns() : m1.getNumRows()));
+		return CLALibMatrixMult.matrixMultiply(l, r, ret, op.getNumThreads(), transposeLeft, transposeRight);
+	}
+
+	private static MatrixBlock observeMM(MatrixBlock m, Consumer<InstructionTypeCounter> op) {
+		return m instanceof CompressedMatrixBlock ? CLALibReCompress.observe((CompressedMatrixBlock) m, op) : m;
 	}
 
 	@Override
 	public MatrixBlock aggregateUnaryOperations(AggregateUnaryOperator op, MatrixValue result, int blen,
 		MatrixIndexes indexesIn, boolean inCP) {
 		MatrixBlock ret = (result == null) ? null : (MatrixBlock) result;
-		return CLALibCompAgg.aggregateUnary(this, ret, op, blen, indexesIn, inCP);
+		final boolean rowAgg = op.indexFn instanceof ReduceCol;
+		final CompressedMatrixBlock in = CLALibReCompress.observe(this, c -> {
+			if(rowAgg)
+				c.incScans();
+			else
+				c.incDictOps();
+		});
+		return CLALibCompAgg.aggregateUnary(in, ret, op, blen, indexesIn, inCP);
 	}
 
 	@Override
@@ -628,7 +663,8 @@ public class CompressedMatrixBlock extends MatrixBlock {
 
 	@Override
 	public MatrixBlock unaryOperations(UnaryOperator op, MatrixValue result) {
-		return CLALibUnary.unaryOperations(this, op, result);
+		final CompressedMatrixBlock in = CLALibReCompress.observe(this, c -> c.incDictOps());
+		return CLALibReCompress.inherit(in, CLALibUnary.unaryOperations(in, op, result));
 	}
 
 	@Override
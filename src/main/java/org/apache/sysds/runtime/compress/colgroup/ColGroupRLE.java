@@ -26,6 +26,7 @@ import java.util.Arrays;
 import java.util.List;
 
 import org.apache.commons.lang3.NotImplementedException;
+import org.apache.sysds.runtime.DMLRuntimeException;
 import org.apache.sysds.runtime.compress.bitmap.ABitmap;
 import org.apache.sysds.runtime.compress.colgroup.dictionary.IDictionary;
 import org.apache.sysds.runtime.compress.colgroup.ColGroupUtils.P;
@@ -972,7 +973,58 @@ public class ColGroupRLE extends AColGroupOffset {
 
 	@Override
 	public AColGroup sliceRows(int rl, int ru) {
-		throw new NotImplementedException("Slice rows for RLE is not implemented yet!");
+		if(ru > _numRows)
+			throw new DMLRuntimeException("Invalid row range");
+		final int numVals = getNumValues();
+		final int nCol = _colIndexes.size();
+		final char[][] lBitMaps = new char[numVals][];
+		final int[] offsets = new int[ru - rl];
+		int totalLen = 0;
+		int sumLength = 0;
+		int nValsRet = 0;
+		for(int k = 0; k < numVals; k++) {
+			final int blen = _ptr[k + 1];
+			final skipPair tmp = skipScanVal(k, rl);
+			int len = 0;
+			// collect the offsets of the runs inside the range relative to rl
+			for(int apos = tmp.apos, rs = tmp.astart, re = tmp.astart; apos < blen && re < ru; apos += 2) {
+				rs = re + _data[apos];
+				re = rs + _data[apos + 1];
+				for(int rix = Math.max(rs, rl); rix < re && rix < ru; rix++)
+					offsets[len++] = rix - rl;
+			}
+			if(len > 0) {
+				lBitMaps[k] = genRLEBitmap(offsets, len);
+				totalLen += lBitMaps[k].length;
+				sumLength += len;
+				nValsRet++;
+			}
+		}
+
+		if(nValsRet == 0)
+			return null;
+
+		// share the dictionary if all tuples are contained in the slice
+		final IDictionary dict = nValsRet == numVals ? _dict : sliceDictionary(lBitMaps, nValsRet, nCol);
+		final char[][] retBitMaps = nValsRet == numVals ? lBitMaps : new char[nValsRet][];
+		if(nValsRet != numVals)
+			for(int k = 0, o = 0; k < numVals; k++)
+				if(lBitMaps[k] != null)
+					retBitMaps[o++] = lBitMaps[k];
+
+		final int[] bitmap = new int[nValsRet + 1];
+		final char[] data = new char[totalLen];
+		createCompressedBitmaps(bitmap, data, retBitMaps);
+		return create(_colIndexes, ru - rl, sumLength < ru - rl, dict, data, bitmap, null);
+	}
+
+	private IDictionary sliceDictionary(char[][] lBitMaps, int nValsRet, int nCol) {
+		final double[] values = new double[nValsRet * nCol];
+		for(int k = 0, o = 0; k < lBitMaps.length; k++)
+			if(lBitMaps[k] != null)
+				for(int c = 0; c < nCol; c++)
+					values[o++] = _dict.getValue(k, c, nCol);
+		return Dictionary.create(values);
 	}
 
 	@Override
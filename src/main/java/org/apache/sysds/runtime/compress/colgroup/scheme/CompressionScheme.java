@@ -33,6 +33,7 @@ import org.apache.sysds.runtime.compress.CompressedMatrixBlock;
 import org.apache.sysds.runtime.compress.CompressedMatrixBlockFactory;
 import org.apache.sysds.runtime.compress.DMLCompressionException;
 import org.apache.sysds.runtime.compress.colgroup.AColGroup;
+import org.apache.sysds.runtime.compress.lib.CLALibAppend;
 import org.apache.sysds.runtime.matrix.data.LibMatrixReorg;
 import org.apache.sysds.runtime.matrix.data.MatrixBlock;
 import org.apache.sysds.runtime.matrix.data.Pair;
@@ -219,6 +220,8 @@ public class CompressionScheme {
 	public CompressedMatrixBlock updateAndEncode(MatrixBlock mb) {
 		validateInput(mb);
 
+		final int nRow = mb.getNumRows();
+		final int nCol = mb.getNumColumns();
 		List<AColGroup> ret = new ArrayList<>(encodings.length);
 		boolean transposed = false;
 		if(mb.getSparsity() < 0.1) {
@@ -233,8 +236,25 @@ public class CompressionScheme {
 			ret.add(p.getValue());
 		}
 
-		return new CompressedMatrixBlock(mb.getNumRows(), mb.getNumColumns(), mb.getNonZeros(), false, ret);
+		return new CompressedMatrixBlock(nRow, nCol, mb.getNonZeros(), false, ret);
+
+	}
 
+	/**
+	 * Update the encodings with the given batch of rows, encode the batch, and append it below the given compressed
+	 * matrix, such that neither the previous matrix nor the batch are decompressed. The previous matrix is expected to be
+	 * encoded with this scheme, e.g., via {@link #getScheme(CompressedMatrixBlock)} or previous calls of this method.
+	 * 
+	 * @param prev The previously compressed rows
+	 * @param mb   The new batch of rows to append
+	 * @param k    The parallelization degree
+	 * @return The compressed matrix containing the previous rows followed by the batch
+	 */
+	public CompressedMatrixBlock updateEncodeAndAppend(CompressedMatrixBlock prev, MatrixBlock mb, int k) {
+		if(prev.getNumColumns() != mb.getNumColumns())
+			throw new DMLCompressionException("Invalid append of batch with " + mb.getNumColumns()
+				+ " columns to compressed matrix with " + prev.getNumColumns() + " columns");
+		return CLALibAppend.appendRows(prev, updateAndEncode(mb, k), k);
 	}
 
 	private void validateInput(MatrixBlock mb) {
@@ -20,18 +20,32 @@
 package org.apache.sysds.runtime.compress.lib;
 
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
 
+import org.apache.commons.lang3.NotImplementedException;
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 import org.apache.sysds.runtime.compress.CompressedMatrixBlock;
 import org.apache.sysds.runtime.compress.CompressedMatrixBlockFactory;
+import org.apache.sysds.runtime.compress.DMLCompressionException;
 import org.apache.sysds.runtime.compress.colgroup.AColGroup;
+import org.apache.sysds.runtime.compress.colgroup.ColGroupConst;
+import org.apache.sysds.runtime.compress.colgroup.ColGroupDDC;
 import org.apache.sysds.runtime.compress.colgroup.ColGroupEmpty;
 import org.apache.sysds.runtime.compress.colgroup.ColGroupUncompressed;
+import org.apache.sysds.runtime.compress.colgroup.dictionary.Dictionary;
+import org.apache.sysds.runtime.compress.colgroup.dictionary.IDictionary;
 import org.apache.sysds.runtime.compress.colgroup.indexes.ColIndexFactory;
 import org.apache.sysds.runtime.compress.colgroup.indexes.IColIndex;
+import org.apache.sysds.runtime.compress.colgroup.mapping.AMapToData;
+import org.apache.sysds.runtime.compress.colgroup.mapping.MapToFactory;
+import org.apache.sysds.runtime.data.DenseBlock;
 import org.apache.sysds.runtime.matrix.data.MatrixBlock;
+import org.apache.sysds.runtime.util.CommonThreadPool;
 
 public final class CLALibAppend {
 
@@ -77,6 +91,187 @@ public final class CLALibAppend {
 		return append((CompressedMatrixBlock) left, (CompressedMatrixBlock) right, m, n);
 	}
 
+	/**
+	 * Append the rows of the bottom matrix below the rows of the top matrix, without decompressing the matrices.
+	 * 
+	 * The column groups of both sides are expected to cover the same columns, as it is the case if the bottom matrix is
+	 * encoded with the (updated) compression scheme of the top matrix. DDC column groups are combined by extending the
+	 * mapping of the top group to the dictionary of the bottom group, which is valid if the dictionary of the top group
+	 * is a prefix of the updated dictionary. Individual column groups that cannot be combined in compressed form are
+	 * decompressed into uncompressed column groups, while the remaining column groups stay compressed.
+	 * 
+	 * @param top    The top compressed matrix
+	 * @param bottom The bottom compressed matrix, with the same column groups as top
+	 * @param k      The parallelization degree
+	 * @return The row-appended compressed matrix
+	 * @throws DMLCompressionException If the column groups of both sides do not cover the same columns
+	 */
+	public static CompressedMatrixBlock appendRows(CompressedMatrixBlock top, CompressedMatrixBlock bottom, int k) {
+		final int rt = top.getNumRows();
+		final int rb = bottom.getNumRows();
+		final int n = top.getNumColumns();
+		if(n != bottom.getNumColumns())
+			throw new DMLCompressionException("Invalid row append of compressed matrices with different number of columns: "
+				+ n + " vs " + bottom.getNumColumns());
+
+		final List<AColGroup> gt = top.getColGroups();
+		final Map<IColIndex, AColGroup> gb = new HashMap<>();
+		for(AColGroup g : bottom.getColGroups())
+			gb.put(g.getColIndices(), g);
+
+		if(top.isOverlapping() || bottom.isOverlapping())
+			throw new DMLCompressionException("Invalid row append of overlapping compressed matrices");
+		if(gt.size() != gb.size() || !gt.stream().allMatch(g -> gb.containsKey(g.getColIndices())))
+			throw new DMLCompressionException("Invalid row append of compressed matrices with different column groups");
+
+		final List<AColGroup> retG = new ArrayList<>(gt.size());
+		final ExecutorService pool = (k > 1 && gt.size() > 1) ? CommonThreadPool.get(k) : null;
+		try {
+			if(pool == null)
+				for(AColGroup g : gt)
+					retG.add(appendRows(g, gb.get(g.getColIndices()), rt, rb));
+			else {
+				final List<Future<AColGroup>> tasks = new ArrayList<>(gt.size());
+				for(AColGroup g : gt)
+					tasks.add(pool.submit(() -> appendRows(g, gb.get(g.getColIndices()), rt, rb)));
+				for(Future<AColGroup> f : tasks)
+					retG.add(f.get());
+			}
+		}
+		catch(Exception e) {
+			throw new DMLCompressionException("Failed row append of compressed matrices", e);
+		}
+		finally {
+			if(pool != null)
+				pool.shutdown();
+		}
+
+		final CompressedMatrixBlock ret = new CompressedMatrixBlock(rt + rb, n);
+		ret.allocateColGroupList(retG);
+		if(top.getNonZeros() >= 0 && bottom.getNonZeros() >= 0)
+			ret.setNonZeros(top.getNonZeros() + bottom.getNonZeros());
+		else
+			ret.recomputeNonZeros();
+		return ret;
+	}
+
+	private static AColGroup appendRows(AColGroup a, AColGroup b, int ra, int rb) {
+		AColGroup ret = null;
+		if(a instanceof ColGroupDDC || b instanceof ColGroupDDC || isConstOrEmpty(a) && isConstOrEmpty(b))
+			ret = appendRowsDDC(a, b, ra, rb);
+		else {
+			try {
+				ret = a.append(b);
+			}
+			catch(NotImplementedException | DMLCompressionException e) {
+				LOG.debug("Failed compressed append of " + a.getClass().getSimpleName(), e);
+			}
+		}
+		return ret != null ? ret : appendRowsUncompressed(a, b, ra, rb);
+	}
+
+	private static AColGroup appendRowsDDC(AColGroup a, AColGroup b, int ra, int rb) {
+		if(isConstOrEmpty(a) && isConstOrEmpty(b)) {
+			final AColGroup ret = a.append(b); // same constant or empty
+			if(ret != null)
+				return ret;
+		}
+		final int nCol = a.getNumCols();
+		final IDictionary dict = getCombinedDictionary(a, b, nCol);
+		final int nVal = dict.getNumberOfValues(nCol);
+		final AMapToData m = MapToFactory.create(ra + rb, nVal);
+		if(!encodeDDC(a, dict, nVal, nCol, m, 0, ra) || !encodeDDC(b, dict, nVal, nCol, m, ra, rb))
+			return null;
+		return ColGroupDDC.create(a.getColIndices(), dict, m, null);
+	}
+
+	private static IDictionary getCombinedDictionary(AColGroup a, AColGroup b, int nCol) {
+		if(a instanceof ColGroupDDC && b instanceof ColGroupDDC) {
+			// the updated dictionary contains more or equal distinct tuples
+			final IDictionary da = ((ColGroupDDC) a).getDictionary();
+			final IDictionary db = ((ColGroupDDC) b).getDictionary();
+			return db.getNumberOfValues(nCol) >= da.getNumberOfValues(nCol) ? db : da;
+		}
+		else if(a instanceof ColGroupDDC)
+			return ((ColGroupDDC) a).getDictionary();
+		else if(b instanceof ColGroupDDC)
+			return ((ColGroupDDC) b).getDictionary();
+		// different constant tuples
+		final double[] vals = new double[2 * nCol];
+		System.arraycopy(getTuple(a, nCol), 0, vals, 0, nCol);
+		System.arraycopy(getTuple(b, nCol), 0, vals, nCol, nCol);
+		return Dictionary.createNoCheck(vals);
+	}
+
+	private static boolean encodeDDC(AColGroup g, IDictionary dict, int nVal, int nCol, AMapToData m, int off,
+		int nRow) {
+		if(g instanceof ColGroupDDC) {
+			final ColGroupDDC gd = (ColGroupDDC) g;
+			if(!isPrefix(gd.getDictionary(), dict, nCol, nVal))
+				return false;
+			final AMapToData d = gd.getMapToData();
+			for(int i = 0; i < nRow; i++)
+				m.set(off + i, d.getIndex(i));
+			return true;
+		}
+		else if(isConstOrEmpty(g)) {
+			final int id = findTuple(dict, nVal, nCol, getTuple(g, nCol));
+			if(id < 0)
+				return false;
+			for(int i = 0; i < nRow; i++)
+				m.set(off + i, id);
+			return true;
+		}
+		return false;
+	}
+
+	private static boolean isPrefix(IDictionary a, IDictionary b, int nCol, int nValB) {
+		if(a == b)
+			return true;
+		final int nValA = a.getNumberOfValues(nCol);
+		if(nValA > nValB)
+			return false;
+		for(int r = 0; r < nValA; r++)
+			for(int c = 0; c < nCol; c++)
+				if(Double.compare(a.getValue(r, c, nCol), b.getValue(r, c, nCol)) != 0)
+					return false;
+		return true;
+	}
+
+	private static int findTuple(IDictionary dict, int nVal, int nCol, double[] tuple) {
+		for(int r = 0; r < nVal; r++) {
+			boolean found = true;
+			for(int c = 0; c < nCol && found; c++)
+				found = Double.compare(dict.getValue(r, c, nCol), tuple[c]) == 0;
+			if(found)
+				return r;
+		}
+		return -1;
+	}
+
+	private static boolean isConstOrEmpty(AColGroup g) {
+		return g instanceof ColGroupConst || g instanceof ColGroupEmpty;
+	}
+
+	private static double[] getTuple(AColGroup g, int nCol) {
+		return g instanceof ColGroupConst ? ((ColGroupConst) g).getValues() : new double[nCol];
+	}
+
+	private static AColGroup appendRowsUncompressed(AColGroup a, AColGroup b, int ra, int rb) {
+		LOG.debug("Decompressing column group in row append: " + a.getClass().getSimpleName() + " and "
+			+ b.getClass().getSimpleName());
+		final int nCol = a.getNumCols();
+		final MatrixBlock ret = new MatrixBlock(ra + rb, nCol, false);
+		ret.allocateDenseBlock();
+		final DenseBlock db = ret.getDenseBlock();
+		final IColIndex target = ColIndexFactory.create(nCol);
+		a.copyAndSet(target).decompressToDenseBlock(db, 0, ra, 0, 0);
+		b.copyAndSet(target).decompressToDenseBlock(db, 0, rb, ra, 0);
+		ret.recomputeNonZeros();
+		ret.examSparsity();
+		return ColGroupUncompressed.create(ret, a.getColIndices());
+	}
+
 	private static MatrixBlock appendLeftUncompressed(MatrixBlock left, CompressedMatrixBlock right, final int m,
 		final int n) {
 
@@ -0,0 +1,338 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysds.runtime.compress.lib;
+
+import java.lang.ref.SoftReference;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+
+import org.apache.commons.lang3.tuple.ImmutablePair;
+import org.apache.commons.lang3.tuple.Pair;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.apache.sysds.conf.ConfigurationManager;
+import org.apache.sysds.conf.DMLConfig;
+import org.apache.sysds.runtime.compress.CompressedMatrixBlock;
+import org.apache.sysds.runtime.compress.CompressedMatrixBlockFactory;
+import org.apache.sysds.runtime.compress.colgroup.AColGroup;
+import org.apache.sysds.runtime.compress.colgroup.AMorphingMMColGroup;
+import org.apache.sysds.runtime.compress.colgroup.ColGroupUncompressed;
+import org.apache.sysds.runtime.compress.cost.ACostEstimate;
+import org.apache.sysds.runtime.compress.cost.ComputationCostEstimator;
+import org.apache.sysds.runtime.compress.cost.CostEstimatorBuilder;
+import org.apache.sysds.runtime.compress.cost.InstructionTypeCounter;
+import org.apache.sysds.runtime.matrix.data.MatrixBlock;
+import org.apache.sysds.runtime.util.CommonThreadPool;
+import org.apache.sysds.utils.DMLCompressionStatistics;
+import org.apache.sysds.utils.stats.InfrastructureAnalyzer;
+import org.apache.sysds.utils.stats.Timing;
+
+/**
+ * Workload-aware recompression of compressed matrices, whose column groups degraded after operations, e.g., into
+ * uncompressed fallbacks, morphing groups, or overlapping groups after matrix multiplications.
+ * 
+ * Every operation on a compressed matrix is recorded in the workload of the block, and the workload is inherited by the
+ * compressed results of element-wise operations. The recorded workload is priced with the computation cost estimator
+ * for the current column groups and for an uncompressed representation. Since compression only keeps column groups
+ * that are cheaper than the uncompressed representation for the given workload, the difference is a lower bound of
+ * the savings of recompression, assuming that the observed workload repeats. If these savings exceed the cost of
+ * recompression, the block is decompressed and compressed again with the workload-aware cost estimator (including
+ * co-coding) in the background. The input block is never modified; subsequent operations on it are redirected to the
+ * recompressed block once available, and the owning cache object adopts the recompressed block on its next read.
+ * 
+ * The decision is only re-evaluated after the number of observed operations doubled, which bounds the number of cost
+ * estimations and retries after unsuccessful recompressions, while still reacting to changes of the operation mix.
+ */
+public final class CLALibReCompress {
+	protected static final Log LOG = LogFactory.getLog(CLALibReCompress.class.getName());
+
+	/** Number of full passes over the data to recompress: decompression, estimation, and encoding */
+	private static final double RECOMPRESS_PASSES = 3;
+
+	/** Fraction of the local parallelism used for background recompression, taken from the global core budget */
+	private static final double BACKGROUND_PARALLELISM = 0.5;
+
+	/** The configuration the enabled flag was read from, and the flag */
+	private static volatile Pair<DMLConfig, Boolean> _enabled = null;
+
+	private CLALibReCompress() {
+		// private constructor
+	}
+
+	/**
+	 * The workload recorded on a compressed matrix block and the state of its recompression.
+	 */
+	public static final class Workload {
+		private final InstructionTypeCounter counter;
+		private final AtomicBoolean running = new AtomicBoolean(false);
+		/** Soft reference, since the recompressed block is not accounted in the buffer pool until adopted */
+		private volatile SoftReference<CompressedMatrixBlock> recompressed = null;
+		/** Number of observed operations, and the number at which recompression is evaluated next */
+		private long ops = 0;
+		private long nextCheck = 1;
+		private int attempts = 0;
+		private volatile boolean adopted = false;
+
+		private Workload(InstructionTypeCounter counter) {
+			this.counter = counter;
+		}
+
+		public InstructionTypeCounter getCounter() {
+			return counter;
+		}
+
+		/**
+		 * Get the recompressed block if the recompression finished.
+		 * 
+		 * @return The recompressed block or null
+		 */
+		public CompressedMatrixBlock getRecompressed() {
+			final SoftReference<CompressedMatrixBlock> r = recompressed;
+			return r != null ? r.get() : null;
+		}
+
+		/**
+		 * Get the number of started recompressions, including unsuccessful ones.
+		 * 
+		 * @return The number of attempts
+		 */
+		public int getNumAttempts() {
+			synchronized(counter) {
+				return attempts;
+			}
+		}
+
+		private Workload copy() {
+			final InstructionTypeCounter c = counter;
+			synchronized(c) {
+				final InstructionTypeCounter r = new InstructionTypeCounter(c.getScans(), c.getDecompressions(),
+					c.getOverlappingDecompressions(), c.getLeftMultiplications(), c.getRightMultiplications(),
+					c.getCompressedMultiplications(), c.getDictionaryOps(), c.getIndexing(), c.isDensifying());
+				return new Workload(r);
+			}
+		}
+	}
+
+	/**
+	 * Indicate if the workload-aware recompression is enabled in the configuration.
+	 * 
+	 * @return If enabled
+	 */
+	public static boolean isEnabled() {
+		final DMLConfig conf = ConfigurationManager.getDMLConfig();
+		Pair<DMLConfig, Boolean> e = _enabled;
+		if(e == null || e.getLeft() != conf) {
+			e = new ImmutablePair<>(conf, conf.getBooleanValue(DMLConfig.COMPRESSED_RECOMPRESS));
+			_enabled = e;
+		}
+		return e.getRight();
+	}
+
+	/**
+	 * Record an operation on the given compressed block, and trigger a background recompression if the projected
+	 * savings exceed the recompression cost.
+	 * 
+	 * @param cmb The compressed block the operation is applied on
+	 * @param op  The function recording the operation in the instruction counter
+	 * @return The block to apply the operation on, either the given block or its recompressed version
+	 */
+	public static CompressedMatrixBlock observe(CompressedMatrixBlock cmb, Consumer<InstructionTypeCounter> op) {
+		if(!isEnabled())
+			return cmb;
+		final Workload w = getWorkload(cmb);
+		final CompressedMatrixBlock r = w.getRecompressed();
+		if(r != null)
+			return observe(r, op);
+		final boolean check;
+		synchronized(w.counter) {
+			op.accept(w.counter);
+			// cheap counter check, with exponential backoff of the cost estimation
+			check = ++w.ops >= w.nextCheck && !w.adopted;
+			if(check)
+				w.nextCheck = w.ops * 2;
+		}
+		if(check && !w.running.get() && shouldRecompress(cmb))
+			recompressAsync(cmb, getBackgroundParallelism());
+		return cmb;
+	}
+
+	/**
+	 * Adopt the recompressed version of the given block if available. The caller takes ownership of the returned block
+	 * (e.g., the cache object it is pinned in), which releases the reference held by the workload of the input.
+	 * 
+	 * @param cmb The compressed block
+	 * @return The recompressed block, or the given block if not recompressed
+	 */
+	public static CompressedMatrixBlock adopt(CompressedMatrixBlock cmb) {
+		final Workload w = cmb.getWorkload();
+		if(w == null)
+			return cmb;
+		final CompressedMatrixBlock r = w.getRecompressed();
+		if(r == null)
+			return cmb;
+		w.adopted = true;
+		w.recompressed = null;
+		return r;
+	}
+
+	/**
+	 * Let the compressed output of an operation inherit the workload recorded on the input, such that the workload of
+	 * a chain of operations decides on the recompression of the degraded results.
+	 * 
+	 * @param in  The compressed input block of the operation
+	 * @param out The output of the operation
+	 * @return The output of the operation
+	 */
+	public static MatrixBlock inherit(CompressedMatrixBlock in, MatrixBlock out) {
+		if(out != in && out instanceof CompressedMatrixBlock && isEnabled())
+			((CompressedMatrixBlock) out).setWorkload(getWorkload(in).copy());
+		return out;
+	}
+
+	/**
+	 * Decide if the given block should be recompressed based on its recorded workload.
+	 * 
+	 * @param cmb The compressed block
+	 * @return If the projected savings of the recompression exceed its cost
+	 */
+	public static boolean shouldRecompress(CompressedMatrixBlock cmb) {
+		if(!isDegraded(cmb))
+			return false;
+		final ACostEstimate e = getCostEstimator(getWorkload(cmb));
+		final double current = e.getCost(cmb);
+		final double uncompressed = e.getCost(getUncompressedProxy(cmb));
+		final double savings = current - uncompressed;
+		final double cost = getRecompressionCost(cmb);
+		if(LOG.isDebugEnabled())
+			LOG.debug(String.format("Recompression savings %.0f (current %.0f, uncompressed %.0f) vs cost %.0f",
+				savings, current, uncompressed, cost));
+		return savings > cost;
+	}
+
+	/**
+	 * Recompress the given block in the background, and redirect all following observed operations to the
+	 * recompressed block once finished. At most one recompression per block is running at a time.
+	 * 
+	 * The background task runs in the shared thread pool and only uses cores available in the global core budget, so it
+	 * does not compete with the foreground operations for more than the given parallelism.
+	 * 
+	 * @param cmb The compressed block
+	 * @param k   The maximum parallelization degree used for recompression
+	 * @return The future of the background recompression
+	 */
+	public static Future<Void> recompressAsync(CompressedMatrixBlock cmb, int k) {
+		final Workload w = getWorkload(cmb);
+		if(!w.running.compareAndSet(false, true))
+			return CompletableFuture.completedFuture(null);
+		synchronized(w.counter) {
+			w.attempts++;
+		}
+		return CompletableFuture.runAsync(() -> {
+			final int kb = CommonThreadPool.acquireCores(k);
+			try {
+				final CompressedMatrixBlock r = recompress(cmb, w, kb);
+				if(r != null)
+					w.recompressed = new SoftReference<>(r);
+			}
+			catch(Exception e) {
+				LOG.warn("Failed workload-aware recompression", e);
+			}
+			finally {
+				CommonThreadPool.releaseCores(kb);
+				synchronized(w.counter) {
+					// back off until the number of observed operations doubled
+					w.nextCheck = Math.max(w.nextCheck, w.ops * 2);
+				}
+				w.running.set(false);
+			}
+		}, CommonThreadPool.get());
+	}
+
+	private static CompressedMatrixBlock recompress(CompressedMatrixBlock cmb, Workload w, int k) {
+		final Timing time = new Timing(true);
+		final Workload rw = w.copy();
+		final ACostEstimate e = getCostEstimator(rw);
+		final MatrixBlock mb = cmb.decompress(k);
+		final MatrixBlock c = CompressedMatrixBlockFactory.compress(mb, k, new CostEstimatorBuilder(rw.counter))
+			.getLeft();
+		final CompressedMatrixBlock ret = c instanceof CompressedMatrixBlock ? (CompressedMatrixBlock) c : //
+			CompressedMatrixBlockFactory.genUncompressedCompressedMatrixBlock(mb);
+		DMLCompressionStatistics.addRecompressTime(time.stop());
+		if(e.getCost(ret) >= e.getCost(cmb))
+			return null; // no improvement
+		ret.setWorkload(rw);
+		return ret;
+	}
+
+	private static int getBackgroundParallelism() {
+		return Math.max(1, (int) (InfrastructureAnalyzer.getLocalParallelism() * BACKGROUND_PARALLELISM));
+	}
+
+	private static Workload getWorkload(CompressedMatrixBlock cmb) {
+		Workload w = cmb.getWorkload();
+		if(w == null) {
+			synchronized(cmb) {
+				w = cmb.getWorkload();
+				if(w == null) {
+					w = new Workload(new InstructionTypeCounter());
+					cmb.setWorkload(w);
+				}
+			}
+		}
+		return w;
+	}
+
+	private static boolean isDegraded(CompressedMatrixBlock cmb) {
+		if(cmb.isOverlapping())
+			return true;
+		for(AColGroup g : cmb.getColGroups())
+			if(g instanceof ColGroupUncompressed || g instanceof AMorphingMMColGroup)
+				return true;
+		return false;
+	}
+
+	private static ACostEstimate getCostEstimator(Workload w) {
+		final InstructionTypeCounter c = w.counter;
+		synchronized(c) {
+			return new ComputationCostEstimator(c.getScans(), c.getDecompressions(), c.getOverlappingDecompressions(),
+				c.getLeftMultiplications(), c.getRightMultiplications(), c.getCompressedMultiplications(),
+				c.getDictionaryOps(), c.getIndexing(), c.isDensifying());
+		}
+	}
+
+	private static MatrixBlock getUncompressedProxy(CompressedMatrixBlock cmb) {
+		// meta data only block, since the cost of uncompressed blocks only depend on dimensions and sparsity
+		final MatrixBlock mb = new MatrixBlock(cmb.getNumRows(), cmb.getNumColumns(), true);
+		mb.setNonZeros(getNonZeros(cmb));
+		return mb;
+	}
+
+	private static double getRecompressionCost(CompressedMatrixBlock cmb) {
+		final double cells = (double) cmb.getNumRows() * cmb.getNumColumns();
+		return RECOMPRESS_PASSES * Math.max(getNonZeros(cmb), cells / 10);
+	}
+
+	private static long getNonZeros(CompressedMatrixBlock cmb) {
+		final long nnz = cmb.getNonZeros();
+		return nnz < 0 ? (long) cmb.getNumRows() * cmb.getNumColumns() : nnz;
+	}
+}
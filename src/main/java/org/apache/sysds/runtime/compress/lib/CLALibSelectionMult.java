@@ -31,8 +31,14 @@ import org.apache.sysds.runtime.compress.CompressedMatrixBlock;
 import org.apache.sysds.runtime.compress.DMLCompressionException;
 import org.apache.sysds.runtime.compress.colgroup.AColGroup;
 import org.apache.sysds.runtime.compress.colgroup.AColGroup.CompressionType;
+import org.apache.sysds.runtime.compress.colgroup.ColGroupConst;
+import org.apache.sysds.runtime.compress.colgroup.ColGroupDDC;
+import org.apache.sysds.runtime.compress.colgroup.ColGroupEmpty;
+import org.apache.sysds.runtime.compress.colgroup.ColGroupUncompressed;
 import org.apache.sysds.runtime.compress.colgroup.ColGroupUtils;
 import org.apache.sysds.runtime.compress.colgroup.ColGroupUtils.P;
+import org.apache.sysds.runtime.compress.colgroup.mapping.AMapToData;
+import org.apache.sysds.runtime.compress.colgroup.mapping.MapToFactory;
 import org.apache.sysds.runtime.compress.utils.IntArrayList;
 import org.apache.sysds.runtime.data.DenseBlock;
 import org.apache.sysds.runtime.data.SparseBlock;
@@ -60,6 +66,8 @@ public interface CLALibSelectionMult {
 	 */
 	public static MatrixBlock leftSelection(CompressedMatrixBlock right, MatrixBlock left, MatrixBlock ret, int k) {
 		try {
+			if(isCompressedSelectionApplicable(right, left))
+				return leftSelectionCompressed(right, left, k);
 
 			if(right.getNonZeros() <= -1)
 				right.recomputeNonZeros();
@@ -83,6 +91,47 @@ public interface CLALibSelectionMult {
 		}
 	}
 
+	/**
+	 * Left selection where every row of the left matrix selects exactly one row of the right matrix, e.g., a permutation
+	 * or a sampled mini-batch. The selected rows of DDC, constant, and empty column groups are gathered in compressed
+	 * form sharing the dictionaries, while the rows of all other column groups are selected into uncompressed column
+	 * groups.
+	 * 
+	 * @param right Right hand side compressed matrix
+	 * @param left  Left hand side selection matrix with exactly one 1 per row
+	 * @param k     The parallelization degree.
+	 * @return The compressed selected rows of the input matrix
+	 */
+	public static CompressedMatrixBlock leftSelectionCompressed(CompressedMatrixBlock right, MatrixBlock left, int k) {
+		final int nRow = left.getNumRows();
+		final int nCol = right.getNumColumns();
+		final SparseBlock sb = left.getSparseBlock();
+		final int[] sel = new int[nRow];
+		for(int i = 0; i < nRow; i++)
+			sel[i] = sb.indexes(i)[sb.pos(i)];
+
+		final List<AColGroup> groups = right.getColGroups();
+		final List<AColGroup> retG = new ArrayList<>(groups.size());
+		final List<AColGroup> others = new ArrayList<>();
+		for(AColGroup g : groups) {
+			if(g instanceof ColGroupDDC)
+				retG.add(selectRowsDDC((ColGroupDDC) g, sel));
+			else if(g instanceof ColGroupConst || g instanceof ColGroupEmpty)
+				retG.add(g); // the same in all rows
+			else
+				others.add(g);
+		}
+
+		if(!others.isEmpty()) {
+			final CompressedMatrixBlock o = new CompressedMatrixBlock(right.getNumRows(), nCol, -1, false, others);
+			final MatrixBlock tmp = leftSelection(o, left, null, k);
+			for(AColGroup g : others)
+				retG.add(ColGroupUncompressed.create(g.getColIndices(), tmp, false));
+		}
+
+		return new CompressedMatrixBlock(nRow, nCol, -1, false, retG);
+	}
+
 	/**
 	 * Analyze if the given matrix is a selection matrix if on the left side of a matrix multiplication.
 	 * 
@@ -124,6 +173,28 @@ public interface CLALibSelectionMult {
 		return false;
 	}
 
+	private static boolean isCompressedSelectionApplicable(CompressedMatrixBlock right, MatrixBlock left) {
+		if(right.isOverlapping() || !left.isInSparseFormat())
+			return false;
+		final SparseBlock sb = left.getSparseBlock();
+		for(int i = 0; i < left.getNumRows(); i++)
+			if(sb.isEmpty(i))
+				return false; // not all rows are selecting a row.
+		// only beneficial if some column groups can be gathered in compressed form
+		for(AColGroup g : right.getColGroups())
+			if(g instanceof ColGroupDDC)
+				return true;
+		return false;
+	}
+
+	private static AColGroup selectRowsDDC(ColGroupDDC g, int[] sel) {
+		final AMapToData m = g.getMapToData();
+		final AMapToData ret = MapToFactory.create(sel.length, m.getUnique());
+		for(int i = 0; i < sel.length; i++)
+			ret.set(i, m.getIndex(sel[i]));
+		return ColGroupDDC.create(g.getColIndices(), g.getDictionary(), ret, null);
+	}
+
 	private static MatrixBlock allocateReturn(CompressedMatrixBlock right, MatrixBlock left, MatrixBlock ret,
 		boolean sparseOut) {
 		if(ret == null)
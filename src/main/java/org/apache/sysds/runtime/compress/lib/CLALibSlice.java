@@ -30,6 +30,7 @@ import org.apache.commons.logging.LogFactory;
 import org.apache.sysds.runtime.DMLRuntimeException;
 import org.apache.sysds.runtime.compress.CompressedMatrixBlock;
 import org.apache.sysds.runtime.compress.colgroup.AColGroup;
+import org.apache.sysds.runtime.compress.colgroup.AColGroup.CompressionType;
 import org.apache.sysds.runtime.compress.colgroup.ColGroupConst;
 import org.apache.sysds.runtime.compress.colgroup.ColGroupEmpty;
 import org.apache.sysds.runtime.data.DenseBlock;
@@ -115,7 +116,16 @@ public final class CLALibSlice {
 	}
 
 	private static boolean shouldDecompressSliceRows(CompressedMatrixBlock cmb, int rl, int ru) {
-		return ru - rl > 124;
+		// keep row slices such as mini-batches compressed, if all column groups support compressed row slicing.
+		for(AColGroup g : cmb.getColGroups())
+			if(!canSliceRowsCompressed(g))
+				return true;
+		return false;
+	}
+
+	private static boolean canSliceRowsCompressed(AColGroup g) {
+		final CompressionType ct = g.getCompType();
+		return ct != CompressionType.OLE && ct != CompressionType.LinearFunctional;
 	}
 
 	private static MatrixBlock sliceRowsDecompress(CompressedMatrixBlock cmb, int rl, int ru) {
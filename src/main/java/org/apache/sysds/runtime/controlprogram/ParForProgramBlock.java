@@ -730,8 +730,14 @@ public class ParForProgramBlock extends ForProgramBlock {
 		final LocalTaskQueue<Task> queue = new LocalTaskQueue<>();
 		final Thread[] threads         = new Thread[_numThreads];
 		final LocalParWorker[] workers = new LocalParWorker[_numThreads];
+		int numCores = 1;
 		try
 		{
+			//reserve cores of parfor workers from the global core budget
+			//(nested multi-threaded operations use the remaining cores,
+			//released in finally, i.e., also on errors before the workers start)
+			numCores = CommonThreadPool.acquireCores(_numThreads);
+			
 			// Step 1) create task queue and init workers in parallel
 			// (including preparation of update-in-place variables)
 			IntStream.range(0, _numThreads).forEach(i -> {
@@ -824,6 +830,7 @@ public class ParForProgramBlock extends ForProgramBlock {
 			//remove thread-local memory budget (reset to original budget)
 			//(in finally to prevent error side effects for multiple scripts in one jvm)
 			resetMemoryBudget();
+			CommonThreadPool.releaseCores(numCores);
 
 			if(threads != null) 
 				for(Thread t : threads) 
@@ -39,6 +39,7 @@ import org.apache.sysds.runtime.compress.CompressedMatrixBlock;
 import org.apache.sysds.runtime.controlprogram.caching.CacheableData;
 import org.apache.sysds.runtime.controlprogram.caching.MatrixObject;
 import org.apache.sysds.runtime.controlprogram.caching.MatrixObject.UpdateType;
+import org.apache.sysds.runtime.controlprogram.caching.PrefetchScheduler;
 import org.apache.sysds.runtime.controlprogram.context.ExecutionContext;
 import org.apache.sysds.runtime.instructions.Instruction;
 import org.apache.sysds.runtime.instructions.cp.BooleanObject;
@@ -53,6 +54,7 @@ import org.apache.sysds.runtime.lineage.LineageCacheConfig.ReuseCacheType;
 import org.apache.sysds.runtime.matrix.data.MatrixBlock;
 import org.apache.sysds.runtime.meta.MetaData;
 import org.apache.sysds.runtime.meta.MetaDataFormat;
+import org.apache.sysds.utils.stats.EventTrace;
 import org.apache.sysds.utils.stats.RecompileStatistics;
 import org.apache.sysds.utils.Statistics;
 
@@ -199,6 +201,9 @@ public abstract class ProgramBlock implements ParseInfo {
 		for(int i = 0; i < inst.size(); i++) {
 			// indexed access required due to dynamic add
 			Instruction currInst = inst.get(i);
+			// schedule restores of evicted inputs of upcoming instructions
+			if(PrefetchScheduler.isEnabled())
+				PrefetchScheduler.lookahead(inst, i, ec);
 			// execute instruction
 			executeSingleInstruction(currInst, ec);
 		}
@@ -243,6 +248,7 @@ public abstract class ProgramBlock implements ParseInfo {
 			// start time measurement for statistics
 			long t0 = (DMLScript.STATISTICS || DMLScript.STATISTICS_NGRAMS || LOG.isTraceEnabled())
 				? System.nanoTime() : 0;
+			long tt0 = EventTrace.begin();
 
 			// pre-process instruction (inst patching, listeners, lineage)
 			Instruction tmp = currInst.preprocessInstruction(ec);
@@ -269,6 +275,9 @@ public abstract class ProgramBlock implements ParseInfo {
 					Statistics.maintainNGramsFromLineage(tmp, ec, t0);
 			}
 
+			// optional event trace (instruction, operands, and thread)
+			EventTrace.instruction(tmp, ec, tt0);
+
 			// optional trace information (instruction and runtime)
 			if(LOG.isTraceEnabled()) {
 				long t1 = System.nanoTime();
@@ -30,6 +30,7 @@ import org.apache.sysds.runtime.data.DenseBlockLDRB;
 import org.apache.sysds.runtime.frame.data.FrameBlock;
 import org.apache.sysds.runtime.matrix.data.MatrixBlock;
 import org.apache.sysds.runtime.util.LocalFileUtils;
+import org.apache.sysds.utils.stats.EventTrace;
 
 /**
  * Wrapper for WriteBuffer byte array per matrix/frame in order to
@@ -101,17 +102,48 @@ public class ByteBuffer
 		return ret;
 	}
 
-	public void evictBuffer( String fname ) 
+	/**
+	 * Evicts the buffer to the off-heap tier (if enabled and of sufficient
+	 * capacity) or otherwise to the local file system.
+	 * 
+	 * @param fname file name of the evicted block
+	 * @return true if the buffer was written to the local file system
+	 * @throws IOException if IOException occurs
+	 */
+	public boolean evictBuffer( String fname ) 
 		throws IOException
 	{
-		if( !_shallow ) {
-			//write out byte serialized array
-			LocalFileUtils.writeByteArrayToLocal(fname, _bdata);
+		long t0 = EventTrace.begin();
+		try {
+			return evictBufferIntern(fname);
+		}
+		finally {
+			EventTrace.end("evict", EventTrace.CAT_CACHE, t0, "size", _size);
+		}
+	}
+	
+	private boolean evictBufferIntern( String fname ) 
+		throws IOException
+	{
+		if( OffHeapBuffer.isEnabled() && (!_shallow ?
+			OffHeapBuffer.writeBytes(fname, _bdata) :
+			OffHeapBuffer.writeBlock(fname, _cdata)) ) {
+			return false;
+		}
+		else if( !_shallow ) {
+			//write out byte serialized array (compressed if beneficial)
+			if( !SpillCompression.writeBytes(fname, _bdata, _matrix) ) {
+				long t1 = System.nanoTime();
+				LocalFileUtils.writeByteArrayToLocal(fname, _bdata);
+				SpillCompression.recordRawWrite(_matrix ? SpillCompression.SpillBlockType.SPARSE :
+					SpillCompression.SpillBlockType.FRAME, _bdata.length, System.nanoTime() - t1);
+			}
 		}
 		else {
 			//serialize cache block to output stream
 			LocalFileUtils.writeCacheBlockToLocal(fname, _cdata);
 		}
+		return true;
 	}
 	
 	/**
@@ -40,12 +40,31 @@ public class CacheStatistics
 	private static final LongAdder _numHitsFS       = new LongAdder();
 	private static final LongAdder _numHitsHDFS     = new LongAdder();
 	private static final LongAdder _numHitsLin      = new LongAdder();
+	private static final LongAdder _numHitsOffHeap  = new LongAdder();
 
 	//write statistics caching
 	private static final LongAdder _numWritesBPool = new LongAdder();
 	private static final LongAdder _numWritesFS     = new LongAdder();
 	private static final LongAdder _numWritesHDFS   = new LongAdder();
 	private static final LongAdder _numWritesLin    = new LongAdder();
+	private static final LongAdder _numWritesOffHeap = new LongAdder();
+	private static final LongAdder _bytesOffHeap    = new LongAdder();
+
+	//runtime prefetch statistics (restores, hits, late acquires)
+	private static final LongAdder _numPrefetches   = new LongAdder();
+	private static final LongAdder _numPrefetchHits = new LongAdder();
+	private static final LongAdder _numPrefetchLate = new LongAdder();
+
+	//compressed spill statistics (blocks, raw/written bytes, compression/decompression time)
+	private static final LongAdder _numSpillComp    = new LongAdder();
+	private static final LongAdder _spillBytesRaw   = new LongAdder();
+	private static final LongAdder _spillBytesComp  = new LongAdder();
+	private static final LongAdder _ctimeSpillComp  = new LongAdder();
+	private static final LongAdder _ctimeSpillDecomp = new LongAdder();
+
+	//memory governor statistics (pressure events, evicted blocks)
+	private static final LongAdder _numMemPressure  = new LongAdder();
+	private static final LongAdder _numMemEvicted   = new LongAdder();
 	
 	//time statistics caching
 	private static final LongAdder _ctimeAcquireR   = new LongAdder(); //in nano sec
@@ -59,11 +78,26 @@ public class CacheStatistics
 		_numHitsFSBuff.reset();
 		_numHitsFS.reset();
 		_numHitsHDFS.reset();
+		_numHitsOffHeap.reset();
 		
 		_numWritesBPool.reset();
 		_numWritesFS.reset();
 		_numWritesHDFS.reset();
 		_numWritesLin.reset();
+		_numWritesOffHeap.reset();
+		_bytesOffHeap.reset();
+		
+		_numPrefetches.reset();
+		_numPrefetchHits.reset();
+		_numPrefetchLate.reset();
+		
+		_numSpillComp.reset();
+		_spillBytesRaw.reset();
+		_spillBytesComp.reset();
+		_ctimeSpillComp.reset();
+		_ctimeSpillDecomp.reset();
+		_numMemPressure.reset();
+		_numMemEvicted.reset();
 		
 		_ctimeAcquireR.reset();
 		_ctimeAcquireM.reset();
@@ -179,6 +213,88 @@ public class CacheStatistics
 		return _numWritesLin.longValue();
 	}
 	
+	public static void incrementOffHeapHits() {
+		_numHitsOffHeap.increment();
+	}
+
+	public static long getOffHeapHits() {
+		return _numHitsOffHeap.longValue();
+	}
+
+	public static void incrementOffHeapWrites(long bytes) {
+		_numWritesOffHeap.increment();
+		_bytesOffHeap.add(bytes);
+	}
+
+	public static long getOffHeapWrites() {
+		return _numWritesOffHeap.longValue();
+	}
+
+	public static long getOffHeapWriteBytes() {
+		return _bytesOffHeap.longValue();
+	}
+	
+	public static void incrementPrefetches() {
+		_numPrefetches.increment();
+	}
+
+	public static long getPrefetches() {
+		return _numPrefetches.longValue();
+	}
+
+	public static void incrementPrefetchHits() {
+		_numPrefetchHits.increment();
+	}
+
+	public static long getPrefetchHits() {
+		return _numPrefetchHits.longValue();
+	}
+
+	public static void incrementPrefetchLate() {
+		_numPrefetchLate.increment();
+	}
+
+	public static long getPrefetchLate() {
+		return _numPrefetchLate.longValue();
+	}
+
+	public static void incrementSpillCompressed() {
+		_numSpillComp.increment();
+	}
+
+	public static long getSpillCompressed() {
+		return _numSpillComp.longValue();
+	}
+
+	public static void incrementSpillBytes(long raw, long written) {
+		_spillBytesRaw.add(raw);
+		_spillBytesComp.add(written);
+	}
+
+	public static long getSpillBytesSaved() {
+		return _spillBytesRaw.longValue() - _spillBytesComp.longValue();
+	}
+
+	public static void incrementSpillCompressTime(long delta) {
+		_ctimeSpillComp.add(delta);
+	}
+
+	public static void incrementSpillDecompressTime(long delta) {
+		_ctimeSpillDecomp.add(delta);
+	}
+
+	public static void incrementMemPressure() {
+		_numMemPressure.increment();
+	}
+
+	public static long getMemPressure() {
+		return _numMemPressure.longValue();
+	}
+
+	public static void incrementMemEvicted(long delta) {
+		_numMemEvicted.add(delta);
+	}
+
 	public static void incrementAcquireRTime(long delta) {
 		_ctimeAcquireR.add(delta);
 	}
@@ -239,6 +355,54 @@ public class CacheStatistics
 		return sb.toString();
 	}
 	
+	public static String displayOffHeap() {
+		StringBuilder sb = new StringBuilder();
+		sb.append(_numHitsOffHeap.longValue());
+		sb.append("/");
+		sb.append(_numWritesOffHeap.longValue());
+		sb.append("/");
+		sb.append(String.format("%.3f", ((double)_bytesOffHeap.longValue())/(1024*1024))); //in MB
+		
+		return sb.toString();
+	}
+	
+	public static String displayPrefetch() {
+		StringBuilder sb = new StringBuilder();
+		sb.append(_numPrefetches.longValue());
+		sb.append("/");
+		sb.append(_numPrefetchHits.longValue());
+		sb.append("/");
+		sb.append(_numPrefetchLate.longValue());
+		
+		return sb.toString();
+	}
+	
+	public static String displaySpillCompression() {
+		StringBuilder sb = new StringBuilder();
+		sb.append(_numSpillComp.longValue());
+		sb.append("/");
+		sb.append(String.format("%.1f", ((double)getSpillBytesSaved())/(1024*1024)));
+		sb.append("/");
+		sb.append(String.format("%.3f", ((double)_ctimeSpillComp.longValue())/1000000000)); //in sec
+		sb.append("/");
+		sb.append(String.format("%.3f", ((double)_ctimeSpillDecomp.longValue())/1000000000)); //in sec
+		
+		return sb.toString();
+	}
+
+	public static String displayMemoryGovernor() {
+		StringBuilder sb = new StringBuilder();
+		sb.append(_numMemPressure.longValue());
+		sb.append("/");
+		sb.append(_numMemEvicted.longValue());
+		sb.append("/");
+		sb.append(String.format("%.3f", MemoryGovernor.getBudgetFactor()));
+		sb.append("/");
+		sb.append(String.format("%.2f", MemoryGovernor.getEstimateRatio()));
+		
+		return sb.toString();
+	}
+	
 	public static String displayTime() {
 		StringBuilder sb = new StringBuilder();
 		sb.append(String.format("%.3f", ((double)_ctimeAcquireR.longValue())/1000000000)); //in sec
@@ -40,6 +40,7 @@ import org.apache.sysds.hops.OptimizerUtils;
 import org.apache.sysds.hops.fedplanner.FTypes.FType;
 import org.apache.sysds.runtime.DMLRuntimeException;
 import org.apache.sysds.runtime.compress.CompressedMatrixBlock;
+import org.apache.sysds.runtime.compress.lib.CLALibReCompress;
 import org.apache.sysds.runtime.controlprogram.caching.LazyWriteBuffer.RPolicy;
 import org.apache.sysds.runtime.controlprogram.federated.FederationMap;
 import org.apache.sysds.runtime.controlprogram.parfor.util.IDSequence;
@@ -60,6 +61,7 @@ import org.apache.sysds.runtime.meta.MetaDataFormat;
 import org.apache.sysds.runtime.util.HDFSTool;
 import org.apache.sysds.runtime.util.LocalFileUtils;
 import org.apache.sysds.utils.Statistics;
+import org.apache.sysds.utils.stats.EventTrace;
 import org.apache.sysds.utils.stats.InfrastructureAnalyzer;
 
 
@@ -164,6 +166,13 @@ public abstract class CacheableData<T extends CacheBlock<?>> extends Data
 	/** Container object that holds the actual data. */
 	protected T _data = null;
 
+	/** State of a runtime prefetch of evicted data (see PrefetchScheduler). */
+	private volatile int _prefetchState = PREFETCH_NONE;
+	private static final int PREFETCH_NONE = 0;
+	private static final int PREFETCH_PENDING = 1;
+	private static final int PREFETCH_RUNNING = 2;
+	private static final int PREFETCH_RESTORED = 3;
+
 	/**
 	 * Object that holds the metadata associated with the matrix, which
 	 * includes: 1) Matrix dimensions, if available 2) Number of non-zeros, if
@@ -534,6 +543,17 @@ public abstract class CacheableData<T extends CacheBlock<?>> extends Data
 		if( _data == null )
 			getCache();
 
+		//track outcome of runtime prefetch (restored in time or still pending)
+		if( _prefetchState != PREFETCH_NONE ) {
+			if( DMLScript.STATISTICS ) {
+				if( _prefetchState == PREFETCH_RESTORED && _data != null )
+					CacheStatistics.incrementPrefetchHits();
+				else if( _prefetchState == PREFETCH_PENDING || _prefetchState == PREFETCH_RUNNING )
+					CacheStatistics.incrementPrefetchLate();
+			}
+			_prefetchState = PREFETCH_NONE;
+		}
+
 		if (OptimizerUtils.isUMMEnabled())
 			//track and make space in the UMM
 			UnifiedMemoryManager.pin(this);
@@ -580,7 +600,9 @@ public abstract class CacheableData<T extends CacheBlock<?>> extends Data
 						throw new DMLRuntimeException("Cannot read matrix for empty filename.");
 					
 					//read cacheable data from hdfs
+					long t0 = EventTrace.begin();
 					_data = readBlobFromHDFS( _hdfsFileName );
+					EventTrace.cache("read", this, t0);
 					
 					//mark for initial local write despite read operation
 					_requiresLocalWrite = false;
@@ -605,11 +627,24 @@ public abstract class CacheableData<T extends CacheBlock<?>> extends Data
 			CacheStatistics.incrementMemHits();
 		}
 
+		//adopt background recompression of degraded compressed blocks
+		if( _data instanceof CompressedMatrixBlock )
+			adoptRecompressed();
+
 		//cache status maintenance
 		acquire( false, _data==null );
 
 		return _data;
 	}
+
+	@SuppressWarnings("unchecked")
+	private void adoptRecompressed() {
+		CompressedMatrixBlock r = CLALibReCompress.adopt((CompressedMatrixBlock) _data);
+		if( r != _data ) {
+			_data = (T) r;
+			setCompressedSize(r.getInMemorySize());
+		}
+	}
 	
 	/**
 	 * Acquires the exclusive "write" lock for a thread that wants to throw away the
@@ -625,6 +660,10 @@ public abstract class CacheableData<T extends CacheBlock<?>> extends Data
 	public T acquireModify(T newData) {
 		long t0 = DMLScript.STATISTICS ? System.nanoTime() : 0;
 		
+		//track actual vs estimated size (before meta data refresh)
+		if( MemoryGovernor.isEnabled() && newData != null && this instanceof MatrixObject )
+			MemoryGovernor.trackSize(getDataCharacteristics(), newData.getInMemorySize());
+		
 		//core internal acquire (synchronized per object)
 		T ret = acquireModifyIntern(newData);
 		
@@ -651,8 +690,9 @@ public abstract class CacheableData<T extends CacheBlock<?>> extends Data
 		if (! isAvailableToModify ())
 			throw new DMLRuntimeException("CacheableData not available to modify.");
 		
-		//clear old data
+		//clear old data (and invalidate running prefetches)
 		clearData();
+		_prefetchState = PREFETCH_NONE;
 		
 		//cache status maintenance
 		acquire (true, false); //no need to load evicted matrix
@@ -1005,12 +1045,14 @@ public abstract class CacheableData<T extends CacheBlock<?>> extends Data
 		if (_data != null)
 			throw new DMLRuntimeException(cacheFilePathAndName + " : Cannot restore on top of existing in-memory data.");
 
+		long t0 = EventTrace.begin();
 		try {
 			_data = readBlobFromCache(cacheFilePathAndName);
 		}
 		catch (IOException e) {
 			throw new DMLRuntimeException(cacheFilePathAndName + " : Restore failed.", e);	
 		}
+		EventTrace.cache("restore", this, t0);
 		
 		//check for success
 		if (_data == null)
@@ -1022,6 +1064,84 @@ public abstract class CacheableData<T extends CacheBlock<?>> extends Data
 
 	protected abstract T readBlobFromCache(String fname)
 		throws IOException;
+
+	/**
+	 * Indicates if the data blob is evicted, i.e., neither pinned nor referenced by the soft reference cache, but
+	 * restorable from the buffer pool or local file system.
+	 * 
+	 * @return true if evicted
+	 */
+	public synchronized boolean isEvicted() {
+		return _cacheStatus == CacheStatus.CACHED && _data == null
+			&& (_cache == null || _cache.get() == null)
+			&& !hasValidLineage() && !OptimizerUtils.isUMMEnabled();
+	}
+
+	/**
+	 * Marks this object for a pending runtime prefetch if it is evicted and not yet marked.
+	 * 
+	 * @return true if marked by this call
+	 */
+	public synchronized boolean markPrefetchPending() {
+		if( _prefetchState != PREFETCH_NONE || !isEvicted() )
+			return false;
+		_prefetchState = PREFETCH_PENDING;
+		return true;
+	}
+
+	/**
+	 * Resets a pending runtime prefetch that was dropped before execution.
+	 */
+	public synchronized void cancelPrefetch() {
+		if( _prefetchState == PREFETCH_PENDING )
+			_prefetchState = PREFETCH_NONE;
+	}
+
+	/**
+	 * Restores the evicted data blob into the soft reference cache without pinning it, such that a subsequent
+	 * acquireRead finds the data in memory. The data remains in the buffer pool or local file system, i.e., the
+	 * restored blob can still be reclaimed by the garbage collector. The restore I/O is done outside the object
+	 * monitor, so a concurrent acquire is never blocked by a prefetch but rather invalidates it.
+	 * 
+	 * @return true if the data was restored
+	 */
+	public boolean restoreEvicted() {
+		String fname = null;
+		synchronized( this ) {
+			if( _prefetchState != PREFETCH_PENDING || !isEvicted() ) {
+				_prefetchState = PREFETCH_NONE;
+				return false;
+			}
+			_prefetchState = PREFETCH_RUNNING;
+			fname = getCacheFilePathAndName();
+		}
+		T data = null;
+		boolean ret = false;
+		try {
+			long t0 = EventTrace.begin();
+			data = readBlobFromCache(fname);
+			EventTrace.cache("restore", this, t0);
+		}
+		catch(IOException e) {
+			//cache file might have been deleted by a concurrent modify
+			if( _prefetchState != PREFETCH_RUNNING )
+				return false;
+			throw new DMLRuntimeException(fname + " : Restore failed.", e);
+		}
+		finally {
+			synchronized( this ) {
+				//publish unless acquired or modified in the meantime
+				if( data != null && _prefetchState == PREFETCH_RUNNING && isEvicted() ) {
+					_cache = new SoftReference<>(data);
+					_prefetchState = PREFETCH_RESTORED;
+					ret = true;
+				}
+				else if( _prefetchState == PREFETCH_RUNNING )
+					_prefetchState = PREFETCH_NONE;
+			}
+		}
+		return ret;
+	}
 	
 	/**
 	 * Low-level cache I/O method that deletes the file containing the
@@ -1383,7 +1503,9 @@ public abstract class CacheableData<T extends CacheBlock<?>> extends Data
 	// --------- STATIC CACHE INIT/CLEANUP OPERATIONS ----------
 
 	public synchronized static void cleanupCacheDir() {
-		//cleanup remaining cached writes
+		//cleanup pending prefetches and remaining cached writes
+		PrefetchScheduler.cleanup();
+		MemoryGovernor.stop();
 		LazyWriteBuffer.cleanup();
 		UnifiedMemoryManager.cleanup();
 		
@@ -28,6 +28,7 @@ import org.apache.commons.logging.LogFactory;
 import org.apache.sysds.api.DMLScript;
 import org.apache.sysds.hops.OptimizerUtils;
 import org.apache.sysds.runtime.util.LocalFileUtils;
+import org.apache.sysds.utils.stats.EventTrace;
 
 public class LazyWriteBuffer {
 	protected static final Log LOG = LogFactory.getLog(LazyWriteBuffer.class.getName());
@@ -87,8 +88,12 @@ public class LazyWriteBuffer {
 			}
 		}
 		else {
-			//write directly to local FS (bypass buffer if too large)
+			//write directly to off-heap tier or local FS (bypass buffer if too large)
+			if( OffHeapBuffer.isEnabled() && OffHeapBuffer.writeBlock(fname, cb) )
+				return numEvicted;
+			long t0 = EventTrace.begin();
 			LocalFileUtils.writeCacheBlockToLocal(fname, cb);
+			EventTrace.end("evict", EventTrace.CAT_CACHE, t0, "size", lSize);
 			if( DMLScript.STATISTICS )
 				CacheStatistics.incrementFSWrites();
 			
@@ -110,16 +115,35 @@ public class LazyWriteBuffer {
 				// wait for pending serialization
 				tmp.checkSerialized();
 
-				// evict matrix
-				tmp.evictBuffer(ftmp);
+				// evict matrix (to off-heap tier or local FS)
+				if( tmp.evictBuffer(ftmp) )
+					numEvicted++;
 				tmp.freeMemory();
 				_size -= tmp.getSize();
-				numEvicted++;
 			}
 		}
 		return numEvicted;
 	}
 
+	/**
+	 * Evicts buffered entries until the buffer size is within the
+	 * current limit (e.g., after a reduced limit on memory pressure).
+	 * 
+	 * @return number of evicted entries
+	 * @throws IOException if the eviction fails
+	 */
+	public static int evictToLimit() throws IOException {
+		if( _mQueue == null )
+			return 0;
+		int numEvicted = 0;
+		synchronized(_mQueue) {
+			numEvicted = evict(0);
+		}
+		if( DMLScript.STATISTICS )
+			CacheStatistics.incrementFSWrites(numEvicted);
+		return numEvicted;
+	}
+
 	public static void deleteBlock(String fname)
 	{
 		boolean requiresDelete = true;
@@ -135,8 +159,8 @@ public class LazyWriteBuffer {
 			}
 		}
 		
-		//delete from FS if required
-		if( requiresDelete )
+		//delete from off-heap tier or FS if required
+		if( requiresDelete && !(OffHeapBuffer.isEnabled() && OffHeapBuffer.deleteBlock(fname)) )
 			_fClean.deleteFile(fname);
 	}
 	
@@ -170,9 +194,14 @@ public class LazyWriteBuffer {
 		}
 		else
 		{
-			cb = LocalFileUtils.readCacheBlockFromLocal(fname, matrix);
-			if( DMLScript.STATISTICS )
-				CacheStatistics.incrementFSHits();
+			//probe off-heap tier before local FS
+			if( OffHeapBuffer.isEnabled() )
+				cb = OffHeapBuffer.readBlock(fname, matrix);
+			if( cb == null ) {
+				cb = LocalFileUtils.readCacheBlockFromLocal(fname, matrix);
+				if( DMLScript.STATISTICS )
+					CacheStatistics.incrementFSHits();
+			}
 		}
 		
 		return cb;
@@ -182,6 +211,10 @@ public class LazyWriteBuffer {
 		_mQueue = new CacheEvictionQueue();
 		_fClean = new CacheMaintenanceService();
 		_limit = OptimizerUtils.getBufferPoolLimit();
+		OffHeapBuffer.init();
+		SpillCompression.init();
+		MemoryGovernor.init();
+		PrefetchScheduler.init();
 		_size = 0;
 	}
 
@@ -190,6 +223,7 @@ public class LazyWriteBuffer {
 			_mQueue.clear();
 		if( _fClean != null )
 			_fClean.close();
+		OffHeapBuffer.cleanup();
 	}
 
 	public static long getWriteBufferLimit() {
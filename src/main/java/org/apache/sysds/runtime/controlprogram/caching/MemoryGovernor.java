@@ -0,0 +1,289 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysds.runtime.controlprogram.caching;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryNotificationInfo;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.lang.management.MemoryUsage;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import javax.management.ListenerNotFoundException;
+import javax.management.Notification;
+import javax.management.NotificationEmitter;
+import javax.management.NotificationListener;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.apache.sysds.conf.ConfigurationManager;
+import org.apache.sysds.conf.DMLConfig;
+import org.apache.sysds.hops.OptimizerUtils;
+import org.apache.sysds.runtime.DMLRuntimeException;
+import org.apache.sysds.runtime.meta.DataCharacteristics;
+
+/**
+ * Live memory governor that adapts the buffer pool limit and the operator memory budget
+ * (used by dynamic recompilation) to the actual memory pressure of the JVM. The governor
+ * subscribes to collection usage threshold notifications of the tenured heap pools, i.e.,
+ * it is notified if the memory in use after a garbage collection exceeds a high watermark.
+ * On such pressure events, the budgets are shrunk and the buffer pool proactively evicts
+ * down to its new limit, before an allocation runs out of memory. If the memory in use after
+ * garbage collection drops below a low watermark (checked by a background poll), the budgets
+ * are gradually restored.
+ * 
+ * Additionally, the governor tracks the actual in-memory size of new matrix blocks against
+ * their size estimate from the compiled meta data, and tightens the operator memory budget
+ * if intermediates are systematically underestimated.
+ */
+public class MemoryGovernor
+{
+	protected static final Log LOG = LogFactory.getLog(MemoryGovernor.class.getName());
+
+	//post-GC usage fraction of tenured pools that triggers shrinking
+	public static double HIGH_WATERMARK = 0.85;
+	//post-GC usage fraction of tenured pools that allows restoring
+	public static double LOW_WATERMARK = 0.6;
+	//budget factor per pressure event, and its lower bound
+	public static double SHRINK_FACTOR = 0.5;
+	public static double MIN_FACTOR = 0.125;
+	//poll interval and minimum time between two shrinks in ms
+	public static long POLL_INTERVAL = 1000;
+	//minimum block size in bytes for tracking estimated vs actual sizes
+	public static long MIN_TRACK_SIZE = 1024 * 1024;
+
+	private static boolean _enabled = false;
+	private static NotificationListener _listener = null;
+	private static ScheduledExecutorService _poll = null;
+	private static final List<MemoryPoolMXBean> _pools = new ArrayList<>();
+
+	//current budget factor and base budgets (captured on first shrink)
+	private static double _factor = 1;
+	private static long _baseLimit = -1;
+	private static double _baseMemUtil = -1;
+	private static long _lastShrink = 0;
+
+	//tracked actual and estimated sizes of new matrix blocks (exponentially decayed)
+	private static double _actualSize = 0;
+	private static double _estimatedSize = 0;
+
+	public static void init() {
+		DMLConfig conf = ConfigurationManager.getDMLConfig();
+		if( conf.getBooleanValue(DMLConfig.MEMORY_GOVERNOR) )
+			start();
+		else
+			stop();
+	}
+
+	/**
+	 * Subscribes to collection usage notifications of the tenured heap pools
+	 * and starts the background poll for relieved memory pressure.
+	 */
+	public static synchronized void start() {
+		if( _enabled )
+			return;
+		for( MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans() ) {
+			//tenured pools support both usage and collection usage thresholds
+			if( pool.getType() == MemoryType.HEAP && pool.isUsageThresholdSupported()
+				&& pool.isCollectionUsageThresholdSupported() && pool.getUsage().getMax() > 0 ) {
+				pool.setCollectionUsageThreshold((long) (HIGH_WATERMARK * pool.getUsage().getMax()));
+				_pools.add(pool);
+			}
+		}
+		_listener = (Notification n, Object handback) -> {
+			if( !MemoryNotificationInfo.MEMORY_COLLECTION_THRESHOLD_EXCEEDED.equals(n.getType()) )
+				return;
+			//never propagate failures into the JMX notification thread
+			try {
+				onPressure();
+			}
+			catch(Exception ex) {
+				LOG.warn("Failed to handle memory pressure: " + ex.getMessage());
+			}
+		};
+		((NotificationEmitter) ManagementFactory.getMemoryMXBean()).addNotificationListener(_listener, null, null);
+		_poll = Executors.newSingleThreadScheduledExecutor(r -> {
+			Thread t = new Thread(r, "memory-governor");
+			t.setDaemon(true);
+			return t;
+		});
+		_poll.scheduleWithFixedDelay(MemoryGovernor::poll, POLL_INTERVAL, POLL_INTERVAL, TimeUnit.MILLISECONDS);
+		_enabled = true;
+	}
+
+	/**
+	 * Unsubscribes from notifications and restores the base budgets.
+	 */
+	public static synchronized void stop() {
+		if( !_enabled )
+			return;
+		try {
+			((NotificationEmitter) ManagementFactory.getMemoryMXBean()).removeNotificationListener(_listener);
+		}
+		catch(ListenerNotFoundException ex) {
+			//ignore already removed listener
+		}
+		for( MemoryPoolMXBean pool : _pools )
+			pool.setCollectionUsageThreshold(0);
+		_pools.clear();
+		_poll.shutdownNow();
+		_poll = null;
+		_listener = null;
+		_enabled = false;
+		//restore base budgets
+		if( _baseLimit >= 0 ) {
+			if( OptimizerUtils.isUMMEnabled() )
+				UnifiedMemoryManager.setUMMLimit(_baseLimit);
+			else
+				LazyWriteBuffer.setWriteBufferLimit(_baseLimit);
+			OptimizerUtils.MEM_UTIL_FACTOR = _baseMemUtil;
+		}
+		_factor = 1;
+		_baseLimit = -1;
+		_baseMemUtil = -1;
+		_lastShrink = 0;
+		_actualSize = 0;
+		_estimatedSize = 0;
+	}
+
+	public static boolean isEnabled() {
+		return _enabled;
+	}
+
+	/**
+	 * Handles a memory pressure event by shrinking the budgets, and evicting
+	 * buffer pool entries that exceed the new limit.
+	 */
+	public static void onPressure() {
+		synchronized( MemoryGovernor.class ) {
+			long now = System.currentTimeMillis();
+			if( !_enabled || _factor <= MIN_FACTOR || now - _lastShrink < POLL_INTERVAL )
+				return;
+			_lastShrink = now;
+			_factor = Math.max(_factor * SHRINK_FACTOR, MIN_FACTOR);
+			CacheStatistics.incrementMemPressure();
+		}
+		apply(true);
+		if( LOG.isDebugEnabled() )
+			LOG.debug("Memory pressure: reduced budgets to factor " + _factor + ".");
+	}
+
+	/**
+	 * Handles relieved memory pressure by gradually restoring the budgets.
+	 */
+	public static void onRelief() {
+		synchronized( MemoryGovernor.class ) {
+			if( !_enabled || _factor >= 1 )
+				return;
+			_factor = Math.min(_factor / SHRINK_FACTOR, 1);
+		}
+		apply(false);
+	}
+
+	/**
+	 * Tracks the actual size of a new matrix block against its size estimate
+	 * according to the meta data of the compiled program.
+	 * 
+	 * @param dc     data characteristics before the update
+	 * @param actual actual in-memory size in bytes
+	 */
+	public static void trackSize(DataCharacteristics dc, long actual) {
+		if( !dc.dimsKnown() || actual < MIN_TRACK_SIZE )
+			return;
+		long estimate = dc.nnzKnown() ? OptimizerUtils.estimateSizeExactSparsity(dc) :
+			OptimizerUtils.estimateSizeExactSparsity(dc.getRows(), dc.getCols(), 1.0);
+		synchronized( MemoryGovernor.class ) {
+			//exponential decay to adapt to changing workloads
+			_actualSize = 0.9 * _actualSize + actual;
+			_estimatedSize = 0.9 * _estimatedSize + estimate;
+		}
+	}
+
+	public static synchronized double getEstimateRatio() {
+		return (_estimatedSize > 0) ? _actualSize / _estimatedSize : 1;
+	}
+
+	public static synchronized double getBudgetFactor() {
+		return _factor;
+	}
+
+	private static void poll() {
+		try {
+			double usage = getCollectionUsage();
+			if( usage > HIGH_WATERMARK )
+				onPressure();
+			else if( usage < LOW_WATERMARK )
+				onRelief();
+		}
+		catch(Exception ex) {
+			LOG.warn("Failed to poll memory usage: " + ex.getMessage());
+		}
+	}
+
+	private static double getCollectionUsage() {
+		double ret = 0;
+		for( MemoryPoolMXBean pool : _pools ) {
+			MemoryUsage mu = pool.getCollectionUsage();
+			if( mu != null && mu.getMax() > 0 )
+				ret = Math.max(ret, (double) mu.getUsed() / mu.getMax());
+		}
+		return ret;
+	}
+
+	private static void apply(boolean evict) {
+		double factor;
+		synchronized( MemoryGovernor.class ) {
+			factor = _factor;
+			//capture base budgets before the first adjustment
+			if( _baseLimit < 0 ) {
+				_baseLimit = OptimizerUtils.isUMMEnabled() ?
+					UnifiedMemoryManager.getUMMSize() : LazyWriteBuffer.getWriteBufferLimit();
+				_baseMemUtil = OptimizerUtils.MEM_UTIL_FACTOR;
+			}
+			if( _baseLimit < 0 )
+				return;
+			//operator budget, tightened for underestimated intermediates
+			double corr = Math.min(Math.max(getEstimateRatio(), 1), 2);
+			OptimizerUtils.MEM_UTIL_FACTOR = _baseMemUtil * factor / corr;
+		}
+		long limit = (long) (_baseLimit * factor);
+		try {
+			int numEvicted = 0;
+			if( OptimizerUtils.isUMMEnabled() ) {
+				UnifiedMemoryManager.setUMMLimit(limit);
+				if( evict )
+					numEvicted = UnifiedMemoryManager.makeSpace(0);
+			}
+			else {
+				LazyWriteBuffer.setWriteBufferLimit(limit);
+				if( evict )
+					numEvicted = LazyWriteBuffer.evictToLimit();
+			}
+			CacheStatistics.incrementMemEvicted(numEvicted);
+		}
+		catch(Exception ex) {
+			throw new DMLRuntimeException("Failed to evict buffer pool entries on memory pressure.", ex);
+		}
+	}
+}
@@ -0,0 +1,390 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysds.runtime.controlprogram.caching;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.apache.sysds.api.DMLScript;
+import org.apache.sysds.conf.ConfigurationManager;
+import org.apache.sysds.conf.DMLConfig;
+import org.apache.sysds.runtime.DMLRuntimeException;
+import org.apache.sysds.runtime.frame.data.FrameBlock;
+import org.apache.sysds.runtime.io.IOUtilFunctions;
+import org.apache.sysds.runtime.matrix.data.MatrixBlock;
+import org.apache.sysds.runtime.util.ByteBufferDataInput;
+import org.apache.sysds.runtime.util.ByteBufferDataOutput;
+import org.apache.sysds.runtime.util.LocalFileUtils;
+import org.apache.sysds.utils.stats.InfrastructureAnalyzer;
+
+/**
+ * Optional off-heap tier of the buffer pool, which sits between the in-memory
+ * write buffer (LazyWriteBuffer, UnifiedMemoryManager) and the local file system.
+ * Cache blocks evicted from the write buffer are serialized into direct byte buffers
+ * or memory-mapped files in the local cache directory, which keeps their data outside
+ * the managed heap and allows restores via bulk reads without intermediate byte arrays.
+ * If the off-heap tier is full, its oldest segments are spilled to the local file system
+ * (DIRECT) or simply unmapped (MAPPED, where the mapped file already constitutes the
+ * evicted file in the format of LocalFileUtils). Spilled segments are detached under
+ * the lock but written outside of it, and remain readable until their write completed.
+ * Re-evicted blocks are mapped into a fresh file, which replaces the evicted file on
+ * commit, so that in-flight restores of the previous mapping never see a truncated file.
+ */
+public class OffHeapBuffer
+{
+	protected static final Log LOG = LogFactory.getLog(OffHeapBuffer.class.getName());
+
+	public enum OffHeapType {
+		NONE,   //no off-heap tier
+		DIRECT, //direct byte buffers
+		MAPPED; //memory-mapped files in local cache dir
+		public boolean isEnabled() {
+			return this != NONE;
+		}
+	}
+
+	//configured off-heap buffer type
+	private static OffHeapType _type = OffHeapType.NONE;
+
+	//global size limit in bytes
+	private static long _limit = 0;
+
+	//current size in bytes
+	private static long _size = 0;
+
+	//eviction queue of <filename,segment> pairs (FIFO)
+	private static LinkedHashMap<String, ByteBuffer> _segments = new LinkedHashMap<>();
+
+	//detached segments, which are currently written to local FS
+	private static HashMap<String, ByteBuffer> _spilling = new HashMap<>();
+
+	//suffix of files that are mapped but not yet committed (MAPPED)
+	private static final String MAPPED_SUFFIX = ".map";
+
+	public static void init() {
+		DMLConfig conf = ConfigurationManager.getDMLConfig();
+		OffHeapType type = OffHeapType.valueOf(
+			conf.getTextValue(DMLConfig.OFFHEAP_BUFFER).toUpperCase());
+		double factor = (double)conf.getIntValue(DMLConfig.OFFHEAP_BUFFER_LIMIT)/100;
+		init(type, (long)(factor * InfrastructureAnalyzer.getLocalMaxMemory()));
+	}
+
+	public static void init(OffHeapType type, long limit) {
+		cleanup();
+		_type = type;
+		_limit = limit;
+	}
+
+	public static void cleanup() {
+		synchronized( _segments ) {
+			_segments.clear();
+			_spilling.clear();
+			_size = 0;
+			_segments.notifyAll();
+		}
+	}
+
+	public static boolean isEnabled() {
+		return _type.isEnabled() && _limit > 0;
+	}
+
+	public static OffHeapType getType() {
+		return _type;
+	}
+
+	public static long getLimit() {
+		return _limit;
+	}
+
+	public static long getSize() {
+		synchronized( _segments ) {
+			return _size; }
+	}
+
+	public static boolean contains(String fname) {
+		synchronized( _segments ) {
+			return _segments.containsKey(fname) || _spilling.containsKey(fname); }
+	}
+
+	/**
+	 * Writes the given cache block into the off-heap tier, if it fits
+	 * into the configured limit. Older segments are spilled if necessary.
+	 * 
+	 * @param fname file name of the evicted block
+	 * @param cb cache block
+	 * @return true if the block was accepted by the off-heap tier
+	 * @throws IOException if IOException occurs
+	 */
+	public static boolean writeBlock(String fname, CacheBlock<?> cb)
+		throws IOException
+	{
+		long lSize = cb.getExactSerializedSize();
+		if( !isValidCapacity(lSize) )
+			return false;
+		
+		ByteBuffer seg = allocate(fname, (int)lSize);
+		try {
+			cb.write(new ByteBufferDataOutput(seg));
+		}
+		catch(IOException | RuntimeException ex) {
+			abort(fname, seg);
+			throw ex;
+		}
+		return commit(fname, seg);
+	}
+
+	/**
+	 * Writes the given serialized cache block into the off-heap tier, if
+	 * it fits into the configured limit. Older segments are spilled if necessary.
+	 * 
+	 * @param fname file name of the evicted block
+	 * @param data serialized cache block
+	 * @return true if the block was accepted by the off-heap tier
+	 * @throws IOException if IOException occurs
+	 */
+	public static boolean writeBytes(String fname, byte[] data)
+		throws IOException
+	{
+		if( !isValidCapacity(data.length) )
+			return false;
+		
+		ByteBuffer seg = allocate(fname, data.length);
+		seg.put(data);
+		return commit(fname, seg);
+	}
+
+	/**
+	 * Reads the cache block from the off-heap tier.
+	 * 
+	 * @param fname file name of the evicted block
+	 * @param matrix true if matrix block, false if frame block
+	 * @return cache block, or null if not held in the off-heap tier
+	 * @throws IOException if IOException occurs
+	 */
+	public static CacheBlock<?> readBlock(String fname, boolean matrix)
+		throws IOException
+	{
+		ByteBuffer seg = null;
+		synchronized( _segments ) {
+			seg = _segments.get(fname);
+			if( seg == null ) //pending write to local FS
+				seg = _spilling.get(fname);
+		}
+		if( seg == null )
+			return null;
+		
+		//deserialize via independent view (concurrent readers, spills)
+		CacheBlock<?> cb = matrix ? new MatrixBlock() : new FrameBlock();
+		cb.readFields(new ByteBufferDataInput(seg.duplicate()));
+		if( DMLScript.STATISTICS )
+			CacheStatistics.incrementOffHeapHits();
+		return cb;
+	}
+
+	/**
+	 * Removes the cache block from the off-heap tier.
+	 * 
+	 * @param fname file name of the evicted block
+	 * @return true if the block was exclusively held in memory,
+	 *   false if a local file might exist and needs to be deleted
+	 */
+	public static boolean deleteBlock(String fname) {
+		ByteBuffer seg = null;
+		synchronized( _segments ) {
+			//wait for pending write of a spilled segment, whose file needs to be deleted
+			awaitSpill(fname);
+			seg = _segments.remove(fname);
+			if( seg != null )
+				_size -= seg.capacity();
+		}
+		return seg != null && _type == OffHeapType.DIRECT;
+	}
+
+	private static boolean isValidCapacity(long size) {
+		//byte buffers are limited to 2GB
+		return isEnabled() && size <= Integer.MAX_VALUE && size <= _limit;
+	}
+
+	private static ByteBuffer allocate(String fname, int size)
+		throws IOException
+	{
+		//make room before allocation to bound the off-heap memory
+		//(w/ replacement of outdated segments of re-evicted blocks)
+		List<Entry<String, ByteBuffer>> spilled = null;
+		synchronized( _segments ) {
+			awaitSpill(fname);
+			ByteBuffer old = _segments.remove(fname);
+			if( old != null )
+				_size -= old.capacity();
+			spilled = detach(size);
+			_size += size; //reserve
+		}
+		
+		//write spilled segments and allocate outside the lock,
+		//w/ rollback of the reservation on failures (e.g., OOM)
+		try {
+			spill(spilled);
+			if( _type == OffHeapType.DIRECT )
+				return ByteBuffer.allocateDirect(size);
+			
+			//map a fresh file, which replaces the target file of the eviction on commit
+			//and thus makes the segment directly readable via LocalFileUtils (readers of
+			//a previous mapping keep the old file, which is never truncated)
+			FileChannel channel = null;
+			try {
+				channel = FileChannel.open(Paths.get(fname + MAPPED_SUFFIX), StandardOpenOption.CREATE,
+					StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.READ, StandardOpenOption.WRITE);
+				return channel.map(MapMode.READ_WRITE, 0, size);
+			}
+			finally {
+				IOUtilFunctions.closeSilently(channel);
+			}
+		}
+		catch(IOException | RuntimeException | OutOfMemoryError ex) {
+			release(size);
+			throw ex;
+		}
+	}
+
+	private static boolean commit(String fname, ByteBuffer seg)
+		throws IOException
+	{
+		seg.rewind();
+		if( _type == OffHeapType.MAPPED ) {
+			try {
+				Files.move(Paths.get(fname + MAPPED_SUFFIX), Paths.get(fname),
+					StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+			}
+			catch(IOException | RuntimeException ex) {
+				abort(fname, seg);
+				throw ex;
+			}
+		}
+		synchronized( _segments ) {
+			_segments.put(fname, seg);
+		}
+		if( DMLScript.STATISTICS )
+			CacheStatistics.incrementOffHeapWrites(seg.capacity());
+		return true;
+	}
+
+	private static void abort(String fname, ByteBuffer seg) {
+		release(seg.capacity());
+		if( _type == OffHeapType.MAPPED )
+			LocalFileUtils.deleteFileIfExists(fname + MAPPED_SUFFIX);
+	}
+
+	private static void release(long size) {
+		synchronized( _segments ) {
+			_size -= size;
+		}
+	}
+
+	private static void awaitSpill(String fname) {
+		//note: called while holding the monitor of _segments
+		try {
+			while( _spilling.containsKey(fname) )
+				_segments.wait();
+		}
+		catch(InterruptedException ex) {
+			throw new DMLRuntimeException(ex);
+		}
+	}
+
+	private static List<Entry<String, ByteBuffer>> detach(long size) {
+		//note: called while holding the monitor of _segments
+		List<Entry<String, ByteBuffer>> ret = new ArrayList<>();
+		Iterator<Entry<String, ByteBuffer>> iter = _segments.entrySet().iterator();
+		while( _size + size > _limit && iter.hasNext() ) {
+			Entry<String, ByteBuffer> entry = iter.next();
+			ret.add(Map.entry(entry.getKey(), entry.getValue()));
+			//direct segments need an explicit write to local FS,
+			//while mapped segments are already backed by the file
+			if( _type == OffHeapType.DIRECT )
+				_spilling.put(entry.getKey(), entry.getValue());
+			iter.remove();
+			_size -= entry.getValue().capacity();
+		}
+		return ret;
+	}
+
+	private static void spill(List<Entry<String, ByteBuffer>> spilled)
+		throws IOException
+	{
+		for( int i = 0; i < spilled.size(); i++ ) {
+			Entry<String, ByteBuffer> entry = spilled.get(i);
+			if( _type == OffHeapType.DIRECT ) {
+				try {
+					writeSegmentToLocal(entry.getKey(), entry.getValue());
+				}
+				catch(IOException | RuntimeException ex) {
+					//keep the unwritten segments in the off-heap tier
+					synchronized( _segments ) {
+						for( Entry<String, ByteBuffer> e : spilled.subList(i, spilled.size()) ) {
+							_spilling.remove(e.getKey());
+							_segments.put(e.getKey(), e.getValue());
+							_size += e.getValue().capacity();
+						}
+						_segments.notifyAll();
+					}
+					throw ex;
+				}
+				synchronized( _segments ) {
+					_spilling.remove(entry.getKey());
+					_segments.notifyAll();
+				}
+			}
+			if( DMLScript.STATISTICS )
+				CacheStatistics.incrementFSWrites();
+		}
+	}
+
+	private static void writeSegmentToLocal(String fname, ByteBuffer seg)
+		throws IOException
+	{
+		FileChannel channel = null;
+		try {
+			channel = FileChannel.open(Paths.get(fname), StandardOpenOption.CREATE,
+				StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE);
+			ByteBuffer tmp = seg.duplicate();
+			tmp.rewind();
+			while( tmp.hasRemaining() )
+				channel.write(tmp);
+		}
+		finally {
+			IOUtilFunctions.closeSilently(channel);
+		}
+	}
+}
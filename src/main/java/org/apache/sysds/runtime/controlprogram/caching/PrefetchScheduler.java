@@ -0,0 +1,230 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysds.runtime.controlprogram.caching;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.PriorityBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.apache.sysds.api.DMLScript;
+import org.apache.sysds.conf.ConfigurationManager;
+import org.apache.sysds.conf.DMLConfig;
+import org.apache.sysds.hops.OptimizerUtils;
+import org.apache.sysds.runtime.controlprogram.context.ExecutionContext;
+import org.apache.sysds.runtime.instructions.Instruction;
+import org.apache.sysds.runtime.instructions.cp.BuiltinNaryCPInstruction;
+import org.apache.sysds.runtime.instructions.cp.CPOperand;
+import org.apache.sysds.runtime.instructions.cp.ComputationCPInstruction;
+import org.apache.sysds.runtime.instructions.cp.Data;
+import org.apache.sysds.runtime.instructions.cp.FunctionCallCPInstruction;
+import org.apache.sysds.runtime.instructions.cp.ParameterizedBuiltinCPInstruction;
+import org.apache.sysds.runtime.instructions.cp.VariableCPInstruction;
+import org.apache.sysds.runtime.instructions.cp.VariableCPInstruction.VariableOperationCode;
+
+/**
+ * Runtime prefetcher for evicted cacheable data. While a program block executes its instruction list, the
+ * scheduler looks ahead a fixed number of instructions, and asynchronously restores evicted inputs of these
+ * instructions from the buffer pool or local file system into the soft reference cache. Restores are processed
+ * in order of their instruction distance (closest first) by a single background thread, and bounded by an I/O
+ * budget of in-flight bytes, such that prefetching never competes with the pinned working set.
+ */
+public class PrefetchScheduler {
+	private static final Log LOG = LogFactory.getLog(PrefetchScheduler.class.getName());
+
+	//runtime prefetching of evicted inputs, number of instructions to look ahead,
+	//and maximum size of in-flight restores as a fraction of the local memory budget
+	private static volatile boolean _enabled = false;
+	private static volatile int _lookahead = 8;
+	private static volatile double _budgetFraction = 0.1;
+
+	private static final AtomicLong _step = new AtomicLong(0);
+	private static final AtomicLong _seq = new AtomicLong(0);
+	private static final AtomicLong _inflight = new AtomicLong(0);
+	private static ThreadPoolExecutor _pool = null;
+
+	private PrefetchScheduler() {
+		// static utility
+	}
+
+	public static void init() {
+		DMLConfig conf = ConfigurationManager.getDMLConfig();
+		init(conf.getBooleanValue(DMLConfig.PREFETCH_EVICTED),
+			conf.getIntValue(DMLConfig.PREFETCH_LOOKAHEAD),
+			conf.getDoubleValue(DMLConfig.PREFETCH_LIMIT) / 100);
+	}
+
+	/**
+	 * Configures the runtime prefetcher.
+	 * 
+	 * @param enabled        enables the runtime prefetching of evicted inputs
+	 * @param lookahead      number of instructions to look ahead
+	 * @param budgetFraction maximum size of in-flight restores as a fraction of the local memory budget
+	 */
+	public static void init(boolean enabled, int lookahead, double budgetFraction) {
+		_lookahead = lookahead;
+		_budgetFraction = budgetFraction;
+		_enabled = enabled;
+	}
+
+	public static boolean isEnabled() {
+		return _enabled;
+	}
+
+	/**
+	 * Schedules restores of evicted inputs of upcoming instructions. At the first position of an instruction list,
+	 * the entire lookahead window is scanned, afterwards only the instruction entering the window.
+	 * 
+	 * @param inst instruction list of the current program block
+	 * @param pos  position of the instruction about to be executed
+	 * @param ec   execution context
+	 */
+	public static void lookahead(List<? extends Instruction> inst, int pos, ExecutionContext ec) {
+		int lookahead = _lookahead;
+		if( !_enabled || !CacheableData.isCachingActive() || lookahead <= 0 )
+			return;
+		long step = _step.incrementAndGet();
+		int end = Math.min(pos + lookahead, inst.size() - 1);
+		int start = (pos == 0) ? pos + 1 : end;
+		if( pos != 0 && end < pos + lookahead )
+			return; //window already scanned
+		for( int i = start; i <= end; i++ )
+			for( String name : getInputNames(inst.get(i)) )
+				schedule(ec.getVariable(name), step + (i - pos));
+	}
+
+	/**
+	 * Schedules an asynchronous restore of the given data object if it is evicted and fits into the I/O budget.
+	 * 
+	 * @param dat      data object
+	 * @param priority restore priority (smaller is restored first)
+	 * @return true if a restore was scheduled
+	 */
+	public static boolean schedule(Data dat, long priority) {
+		if( !(dat instanceof CacheableData) )
+			return false;
+		CacheableData<?> cd = (CacheableData<?>) dat;
+		long size = Math.max(OptimizerUtils.estimateSize(cd.getDataCharacteristics()), 1);
+		long budget = (long) (_budgetFraction * OptimizerUtils.getLocalMemBudget());
+		if( !cd.isEvicted() || _inflight.get() + size > budget )
+			return false;
+		if( !cd.markPrefetchPending() )
+			return false;
+		_inflight.addAndGet(size);
+		getPool().execute(new RestoreTask(cd, size, priority, _seq.incrementAndGet()));
+		return true;
+	}
+
+	/**
+	 * Drops all pending restores. Already running restores finish asynchronously.
+	 */
+	public static synchronized void cleanup() {
+		if( _pool != null ) {
+			List<Runnable> tasks = new ArrayList<>();
+			_pool.getQueue().drainTo(tasks);
+			for( Runnable r : tasks )
+				((RestoreTask) r).cancel();
+		}
+		_step.set(0);
+	}
+
+	public static long getInflightBytes() {
+		return _inflight.get();
+	}
+
+	private static synchronized ThreadPoolExecutor getPool() {
+		if( _pool == null ) {
+			_pool = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS, new PriorityBlockingQueue<>(), r -> {
+				Thread t = new Thread(r, "prefetch-scheduler");
+				t.setDaemon(true);
+				return t;
+			});
+		}
+		return _pool;
+	}
+
+	private static List<String> getInputNames(Instruction inst) {
+		List<String> ret = new ArrayList<>();
+		if( inst instanceof ComputationCPInstruction )
+			addInputs(ret, ((ComputationCPInstruction) inst).getInputs());
+		else if( inst instanceof BuiltinNaryCPInstruction )
+			addInputs(ret, ((BuiltinNaryCPInstruction) inst).getInputs());
+		else if( inst instanceof FunctionCallCPInstruction )
+			addInputs(ret, ((FunctionCallCPInstruction) inst).getInputs());
+		else if( inst instanceof ParameterizedBuiltinCPInstruction )
+			ret.addAll(((ParameterizedBuiltinCPInstruction) inst).getParameterMap().values());
+		else if( inst instanceof VariableCPInstruction
+			&& ((VariableCPInstruction) inst).getVariableOpcode() == VariableOperationCode.Write )
+			addInputs(ret, new CPOperand[] {((VariableCPInstruction) inst).getInput1()});
+		return ret;
+	}
+
+	private static void addInputs(List<String> ret, CPOperand[] inputs) {
+		if( inputs == null )
+			return;
+		for( CPOperand in : inputs )
+			if( in != null && !in.isLiteral() && in.getName() != null )
+				ret.add(in.getName());
+	}
+
+	private static class RestoreTask implements Runnable, Comparable<RestoreTask> {
+		private final CacheableData<?> _cd;
+		private final long _size;
+		private final long _priority;
+		private final long _seqno;
+
+		protected RestoreTask(CacheableData<?> cd, long size, long priority, long seqno) {
+			_cd = cd;
+			_size = size;
+			_priority = priority;
+			_seqno = seqno;
+		}
+
+		@Override
+		public void run() {
+			try {
+				if( _cd.restoreEvicted() && DMLScript.STATISTICS )
+					CacheStatistics.incrementPrefetches();
+			}
+			catch(Exception ex) {
+				//prefetching is best effort, acquireRead restores synchronously
+				LOG.warn("Failed to prefetch evicted data: " + ex.getMessage());
+			}
+			finally {
+				_inflight.addAndGet(-_size);
+			}
+		}
+
+		protected void cancel() {
+			_cd.cancelPrefetch();
+			_inflight.addAndGet(-_size);
+		}
+
+		@Override
+		public int compareTo(RestoreTask o) {
+			int c = Long.compare(_priority, o._priority);
+			return (c != 0) ? c : Long.compare(_seqno, o._seqno);
+		}
+	}
+}
@@ -0,0 +1,329 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysds.runtime.controlprogram.caching;
+
+import java.io.ByteArrayInputStream;
+import java.io.DataInput;
+import java.io.DataInputStream;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.PushbackInputStream;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.apache.sysds.api.DMLScript;
+import org.apache.sysds.conf.ConfigurationManager;
+import org.apache.sysds.conf.DMLConfig;
+import org.apache.sysds.runtime.compress.CompressedMatrixBlock;
+import org.apache.sysds.runtime.frame.data.FrameBlock;
+import org.apache.sysds.runtime.io.IOUtilFunctions;
+import org.apache.sysds.runtime.matrix.data.MatrixBlock;
+import org.apache.sysds.runtime.util.LocalFileUtils;
+
+import io.airlift.compress.Compressor;
+import io.airlift.compress.Decompressor;
+import io.airlift.compress.lz4.Lz4Compressor;
+import io.airlift.compress.lz4.Lz4Decompressor;
+import io.airlift.compress.snappy.SnappyCompressor;
+import io.airlift.compress.snappy.SnappyDecompressor;
+
+/**
+ * Optional block-level compression of cache blocks evicted to the local file system. Blocks are
+ * serialized into a byte array and compressed with a fast pure-Java codec (LZ4 or Snappy). Whether
+ * a block is compressed is decided adaptively per block type (dense, sparse, frame) based on the
+ * observed compression ratio as well as the measured time per raw byte of compressed and of
+ * uncompressed spills (including serialization), i.e., blocks are only compressed if this is
+ * faster than writing them uncompressed. Both write paths are measured the same way, so slow
+ * disks (or page cache write-back throttling) favor compression, while fast ones do not. The
+ * currently inferior path is periodically probed again to keep the statistics up to date.
+ * 
+ * Compressed files start with a negative magic number (which is never a valid number of rows), so
+ * readers transparently fall back to the uncompressed format of LocalFileUtils.
+ */
+public class SpillCompression
+{
+	protected static final Log LOG = LogFactory.getLog(SpillCompression.class.getName());
+
+	public enum SpillCodec {
+		NONE, LZ4, SNAPPY;
+		public boolean isEnabled() {
+			return this != NONE;
+		}
+	}
+
+	public enum SpillBlockType {
+		DENSE, SPARSE, FRAME
+	}
+
+	//file header: magic, codec, uncompressed length, compressed length
+	private static final int MAGIC = 0xC0DEC5B1;
+	private static final int HEADER_SIZE = 13;
+
+	//maximum compression ratio (compressed/raw) to accept a compressed block
+	public static double MAX_RATIO = 0.9;
+	//number of blocks per type before probing the currently inferior write path again
+	public static int PROBE_INTERVAL = 16;
+	//minimum block size in bytes to consider compression
+	public static long MIN_SIZE = 64 * 1024;
+	//weight of the latest observation in the running statistics
+	private static final double ALPHA = 0.3;
+
+	private static SpillCodec _codec = SpillCodec.NONE;
+	private static final TypeStats[] _stats = new TypeStats[SpillBlockType.values().length];
+
+	private static final ThreadLocal<Compressor[]> _compressors = ThreadLocal
+		.withInitial(() -> new Compressor[] {null, new Lz4Compressor(), new SnappyCompressor()});
+	private static final ThreadLocal<Decompressor[]> _decompressors = ThreadLocal
+		.withInitial(() -> new Decompressor[] {null, new Lz4Decompressor(), new SnappyDecompressor()});
+
+	public static void init() {
+		DMLConfig conf = ConfigurationManager.getDMLConfig();
+		init(SpillCodec.valueOf(conf.getTextValue(DMLConfig.SPILL_COMPRESSION).toUpperCase()));
+	}
+
+	public static synchronized void init(SpillCodec codec) {
+		_codec = codec;
+		for( int i = 0; i < _stats.length; i++ )
+			_stats[i] = new TypeStats();
+	}
+
+	public static boolean isEnabled() {
+		return _codec.isEnabled();
+	}
+
+	public static SpillCodec getCodec() {
+		return _codec;
+	}
+
+	/**
+	 * Writes the given cache block in compressed form to the local file system, if compression is
+	 * enabled and deemed beneficial for the block type.
+	 * 
+	 * @param fname file name of the evicted block
+	 * @param cb    cache block
+	 * @return true if the block was written, false if it should be written uncompressed
+	 * @throws IOException if IOException occurs
+	 */
+	public static boolean writeBlock(String fname, CacheBlock<?> cb) throws IOException {
+		if( !isEnabled() || cb instanceof CompressedMatrixBlock )
+			return false;
+		long lSize = cb.getExactSerializedSize();
+		SpillBlockType type = getBlockType(cb);
+		if( lSize < MIN_SIZE || lSize > Integer.MAX_VALUE - HEADER_SIZE || !shouldCompress(type) )
+			return false;
+		long t0 = System.nanoTime();
+		CacheDataOutput dout = new CacheDataOutput((int) lSize);
+		cb.write(dout);
+		return writeCompressed(fname, dout._buff, dout._count, type, System.nanoTime() - t0);
+	}
+
+	/**
+	 * Writes the given serialized cache block in compressed form to the local file system, if
+	 * compression is enabled and deemed beneficial for the block type.
+	 * 
+	 * @param fname  file name of the evicted block
+	 * @param data   serialized cache block
+	 * @param matrix true if the serialized block is a matrix, false for a frame
+	 * @return true if the block was written, false if it should be written uncompressed
+	 * @throws IOException if IOException occurs
+	 */
+	public static boolean writeBytes(String fname, byte[] data, boolean matrix) throws IOException {
+		if( !isEnabled() )
+			return false;
+		//serialized matrix blocks are sparse (dense blocks are shallow serialized)
+		SpillBlockType type = matrix ? SpillBlockType.SPARSE : SpillBlockType.FRAME;
+		if( data.length < MIN_SIZE || data.length > Integer.MAX_VALUE - HEADER_SIZE || !shouldCompress(type) )
+			return false;
+		return writeCompressed(fname, data, data.length, type, 0);
+	}
+
+	/**
+	 * Records the time of an uncompressed write of a cache block (incl. serialization), which
+	 * is the baseline for the decision on compressing blocks of the same type.
+	 * 
+	 * @param type  block type
+	 * @param bytes number of written bytes
+	 * @param ns    write time in nanoseconds
+	 */
+	public static void recordRawWrite(SpillBlockType type, long bytes, long ns) {
+		if( !isEnabled() || bytes < MIN_SIZE )
+			return;
+		TypeStats s = _stats[type.ordinal()];
+		synchronized( s ) {
+			double rawNsPerByte = (double) ns / bytes;
+			s.rawNs = (s.rawCount++ == 0) ? rawNsPerByte : ALPHA * rawNsPerByte + (1 - ALPHA) * s.rawNs;
+		}
+	}
+
+	/**
+	 * Reads a cache block from the local file system, which is decompressed if written in
+	 * compressed form, and otherwise read in the uncompressed format of LocalFileUtils. The
+	 * file is opened once, and the magic number is pushed back for uncompressed files.
+	 * 
+	 * @param fname  file name of the evicted block
+	 * @param matrix if true, read matrix. if false, read frame.
+	 * @return cache block
+	 * @throws IOException if IOException occurs
+	 */
+	public static CacheBlock<?> readBlock(String fname, boolean matrix) throws IOException {
+		PushbackInputStream pin = new PushbackInputStream(new FileInputStream(fname), 4);
+		DataInputStream in = new DataInputStream(pin);
+		byte[] raw = null;
+		try {
+			byte[] magic = new byte[4];
+			int hlen = pin.readNBytes(magic, 0, 4);
+			if( hlen < 4 || readInt(magic, 0) != MAGIC ) {
+				//uncompressed block, read from the same stream
+				pin.unread(magic, 0, hlen);
+				CacheBlock<?> ret = matrix ? new MatrixBlock() : new FrameBlock();
+				return (CacheBlock<?>) LocalFileUtils.readWritableFromStream(pin, ret);
+			}
+			SpillCodec codec = SpillCodec.values()[in.readByte()];
+			int rawLen = in.readInt();
+			byte[] comp = new byte[in.readInt()];
+			in.readFully(comp);
+			long t0 = System.nanoTime();
+			raw = new byte[rawLen];
+			int len = _decompressors.get()[codec.ordinal()].decompress(comp, 0, comp.length, raw, 0, rawLen);
+			if( len != rawLen )
+				throw new IOException("Corrupted compressed cache file: " + fname);
+			if( DMLScript.STATISTICS )
+				CacheStatistics.incrementSpillDecompressTime(System.nanoTime() - t0);
+		}
+		finally {
+			IOUtilFunctions.closeSilently(in);
+		}
+
+		DataInput din = matrix ? new CacheDataInput(raw) : new DataInputStream(new ByteArrayInputStream(raw));
+		CacheBlock<?> ret = matrix ? new MatrixBlock() : new FrameBlock();
+		ret.readFields(din);
+		return ret;
+	}
+
+	public static SpillBlockType getBlockType(CacheBlock<?> cb) {
+		if( cb instanceof MatrixBlock )
+			return ((MatrixBlock) cb).isInSparseFormat() ? SpillBlockType.SPARSE : SpillBlockType.DENSE;
+		return SpillBlockType.FRAME;
+	}
+
+	/**
+	 * Decides if a block of the given type should be compressed. Compression pays off if
+	 * the time per raw byte of compressed spills (serialization, compression, and write of
+	 * the compressed bytes) is smaller than of uncompressed spills. Without statistics of
+	 * either path, and periodically for the inferior path, blocks are written via this path
+	 * in order to probe the current behavior.
+	 * 
+	 * @param type block type
+	 * @return true if the next block of this type should be compressed
+	 */
+	public static boolean shouldCompress(SpillBlockType type) {
+		TypeStats s = _stats[type.ordinal()];
+		synchronized( s ) {
+			if( s.count == 0 )
+				return true;
+			if( s.rawCount == 0 )
+				return false;
+			boolean compress = s.isBeneficial();
+			if( ++s.sinceProbe >= PROBE_INTERVAL ) {
+				s.sinceProbe = 0;
+				return !compress;
+			}
+			return compress;
+		}
+	}
+
+	public static double getRatio(SpillBlockType type) {
+		TypeStats s = _stats[type.ordinal()];
+		synchronized( s ) {
+			return s.count > 0 ? s.ratio : 1;
+		}
+	}
+
+	private static boolean writeCompressed(String fname, byte[] data, int len, SpillBlockType type, long serNs)
+		throws IOException
+	{
+		Compressor comp = _compressors.get()[_codec.ordinal()];
+		byte[] out = new byte[HEADER_SIZE + comp.maxCompressedLength(len)];
+		long t0 = System.nanoTime();
+		int clen = comp.compress(data, 0, len, out, HEADER_SIZE, out.length - HEADER_SIZE);
+		long t1 = System.nanoTime();
+		double ratio = (double) clen / len;
+
+		//reject incompressible blocks, but keep the statistics
+		if( ratio > MAX_RATIO ) {
+			updateStats(type, len, ratio, -1);
+			return false;
+		}
+
+		writeInt(out, 0, MAGIC);
+		out[4] = (byte) _codec.ordinal();
+		writeInt(out, 5, len);
+		writeInt(out, 9, clen);
+		try( FileOutputStream fos = new FileOutputStream(fname) ) {
+			fos.write(out, 0, HEADER_SIZE + clen);
+		}
+		long t2 = System.nanoTime();
+		updateStats(type, len, ratio, serNs + t2 - t0);
+
+		if( DMLScript.STATISTICS ) {
+			CacheStatistics.incrementSpillCompressed();
+			CacheStatistics.incrementSpillBytes(len, HEADER_SIZE + clen);
+			CacheStatistics.incrementSpillCompressTime(t1 - t0);
+		}
+		return true;
+	}
+
+	private static void updateStats(SpillBlockType type, int len, double ratio, long ns) {
+		TypeStats s = _stats[type.ordinal()];
+		synchronized( s ) {
+			s.ratio = (s.count++ == 0) ? ratio : ALPHA * ratio + (1 - ALPHA) * s.ratio;
+			if( ns >= 0 ) {
+				double compNsPerByte = (double) ns / len;
+				s.compNs = (s.compNs < 0) ? compNsPerByte : ALPHA * compNsPerByte + (1 - ALPHA) * s.compNs;
+			}
+		}
+	}
+
+	private static int readInt(byte[] buff, int off) {
+		return ((buff[off] & 0xFF) << 24) | ((buff[off + 1] & 0xFF) << 16)
+			| ((buff[off + 2] & 0xFF) << 8) | (buff[off + 3] & 0xFF);
+	}
+
+	private static void writeInt(byte[] buff, int off, int val) {
+		buff[off] = (byte) (val >>> 24);
+		buff[off + 1] = (byte) (val >>> 16);
+		buff[off + 2] = (byte) (val >>> 8);
+		buff[off + 3] = (byte) val;
+	}
+
+	private static class TypeStats {
+		private long count = 0;      //number of compressed blocks (incl. rejected)
+		private long rawCount = 0;   //number of uncompressed writes
+		private int sinceProbe = 0;  //number of decisions since last probe
+		private double ratio = 1;    //compressed size / raw size
+		private double compNs = -1;  //compressed write time per raw byte (incl. serialization)
+		private double rawNs = -1;   //uncompressed write time per raw byte (incl. serialization)
+
+		private boolean isBeneficial() {
+			return ratio <= MAX_RATIO && (compNs < 0 || compNs < rawNs);
+		}
+	}
+}
@@ -24,6 +24,7 @@ import org.apache.sysds.api.DMLScript;
 import org.apache.sysds.hops.OptimizerUtils;
 import org.apache.sysds.runtime.DMLRuntimeException;
 import org.apache.sysds.runtime.util.LocalFileUtils;
+import org.apache.sysds.utils.stats.EventTrace;
 
 import java.io.IOException;
 import java.util.ArrayList;
@@ -182,6 +183,10 @@ public class UnifiedMemoryManager
 		_mQueue = new CacheEvictionQueue();
 		_fClean = new CacheMaintenanceService();
 		_limit = OptimizerUtils.getBufferPoolLimit();
+		OffHeapBuffer.init();
+		SpillCompression.init();
+		MemoryGovernor.init();
+		PrefetchScheduler.init();
 		_opMemLimit = (long)(OptimizerUtils.getLocalMemBudget()); //70% of heap
 		_totCachedSize = 0;
 		_pinnedPhysicalMemSize = 0;
@@ -194,6 +199,7 @@ public class UnifiedMemoryManager
 			_mQueue.clear();
 		if( _fClean != null )
 			_fClean.close();
+		OffHeapBuffer.cleanup();
 		_totCachedSize = 0;
 		_pinnedPhysicalMemSize = 0;
 		_pinnedVirtualMemSize = 0;
@@ -279,9 +285,14 @@ public class UnifiedMemoryManager
 		}
 		else
 		{
-			cb = LocalFileUtils.readCacheBlockFromLocal(fname, matrix);
-			if (DMLScript.STATISTICS)
-				CacheStatistics.incrementFSHits();
+			//probe off-heap tier before local FS
+			if( OffHeapBuffer.isEnabled() )
+				cb = OffHeapBuffer.readBlock(fname, matrix);
+			if( cb == null ) {
+				cb = LocalFileUtils.readCacheBlockFromLocal(fname, matrix);
+				if (DMLScript.STATISTICS)
+					CacheStatistics.incrementFSHits();
+			}
 		}
 
 		return cb;
@@ -312,11 +323,11 @@ public class UnifiedMemoryManager
 					if(bb != null) {
 						// Wait for pending serialization
 						bb.checkSerialized();
-						// Evict object
-						bb.evictBuffer(ftmp);
+						// Evict object (to off-heap tier or local FS)
+						if( bb.evictBuffer(ftmp) )
+							numEvicted++;
 						bb.freeMemory();
 						_totCachedSize -= bb.getSize();
-						numEvicted++;
 					}
 				}
 			}
@@ -365,8 +376,12 @@ public class UnifiedMemoryManager
 		}
 		else
 		{
-			// Write directly to local FS (bypass buffer if too large)
+			// Write directly to off-heap tier or local FS (bypass buffer if too large)
+			if( OffHeapBuffer.isEnabled() && OffHeapBuffer.writeBlock(fname, cb) )
+				return numEvicted;
+			long t0 = EventTrace.begin();
 			LocalFileUtils.writeCacheBlockToLocal(fname, cb);
+			EventTrace.end("evict", EventTrace.CAT_CACHE, t0, "size", lSize);
 			if( DMLScript.STATISTICS ) {
 				CacheStatistics.incrementFSWrites();
 			}
@@ -396,8 +411,8 @@ public class UnifiedMemoryManager
 			}
 		}
 
-		//delete from FS if required
-		if( requiresDelete )
+		//delete from off-heap tier or FS if required
+		if( requiresDelete && !(OffHeapBuffer.isEnabled() && OffHeapBuffer.deleteBlock(fname)) )
 			_fClean.deleteFile(fname);
 	}
 
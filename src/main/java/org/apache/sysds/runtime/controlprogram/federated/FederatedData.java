@@ -25,12 +25,16 @@ import java.net.InetSocketAddress;
 import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import javax.net.ssl.SSLException;
 
+import io.netty.channel.Channel;
 import io.netty.channel.ChannelFuture;
 import io.netty.channel.ChannelHandlerContext;
 import io.netty.channel.ChannelInboundHandlerAdapter;
@@ -47,8 +51,10 @@ import org.apache.sysds.conf.DMLConfig;
 import org.apache.sysds.runtime.DMLRuntimeException;
 import org.apache.sysds.runtime.controlprogram.caching.CacheBlock;
 import org.apache.sysds.runtime.controlprogram.federated.FederatedRequest.RequestType;
+import org.apache.sysds.runtime.controlprogram.federated.FederatedWireCodec.StreamFrame;
 import org.apache.sysds.runtime.controlprogram.paramserv.NetworkTrafficCounter;
 import org.apache.sysds.runtime.meta.MetaData;
+import org.apache.sysds.utils.stats.EventTrace;
 
 import io.netty.bootstrap.Bootstrap;
 import io.netty.buffer.ByteBuf;
@@ -63,9 +69,15 @@ import io.netty.util.concurrent.Promise;
 public class FederatedData {
 	private static final Log LOG = LogFactory.getLog(FederatedData.class.getName());
 	private static final Set<InetSocketAddress> _allFedSites = new HashSet<>();
+	/** Negotiated wire protocol versions per worker (0 for Java serialization) */
+	private static final Map<InetSocketAddress, Integer> _wireVersions = new ConcurrentHashMap<>();
+	/** Persistent channels per worker for multiplexed requests */
+	private static final Map<InetSocketAddress, MultiplexedRequestHandler> _channels = new ConcurrentHashMap<>();
+	/** Locks per worker for creating its persistent channel */
+	private static final Map<InetSocketAddress, Object> _channelLocks = new ConcurrentHashMap<>();
 
 	/** Thread pool specific for the federated requests */
-	private static EventLoopGroup workerGroup = null;
+	private static volatile EventLoopGroup workerGroup = null;
 
 
 
@@ -180,15 +192,36 @@ public class FederatedData {
 	}
 
 	/**
-	 * Executes an federated operation on a federated worker.
+	 * Executes an federated operation on a federated worker. Concurrent calls are not serialized on the coordinator,
+	 * i.e., requests to different workers (and, with multiplexing, to the same worker) are sent concurrently.
 	 *
 	 * @param address socket address (incl host and port)
 	 * @param retry   the retry count
 	 * @param request the requested operation
 	 * @return the response
 	 */
-	public synchronized static Future<FederatedResponse> executeFederatedOperation(InetSocketAddress address, int retry,
+	public static Future<FederatedResponse> executeFederatedOperation(InetSocketAddress address, int retry,
 		FederatedRequest... request) {
+		final int version = getWireVersion(address);
+		final long t0 = EventTrace.begin();
+		Future<FederatedResponse> ret = (version >= FederatedWireCodec.VERSION_MULTIPLEX &&
+			ConfigurationManager.isFederatedMultiplexing()) ? executeMultiplexedOperation(address, version, request) :
+			executeFederatedOperation(address, retry, version, request);
+		if(t0 != 0 && ret instanceof Promise)
+			traceFederatedOperation((Promise<FederatedResponse>) ret, address, request, t0);
+		return ret;
+	}
+
+	private static void traceFederatedOperation(Promise<FederatedResponse> response,
+		InetSocketAddress address, FederatedRequest[] request, long t0) {
+		// record the federated request from sending until the response is received
+		final String args = "{\"worker\":\"" + address + "\",\"requests\":" + request.length + ",\"type\":\""
+			+ (request.length > 0 ? request[0].getType() : "") + "\"}";
+		response.addListener(f -> EventTrace.end("fed_request", EventTrace.CAT_FED, t0, args));
+	}
+
+	private static Future<FederatedResponse> executeFederatedOperation(InetSocketAddress address, int retry,
+		int version, FederatedRequest... request) {
 		try {
 			final Bootstrap b = new Bootstrap();
 			if(workerGroup == null)
@@ -198,7 +231,7 @@ public class FederatedData {
 			final DataRequestHandler handler = new DataRequestHandler();
 			// Client Netty
 
-			b.handler(createChannel(address, handler));
+			b.handler(createChannel(address, handler, version));
 
 			ChannelFuture f = b.connect(address).sync();
 			Promise<FederatedResponse> promise = f.channel().eventLoop().newPromise();
@@ -218,7 +251,7 @@ public class FederatedData {
 					catch(Exception e2) {
 						throw new DMLRuntimeException(e);
 					}
-					return executeFederatedOperation(address, retry + 1, request);
+					return executeFederatedOperation(address, retry + 1, version, request);
 				}
 				else {
 					throw new DMLRuntimeException(e);
@@ -228,8 +261,90 @@ public class FederatedData {
 		}
 	}
 
+	/**
+	 * Executes a federated operation over a persistent, multiplexed channel to
+	 * the federated worker, which allows multiple requests in flight per worker
+	 * without connection setup per request.
+	 *
+	 * @param address socket address (incl host and port)
+	 * @param version the negotiated wire protocol version
+	 * @param request the requested operation
+	 * @return the response
+	 */
+	private static Future<FederatedResponse> executeMultiplexedOperation(InetSocketAddress address, int version,
+		FederatedRequest... request) {
+		try {
+			MultiplexedRequestHandler handler = _channels.get(address);
+			if(handler == null || !handler.isActive())
+				handler = connectMultiplexed(address, version);
+			return handler.send(request);
+		}
+		catch(Exception e) {
+			throw new DMLRuntimeException("Failed sending multiplexed federated operation", e);
+		}
+	}
+
+	private static MultiplexedRequestHandler connectMultiplexed(InetSocketAddress address, int version)
+		throws InterruptedException {
+		// connect once per worker, requests to other workers are not blocked
+		synchronized(_channelLocks.computeIfAbsent(address, a -> new Object())) {
+			MultiplexedRequestHandler handler = _channels.get(address);
+			if(handler != null && handler.isActive())
+				return handler;
+			if(handler != null)
+				handler.close();
+			if(workerGroup == null)
+				createWorkGroup();
+			handler = new MultiplexedRequestHandler();
+			final Bootstrap b = new Bootstrap();
+			b.group(workerGroup);
+			b.channel(NioSocketChannel.class);
+			b.handler(createChannel(address, handler, version));
+			b.connect(address).sync();
+			_channels.put(address, handler);
+			return handler;
+		}
+	}
+
+	/**
+	 * Obtains the wire protocol version for requests to the given worker, where
+	 * the binary protocol requires its configuration and a worker that supports
+	 * it. The protocol version is negotiated once per worker address (concurrent
+	 * first requests might negotiate redundantly, but obtain the same version).
+	 *
+	 * @param address socket address (incl host and port)
+	 * @return the wire protocol version, 0 for Java serialization
+	 */
+	private static int getWireVersion(InetSocketAddress address) {
+		if(!ConfigurationManager.isFederatedBinaryProtocol())
+			return 0;
+		Integer version = _wireVersions.get(address);
+		if(version == null) {
+			version = negotiateWireVersion(address);
+			Integer prev = _wireVersions.putIfAbsent(address, version);
+			version = (prev != null) ? prev : version;
+		}
+		return version;
+	}
+
+	private static int negotiateWireVersion(InetSocketAddress address) {
+		try {
+			// handshake via Java serialization, old workers respond with an empty NOOP response
+			FederatedRequest handshake = new FederatedRequest(RequestType.NOOP);
+			handshake.appendParam(FederatedWireCodec.HANDSHAKE);
+			FederatedResponse response = executeFederatedOperation(address, 1, 0, handshake).get();
+			Object[] data = response.isSuccessful() ? response.getData() : null;
+			if(data != null && data.length == 1 && data[0] instanceof Integer)
+				return Math.min((Integer) data[0], FederatedWireCodec.VERSION);
+		}
+		catch(Exception ex) {
+			LOG.warn("Failed federated wire protocol handshake with " + address + ", using Java serialization.", ex);
+		}
+		return 0;
+	}
+
 	private static ChannelInitializer<SocketChannel> createChannel(InetSocketAddress address,
-		DataRequestHandler handler) {
+		ChannelInboundHandlerAdapter handler, int version) {
 		final int timeout = ConfigurationManager.getFederatedTimeout();
 		final boolean ssl = ConfigurationManager.isFederatedSSL();
 
@@ -246,9 +361,9 @@ public class FederatedData {
 					cp.addLast(new ReadTimeoutHandler(timeout));
 
 				compressionStrategy.ifPresent(strategy -> cp.addLast(strategy.left));
-				cp.addLast(FederationUtils.decoder());
+				cp.addLast(version > 0 ? new FederatedWireCodec.Decoder() : FederationUtils.decoder());
 				compressionStrategy.ifPresent(strategy -> cp.addLast(strategy.right));
-				cp.addLast(new FederatedRequestEncoder());
+				cp.addLast(version > 0 ? new FederatedWireCodec.Encoder(version) : new FederatedRequestEncoder());
 				cp.addLast(handler);
 			}
 		};
@@ -280,6 +395,10 @@ public class FederatedData {
 
 	public static void resetFederatedSites() {
 		_allFedSites.clear();
+		_wireVersions.clear();
+		_channels.values().forEach(MultiplexedRequestHandler::close);
+		_channels.clear();
+		_channelLocks.clear();
 	}
 
 	public static void clearWorkGroup() {
@@ -315,6 +434,76 @@ public class FederatedData {
 	}
 
 
+	/**
+	 * Handler of a persistent channel that multiplexes request batches via stream
+	 * IDs and completes the respective promises on (out-of-order) responses.
+	 */
+	private static class MultiplexedRequestHandler extends ChannelInboundHandlerAdapter {
+		private final Map<Integer, Promise<FederatedResponse>> _pending = new ConcurrentHashMap<>();
+		private final AtomicInteger _nextID = new AtomicInteger(0);
+		private volatile Channel _channel;
+
+		@Override
+		public void handlerAdded(ChannelHandlerContext ctx) {
+			_channel = ctx.channel();
+		}
+
+		public boolean isActive() {
+			return _channel != null && _channel.isActive();
+		}
+
+		public Future<FederatedResponse> send(FederatedRequest[] requests) {
+			int id = _nextID.incrementAndGet();
+			while(id == 0) // 0 is reserved for non-multiplexed messages
+				id = _nextID.incrementAndGet();
+			final int fid = id;
+			final Promise<FederatedResponse> prom = _channel.eventLoop().newPromise();
+			_pending.put(fid, prom);
+			_channel.writeAndFlush(new StreamFrame(fid, requests)).addListener(f -> {
+				if(!f.isSuccess())
+					fail(fid, f.cause());
+			});
+			return prom;
+		}
+
+		@Override
+		public void channelRead(ChannelHandlerContext ctx, Object msg) {
+			if(msg instanceof StreamFrame) {
+				StreamFrame frame = (StreamFrame) msg;
+				Promise<FederatedResponse> prom = _pending.remove(frame.getStreamID());
+				if(prom != null)
+					prom.trySuccess((FederatedResponse) frame.getMessage());
+			}
+			else
+				LOG.warn("Received non-multiplexed federated response: " + msg);
+		}
+
+		@Override
+		public void channelInactive(ChannelHandlerContext ctx) throws Exception {
+			for(Integer id : _pending.keySet())
+				fail(id, new DMLRuntimeException("Federated channel closed with pending requests."));
+			super.channelInactive(ctx);
+		}
+
+		@Override
+		public void exceptionCaught(ChannelHandlerContext ctx, Throwable cause) {
+			for(Integer id : _pending.keySet())
+				fail(id, cause);
+			ctx.close();
+		}
+
+		public void close() {
+			if(_channel != null)
+				_channel.close();
+		}
+
+		private void fail(int id, Throwable cause) {
+			Promise<FederatedResponse> prom = _pending.remove(id);
+			if(prom != null)
+				prom.tryFailure(cause);
+		}
+	}
+
 	@Override
 	public String toString() {
 		StringBuilder sb = new StringBuilder();
@@ -86,6 +86,21 @@ public class FederatedRequest implements Serializable {
 		_pid = Long.valueOf(IDHandler.getProcessID());
 	}
 
+	/**
+	 * Constructor for decoding requests from the binary wire protocol, which
+	 * restores all fields without updating the federated statistics.
+	 */
+	FederatedRequest(RequestType method, long id, long tid, long pid,
+		List<Object> data, List<Long> checksums, String lineageTrace) {
+		_method = method;
+		_id = id;
+		_tid = tid;
+		_pid = pid;
+		_data = data;
+		_checksums = checksums;
+		_lineageTrace = lineageTrace;
+	}
+
 	public RequestType getType() {
 		return _method;
 	}
@@ -177,6 +192,10 @@ public class FederatedRequest implements Serializable {
 		}
 	}
 
+	List<Long> getChecksums() {
+		return _checksums;
+	}
+
 	public String getLineageTrace() {
 		return _lineageTrace;
 	}
@@ -0,0 +1,156 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysds.runtime.controlprogram.federated;
+
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+
+import org.apache.commons.lang3.StringUtils;
+import org.apache.sysds.lops.Lop;
+import org.apache.sysds.runtime.controlprogram.federated.FederatedRequest.RequestType;
+
+/**
+ * Scheduler for multiplexed request batches of a single channel. Batches are
+ * executed concurrently unless they access common variables (of the same
+ * coordinator process) as earlier batches, in which case they wait until the
+ * conflicting batches finished. Batches with unknown variable accesses (e.g.,
+ * CLEAR, or UDFs without declared outputs) act as barriers, i.e., they run
+ * exclusively after all earlier batches and before all later ones.
+ */
+public class FederatedRequestScheduler {
+	private final ExecutorService _pool;
+	private final LinkedList<Task> _tasks = new LinkedList<>(); // in arrival order
+
+	public FederatedRequestScheduler(ExecutorService pool) {
+		_pool = pool;
+	}
+
+	/**
+	 * Submits a request batch for execution.
+	 * 
+	 * @param requests the batch of federated requests
+	 * @param body     the runnable that executes the batch and sends the response
+	 */
+	public synchronized void submit(FederatedRequest[] requests, Runnable body) {
+		_tasks.add(new Task(getVariables(requests), body));
+		dispatch();
+	}
+
+	public synchronized int getNumPending() {
+		return _tasks.size();
+	}
+
+	private synchronized void complete(Task task) {
+		_tasks.remove(task);
+		dispatch();
+	}
+
+	private void dispatch() {
+		// start all tasks that do not conflict with earlier tasks
+		final Set<String> blocked = new HashSet<>();
+		final Iterator<Task> iter = _tasks.iterator();
+		for(int i = 0; iter.hasNext(); i++) {
+			final Task task = iter.next();
+			final boolean barrier = task.isBarrier();
+			if(!task._running && (barrier ? i == 0 : !conflicts(task._vars, blocked))) {
+				task._running = true;
+				_pool.execute(task);
+			}
+			if(barrier)
+				return; // no tasks after a barrier
+			blocked.addAll(task._vars);
+		}
+	}
+
+	private static boolean conflicts(Set<String> vars, Set<String> blocked) {
+		for(String var : vars)
+			if(blocked.contains(var))
+				return true;
+		return false;
+	}
+
+	/**
+	 * Obtains the variables accessed by a request batch, qualified by the
+	 * coordinator process ID.
+	 * 
+	 * @param requests the batch of federated requests
+	 * @return set of accessed variables, or null if unknown
+	 */
+	protected static Set<String> getVariables(FederatedRequest[] requests) {
+		final Set<String> vars = new HashSet<>();
+		for(FederatedRequest request : requests) {
+			final String prefix = request.getPID() + "_";
+			final RequestType type = request.getType();
+			if(type == RequestType.CLEAR)
+				return null;
+			vars.add(prefix + request.getID());
+			if(type == RequestType.EXEC_INST) {
+				// numeric operand names refer to federated variable IDs, which
+				// conservatively also includes numeric literals
+				String[] parts = StringUtils.split((String) request.getParam(0), Lop.OPERAND_DELIMITOR);
+				for(String part : parts) {
+					String name = StringUtils.substringBefore(part, Lop.VALUETYPE_PREFIX);
+					if(StringUtils.isNumeric(name))
+						vars.add(prefix + name);
+				}
+			}
+			else if(type == RequestType.EXEC_UDF) {
+				final FederatedUDF udf = (FederatedUDF) request.getParam(0);
+				final List<Long> outputs = udf.getOutputIds();
+				if(outputs == null)
+					return null;
+				for(long id : udf.getInputIDs())
+					vars.add(prefix + id);
+				for(Long id : outputs)
+					vars.add(prefix + id);
+			}
+		}
+		return vars;
+	}
+
+	private class Task implements Runnable {
+		private final Set<String> _vars;
+		private final Runnable _body;
+		private boolean _running = false;
+
+		private Task(Set<String> vars, Runnable body) {
+			_vars = vars;
+			_body = body;
+		}
+
+		private boolean isBarrier() {
+			return _vars == null;
+		}
+
+		@Override
+		public void run() {
+			try {
+				_body.run();
+			}
+			finally {
+				complete(this);
+			}
+		}
+	}
+}
@@ -80,6 +80,14 @@ public class FederatedResponse implements Serializable {
 			return "No readable error message";
 	}
 
+	ResponseType getStatus() {
+		return _status;
+	}
+
+	Object[] getRawData() {
+		return _data;
+	}
+
 	public Object[] getData() throws Exception {
 		if(!isSuccessful())
 			throwExceptionFromResponse();
@@ -104,6 +104,12 @@ public class FederatedStatistics {
 	private static final LongAdder fedPutLineageItems = new LongAdder();
 	private static final LongAdder fedSerializationReuseCount = new LongAdder();
 	private static final LongAdder fedSerializationReuseBytes = new LongAdder();
+	private static final LongAdder fedWireEncodeCount = new LongAdder();
+	private static final LongAdder fedWireEncodeBytes = new LongAdder();
+	private static final LongAdder fedWireEncodeTime = new LongAdder(); // nsec
+	private static final LongAdder fedWireDecodeCount = new LongAdder();
+	private static final LongAdder fedWireDecodeBytes = new LongAdder();
+	private static final LongAdder fedWireDecodeTime = new LongAdder(); // nsec
 	private static final List<TrafficModel> coordinatorsTrafficBytes = new ArrayList<>();
 	private static final List<EventModel> workerEvents = new ArrayList<>();
 	private static final Map<String, DataObjectModel> workerDataObjects = new HashMap<>();
@@ -222,6 +228,12 @@ public class FederatedStatistics {
 		fedPutLineageItems.reset();
 		fedSerializationReuseCount.reset();
 		fedSerializationReuseBytes.reset();
+		fedWireEncodeCount.reset();
+		fedWireEncodeBytes.reset();
+		fedWireEncodeTime.reset();
+		fedWireDecodeCount.reset();
+		fedWireDecodeBytes.reset();
+		fedWireDecodeTime.reset();
 		bytesSent.reset();
 		bytesReceived.reset();
 		fedBytesSent.reset();
@@ -255,6 +267,7 @@ public class FederatedStatistics {
 					transferredFrameBytes.longValue() + " Bytes.\n");
 			sb.append("Federated prefetch count:\t" +
 				asyncPrefetchCount.longValue() + ".\n");
+			sb.append(displayFedWireStats());
 			return sb.toString();
 		}
 		return "";
@@ -295,6 +308,7 @@ public class FederatedStatistics {
 			sb.append(displayFedReuseReadStats());
 			sb.append(displayFedPutLineageStats());
 			sb.append(displayFedSerializationReuseStats());
+			sb.append(displayFedWireStats());
 
 			//sb.append(displayFedTransfer());
 			//sb.append(displayCPUUsage());
@@ -570,6 +584,34 @@ public class FederatedStatistics {
 		return fedSerializationReuseBytes.longValue();
 	}
 
+	public static long getFedWireEncodeCount() {
+		return fedWireEncodeCount.longValue();
+	}
+
+	public static long getFedWireEncodeBytes() {
+		return fedWireEncodeBytes.longValue();
+	}
+
+	public static long getFedWireDecodeCount() {
+		return fedWireDecodeCount.longValue();
+	}
+
+	public static long getFedWireDecodeBytes() {
+		return fedWireDecodeBytes.longValue();
+	}
+
+	public static void incFedWireEncode(long bytes, long time) {
+		fedWireEncodeCount.increment();
+		fedWireEncodeBytes.add(bytes);
+		fedWireEncodeTime.add(time);
+	}
+
+	public static void incFedWireDecode(long bytes, long time) {
+		fedWireDecodeCount.increment();
+		fedWireDecodeBytes.add(bytes);
+		fedWireDecodeTime.add(time);
+	}
+
 	public static void incFedLookupTableGetCount() {
 		fedLookupTableGetCount.increment();
 	}
@@ -661,6 +703,22 @@ public class FederatedStatistics {
 		return "";
 	}
 
+	public static String displayFedWireStats() {
+		long encCount = fedWireEncodeCount.longValue();
+		long decCount = fedWireDecodeCount.longValue();
+		if(encCount > 0 || decCount > 0) {
+			return String.format("Fed wire msgs (Enc, Dec):\t%d/%d.\n", encCount, decCount)
+				+ String.format("Fed wire MB/s (Enc, Dec):\t%.3f/%.3f.\n",
+					getThroughput(fedWireEncodeBytes.longValue(), fedWireEncodeTime.longValue()),
+					getThroughput(fedWireDecodeBytes.longValue(), fedWireDecodeTime.longValue()));
+		}
+		return "";
+	}
+
+	private static double getThroughput(long bytes, long nanos) {
+		return (nanos > 0) ? ((double) bytes / (1024 * 1024)) / ((double) nanos / 1e9) : 0;
+	}
+
 	public static class FedStatsCollectFunction extends FederatedUDF {
 		private static final long serialVersionUID = 1L;
 
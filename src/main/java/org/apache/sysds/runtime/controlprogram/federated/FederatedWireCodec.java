@@ -0,0 +1,418 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysds.runtime.controlprogram.federated;
+
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.sysds.runtime.controlprogram.caching.CacheBlock;
+import org.apache.sysds.runtime.controlprogram.federated.FederatedRequest.RequestType;
+import org.apache.sysds.runtime.controlprogram.federated.FederatedResponse.ResponseType;
+import org.apache.sysds.runtime.frame.data.FrameBlock;
+import org.apache.sysds.runtime.matrix.data.MatrixBlock;
+import org.apache.sysds.runtime.util.ByteBufferDataInput;
+import org.apache.sysds.runtime.util.ByteBufferDataOutput;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufInputStream;
+import io.netty.buffer.ByteBufOutputStream;
+import io.netty.buffer.ByteBufUtil;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.handler.codec.ByteToMessageDecoder;
+import io.netty.handler.codec.CorruptedFrameException;
+import io.netty.handler.codec.MessageToByteEncoder;
+
+/**
+ * Length-prefixed binary wire protocol for federated requests and responses,
+ * which serves as a replacement of Java object serialization. Every frame has
+ * the layout [magic+version (int), payload length (int), payload], where the
+ * payload of version 2 starts with a stream ID (int, 0 for non-multiplexed
+ * messages) that allows multiple requests in flight per channel. Matrix and
+ * frame blocks are written via their write(DataOutput) directly into the pooled
+ * Netty buffers (bulk copies of dense arrays). Other objects (e.g., UDFs or
+ * scalars) fall back to Java serialization of the individual object.
+ * 
+ * Since the magic is a negative integer, it never collides with the positive
+ * length prefix of Java-serialized frames, which allows workers to accept both
+ * protocols on the same port. Coordinators use the binary protocol only after a
+ * successful version handshake (a NOOP request with the HANDSHAKE parameter), 
+ * which old workers answer with an empty response.
+ */
+public class FederatedWireCodec {
+	public static final int VERSION = 2;
+	/** Minimum protocol version that supports multiplexed streams */
+	public static final int VERSION_MULTIPLEX = 2;
+	public static final String HANDSHAKE = "sysds.federated.wire.handshake";
+
+	private static final int MAGIC_MASK = 0xFFFFFF00;
+	private static final int MAGIC = 0xFED5D500;
+	private static final int HEADER_SIZE = 8;
+
+	private static final byte MSG_REQUESTS = 1;
+	private static final byte MSG_RESPONSE = 2;
+
+	private static final byte OBJ_NULL = 0;
+	private static final byte OBJ_MATRIX = 1;
+	private static final byte OBJ_FRAME = 2;
+	private static final byte OBJ_STRING = 3;
+	private static final byte OBJ_LONG = 4;
+	private static final byte OBJ_INTEGER = 5;
+	private static final byte OBJ_DOUBLE = 6;
+	private static final byte OBJ_BOOLEAN = 7;
+	private static final byte OBJ_SERIALIZED = 8;
+
+	private FederatedWireCodec() {
+		// prevent instantiation via private constructor
+	}
+
+	/**
+	 * Indicates if the given first four bytes of a frame belong to the binary
+	 * wire protocol (in contrast to a length prefix of Java serialization).
+	 * 
+	 * @param head first integer of the frame
+	 * @return true if the frame was written by the binary wire protocol
+	 */
+	public static boolean isBinaryFrame(int head) {
+		return (head & MAGIC_MASK) == MAGIC;
+	}
+
+	/**
+	 * Obtains the protocol version of a binary frame.
+	 * 
+	 * @param head first integer of the frame
+	 * @return protocol version
+	 */
+	public static int getVersion(int head) {
+		return head & ~MAGIC_MASK;
+	}
+
+	public static void encode(Object msg, ByteBuf out) throws IOException {
+		encode(msg, out, VERSION);
+	}
+
+	public static void encode(Object msg, ByteBuf out, int version) throws IOException {
+		final int start = out.writerIndex();
+		out.writeInt(MAGIC | version);
+		out.writeInt(0); // placeholder for payload length
+		if(version >= VERSION_MULTIPLEX) {
+			out.writeInt(msg instanceof StreamFrame ? ((StreamFrame) msg).getStreamID() : 0);
+			msg = StreamFrame.unwrap(msg);
+		}
+		else if(msg instanceof StreamFrame)
+			throw new IOException("Multiplexed streams require federated wire protocol version " + VERSION_MULTIPLEX);
+		if(msg instanceof FederatedRequest[]) {
+			out.writeByte(MSG_REQUESTS);
+			writeRequests((FederatedRequest[]) msg, out);
+		}
+		else if(msg instanceof FederatedResponse) {
+			out.writeByte(MSG_RESPONSE);
+			writeResponse((FederatedResponse) msg, out);
+		}
+		else
+			throw new IOException("Unsupported federated message: " + msg.getClass().getSimpleName());
+		out.setInt(start + 4, out.writerIndex() - start - HEADER_SIZE);
+	}
+
+	public static Object decode(ByteBuf in) throws IOException {
+		final int head = in.readInt();
+		if(!isBinaryFrame(head) || getVersion(head) > VERSION)
+			throw new CorruptedFrameException("Unsupported federated wire protocol header: " + Integer.toHexString(head));
+		in.skipBytes(4); // payload length
+		final int streamID = (getVersion(head) >= VERSION_MULTIPLEX) ? in.readInt() : 0;
+		final byte type = in.readByte();
+		final Object msg;
+		switch(type) {
+			case MSG_REQUESTS: msg = readRequests(in); break;
+			case MSG_RESPONSE: msg = readResponse(in); break;
+			default:
+				throw new CorruptedFrameException("Unsupported federated message type: " + type);
+		}
+		return (streamID != 0) ? new StreamFrame(streamID, msg) : msg;
+	}
+
+	private static void writeRequests(FederatedRequest[] requests, ByteBuf out) throws IOException {
+		out.writeInt(requests.length);
+		for(FederatedRequest fr : requests) {
+			out.writeByte(fr.getType().ordinal());
+			out.writeLong(fr.getID());
+			out.writeLong(fr.getTID());
+			out.writeLong(fr.getPID());
+			writeString(fr.getLineageTrace(), out);
+			out.writeInt(fr.getNumParams());
+			for(int i = 0; i < fr.getNumParams(); i++)
+				writeObject(fr.getParam(i), out);
+			List<Long> checksums = fr.getChecksums();
+			out.writeInt(checksums != null ? checksums.size() : -1);
+			if(checksums != null)
+				for(Long c : checksums)
+					out.writeLong(c);
+		}
+	}
+
+	private static FederatedRequest[] readRequests(ByteBuf in) throws IOException {
+		final RequestType[] types = RequestType.values();
+		FederatedRequest[] ret = new FederatedRequest[in.readInt()];
+		for(int i = 0; i < ret.length; i++) {
+			RequestType type = types[in.readByte()];
+			long id = in.readLong();
+			long tid = in.readLong();
+			long pid = in.readLong();
+			String lineageTrace = readString(in);
+			int numParams = in.readInt();
+			List<Object> data = new ArrayList<>(numParams);
+			for(int j = 0; j < numParams; j++)
+				data.add(readObject(in));
+			int numChecksums = in.readInt();
+			List<Long> checksums = (numChecksums >= 0) ? new ArrayList<>(numChecksums) : null;
+			for(int j = 0; j < numChecksums; j++)
+				checksums.add(in.readLong());
+			ret[i] = new FederatedRequest(type, id, tid, pid, data, checksums, lineageTrace);
+		}
+		return ret;
+	}
+
+	private static void writeResponse(FederatedResponse response, ByteBuf out) throws IOException {
+		out.writeByte(response.getStatus().ordinal());
+		Object[] data = response.getRawData();
+		out.writeInt(data != null ? data.length : -1);
+		if(data != null)
+			for(Object obj : data)
+				writeObject(obj, out);
+	}
+
+	private static FederatedResponse readResponse(ByteBuf in) throws IOException {
+		ResponseType status = ResponseType.values()[in.readByte()];
+		int len = in.readInt();
+		Object[] data = (len >= 0) ? new Object[len] : null;
+		for(int i = 0; i < len; i++)
+			data[i] = readObject(in);
+		return new FederatedResponse(status, data);
+	}
+
+	private static void writeObject(Object obj, ByteBuf out) throws IOException {
+		// exact class checks to exclude subclasses (e.g., compressed matrix blocks)
+		// with specialized serialization formats
+		if(obj == null)
+			out.writeByte(OBJ_NULL);
+		else if(obj.getClass() == MatrixBlock.class) {
+			out.writeByte(OBJ_MATRIX);
+			writeCacheBlock((MatrixBlock) obj, out);
+		}
+		else if(obj.getClass() == FrameBlock.class) {
+			out.writeByte(OBJ_FRAME);
+			writeCacheBlock((FrameBlock) obj, out);
+		}
+		else if(obj instanceof String) {
+			out.writeByte(OBJ_STRING);
+			writeString((String) obj, out);
+		}
+		else if(obj instanceof Long) {
+			out.writeByte(OBJ_LONG);
+			out.writeLong((Long) obj);
+		}
+		else if(obj instanceof Integer) {
+			out.writeByte(OBJ_INTEGER);
+			out.writeInt((Integer) obj);
+		}
+		else if(obj instanceof Double) {
+			out.writeByte(OBJ_DOUBLE);
+			out.writeDouble((Double) obj);
+		}
+		else if(obj instanceof Boolean) {
+			out.writeByte(OBJ_BOOLEAN);
+			out.writeBoolean((Boolean) obj);
+		}
+		else {
+			out.writeByte(OBJ_SERIALIZED);
+			final int start = out.writerIndex();
+			out.writeInt(0); // placeholder for object length
+			try(ObjectOutputStream oos = new ObjectOutputStream(new ByteBufOutputStream(out))) {
+				oos.writeObject(obj);
+			}
+			out.setInt(start, out.writerIndex() - start - 4);
+		}
+	}
+
+	private static Object readObject(ByteBuf in) throws IOException {
+		final byte type = in.readByte();
+		switch(type) {
+			case OBJ_NULL: return null;
+			case OBJ_MATRIX: return readCacheBlock(new MatrixBlock(), in);
+			case OBJ_FRAME: return readCacheBlock(new FrameBlock(), in);
+			case OBJ_STRING: return readString(in);
+			case OBJ_LONG: return in.readLong();
+			case OBJ_INTEGER: return in.readInt();
+			case OBJ_DOUBLE: return in.readDouble();
+			case OBJ_BOOLEAN: return in.readBoolean();
+			case OBJ_SERIALIZED:
+				final int len = in.readInt();
+				try(ObjectInputStream ois = new ObjectInputStream(new ByteBufInputStream(in.readSlice(len)))) {
+					return ois.readObject();
+				}
+				catch(ClassNotFoundException ex) {
+					throw new IOException("Failed to deserialize federated object.", ex);
+				}
+			default:
+				throw new CorruptedFrameException("Unsupported federated object type: " + type);
+		}
+	}
+
+	private static void writeCacheBlock(CacheBlock<?> cb, ByteBuf out) throws IOException {
+		// the serialized size is exact for matrix blocks, but an upper bound for frames
+		final long size = cb.getExactSerializedSize();
+		if(size > Integer.MAX_VALUE - HEADER_SIZE)
+			throw new IOException("Cache block of size " + size + " exceeds the maximum federated frame size.");
+		final int lenIx = out.writerIndex();
+		out.writeInt(0); // placeholder for block length
+		out.ensureWritable((int) size);
+		final int start = out.writerIndex();
+		if(out.nioBufferCount() == 1) {
+			// serialize directly into the (pooled, potentially direct) buffer
+			ByteBuffer bb = out.nioBuffer(start, (int) size);
+			cb.write(new ByteBufferDataOutput(bb));
+			out.writerIndex(start + bb.position());
+		}
+		else {
+			cb.write(new ByteBufOutputStream(out));
+		}
+		out.setInt(lenIx, out.writerIndex() - start);
+	}
+
+	private static <T extends CacheBlock<?>> T readCacheBlock(T cb, ByteBuf in) throws IOException {
+		final int len = in.readInt();
+		final ByteBuf slice = in.readSlice(len);
+		if(slice.nioBufferCount() == 1)
+			cb.readFields(new ByteBufferDataInput(slice.nioBuffer()));
+		else
+			cb.readFields(new ByteBufInputStream(slice));
+		return cb;
+	}
+
+	private static void writeString(String s, ByteBuf out) {
+		if(s == null) {
+			out.writeInt(-1);
+			return;
+		}
+		final int len = ByteBufUtil.utf8Bytes(s);
+		out.writeInt(len);
+		ByteBufUtil.reserveAndWriteUtf8(out, s, len);
+	}
+
+	private static String readString(ByteBuf in) {
+		final int len = in.readInt();
+		if(len < 0)
+			return null;
+		String ret = in.toString(in.readerIndex(), len, StandardCharsets.UTF_8);
+		in.skipBytes(len);
+		return ret;
+	}
+
+	/**
+	 * Federated message (request batch or response) of a multiplexed stream,
+	 * which allows out-of-order responses over a single channel.
+	 */
+	public static class StreamFrame {
+		private final int _streamID;
+		private final Object _msg;
+
+		public StreamFrame(int streamID, Object msg) {
+			_streamID = streamID;
+			_msg = msg;
+		}
+
+		public int getStreamID() {
+			return _streamID;
+		}
+
+		public Object getMessage() {
+			return _msg;
+		}
+
+		private static Object unwrap(Object msg) {
+			return (msg instanceof StreamFrame) ? ((StreamFrame) msg).getMessage() : msg;
+		}
+	}
+
+	/**
+	 * Netty encoder of federated requests and responses into binary frames.
+	 */
+	public static class Encoder extends MessageToByteEncoder<Object> {
+		private final int _version;
+
+		public Encoder() {
+			this(VERSION);
+		}
+
+		public Encoder(int version) {
+			_version = version;
+		}
+
+		@Override
+		public boolean acceptOutboundMessage(Object msg) {
+			msg = StreamFrame.unwrap(msg);
+			return msg instanceof FederatedRequest[] || msg instanceof FederatedResponse;
+		}
+
+		@Override
+		protected ByteBuf allocateBuffer(ChannelHandlerContext ctx, Object msg, boolean preferDirect) {
+			msg = StreamFrame.unwrap(msg);
+			long initCapacity = 256; // default initial capacity
+			if(msg instanceof FederatedRequest[])
+				for(FederatedRequest fr : (FederatedRequest[]) msg)
+					initCapacity += fr.estimateSerializationBufferSize();
+			else if(msg instanceof FederatedResponse)
+				initCapacity = ((FederatedResponse) msg).estimateSerializationBufferSize();
+			int cap = (int) Math.min(initCapacity, Integer.MAX_VALUE);
+			return preferDirect ? ctx.alloc().ioBuffer(cap) : ctx.alloc().heapBuffer(cap);
+		}
+
+		@Override
+		protected void encode(ChannelHandlerContext ctx, Object msg, ByteBuf out) throws Exception {
+			final long t0 = System.nanoTime();
+			final int start = out.writerIndex();
+			FederatedWireCodec.encode(msg, out, _version);
+			FederatedStatistics.incFedWireEncode(out.writerIndex() - start, System.nanoTime() - t0);
+		}
+	}
+
+	/**
+	 * Netty decoder of binary frames into federated requests and responses.
+	 */
+	public static class Decoder extends ByteToMessageDecoder {
+		@Override
+		protected void decode(ChannelHandlerContext ctx, ByteBuf in, List<Object> out) throws Exception {
+			if(in.readableBytes() < HEADER_SIZE)
+				return;
+			final int len = in.getInt(in.readerIndex() + 4);
+			if(len < 0)
+				throw new CorruptedFrameException("Negative federated frame length: " + len);
+			if(in.readableBytes() < HEADER_SIZE + len)
+				return; // wait for remaining bytes
+			final long t0 = System.nanoTime();
+			out.add(FederatedWireCodec.decode(in.readSlice(HEADER_SIZE + len)));
+			FederatedStatistics.incFedWireDecode(HEADER_SIZE + len, System.nanoTime() - t0);
+		}
+	}
+}
@@ -21,6 +21,7 @@ package org.apache.sysds.runtime.controlprogram.federated;
 
 import java.io.Serializable;
 import java.security.cert.CertificateException;
+import java.util.List;
 import java.util.Optional;
 import java.util.concurrent.SynchronousQueue;
 import java.util.concurrent.ThreadPoolExecutor;
@@ -59,6 +60,7 @@ import io.netty.buffer.ByteBuf;
 import io.netty.channel.nio.NioEventLoopGroup;
 import io.netty.channel.socket.SocketChannel;
 import io.netty.channel.socket.nio.NioServerSocketChannel;
+import io.netty.handler.codec.ByteToMessageDecoder;
 import io.netty.handler.codec.serialization.ObjectEncoder;
 import io.netty.handler.ssl.SslContext;
 import io.netty.handler.ssl.SslContextBuilder;
@@ -187,6 +189,33 @@ public class FederatedWorker {
 		}
 	}
 
+	/**
+	 * Decoder that detects the wire protocol (Java serialization or binary) of the
+	 * first inbound frame and replaces itself with the respective decoder. For the
+	 * binary protocol, the response encoder is replaced as well, such that workers
+	 * respond in the protocol of the coordinator's requests.
+	 */
+	public static class FederatedProtocolDecoder extends ByteToMessageDecoder {
+		@Override
+		protected void decode(ChannelHandlerContext ctx, ByteBuf in, List<Object> out) {
+			if(in.readableBytes() < 4)
+				return; // wait for the frame header
+			final ChannelPipeline cp = ctx.pipeline();
+			final int head = in.getInt(in.readerIndex());
+			if(FederatedWireCodec.isBinaryFrame(head)) {
+				// respond in the protocol version of the coordinator
+				final int version = Math.min(FederatedWireCodec.getVersion(head), FederatedWireCodec.VERSION);
+				if(cp.get("FederatedResponseEncoder") != null)
+					cp.replace("FederatedResponseEncoder", "FederatedResponseEncoder", new FederatedWireCodec.Encoder(version));
+				cp.replace(this, "ObjectDecoder", new FederatedWireCodec.Decoder());
+			}
+			else {
+				cp.replace(this, "ObjectDecoder", new ObjectDecoder(Integer.MAX_VALUE,
+					ClassResolvers.weakCachingResolver(ClassLoader.getSystemClassLoader())));
+			}
+		}
+	}
+
 	private ChannelInitializer<SocketChannel> createChannel(boolean ssl) {
 		try {
 			// TODO add ability to use real ssl files, not self signed certificates.
@@ -215,14 +244,13 @@ public class FederatedWorker {
 					cp.addLast("CompressionDecodingStartStatistics", new CompressionDecoderStartStatisticsHandler());
 					compressionStrategy.ifPresent(strategy -> cp.addLast("CompressionDecoder", strategy.left));
 					cp.addLast("CompressionDecoderEndStatistics", new CompressionDecoderEndStatisticsHandler());
-					cp.addLast("ObjectDecoder",
-						new ObjectDecoder(Integer.MAX_VALUE,
-							ClassResolvers.weakCachingResolver(ClassLoader.getSystemClassLoader())));
+					cp.addLast("ObjectDecoder", new FederatedProtocolDecoder());
 					cp.addLast("CompressionEncodingEndStatistics", new CompressionEncoderEndStatisticsHandler());
 					compressionStrategy.ifPresent(strategy -> cp.addLast("CompressionEncoder", strategy.right));
 					cp.addLast("CompressionEncodingStartStatistics", new CompressionEncoderStartStatisticsHandler());
 					cp.addLast("ObjectEncoder", new ObjectEncoder());
-					cp.addLast(FederationUtils.decoder(), new FederatedResponseEncoder());
+					cp.addLast(FederationUtils.decoder());
+					cp.addLast("FederatedResponseEncoder", new FederatedResponseEncoder());
 					cp.addLast(new FederatedWorkerHandler(_flt, _frc, _fan, networkTimer));
 				}
 			};
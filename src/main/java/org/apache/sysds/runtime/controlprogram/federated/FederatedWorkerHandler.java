@@ -50,6 +50,7 @@ import org.apache.sysds.runtime.controlprogram.context.ExecutionContext;
 import org.apache.sysds.runtime.controlprogram.context.SparkExecutionContext;
 import org.apache.sysds.runtime.controlprogram.federated.FederatedRequest.RequestType;
 import org.apache.sysds.runtime.controlprogram.federated.FederatedResponse.ResponseType;
+import org.apache.sysds.runtime.controlprogram.federated.FederatedWireCodec.StreamFrame;
 import org.apache.sysds.runtime.controlprogram.federated.monitoring.models.DataObjectModel;
 import org.apache.sysds.runtime.controlprogram.federated.monitoring.models.EventModel;
 import org.apache.sysds.runtime.controlprogram.federated.monitoring.models.EventStageModel;
@@ -72,6 +73,7 @@ import org.apache.sysds.runtime.lineage.LineageItem;
 import org.apache.sysds.runtime.lineage.LineageItemUtils;
 import org.apache.sysds.runtime.matrix.operators.MultiThreadedOperator;
 import org.apache.sysds.runtime.matrix.operators.Operator;
+import org.apache.sysds.runtime.util.CommonThreadPool;
 import org.apache.sysds.runtime.meta.MatrixCharacteristics;
 import org.apache.sysds.runtime.meta.MetaDataAll;
 import org.apache.sysds.runtime.meta.MetaDataFormat;
@@ -97,12 +99,14 @@ public class FederatedWorkerHandler extends ChannelInboundHandlerAdapter {
 
 	/** Read cache shared by all worker handlers */
 	private final FederatedReadCache _frc;
+	/** Network time between responses and requests, guarded for multiplexed requests */
 	private Timing _timing = null;
 	
 	/** Federated workload analyzer */
 	private final FederatedWorkloadAnalyzer _fan;
 
-	private String _remoteAddress = FederatedLookupTable.NOHOST;
+	/** Scheduler of multiplexed request batches (created on first use) */
+	private FederatedRequestScheduler _scheduler = null;
 
 	/**
 	 * Create a Federated Worker Handler.
@@ -135,24 +139,51 @@ public class FederatedWorkerHandler extends ChannelInboundHandlerAdapter {
 	
 	@Override
 	public void channelRead(ChannelHandlerContext ctx, Object msg) {
+		if(msg instanceof StreamFrame) {
+			channelReadStream(ctx, (StreamFrame) msg);
+			return;
+		}
 		ctx.writeAndFlush(createResponse(msg, ctx.channel().remoteAddress()))
 			.addListener(new CloseListener());
 	}
 
+	/**
+	 * Handles a request batch of a multiplexed stream, where independent batches
+	 * are executed concurrently and responses are tagged with the stream ID of the
+	 * request. In contrast to non-multiplexed requests, the channel stays open.
+	 * 
+	 * @param ctx   the channel handler context
+	 * @param frame the stream frame holding the request batch
+	 */
+	private void channelReadStream(ChannelHandlerContext ctx, StreamFrame frame) {
+		if(_scheduler == null)
+			_scheduler = new FederatedRequestScheduler(CommonThreadPool.getDynamicPool());
+		final SocketAddress remoteAddress = ctx.channel().remoteAddress();
+		final Object msg = frame.getMessage();
+		final FederatedRequest[] requests = (msg instanceof FederatedRequest[]) ?
+			(FederatedRequest[]) msg : new FederatedRequest[0];
+		_scheduler.submit(requests, () -> ctx.writeAndFlush(
+			new StreamFrame(frame.getStreamID(), createResponse(msg, remoteAddress))));
+	}
+
 	protected FederatedResponse createResponse(Object msg) {
-		return createResponse(msg, FederatedLookupTable.NOHOST);
+		return createResponse(msg, FederatedLookupTable.NOHOST, FederatedLookupTable.NOHOST);
 	}
 
 	private FederatedResponse createResponse(Object msg, SocketAddress remoteAddress) {
-		try {
-			if (_timing != null) {
-				ParamServStatistics.accFedNetworkTime((long) _timing.stop());
+		if (_timing != null) {
+			synchronized(_timing) {
+				try {
+					ParamServStatistics.accFedNetworkTime((long) _timing.stop());
+				} catch (RuntimeException ignored) {
+					// ignore timing if it wasn't started yet
+				}
 			}
-		} catch (RuntimeException ignored) {
-			// ignore timing if it wasn't started yet
 		}
 		
+		// host and address are request-local because multiplexed requests run concurrently
 		String host;
+		String address = FederatedLookupTable.NOHOST;
 		if(remoteAddress == null) {
 			LOG.warn("Given remote address of coordinator is null. Continuing with "
 				+ FederatedLookupTable.NOHOST + " as host identifier.");
@@ -160,28 +191,30 @@ public class FederatedWorkerHandler extends ChannelInboundHandlerAdapter {
 		}
 		else if(remoteAddress instanceof InetSocketAddress) {
 			host = ((InetSocketAddress) remoteAddress).getHostString();
-			_remoteAddress = remoteAddress.toString();
+			address = remoteAddress.toString();
 		}
 		else {
 			host = remoteAddress.toString().split(":")[0].split("/")[1];
-			_remoteAddress = remoteAddress.toString();
+			address = remoteAddress.toString();
 		}
 		
 
-		FederatedResponse res = createResponse(msg, host);
+		FederatedResponse res = createResponse(msg, host, address);
 		if (_timing != null) {
-			_timing.start();
+			synchronized(_timing) {
+				_timing.start();
+			}
 		}
 		return res;
 	}
 
-	private FederatedResponse createResponse(Object msg, String remoteHost) {
+	private FederatedResponse createResponse(Object msg, String remoteHost, String remoteAddress) {
 		if(!(msg instanceof FederatedRequest[]))
 			return new FederatedResponse(ResponseType.ERROR,
 				new FederatedWorkerHandlerException("Received object of wrong instance 'FederatedRequest[]'."));
 		final FederatedRequest[] requests = (FederatedRequest[]) msg;
 		try {
-			return createResponse(requests, remoteHost);
+			return createResponse(requests, remoteHost, remoteAddress);
 		}
 		catch(FederatedWorkerHandlerException ex) {
 			// Here we control the error message, therefore it is allowed to send the stack trace with the response
@@ -197,7 +230,7 @@ public class FederatedWorkerHandler extends ChannelInboundHandlerAdapter {
 		}
 	}
 
-	private FederatedResponse createResponse(FederatedRequest[] requests, String remoteHost)
+	private FederatedResponse createResponse(FederatedRequest[] requests, String remoteHost, String remoteAddress)
 		throws FederatedWorkerHandlerException, Exception {
 			
 		FederatedResponse response = null; // last response
@@ -256,12 +289,12 @@ public class FederatedWorkerHandler extends ChannelInboundHandlerAdapter {
 			if (DMLScript.STATISTICS) {
 				if(t == RequestType.PUT_VAR || t == RequestType.EXEC_UDF) {
 					for (int paramIndex = 0; paramIndex < request.getNumParams(); paramIndex++)
-						FederatedStatistics.incFedTransfer(request.getParam(paramIndex), _remoteAddress, request.getPID());
+						FederatedStatistics.incFedTransfer(request.getParam(paramIndex), remoteAddress, request.getPID());
 				}
 				if(t == RequestType.GET_VAR) {
 					var data = response.getData();
 					for (int dataObjIndex = 0; dataObjIndex < Arrays.stream(data).count(); dataObjIndex++)
-						FederatedStatistics.incFedTransfer(data[dataObjIndex], _remoteAddress, request.getPID());
+						FederatedStatistics.incFedTransfer(data[dataObjIndex], remoteAddress, request.getPID());
 				}
 			}
 
@@ -330,7 +363,7 @@ public class FederatedWorkerHandler extends ChannelInboundHandlerAdapter {
 				break;
 			case NOOP:
 				eventStage.operation = method.name();
-				result = execNoop();
+				result = execNoop(request);
 				break;
 			default:
 				String message = String.format("Method %s is not supported.", method);
@@ -707,7 +740,10 @@ public class FederatedWorkerHandler extends ChannelInboundHandlerAdapter {
 		return new FederatedResponse(ResponseType.SUCCESS_EMPTY);
 	}
 
-	private static FederatedResponse execNoop() {
+	private static FederatedResponse execNoop(FederatedRequest request) {
+		// respond to wire protocol handshakes with the supported version
+		if(request.getNumParams() == 1 && FederatedWireCodec.HANDSHAKE.equals(request.getParam(0)))
+			return new FederatedResponse(ResponseType.SUCCESS, Integer.valueOf(FederatedWireCodec.VERSION));
 		return new FederatedResponse(ResponseType.SUCCESS_EMPTY);
 	}
 
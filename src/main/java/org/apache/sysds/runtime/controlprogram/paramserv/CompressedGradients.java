@@ -0,0 +1,265 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysds.runtime.controlprogram.paramserv;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.sysds.runtime.DMLRuntimeException;
+import org.apache.sysds.runtime.io.IOUtilFunctions;
+
+/**
+ * Wire representation of a list of compressed gradients as produced by
+ * {@link GradientCompressor}. Each list entry is encoded independently as raw
+ * doubles, 8/16-bit linearly quantized codes, or top-k index/value pairs.
+ * The object is serializable via java serialization (federated responses) and
+ * via explicit write/read (paramserv rpc).
+ */
+public class CompressedGradients implements Serializable
+{
+	private static final long serialVersionUID = 4412301847203378411L;
+
+	public static final byte RAW = 0;
+	public static final byte QUANTIZE8 = 1;
+	public static final byte QUANTIZE16 = 2;
+	public static final byte TOPK = 3;
+
+	private final List<String> _names;
+	private final Block[] _blocks;
+	private final long _rawSize; // serialized size of uncompressed gradients
+
+	public CompressedGradients(List<String> names, Block[] blocks, long rawSize) {
+		_names = names;
+		_blocks = blocks;
+		_rawSize = rawSize;
+	}
+
+	public int getLength() {
+		return _blocks.length;
+	}
+
+	public List<String> getNames() {
+		return _names;
+	}
+
+	public Block getBlock(int i) {
+		return _blocks[i];
+	}
+
+	public long getRawSize() {
+		return _rawSize;
+	}
+
+	public long getExactSerializedSize() {
+		long size = 4 + 1 + 8; //length, named, raw size
+		if( _names != null )
+			size += _names.stream().mapToLong(s -> IOUtilFunctions.getUTFSize(s)).sum();
+		for( Block b : _blocks )
+			size += b.getExactSerializedSize();
+		return size;
+	}
+
+	public void write(DataOutput out) throws IOException {
+		out.writeInt(_blocks.length);
+		out.writeBoolean(_names != null);
+		out.writeLong(_rawSize);
+		for( int i = 0; i < _blocks.length; i++ ) {
+			if( _names != null )
+				out.writeUTF(_names.get(i));
+			_blocks[i].write(out);
+		}
+	}
+
+	public static CompressedGradients read(DataInput in) throws IOException {
+		int len = in.readInt();
+		List<String> names = in.readBoolean() ? new ArrayList<>() : null;
+		long rawSize = in.readLong();
+		Block[] blocks = new Block[len];
+		for( int i = 0; i < len; i++ ) {
+			if( names != null )
+				names.add(in.readUTF());
+			blocks[i] = Block.read(in);
+		}
+		return new CompressedGradients(names, blocks, rawSize);
+	}
+
+	/**
+	 * Encoded representation of a single rows x cols gradient matrix
+	 * (row-major cell order).
+	 */
+	public static class Block implements Serializable
+	{
+		private static final long serialVersionUID = -2095391416519716213L;
+
+		protected final byte _type;
+		protected final int _rows;
+		protected final int _cols;
+		// quantization: value = min + code * scale
+		protected double _min;
+		protected double _scale;
+		protected byte[] _codes8;
+		protected short[] _codes16;
+		// top-k: selected cell indexes and values
+		protected int[] _indexes;
+		protected float[] _values;
+		// raw: all cell values
+		protected double[] _raw;
+
+		protected Block(byte type, int rows, int cols) {
+			_type = type;
+			_rows = rows;
+			_cols = cols;
+		}
+
+		public byte getType() {
+			return _type;
+		}
+
+		public int getNumRows() {
+			return _rows;
+		}
+
+		public int getNumColumns() {
+			return _cols;
+		}
+
+		/**
+		 * Decodes the block into a dense row-major array.
+		 *
+		 * @param ret output array of length rows*cols, zero-initialized
+		 * @return number of non-zeros
+		 */
+		public long decode(double[] ret) {
+			long nnz = 0;
+			switch( _type ) {
+				case RAW:
+					System.arraycopy(_raw, 0, ret, 0, _raw.length);
+					for( double v : _raw )
+						nnz += (v != 0) ? 1 : 0;
+					break;
+				case QUANTIZE8:
+					for( int i = 0; i < _codes8.length; i++ ) {
+						ret[i] = _min + (_codes8[i] & 0xFF) * _scale;
+						nnz += (ret[i] != 0) ? 1 : 0;
+					}
+					break;
+				case QUANTIZE16:
+					for( int i = 0; i < _codes16.length; i++ ) {
+						ret[i] = _min + (_codes16[i] & 0xFFFF) * _scale;
+						nnz += (ret[i] != 0) ? 1 : 0;
+					}
+					break;
+				case TOPK:
+					for( int i = 0; i < _indexes.length; i++ ) {
+						ret[_indexes[i]] = _values[i];
+						nnz += (_values[i] != 0) ? 1 : 0;
+					}
+					break;
+				default:
+					throw new DMLRuntimeException("Unsupported gradient encoding: " + _type);
+			}
+			return nnz;
+		}
+
+		protected long getExactSerializedSize() {
+			long size = 1 + 4 + 4;
+			switch( _type ) {
+				case RAW: return size + 8L * _raw.length;
+				case QUANTIZE8: return size + 16 + _codes8.length;
+				case QUANTIZE16: return size + 16 + 2L * _codes16.length;
+				case TOPK: return size + 4 + 8L * _indexes.length;
+				default: throw new DMLRuntimeException("Unsupported gradient encoding: " + _type);
+			}
+		}
+
+		protected void write(DataOutput out) throws IOException {
+			out.writeByte(_type);
+			out.writeInt(_rows);
+			out.writeInt(_cols);
+			switch( _type ) {
+				case RAW:
+					for( double v : _raw )
+						out.writeDouble(v);
+					break;
+				case QUANTIZE8:
+					out.writeDouble(_min);
+					out.writeDouble(_scale);
+					out.write(_codes8);
+					break;
+				case QUANTIZE16:
+					out.writeDouble(_min);
+					out.writeDouble(_scale);
+					for( short c : _codes16 )
+						out.writeShort(c);
+					break;
+				case TOPK:
+					out.writeInt(_indexes.length);
+					for( int ix : _indexes )
+						out.writeInt(ix);
+					for( float v : _values )
+						out.writeFloat(v);
+					break;
+				default:
+					throw new DMLRuntimeException("Unsupported gradient encoding: " + _type);
+			}
+		}
+
+		protected static Block read(DataInput in) throws IOException {
+			Block b = new Block(in.readByte(), in.readInt(), in.readInt());
+			int len = b._rows * b._cols;
+			switch( b._type ) {
+				case RAW:
+					b._raw = new double[len];
+					for( int i = 0; i < len; i++ )
+						b._raw[i] = in.readDouble();
+					break;
+				case QUANTIZE8:
+					b._min = in.readDouble();
+					b._scale = in.readDouble();
+					b._codes8 = new byte[len];
+					in.readFully(b._codes8);
+					break;
+				case QUANTIZE16:
+					b._min = in.readDouble();
+					b._scale = in.readDouble();
+					b._codes16 = new short[len];
+					for( int i = 0; i < len; i++ )
+						b._codes16[i] = in.readShort();
+					break;
+				case TOPK:
+					int k = in.readInt();
+					b._indexes = new int[k];
+					b._values = new float[k];
+					for( int i = 0; i < k; i++ )
+						b._indexes[i] = in.readInt();
+					for( int i = 0; i < k; i++ )
+						b._values[i] = in.readFloat();
+					break;
+				default:
+					throw new DMLRuntimeException("Unsupported gradient encoding: " + b._type);
+			}
+			return b;
+		}
+	}
+}
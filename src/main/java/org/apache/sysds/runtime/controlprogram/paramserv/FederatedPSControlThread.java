@@ -39,6 +39,7 @@ import org.apache.commons.logging.LogFactory;
 import org.apache.sysds.api.DMLScript;
 import org.apache.sysds.parser.DataIdentifier;
 import org.apache.sysds.parser.Statement;
+import org.apache.sysds.parser.Statement.PSCompression;
 import org.apache.sysds.parser.Statement.PSFrequency;
 import org.apache.sysds.parser.Statement.PSRuntimeBalancing;
 import org.apache.sysds.runtime.DMLRuntimeException;
@@ -93,10 +94,21 @@ public class FederatedPSControlThread extends PSWorker implements Callable<Void>
 	private boolean _cycleStartAt0 = false;
 	private boolean _use_homomorphic_encryption = false;
 	private PublicKey _partial_public_key;
+	private final PSCompression _compression;
+	private final double _compressionRatio;
 
 	public FederatedPSControlThread(int workerID, String updFunc, Statement.PSFrequency freq,
 		PSRuntimeBalancing runtimeBalancing, boolean weighting, int epochs, long batchSize,
 		int numBatchesPerGlobalEpoch, ExecutionContext ec, ParamServer ps, int nbatches, boolean modelAvg, boolean use_homomorphic_encryption)
+	{
+		this(workerID, updFunc, freq, runtimeBalancing, weighting, epochs, batchSize, numBatchesPerGlobalEpoch,
+			ec, ps, nbatches, modelAvg, use_homomorphic_encryption, PSCompression.NONE, 0);
+	}
+
+	public FederatedPSControlThread(int workerID, String updFunc, Statement.PSFrequency freq,
+		PSRuntimeBalancing runtimeBalancing, boolean weighting, int epochs, long batchSize,
+		int numBatchesPerGlobalEpoch, ExecutionContext ec, ParamServer ps, int nbatches, boolean modelAvg,
+		boolean use_homomorphic_encryption, PSCompression compression, double compressionRatio)
 	{
 		super(workerID, updFunc, freq, epochs, batchSize, ec, ps, nbatches, modelAvg);
 
@@ -108,6 +120,8 @@ public class FederatedPSControlThread extends PSWorker implements Callable<Void>
 		_modelVarID = FederationUtils.getNextFedDataID();
 		_modelAvg = _use_homomorphic_encryption || modelAvg; // we always have to use modelAvg when using homomorphic encryption
 		_use_homomorphic_encryption = use_homomorphic_encryption;
+		_compression = compression;
+		_compressionRatio = compressionRatio;
 	}
 
 	/**
@@ -189,6 +203,7 @@ public class FederatedPSControlThread extends PSWorker implements Callable<Void>
 				programSerialized, _inst.getNamespace(), _inst.getFunctionName(),
 				_ps.getAggInst().getFunctionName(), _ec.getListObject("hyperparams"),
 				_modelVarID, _nbatches, _use_homomorphic_encryption || _modelAvg);
+		udf.setCompression(_compression, _compressionRatio);
 
 		udfResponse = _featuresData.executeFederatedOperation(
 				new FederatedRequest(RequestType.EXEC_UDF, _featuresData.getVarID(), udf));
@@ -249,6 +264,8 @@ public class FederatedPSControlThread extends PSWorker implements Callable<Void>
 		private long _modelVarID;
 		private boolean _modelAvg;
 		private int _nbatches;
+		private PSCompression _compression = PSCompression.NONE;
+		private double _compressionRatio;
 		private boolean _params_set = false;
 
 		protected SetupFederatedWorker()
@@ -273,6 +290,11 @@ public class FederatedPSControlThread extends PSWorker implements Callable<Void>
 			_params_set = true;
 		}
 
+		public void setCompression(PSCompression compression, double compressionRatio) {
+			_compression = compression;
+			_compressionRatio = compressionRatio;
+		}
+
 		@Override
 		public FederatedResponse execute(ExecutionContext ec, Data... data) {
 			if (!_params_set) {
@@ -293,6 +315,10 @@ public class FederatedPSControlThread extends PSWorker implements Callable<Void>
 			ec.setVariable(Statement.PS_FED_MODEL_VARID, new IntObject(_modelVarID));
 			ec.setVariable(Statement.PS_NBATCHES, new IntObject(_nbatches));
 			ec.setVariable(Statement.PS_MODELAVG, new BooleanObject(_modelAvg));
+			if (_compression.isEnabled()) {
+				ec.setVariable(Statement.PS_FED_COMPRESSION, new StringObject(_compression.name()));
+				ec.setVariable(Statement.PS_FED_COMPRESSION_RATIO, new DoubleObject(_compressionRatio));
+			}
 
 			return new FederatedResponse(FederatedResponse.ResponseType.SUCCESS);
 		}
@@ -374,6 +400,10 @@ public class FederatedPSControlThread extends PSWorker implements Callable<Void>
 			ec.removeVariable(Statement.PS_FED_GRADIENTS_FNAME);
 			ec.removeVariable(Statement.PS_FED_AGGREGATION_FNAME);
 			ec.removeVariable(Statement.PS_FED_MODEL_VARID);
+			ec.removeVariable(Statement.PS_FED_COMPRESSION);
+			ec.removeVariable(Statement.PS_FED_COMPRESSION_RATIO);
+			if(ec.containsVariable(Statement.PS_FED_RESIDUALS))
+				ParamservUtils.cleanupListObject(ec, Statement.PS_FED_RESIDUALS);
 			ParamservUtils.cleanupListObject(ec, Statement.PS_HYPER_PARAMS);
 
 			return new FederatedResponse(FederatedResponse.ResponseType.SUCCESS);
@@ -566,7 +596,10 @@ public class FederatedPSControlThread extends PSWorker implements Callable<Void>
 				ParamServStatistics.accFedCommunicationTime(total - workerComputing);
 				ParamServStatistics.accFedNetworkTime(total);
 			}
-			return (ListObject) responseData[0];
+			// decompress gradients if compressed on the federated worker
+			return (responseData[0] instanceof CompressedGradients) ?
+				GradientCompressor.decompress((CompressedGradients) responseData[0]) :
+				(ListObject) responseData[0];
 		}
 		catch(Exception e) {
 			if(tFedCommunication != null)
@@ -687,11 +720,35 @@ public class FederatedPSControlThread extends PSWorker implements Callable<Void>
 			ParamservUtils.cleanupListObject(ec, ec.getVariable(Statement.PS_FED_MODEL_VARID).toString());
 			// TODO double check cleanup gradients and models
 
+			// compress gradients before the transfer, if configured
+			Object result = modelAvg ? model : accGradients;
+			if(!modelAvg && ec.containsVariable(Statement.PS_FED_COMPRESSION))
+				result = compressGradients(ec, accGradients);
+
 			// stop timing
 			DoubleObject gradientsTime = new DoubleObject(tGradients.stop());
 			ParamServStatistics.accGradientComputeTime(gradientsTime.getLongValue());
 			return new FederatedResponse(FederatedResponse.ResponseType.SUCCESS,
-					new Object[]{modelAvg ? model : accGradients, gradientsTime});
+					new Object[]{result, gradientsTime});
+		}
+
+		/**
+		 * Compresses the gradients with the configured compression type,
+		 * where the error-feedback residuals are kept in the worker's
+		 * execution context across calls.
+		 */
+		private static CompressedGradients compressGradients(ExecutionContext ec, ListObject gradients) {
+			PSCompression type = PSCompression.valueOf(
+				((StringObject) ec.getVariable(Statement.PS_FED_COMPRESSION)).getStringValue());
+			double ratio = ((DoubleObject) ec.getVariable(Statement.PS_FED_COMPRESSION_RATIO)).getDoubleValue();
+			GradientCompressor compressor = new GradientCompressor(type, ratio);
+			compressor.setResiduals((ListObject) ec.getVariable(Statement.PS_FED_RESIDUALS));
+			CompressedGradients ret = compressor.compress(gradients);
+			// clean up the residuals of the previous call before replacing them
+			if(ec.containsVariable(Statement.PS_FED_RESIDUALS))
+				ParamservUtils.cleanupListObject(ec, Statement.PS_FED_RESIDUALS);
+			ec.setVariable(Statement.PS_FED_RESIDUALS, compressor.getResiduals(gradients));
+			return ret;
 		}
 
 		@Override
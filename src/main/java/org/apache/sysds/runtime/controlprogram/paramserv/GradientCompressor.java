@@ -0,0 +1,260 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysds.runtime.controlprogram.paramserv;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.apache.sysds.api.DMLScript;
+import org.apache.sysds.parser.Statement.PSCompression;
+import org.apache.sysds.runtime.DMLRuntimeException;
+import org.apache.sysds.runtime.controlprogram.caching.MatrixObject;
+import org.apache.sysds.runtime.controlprogram.paramserv.CompressedGradients.Block;
+import org.apache.sysds.runtime.instructions.cp.Data;
+import org.apache.sysds.runtime.instructions.cp.ListObject;
+import org.apache.sysds.runtime.matrix.data.MatrixBlock;
+import org.apache.sysds.runtime.util.DataConverter;
+import org.apache.sysds.utils.stats.ParamServStatistics;
+
+/**
+ * Lossy gradient compression for pushes from remote (spark, federated) workers
+ * to the parameter server. Supports 8/16-bit linear quantization and top-k
+ * sparsification. The compressor is stateful per worker and keeps error-feedback
+ * residuals, i.e., the part of the gradients that was lost by compression is
+ * added to the next gradients before compressing them, which preserves the sum
+ * of all pushed gradients up to the last residual.
+ */
+public class GradientCompressor
+{
+	public static final double DEFAULT_TOPK_RATIO = 0.01;
+
+	private final PSCompression _type;
+	private final double _ratio;
+	private double[][] _residuals; // error feedback per list entry
+
+	public GradientCompressor(PSCompression type, double ratio) {
+		if( type == null || !type.isEnabled() )
+			throw new DMLRuntimeException("Invalid gradient compression type: " + type);
+		if( type == PSCompression.TOPK && (ratio <= 0 || ratio > 1) )
+			throw new DMLRuntimeException("Invalid top-k compression ratio (expected (0,1]): " + ratio);
+		_type = type;
+		_ratio = ratio;
+	}
+
+	public PSCompression getType() {
+		return _type;
+	}
+
+	/**
+	 * Returns the current error-feedback residuals as a list of matrices,
+	 * which allows keeping them across stateless calls (e.g., federated UDFs).
+	 *
+	 * @param gradients gradients list providing dimensions and names
+	 * @return list of residual matrices, or null if not yet initialized
+	 */
+	public ListObject getResiduals(ListObject gradients) {
+		if( _residuals == null )
+			return null;
+		List<Data> data = new ArrayList<>(_residuals.length);
+		for( int i = 0; i < _residuals.length; i++ ) {
+			MatrixBlock mb = getBlock(gradients.slice(i));
+			MatrixBlock res = new MatrixBlock(mb.getNumRows(), mb.getNumColumns(), _residuals[i].clone());
+			res.recomputeNonZeros();
+			data.add(ParamservUtils.newMatrixObject(res, false));
+		}
+		return new ListObject(data, gradients.getNames());
+	}
+
+	public void setResiduals(ListObject residuals) {
+		if( residuals == null ) {
+			_residuals = null;
+			return;
+		}
+		_residuals = new double[residuals.getLength()][];
+		for( int i = 0; i < _residuals.length; i++ )
+			_residuals[i] = DataConverter.convertToDoubleVector(getBlock(residuals.slice(i)), true);
+	}
+
+	/**
+	 * Compresses the given gradients (incl. the residuals of previous calls)
+	 * and updates the residuals. The given list is not modified.
+	 *
+	 * @param gradients list of gradient matrices
+	 * @return compressed gradients
+	 */
+	public CompressedGradients compress(ListObject gradients) {
+		int len = gradients.getLength();
+		if( _residuals == null )
+			_residuals = new double[len][];
+		else if( _residuals.length != len )
+			throw new DMLRuntimeException("Gradient compression: list length mismatch "
+				+ len + " vs " + _residuals.length + ".");
+		Block[] blocks = new Block[len];
+		long rawSize = 0;
+		for( int i = 0; i < len; i++ ) {
+			MatrixBlock mb = getBlock(gradients.slice(i));
+			rawSize += mb.getExactSizeOnDisk();
+			int rows = mb.getNumRows(), cols = mb.getNumColumns();
+			double[] vals = DataConverter.convertToDoubleVector(mb, true);
+			double[] res = _residuals[i];
+			if( res == null || res.length != vals.length )
+				res = _residuals[i] = new double[vals.length];
+			for( int j = 0; j < vals.length; j++ )
+				vals[j] += res[j];
+			blocks[i] = encode(vals, rows, cols);
+			//error feedback: residual = input - decode(encode(input))
+			Arrays.fill(res, 0);
+			blocks[i].decode(res);
+			for( int j = 0; j < vals.length; j++ )
+				res[j] = vals[j] - res[j];
+		}
+		return new CompressedGradients(gradients.getNames(), blocks, rawSize);
+	}
+
+	/**
+	 * Decompresses the given gradients into a list of dense matrices.
+	 *
+	 * @param gradients compressed gradients
+	 * @return list of gradient matrices
+	 */
+	public static ListObject decompress(CompressedGradients gradients) {
+		List<Data> data = new ArrayList<>(gradients.getLength());
+		for( int i = 0; i < gradients.getLength(); i++ ) {
+			Block b = gradients.getBlock(i);
+			MatrixBlock mb = new MatrixBlock(b.getNumRows(), b.getNumColumns(), false);
+			mb.allocateDenseBlock();
+			mb.setNonZeros(b.decode(mb.getDenseBlockValues()));
+			mb.examSparsity();
+			data.add(ParamservUtils.newMatrixObject(mb));
+		}
+		if( DMLScript.STATISTICS )
+			ParamServStatistics.accGradientCompression(
+				gradients.getRawSize(), gradients.getExactSerializedSize());
+		return new ListObject(data, gradients.getNames());
+	}
+
+	private Block encode(double[] vals, int rows, int cols) {
+		switch( _type ) {
+			case QUANTIZE8:
+				return quantize(vals, rows, cols, 8);
+			case QUANTIZE16:
+				return quantize(vals, rows, cols, 16);
+			case TOPK: {
+				int k = (int) Math.max(1, Math.ceil(_ratio * vals.length));
+				return (2L * k < vals.length) ? //index + float < double
+					sparsify(vals, rows, cols, k) : raw(vals, rows, cols);
+			}
+			default:
+				throw new DMLRuntimeException("Unsupported gradient compression: " + _type);
+		}
+	}
+
+	private static Block raw(double[] vals, int rows, int cols) {
+		Block b = new Block(CompressedGradients.RAW, rows, cols);
+		b._raw = vals.clone();
+		return b;
+	}
+
+	private static Block quantize(double[] vals, int rows, int cols, int bits) {
+		Block b = new Block(bits == 8 ?
+			CompressedGradients.QUANTIZE8 : CompressedGradients.QUANTIZE16, rows, cols);
+		double min = Double.POSITIVE_INFINITY, max = Double.NEGATIVE_INFINITY;
+		for( double v : vals ) {
+			min = Math.min(min, v);
+			max = Math.max(max, v);
+		}
+		if( vals.length == 0 )
+			min = max = 0;
+		int levels = (1 << bits) - 1;
+		double scale = (max - min) / levels;
+		b._min = min;
+		b._scale = scale;
+		if( bits == 8 )
+			b._codes8 = new byte[vals.length];
+		else
+			b._codes16 = new short[vals.length];
+		for( int i = 0; i < vals.length; i++ ) {
+			int code = (scale == 0) ? 0 :
+				(int) Math.min(levels, Math.round((vals[i] - min) / scale));
+			if( bits == 8 )
+				b._codes8[i] = (byte) code;
+			else
+				b._codes16[i] = (short) code;
+		}
+		return b;
+	}
+
+	private static Block sparsify(double[] vals, int rows, int cols, int k) {
+		Block b = new Block(CompressedGradients.TOPK, rows, cols);
+		//determine the k-th largest magnitude
+		double[] tmp = new double[vals.length];
+		for( int i = 0; i < vals.length; i++ )
+			tmp[i] = Math.abs(vals[i]);
+		double threshold = select(tmp, vals.length - k);
+		//collect cells above threshold, and ties in index order
+		int numAbove = 0;
+		for( double v : vals )
+			numAbove += (Math.abs(v) > threshold) ? 1 : 0;
+		int numTies = k - numAbove;
+		b._indexes = new int[k];
+		b._values = new float[k];
+		for( int i = 0, pos = 0; i < vals.length && pos < k; i++ ) {
+			double a = Math.abs(vals[i]);
+			if( a > threshold || (a == threshold && numTies-- > 0) ) {
+				b._indexes[pos] = i;
+				b._values[pos++] = (float) vals[i];
+			}
+		}
+		return b;
+	}
+
+	/**
+	 * In-place quick select of the k-th smallest value (0-based).
+	 */
+	private static double select(double[] a, int k) {
+		int lo = 0, hi = a.length - 1;
+		while( lo < hi ) {
+			double pivot = a[(lo + hi) >>> 1];
+			int i = lo, j = hi;
+			while( i <= j ) {
+				while( a[i] < pivot ) i++;
+				while( a[j] > pivot ) j--;
+				if( i <= j ) {
+					double t = a[i]; a[i] = a[j]; a[j] = t;
+					i++; j--;
+				}
+			}
+			if( k <= j )
+				hi = j;
+			else if( k >= i )
+				lo = i;
+			else
+				break;
+		}
+		return a[k];
+	}
+
+	private static MatrixBlock getBlock(Data d) {
+		if( !(d instanceof MatrixObject) )
+			throw new DMLRuntimeException("Gradient compression: unsupported list entry " + d.getDataType() + ".");
+		return ((MatrixObject) d).acquireReadAndRelease();
+	}
+}
@@ -34,6 +34,7 @@ import org.apache.sysds.runtime.controlprogram.caching.MatrixObject;
 import org.apache.sysds.runtime.controlprogram.context.ExecutionContext;
 import org.apache.sysds.runtime.instructions.cp.ListObject;
 import org.apache.sysds.runtime.util.CommonThreadPool;
+import org.apache.sysds.utils.stats.EventTrace;
 import org.apache.sysds.utils.stats.ParamServStatistics;
 import org.apache.sysds.utils.stats.Timing;
 
@@ -220,7 +221,9 @@ public class LocalPSWorker extends PSWorker implements Callable<Void> {
 
 	private ListObject pullModel() {
 		// Pull the global parameters from ps
+		long t0 = EventTrace.begin();
 		ListObject globalParams = _ps.pull(_workerID);
+		EventTrace.end("ps_pull", EventTrace.CAT_PS, t0, "worker", _workerID);
 		if(LOG.isDebugEnabled()) {
 			LOG.debug(String.format("%s: successfully pull the global parameters "
 				+ "[size:%d kb] from ps.", getWorkerName(), globalParams.getDataSize() / 1024));
@@ -230,7 +233,9 @@ public class LocalPSWorker extends PSWorker implements Callable<Void> {
 
 	private void pushGradients(ListObject gradients) {
 		// Push the gradients to ps
+		long t0 = EventTrace.begin();
 		_ps.push(_workerID, gradients);
+		EventTrace.end("ps_push", EventTrace.CAT_PS, t0, "worker", _workerID);
 		if(LOG.isDebugEnabled()) {
 			LOG.debug(String.format("%s: successfully push the gradients "
 				+ "[size:%d kb] to ps.", getWorkerName(), gradients.getDataSize() / 1024));
@@ -260,7 +265,9 @@ public class LocalPSWorker extends PSWorker implements Callable<Void> {
 
 		// Invoke the update function
 		Timing tGrad = DMLScript.STATISTICS ? new Timing(true) : null;
+		long t0 = EventTrace.begin();
 		_inst.processInstruction(_ec);
+		EventTrace.end("ps_gradients", EventTrace.CAT_PS, t0, "worker", _workerID);
 		accGradientComputeTime(tGrad);
 
 		// Get the gradients
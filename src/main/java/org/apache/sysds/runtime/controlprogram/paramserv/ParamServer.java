@@ -34,6 +34,8 @@ import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 import org.apache.sysds.api.DMLScript;
 import org.apache.sysds.common.Types.DataType;
+import org.apache.sysds.conf.ConfigurationManager;
+import org.apache.sysds.conf.DMLConfig;
 import org.apache.sysds.parser.DMLProgram;
 import org.apache.sysds.parser.DataIdentifier;
 import org.apache.sysds.parser.Statement;
@@ -48,6 +50,7 @@ import org.apache.sysds.runtime.instructions.cp.FunctionCallCPInstruction;
 import org.apache.sysds.runtime.instructions.cp.ListObject;
 import org.apache.sysds.runtime.matrix.data.MatrixBlock;
 import org.apache.sysds.runtime.matrix.operators.RightScalarOperator;
+import org.apache.sysds.utils.stats.InfrastructureAnalyzer;
 import org.apache.sysds.utils.stats.ParamServStatistics;
 import org.apache.sysds.utils.stats.Timing;
 
@@ -85,6 +88,11 @@ public abstract class ParamServer
 	private int[] _numUpdatesStraggling;
 	private boolean _modelAvg;
 	private ListObject _accModels = null;
+	// sharded accumulation of BSP/SBP updates (null if disabled); ASP updates and the
+	// aggregation function still run under the server monitor over the entire model
+	private ShardedAccumulator _accumulator = null;
+	private int _numInflight = 0;
+	private int _numAdmitted = 0; // contributions admitted to the current round
 
 	protected ParamServer() {}
 
@@ -115,6 +123,12 @@ public abstract class ParamServer
 		_numBackupWorkers = numBackupWorkers;
 		_numUpdatesStraggling = new int[workerNum];
 		_modelAvg = modelAvg;
+		if( ConfigurationManager.getDMLConfig().getBooleanValue(DMLConfig.PARAMSERV_SHARDED_ACC)
+			&& ACCRUE_BSP_GRADIENTS && workerNum > 1
+			&& (updateType.isBSP() || updateType.isSBP()) ) {
+			int numShards = Math.min(workerNum, InfrastructureAnalyzer.getLocalParallelism());
+			_accumulator = new ShardedAccumulator(numShards);
+		}
 
 		// broadcast initial model
 		broadcastModel(true);
@@ -185,6 +199,17 @@ public abstract class ParamServer
 
 	public abstract void push(int workerID, ListObject value);
 
+	/**
+	 * Push of compressed gradients, which are decompressed (incl. statistics
+	 * of transferred bytes) before the regular aggregation.
+	 *
+	 * @param workerID worker ID
+	 * @param value compressed gradients
+	 */
+	public void push(int workerID, CompressedGradients value) {
+		push(workerID, GradientCompressor.decompress(value));
+	}
+
 	public abstract ListObject pull(int workerID);
 
 	public ListObject getResult() {
@@ -193,8 +218,11 @@ public abstract class ParamServer
 		return _model;
 	}
 
-	protected synchronized void updateGlobalModel(int workerID, ListObject params) {
-		if(_modelAvg) {
+	protected void updateGlobalModel(int workerID, ListObject params) {
+		if(_accumulator != null) {
+			updateShardedAccumulation(workerID, params);
+		}
+		else if(_modelAvg) {
 			updateAverageModel(workerID, params);
 		}
 		else
@@ -275,6 +303,89 @@ public abstract class ParamServer
 		}
 	}
 
+	/**
+	 * Synchronous (BSP/SBP) update via sharded accumulation: the addition of
+	 * the given gradients or (weighted) models is performed outside the server
+	 * monitor, while straggler handling and the final aggregation of a round
+	 * remain synchronized. A round is only committed once no other accumulation
+	 * is in flight, which ensures the harvested buffers are complete.
+	 * For SBP, a round admits exactly the required number of non-backup
+	 * contributions; later pushes wait for the commit and are then discarded
+	 * as stragglers, exactly like in the unsharded path.
+	 *
+	 * @param workerID worker ID
+	 * @param params list of gradients or models
+	 */
+	private void updateShardedAccumulation(int workerID, ListObject params) {
+		try {
+			if(LOG.isDebugEnabled()) {
+				LOG.debug(String.format("Successfully pulled the %s [size:%d kb] of worker_%d.",
+					_modelAvg ? "models" : "gradients", params.getDataSize() / 1024, workerID));
+			}
+			Timing tAgg = DMLScript.STATISTICS ? new Timing(true) : null;
+			int required = getNumRequired();
+			synchronized(this) {
+				// round already has all required contributions: wait for its commit,
+				// which tags this worker as straggler (discarded below)
+				while(_updateType.isSBP() && _numAdmitted >= required && _numUpdatesStraggling[workerID] == 0)
+					wait();
+				if(_updateType.isSBP() && _numUpdatesStraggling[workerID] > 0) {
+					LOG.info("[+] PRAMSERV: discarding result of backup-worker/straggler " + workerID);
+					broadcastModel(workerID);
+					_numUpdatesStraggling[workerID]--;
+					return;
+				}
+				_numAdmitted++;
+				_numInflight++;
+			}
+
+			// accumulate outside the server monitor (per-shard locking)
+			double factor = !_modelAvg ? 1 : 1d / required;
+			try {
+				Timing tAcc = DMLScript.STATISTICS ? new Timing(true) : null;
+				_accumulator.accumulate(params, factor, workerID);
+				ParamservUtils.cleanupListObject(params);
+				if(DMLScript.STATISTICS && tAcc != null)
+					ParamServStatistics.accShardedAccTime((long) tAcc.stop());
+			}
+			catch(Exception ex) {
+				synchronized(this) {
+					_numInflight--;
+				}
+				throw ex;
+			}
+
+			// mark finished in the same critical section as leaving flight,
+			// so a committed round never misses an accumulated contribution
+			synchronized(this) {
+				_numInflight--;
+				setFinishedState(workerID);
+				if(_numAdmitted < required || _numInflight > 0)
+					return; // last in-flight worker commits the round
+				if(_updateType.isSBP())
+					tagStragglers();
+				ListObject acc = _accumulator.harvest();
+				if(_modelAvg) {
+					updateAndBroadcastModel(acc, tAgg, _updateType.isSBP() ? _finishedStates : null);
+					resetFinishedStates();
+				}
+				else {
+					_accGradients = acc;
+					performGlobalGradientUpdate();
+				}
+				_numAdmitted = 0;
+				notifyAll();
+			}
+		}
+		catch(Exception e) {
+			throw new DMLRuntimeException("Aggregation or validation service failed: ", e);
+		}
+	}
+
+	private int getNumRequired() {
+		return _updateType.isSBP() ? Math.max(_numWorkers - _numBackupWorkers, 1) : _numWorkers;
+	}
+
 	private void performGlobalGradientUpdate() {
 		// Update the global model with accrued gradients
 		if(ACCRUE_BSP_GRADIENTS) {
@@ -0,0 +1,225 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysds.runtime.controlprogram.paramserv;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.apache.sysds.api.DMLScript;
+import org.apache.sysds.runtime.DMLRuntimeException;
+import org.apache.sysds.runtime.controlprogram.caching.MatrixObject;
+import org.apache.sysds.runtime.data.DenseBlock;
+import org.apache.sysds.runtime.data.SparseBlock;
+import org.apache.sysds.runtime.instructions.cp.Data;
+import org.apache.sysds.runtime.instructions.cp.ListObject;
+import org.apache.sysds.runtime.matrix.data.LibMatrixMult;
+import org.apache.sysds.runtime.matrix.data.MatrixBlock;
+import org.apache.sysds.utils.stats.ParamServStatistics;
+
+/**
+ * Sharded accumulator for synchronous (BSP/SBP) parameter server updates.
+ * The entries of the model list are partitioned into shards of roughly equal
+ * size, each guarded by its own lock and backed by dense accumulation buffers.
+ * Concurrent pushes visit the shards in a rotated order (starting at their
+ * worker ID) and skip shards that are currently held by other workers, which
+ * allows multiple workers to add their gradients or weighted models in parallel
+ * instead of serializing on the parameter server monitor.
+ */
+public class ShardedAccumulator
+{
+	private final int _numShards;
+	// shard layout, initialized from the first pushed list (which
+	// might differ from the model list, e.g., w/o optimizer state)
+	private volatile int[][] _shards;   // list indexes per shard
+	private ReentrantLock[] _locks;
+	private MatrixBlock[] _buffers;     // dense buffers per list index
+	private int[][] _dims;
+	private List<String> _names;
+
+	public ShardedAccumulator(int numShards) {
+		_numShards = Math.max(1, numShards);
+	}
+
+	public int getNumShards() {
+		return _shards != null ? _shards.length : _numShards;
+	}
+
+	/**
+	 * Adds the given list of gradients or models, scaled by the given factor,
+	 * into the shard buffers. This method is thread-safe and blocks only if all
+	 * remaining shards are held by other threads.
+	 *
+	 * @param values list of matrices aligned with the model list
+	 * @param factor scale factor (1 for gradients, 1/k for model averaging)
+	 * @param workerID worker ID, used to determine the first shard
+	 */
+	public void accumulate(ListObject values, double factor, int workerID) {
+		if( _shards == null )
+			init(values);
+		if( values.getLength() != _buffers.length )
+			throw new DMLRuntimeException("Sharded accumulation: list length mismatch "
+				+ values.getLength() + " vs " + _buffers.length + ".");
+		int[][] shards = _shards;
+		int numShards = shards.length;
+		boolean[] done = new boolean[numShards];
+		int remaining = numShards;
+		int pos = workerID % numShards;
+		long cells = 0;
+		while( remaining > 0 ) {
+			//find next unprocessed shard, in rotated order
+			while( done[pos] )
+				pos = (pos + 1) % numShards;
+			ReentrantLock lock = _locks[pos];
+			if( !lock.tryLock() ) {
+				//block only if this is the last remaining shard
+				if( remaining > 1 ) {
+					pos = (pos + 1) % numShards;
+					continue;
+				}
+				if( DMLScript.STATISTICS )
+					ParamServStatistics.incShardLockWaits();
+				lock.lock();
+			}
+			try {
+				for( int ix : shards[pos] )
+					cells += addInto(ix, values.slice(ix), factor);
+			}
+			finally {
+				lock.unlock();
+			}
+			done[pos] = true;
+			remaining--;
+		}
+		if( DMLScript.STATISTICS )
+			ParamServStatistics.incShardedPushes(cells);
+	}
+
+	/**
+	 * Returns the accumulated values as a new list object and resets the
+	 * buffers for the next round. This method must not be called concurrently
+	 * with accumulate.
+	 *
+	 * @return list of accumulated matrices, or null if nothing was accumulated
+	 */
+	public ListObject harvest() {
+		if( _shards == null )
+			return null;
+		List<Data> data = new ArrayList<>(_buffers.length);
+		for(int i = 0; i < _buffers.length; i++) {
+			MatrixBlock mb = _buffers[i];
+			if( mb == null ) //no contributions
+				mb = new MatrixBlock(_dims[i][0], _dims[i][1], true);
+			else
+				mb.recomputeNonZeros();
+			data.add(ParamservUtils.newMatrixObject(mb));
+		}
+		Arrays.fill(_buffers, null);
+		return new ListObject(data, _names);
+	}
+
+	private synchronized void init(ListObject values) {
+		if( _shards != null )
+			return;
+		int len = values.getLength();
+		_dims = new int[len][];
+		for(int i = 0; i < len; i++) {
+			MatrixBlock mb = getBlock(values.slice(i));
+			_dims[i] = new int[] {mb.getNumRows(), mb.getNumColumns()};
+		}
+		_names = values.getNames() != null ? new ArrayList<>(values.getNames()) : null;
+		_buffers = new MatrixBlock[len];
+		int[][] shards = createShards(_dims, _numShards);
+		_locks = new ReentrantLock[shards.length];
+		for(int i = 0; i < _locks.length; i++)
+			_locks[i] = new ReentrantLock();
+		_shards = shards; //publish last
+	}
+
+	private long addInto(int ix, Data value, double factor) {
+		MatrixBlock in = getBlock(value);
+		MatrixBlock acc = _buffers[ix];
+		int m = in.getNumRows(), n = in.getNumColumns();
+		if( acc == null ) {
+			acc = new MatrixBlock(m, n, false);
+			acc.allocateDenseBlock();
+			_buffers[ix] = acc;
+		}
+		else if( acc.getNumRows() != m || acc.getNumColumns() != n ) {
+			throw new DMLRuntimeException("Sharded accumulation: dimension mismatch at list index "
+				+ ix + ": [" + m + "x" + n + "] vs [" + acc.getNumRows() + "x" + acc.getNumColumns() + "].");
+		}
+		if( in.isEmptyBlock(false) )
+			return 0;
+		DenseBlock c = acc.getDenseBlock();
+		if( in.isInSparseFormat() ) {
+			SparseBlock a = in.getSparseBlock();
+			for( int i = 0; i < m; i++ ) {
+				if( a.isEmpty(i) ) continue;
+				LibMatrixMult.vectMultiplyAdd(factor, a.values(i), c.values(i),
+					a.indexes(i), a.pos(i), c.pos(i), a.size(i));
+			}
+			return in.getNonZeros();
+		}
+		DenseBlock a = in.getDenseBlock();
+		for( int i = 0; i < m; i++ ) {
+			if( factor == 1 )
+				LibMatrixMult.vectAdd(a.values(i), c.values(i), a.pos(i), c.pos(i), n);
+			else
+				LibMatrixMult.vectMultiplyAdd(factor, a.values(i), c.values(i), a.pos(i), c.pos(i), n);
+		}
+		return (long) m * n;
+	}
+
+	private static int[][] createShards(int[][] dims, int numShards) {
+		int len = dims.length;
+		int k = Math.max(1, Math.min(numShards, len));
+		//greedy size-balanced assignment, largest entries first
+		Integer[] order = new Integer[len];
+		long[] sizes = new long[len];
+		for(int i = 0; i < len; i++) {
+			order[i] = i;
+			sizes[i] = (long) dims[i][0] * dims[i][1];
+		}
+		Arrays.sort(order, (a, b) -> Long.compare(sizes[b], sizes[a]));
+		long[] loads = new long[k];
+		List<List<Integer>> shards = new ArrayList<>(k);
+		for(int i = 0; i < k; i++)
+			shards.add(new ArrayList<>());
+		for(int ix : order) {
+			int minPos = 0;
+			for(int j = 1; j < k; j++)
+				if( loads[j] < loads[minPos] )
+					minPos = j;
+			shards.get(minPos).add(ix);
+			loads[minPos] += Math.max(sizes[ix], 1);
+		}
+		return shards.stream()
+			.map(s -> s.stream().mapToInt(Integer::intValue).sorted().toArray())
+			.toArray(int[][]::new);
+	}
+
+	private static MatrixBlock getBlock(Data d) {
+		if( !(d instanceof MatrixObject) )
+			throw new DMLRuntimeException("Sharded accumulation: unsupported list entry " + d.getDataType() + ".");
+		return ((MatrixObject) d).acquireReadAndRelease();
+	}
+}
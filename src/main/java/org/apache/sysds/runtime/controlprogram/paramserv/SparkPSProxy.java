@@ -38,6 +38,7 @@ public class SparkPSProxy extends ParamServer {
 	private final TransportClient _client;
 	private final long _rpcTimeout;
 	private final LongAccumulator _aRPC;
+	private GradientCompressor _compressor; // optional, stateful per worker
 
 	public SparkPSProxy(TransportClient client, long rpcTimeout, LongAccumulator aRPC) {
 		super();
@@ -46,6 +47,10 @@ public class SparkPSProxy extends ParamServer {
 		_aRPC = aRPC;
 	}
 
+	public void setGradientCompressor(GradientCompressor compressor) {
+		_compressor = compressor;
+	}
+
 	private void accRpcRequestTime(Timing tRpc) {
 		if (DMLScript.STATISTICS)
 			_aRPC.add((long) tRpc.stop());
@@ -56,7 +61,14 @@ public class SparkPSProxy extends ParamServer {
 		Timing tRpc = DMLScript.STATISTICS ? new Timing(true) : null;
 		PSRpcResponse response;
 		try {
-			response = new PSRpcResponse(_client.sendRpcSync(new PSRpcCall(PUSH, workerID, value).serialize(), _rpcTimeout));
+			PSRpcCall call;
+			if (_compressor != null) {
+				call = new PSRpcCall(workerID, _compressor.compress(value));
+				ParamservUtils.cleanupListObject(value);
+			}
+			else
+				call = new PSRpcCall(PUSH, workerID, value);
+			response = new PSRpcResponse(_client.sendRpcSync(call.serialize(), _rpcTimeout));
 		} catch (IOException e) {
 			throw new DMLRuntimeException(String.format("SparkPSProxy: spark worker_%d failed to push gradients.", workerID), e);
 		}
@@ -54,8 +54,10 @@ public class SparkPSWorker extends LocalPSWorker implements VoidFunction<Tuple2<
 	private final LongAccumulator _aRPC; // accumulator for rpc request
 	private final LongAccumulator _nBatches; //number of executed batches
 	private final LongAccumulator _nEpochs; //number of executed epoches
+	private final Statement.PSCompression _compression;
+	private final double _compressionRatio;
 
-	public SparkPSWorker(String updFunc, String aggFunc, Statement.PSFrequency freq, int epochs, long batchSize, String program, boolean isLocal, HashMap<String, byte[]> clsMap, SparkConf conf, int port, LongAccumulator aSetup, LongAccumulator aWorker, LongAccumulator aUpdate, LongAccumulator aIndex, LongAccumulator aGrad, LongAccumulator aRPC, LongAccumulator aBatches, LongAccumulator aEpochs, int nbatches, boolean modelAvg) {
+	public SparkPSWorker(String updFunc, String aggFunc, Statement.PSFrequency freq, int epochs, long batchSize, String program, boolean isLocal, HashMap<String, byte[]> clsMap, SparkConf conf, int port, LongAccumulator aSetup, LongAccumulator aWorker, LongAccumulator aUpdate, LongAccumulator aIndex, LongAccumulator aGrad, LongAccumulator aRPC, LongAccumulator aBatches, LongAccumulator aEpochs, int nbatches, boolean modelAvg, Statement.PSCompression compression, double compressionRatio) {
 		_updFunc = updFunc;
 		_aggFunc = aggFunc;
 		_freq = freq;
@@ -76,6 +78,8 @@ public class SparkPSWorker extends LocalPSWorker implements VoidFunction<Tuple2<
 		_nEpochs = aEpochs;
 		_nbatches = nbatches;
 		_modelAvg = modelAvg;
+		_compression = compression;
+		_compressionRatio = compressionRatio;
 	}
 
 	@Override
@@ -109,8 +113,11 @@ public class SparkPSWorker extends LocalPSWorker implements VoidFunction<Tuple2<
 		// Initialize the buffer pool and register it in the jvm shutdown hook in order to be cleanuped at the end
 		RemoteParForUtils.setupBufferPool(_workerID, _isLocal);
 
-		// Create the ps proxy
-		_ps = PSRpcFactory.createSparkPSProxy(_conf, _port, _aRPC);
+		// Create the ps proxy (with optional gradient compression per worker)
+		SparkPSProxy proxy = PSRpcFactory.createSparkPSProxy(_conf, _port, _aRPC);
+		if (_compression != null && _compression.isEnabled())
+			proxy.setGradientCompressor(new GradientCompressor(_compression, _compressionRatio));
+		_ps = proxy;
 
 		// Initialize the update function
 		setupUpdateFunction(_updFunc, _ec);
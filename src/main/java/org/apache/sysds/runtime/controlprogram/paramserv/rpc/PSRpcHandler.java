@@ -21,6 +21,7 @@ package org.apache.sysds.runtime.controlprogram.paramserv.rpc;
 
 import static org.apache.sysds.runtime.controlprogram.paramserv.rpc.PSRpcCall.PULL;
 import static org.apache.sysds.runtime.controlprogram.paramserv.rpc.PSRpcCall.PUSH;
+import static org.apache.sysds.runtime.controlprogram.paramserv.rpc.PSRpcCall.PUSH_COMPRESSED;
 
 import java.io.IOException;
 import java.nio.ByteBuffer;
@@ -55,8 +56,12 @@ public final class PSRpcHandler extends RpcHandler {
 		PSRpcResponse response = null;
 		switch (call.getMethod()) {
 			case PUSH:
+			case PUSH_COMPRESSED:
 				try {
-					_server.push(call.getWorkerID(), call.getData());
+					if (call.getMethod() == PUSH_COMPRESSED)
+						_server.push(call.getWorkerID(), call.getCompressedData());
+					else
+						_server.push(call.getWorkerID(), call.getData());
 					response = new PSRpcResponse(Type.SUCCESS_EMPTY);
 				} catch (DMLRuntimeException exception) {
 					response = new PSRpcResponse(Type.ERROR, ExceptionUtils.getStackTrace(exception));
@@ -43,13 +43,31 @@ public abstract class BinaryCPInstruction extends ComputationCPInstruction {
 		CPOperand out = new CPOperand("", ValueType.UNKNOWN, DataType.UNKNOWN);
 		final String[] parts = parseBinaryInstruction(str, in1, in2, out);
 		final String opcode = parts[0];
+		final int k = (parts.length == 5) ? Integer.parseInt(parts[4]) : -1;
+		return createInstruction(opcode, in1, in2, out, k, str);
+	}
 
+	/**
+	 * Creates a binary instruction from already structured operands, which allows
+	 * instruction generation without the round-trip of parsing the instruction string.
+	 * 
+	 * @param opcode binary opcode
+	 * @param in1    first input operand
+	 * @param in2    second input operand
+	 * @param out    output operand
+	 * @param k      number of threads, or -1 to keep the operator default
+	 * @param str    instruction string (for explain and serialization)
+	 * @return binary instruction
+	 */
+	public static BinaryCPInstruction createInstruction(String opcode, CPOperand in1, CPOperand in2,
+		CPOperand out, int k, String str)
+	{
 		if(!(in1.getDataType() == DataType.FRAME || in2.getDataType() == DataType.FRAME))
 			checkOutputDataType(in1, in2, out);
 		
 		MultiThreadedOperator operator = InstructionUtils.parseBinaryOrBuiltinOperator(opcode, in1, in2);
-		if(parts.length == 5 && operator != null)
-			operator.setNumThreads(Integer.parseInt(parts[4]));
+		if(k >= 0 && operator != null)
+			operator.setNumThreads(k);
 
 		if (in1.getDataType() == DataType.SCALAR && in2.getDataType() == DataType.SCALAR)
 			return new BinaryScalarScalarCPInstruction(operator, in1, in2, out, opcode, str);
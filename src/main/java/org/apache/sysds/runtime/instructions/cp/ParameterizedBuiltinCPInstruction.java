@@ -60,6 +60,7 @@ import org.apache.sysds.runtime.transform.decode.Decoder;
 import org.apache.sysds.runtime.transform.decode.DecoderFactory;
 import org.apache.sysds.runtime.transform.encode.EncoderFactory;
 import org.apache.sysds.runtime.transform.encode.MultiColumnEncoder;
+import org.apache.sysds.runtime.transform.encode.RowEncoder;
 import org.apache.sysds.runtime.transform.meta.TfMetaUtils;
 import org.apache.sysds.runtime.transform.tokenize.Tokenizer;
 import org.apache.sysds.runtime.transform.tokenize.TokenizerFactory;
@@ -328,10 +329,17 @@ public class ParameterizedBuiltinCPInstruction extends ComputationCPInstruction
 			MatrixBlock embeddings = params.get("embedding") != null ? ec.getMatrixInput(params.get("embedding")) : null;
 			String[] colNames = data.getColumnNames();
 
-			// compute transformapply
-			MultiColumnEncoder encoder = EncoderFactory
-				.createEncoder(params.get("spec"), colNames, data.getNumColumns(), meta, embeddings);
-			MatrixBlock mbout = encoder.apply(data, OptimizerUtils.getTransformNumThreads());
+			// compute transformapply (small inputs via compiled row encoder)
+			RowEncoder rencoder = (embeddings == null && data.getNumRows() <= RowEncoder.MAX_ROWS) ?
+				RowEncoder.get(params.get("spec"), colNames, data.getNumColumns(), meta) : null;
+			MatrixBlock mbout;
+			if(rencoder != null)
+				mbout = rencoder.apply(data);
+			else {
+				MultiColumnEncoder encoder = EncoderFactory
+					.createEncoder(params.get("spec"), colNames, data.getNumColumns(), meta, embeddings);
+				mbout = encoder.apply(data, OptimizerUtils.getTransformNumThreads());
+			}
 
 			// release locks
 			ec.setMatrixOutput(output.getName(), mbout);
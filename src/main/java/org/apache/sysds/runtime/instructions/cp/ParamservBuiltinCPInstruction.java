@@ -21,6 +21,8 @@ package org.apache.sysds.runtime.instructions.cp;
 
 import static org.apache.sysds.parser.Statement.PS_AGGREGATION_FUN;
 import static org.apache.sysds.parser.Statement.PS_BATCH_SIZE;
+import static org.apache.sysds.parser.Statement.PS_COMPRESSION;
+import static org.apache.sysds.parser.Statement.PS_COMPRESSION_RATIO;
 import static org.apache.sysds.parser.Statement.PS_EPOCHS;
 import static org.apache.sysds.parser.Statement.PS_FEATURES;
 import static org.apache.sysds.parser.Statement.PS_FED_RUNTIME_BALANCING;
@@ -63,6 +65,7 @@ import org.apache.sysds.api.DMLScript;
 import org.apache.sysds.common.Types.ExecType;
 import org.apache.sysds.hops.recompile.Recompiler;
 import org.apache.sysds.parser.Statement.FederatedPSScheme;
+import org.apache.sysds.parser.Statement.PSCompression;
 import org.apache.sysds.parser.Statement.PSFrequency;
 import org.apache.sysds.parser.Statement.PSModeType;
 import org.apache.sysds.parser.Statement.PSRuntimeBalancing;
@@ -74,6 +77,7 @@ import org.apache.sysds.runtime.controlprogram.caching.MatrixObject;
 import org.apache.sysds.runtime.controlprogram.context.ExecutionContext;
 import org.apache.sysds.runtime.controlprogram.context.SparkExecutionContext;
 import org.apache.sysds.runtime.controlprogram.paramserv.FederatedPSControlThread;
+import org.apache.sysds.runtime.controlprogram.paramserv.GradientCompressor;
 import org.apache.sysds.runtime.controlprogram.paramserv.HEParamServer;
 import org.apache.sysds.runtime.controlprogram.paramserv.LocalPSWorker;
 import org.apache.sysds.runtime.controlprogram.paramserv.LocalParamServer;
@@ -108,6 +112,7 @@ public class ParamservBuiltinCPInstruction extends ParameterizedBuiltinCPInstruc
 	private static final Boolean DEFAULT_MODELAVG = false;
 	private static final Boolean DEFAULT_HE = false;
 	public static final int DEFAULT_NUM_BACKUP_WORKERS = 1;
+	private static final PSCompression DEFAULT_COMPRESSION = PSCompression.NONE;
 
 	public ParamservBuiltinCPInstruction(Operator op, LinkedHashMap<String, String> paramsMap, CPOperand out, String opcode, String istr) {
 		super(op, paramsMap, out, opcode, istr);
@@ -200,6 +205,8 @@ public class ParamservBuiltinCPInstruction extends ParameterizedBuiltinCPInstruc
 		boolean modelAvg = Boolean.parseBoolean(getParam(PS_MODELAVG));
 
 		final boolean use_homomorphic_encryption = useHomomorphicEncryption(result, workerNum, modelAvg, weighting);
+		PSCompression compression = getCompression(modelAvg);
+		double compressionRatio = getCompressionRatio();
 
 		LocalParamServer ps = (LocalParamServer) createPS(PSModeType.FEDERATED, aggFunc, updateType, freq, workerNum,
 			model, aggServiceEC, getValFunction(), getNumBatchesPerEpoch(runtimeBalancing, result._balanceMetrics),
@@ -208,7 +215,8 @@ public class ParamservBuiltinCPInstruction extends ParameterizedBuiltinCPInstruc
 		int finalNumBatchesPerEpoch = getNumBatchesPerEpoch(runtimeBalancing, result._balanceMetrics);
 		List<FederatedPSControlThread> threads = IntStream.range(0, workerNum)
 			.mapToObj(i -> new FederatedPSControlThread(i, updFunc, freq, runtimeBalancing, weighting,
-				getEpochs(), getBatchSize(), finalNumBatchesPerEpoch, federatedWorkerECs.get(i), ps, nbatches, modelAvg, use_homomorphic_encryption))
+				getEpochs(), getBatchSize(), finalNumBatchesPerEpoch, federatedWorkerECs.get(i), ps, nbatches, modelAvg,
+				use_homomorphic_encryption, compression, compressionRatio))
 			.collect(Collectors.toList());
 		if(workerNum != threads.size()) {
 			throw new DMLRuntimeException("ParamservBuiltinCPInstruction: Federated data partitioning does not match threads!");
@@ -266,6 +274,8 @@ public class ParamservBuiltinCPInstruction extends ParameterizedBuiltinCPInstruc
 		int workerNum, boolean modelAvg, boolean weighting){
 		boolean use_homomorphic_encryption = getHe();
 		if ( use_homomorphic_encryption ){
+			if ( getCompression(false).isEnabled() )
+				throw new DMLRuntimeException("can't use homomorphic encryption with gradient compression");
 			if ( !modelAvg )
 				throw new DMLRuntimeException("can't use homomorphic encryption without modelAvg");
 			if ( weighting )
@@ -285,6 +295,7 @@ public class ParamservBuiltinCPInstruction extends ParameterizedBuiltinCPInstruc
 		int nbatches = getNbatches();
 		int numBackupWorkers = getNumBackupWorkers();
 		boolean modelAvg = Boolean.parseBoolean(getParam(PS_MODELAVG));
+		PSCompression compression = getCompression(modelAvg);
 
 		// Get the compiled execution context
 		LocalVariableMap newVarsMap = createVarsMap(sec);
@@ -328,7 +339,8 @@ public class ParamservBuiltinCPInstruction extends ParameterizedBuiltinCPInstruc
 		// Create remote workers
 		SparkPSWorker worker = new SparkPSWorker(getParam(PS_UPDATE_FUN), getParam(PS_AGGREGATION_FUN),
 			getFrequency(), getEpochs(), getBatchSize(), program, isLocal, clsMap, sec.getSparkContext().getConf(),
-			server.getPort(), aSetup, aWorker, aUpdate, aIndex, aGrad, aRPC, aBatch, aEpoch, nbatches, modelAvg);
+			server.getPort(), aSetup, aWorker, aUpdate, aIndex, aGrad, aRPC, aBatch, aEpoch, nbatches, modelAvg,
+			compression, getCompressionRatio());
 
 		if (tSetup != null)
 			ParamServStatistics.accSetupTime((long) tSetup.stop());
@@ -393,6 +405,8 @@ public class ParamservBuiltinCPInstruction extends ParameterizedBuiltinCPInstruc
 		MatrixObject val_features = (getParam(PS_VAL_FEATURES) != null) ? ec.getMatrixObject(getParam(PS_VAL_FEATURES)) : null;
 		MatrixObject val_labels = (getParam(PS_VAL_LABELS) != null) ? ec.getMatrixObject(getParam(PS_VAL_LABELS)) : null;
 		boolean modelAvg = getModelAvg();
+		if (getCompression(modelAvg).isEnabled())
+			LOG.warn("Gradient compression has no effect in local mode");
 		ParamServer ps = createPS(mode, aggFunc, updateType, freq, workerNum, model, aggServiceEC, getValFunction(),
 			num_batches_per_epoch, val_features, val_labels, nbatches, modelAvg, numBackupWorkers);
 
@@ -714,4 +728,25 @@ public class ParamservBuiltinCPInstruction extends ParameterizedBuiltinCPInstruc
 			return DEFAULT_HE;
 		return Boolean.parseBoolean(getParam(PS_HE));
 	}
+
+	private PSCompression getCompression(boolean modelAvg) {
+		if (!getParameterMap().containsKey(PS_COMPRESSION))
+			return DEFAULT_COMPRESSION;
+		PSCompression compression;
+		try {
+			compression = PSCompression.valueOf(getParam(PS_COMPRESSION));
+		} catch (IllegalArgumentException e) {
+			throw new DMLRuntimeException(String.format("Paramserv function: "
+				+ "not support '%s' gradient compression.", getParam(PS_COMPRESSION)));
+		}
+		if (compression.isEnabled() && modelAvg)
+			throw new DMLRuntimeException("Paramserv function: gradient compression is not supported with modelAvg");
+		return compression;
+	}
+
+	private double getCompressionRatio() {
+		if (!getParameterMap().containsKey(PS_COMPRESSION_RATIO))
+			return GradientCompressor.DEFAULT_TOPK_RATIO;
+		return Double.parseDouble(getParam(PS_COMPRESSION_RATIO));
+	}
 }
@@ -1277,12 +1277,19 @@ public class VariableCPInstruction extends CPInstruction implements LineageTrace
 			sb.append(Lop.OPERAND_DELIMITOR);
 			sb.append(varName);
 		}
-		return parseInstruction(sb.toString());
+		//direct construction w/o parsing the instruction string
+		VariableCPInstruction inst = new VariableCPInstruction(VariableOperationCode.RemoveVariable,
+			null, null, null, null, "rmvar", sb.toString());
+		for( String varName : varNames )
+			inst.addInput(new CPOperand(varName, ValueType.UNKNOWN, DataType.SCALAR));
+		return inst;
 	}
 
 	public static Instruction prepareCopyInstruction(String srcVar, String destVar) {
-		return parseInstruction(
-			InstructionUtils.concatOperands("CP", "cpvar", srcVar, destVar));
+		return new VariableCPInstruction(VariableOperationCode.CopyVariable,
+			new CPOperand(srcVar, ValueType.UNKNOWN, DataType.UNKNOWN),
+			new CPOperand(destVar, ValueType.UNKNOWN, DataType.UNKNOWN), null, null,
+			"cpvar", InstructionUtils.concatOperands("CP", "cpvar", srcVar, destVar));
 	}
 
 	public static Instruction prepMoveInstruction(String srcVar, String destFileName, String format) {
@@ -1291,8 +1298,10 @@ public class VariableCPInstruction extends CPInstruction implements LineageTrace
 	}
 
 	public static Instruction prepMoveInstruction(String srcVar, String destVar) {
-		return parseInstruction(
-			InstructionUtils.concatOperands("CP", "mvvar", srcVar, destVar));
+		return new VariableCPInstruction(VariableOperationCode.MoveVariable,
+			new CPOperand(srcVar, ValueType.UNKNOWN, DataType.UNKNOWN),
+			new CPOperand(destVar, ValueType.UNKNOWN, DataType.UNKNOWN), null, null,
+			"mvvar", InstructionUtils.concatOperands("CP", "mvvar", srcVar, destVar));
 	}
 
 	private static String getBasicCreatevarString(String varName, String fileName, boolean fNameOverride, DataType dt, String format) {
@@ -1312,10 +1321,25 @@ public class VariableCPInstruction extends CPInstruction implements LineageTrace
 	}
 
 	public static Instruction prepCreatevarInstruction(String varName, String fileName, boolean fNameOverride, DataType dt, String format, DataCharacteristics mc, UpdateType update) {
-		return parseInstruction(InstructionUtils.concatOperands(
+		String str = InstructionUtils.concatOperands(
 			getBasicCreatevarString(varName, fileName, fNameOverride, dt, format),
 			String.valueOf(mc.getRows()), String.valueOf(mc.getCols()), String.valueOf(mc.getBlocksize()),
-			String.valueOf(mc.getNonZeros()), update.toString().toLowerCase()));
+			String.valueOf(mc.getNonZeros()), update.toString().toLowerCase());
+		//parse instructions w/ format properties or tensor meta data
+		FileFormat fmt = FileFormat.safeValueOf(format);
+		if( fmt == FileFormat.CSV || fmt == FileFormat.LIBSVM || fmt == FileFormat.HDF5
+			|| !(dt == DataType.MATRIX || dt == DataType.FRAME || dt == DataType.LIST) )
+			return parseInstruction(str);
+		//direct construction w/o parsing the instruction string
+		boolean lfNameOverride = fNameOverride && !ConfigurationManager
+			.getCompilerConfigFlag(ConfigType.IGNORE_TEMPORARY_FILENAMES);
+		MetaDataFormat md = new MetaDataFormat(new MatrixCharacteristics(
+			mc.getRows(), mc.getCols(), mc.getBlocksize(), mc.getNonZeros()), fmt);
+		return new VariableCPInstruction(VariableOperationCode.CreateVariable,
+			new CPOperand(varName, dt==DataType.MATRIX ? ValueType.FP64 : ValueType.STRING, dt),
+			new CPOperand(fileName, ValueType.STRING, DataType.SCALAR),
+			new CPOperand(String.valueOf(lfNameOverride), ValueType.BOOLEAN, DataType.SCALAR),
+			md, update, null, "createvar", str);
 	}
 
 	public static Instruction prepCreatevarInstruction(String varName, String fileName, boolean fNameOverride, DataType dt, String format, DataCharacteristics mc, UpdateType update, boolean hasHeader, String delim, boolean sparse) {
@@ -0,0 +1,167 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.sysds.runtime.io;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.file.StandardOpenOption;
+
+import org.apache.hadoop.fs.FileSystem;
+import org.apache.hadoop.fs.LocalFileSystem;
+import org.apache.hadoop.fs.Path;
+import org.apache.hadoop.fs.RawLocalFileSystem;
+import org.apache.hadoop.io.Text;
+import org.apache.hadoop.io.Writable;
+import org.apache.sysds.runtime.matrix.data.MatrixBlock;
+import org.apache.sysds.runtime.matrix.data.MatrixIndexes;
+import org.apache.sysds.runtime.util.ByteBufferDataInput;
+
+/**
+ * Reader of uncompressed binary-block sequence files on the local file system,
+ * which memory-maps the file and deserializes keys and values directly from the
+ * mapped buffer. In contrast to SequenceFile.Reader, this avoids the stream
+ * and checksum layers as well as intermediate record buffers, and dense blocks
+ * are materialized via bulk copies from a double view of the mapped buffer.
+ * 
+ * Files that are compressed, use a different sequence file version or key/value
+ * classes, or exceed 2GB are not supported, in which case open returns null
+ * and callers fall back to SequenceFile.Reader. The binary-block readers use
+ * this reader unless disabled via sysds.io.local.mmap.
+ */
+public class MappedSequenceFileReader implements Closeable
+{
+	private static final byte[] SEQ_MAGIC = new byte[]{'S', 'E', 'Q'};
+	private static final byte SEQ_VERSION_METADATA = 6;
+	private static final int SYNC_ESCAPE = -1;
+	private static final int SYNC_SIZE = 16;
+	
+	private ByteBuffer _buff;
+	private ByteBufferDataInput _in;
+	
+	private MappedSequenceFileReader(ByteBuffer buff) {
+		_buff = buff;
+		_in = new ByteBufferDataInput(buff);
+	}
+	
+	/**
+	 * Opens a memory-mapped reader for the given sequence file if applicable.
+	 * 
+	 * @param fs file system
+	 * @param path path of an individual sequence file
+	 * @param keyClass expected key class
+	 * @param valueClass expected value class
+	 * @return reader, or null if not applicable
+	 * @throws IOException if IOException occurs
+	 */
+	public static MappedSequenceFileReader open(FileSystem fs, Path path,
+		Class<? extends Writable> keyClass, Class<? extends Writable> valueClass) throws IOException
+	{
+		if( !(fs instanceof LocalFileSystem || fs instanceof RawLocalFileSystem) )
+			return null;
+		File file = new File(path.toUri().getPath());
+		if( !file.isFile() || file.length() > Integer.MAX_VALUE )
+			return null;
+		
+		MappedByteBuffer buff = null;
+		try( FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ) ) {
+			buff = channel.map(MapMode.READ_ONLY, 0, channel.size());
+		}
+		MappedSequenceFileReader reader = new MappedSequenceFileReader(buff);
+		return reader.readHeader(keyClass, valueClass) ? reader : null;
+	}
+	
+	/**
+	 * Opens a memory-mapped reader for binary-block matrix files if applicable.
+	 * 
+	 * @param fs file system
+	 * @param path path of an individual sequence file
+	 * @return reader, or null if not applicable
+	 * @throws IOException if IOException occurs
+	 */
+	public static MappedSequenceFileReader openBinaryBlock(FileSystem fs, Path path) throws IOException {
+		return open(fs, path, MatrixIndexes.class, MatrixBlock.class);
+	}
+	
+	private boolean readHeader(Class<?> keyClass, Class<?> valueClass) throws IOException {
+		if( _buff.remaining() < SEQ_MAGIC.length + 1 )
+			return false;
+		for( byte b : SEQ_MAGIC )
+			if( _buff.get() != b )
+				return false;
+		if( _buff.get() != SEQ_VERSION_METADATA )
+			return false;
+		//key and value class names
+		if( !keyClass.getName().equals(Text.readString(_in))
+			|| !valueClass.getName().equals(Text.readString(_in)) )
+			return false;
+		//compression flags (record and block compression)
+		boolean compressed = _in.readBoolean();
+		boolean blockCompressed = _in.readBoolean();
+		if( compressed || blockCompressed )
+			return false;
+		//metadata (count and key-value pairs)
+		int numMeta = _in.readInt();
+		for( int i=0; i<2*numMeta; i++ )
+			Text.readString(_in);
+		//sync marker
+		_in.skipBytes(SYNC_SIZE);
+		return true;
+	}
+	
+	/**
+	 * Reads the next key-value pair.
+	 * 
+	 * @param key reused key
+	 * @param value reused value
+	 * @return true if a pair was read, false at the end of file
+	 * @throws IOException if IOException occurs
+	 */
+	public boolean next(Writable key, Writable value) throws IOException {
+		if( _buff.remaining() < Integer.BYTES )
+			return false;
+		int recordLength = _in.readInt();
+		if( recordLength == SYNC_ESCAPE ) {
+			_in.skipBytes(SYNC_SIZE);
+			if( _buff.remaining() < Integer.BYTES )
+				return false;
+			recordLength = _in.readInt();
+		}
+		int keyLength = _in.readInt();
+		int start = _buff.position();
+		key.readFields(_in);
+		if( _buff.position() != start + keyLength )
+			throw new IOException("Invalid key length: "+(_buff.position()-start)+" vs "+keyLength+".");
+		value.readFields(_in);
+		if( _buff.position() != start + recordLength )
+			throw new IOException("Invalid record length: "+(_buff.position()-start)+" vs "+recordLength+".");
+		return true;
+	}
+	
+	@Override
+	public void close() {
+		//drop references, the mapping is released on garbage collection
+		_buff = null;
+		_in = null;
+	}
+}
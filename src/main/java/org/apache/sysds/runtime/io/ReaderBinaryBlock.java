@@ -39,10 +39,12 @@ import org.apache.sysds.runtime.util.HDFSTool;
 public class ReaderBinaryBlock extends MatrixReader
 {
 	protected boolean _localFS = false;
+	protected final boolean _mmap;
 	
 	public ReaderBinaryBlock( boolean localFS )
 	{
 		_localFS = localFS;
+		_mmap = ConfigurationManager.isLocalMMapReadEnabled();
 	}
 	
 	public void setLocalFS(boolean flag) {
@@ -69,7 +71,7 @@ public class ReaderBinaryBlock extends MatrixReader
 		checkValidInputFile(fs, path); 
 	
 		//core read 
-		readBinaryBlockMatrixFromHDFS(path, job, fs, ret, rlen, clen, blen);
+		readBinaryBlockMatrixFromHDFS(path, job, fs, ret, rlen, clen, blen, _mmap);
 		
 		//finally check if change of sparse/dense block representation required
 		if( !AGGREGATE_BLOCK_NNZ )
@@ -101,7 +103,7 @@ public class ReaderBinaryBlock extends MatrixReader
 		checkValidInputFile(fs, path);
 	
 		//core read 
-		readBinaryBlockMatrixBlocksFromHDFS(path, job, fs, ret, rlen, clen, blen);
+		readBinaryBlockMatrixBlocksFromHDFS(path, job, fs, ret, rlen, clen, blen, _mmap);
 		
 		return ret;
 	}
@@ -137,9 +139,10 @@ public class ReaderBinaryBlock extends MatrixReader
 	 * @param clen number of columns
 	 * @param blen number of rows in block
 	 * @param blen number of columns in block
+	 * @param mmap memory-mapped read of local files
 	 * @throws IOException if IOException occurs
 	 */
-	private static void readBinaryBlockMatrixFromHDFS( Path path, JobConf job, FileSystem fs, MatrixBlock dest, long rlen, long clen, int blen )
+	private static void readBinaryBlockMatrixFromHDFS( Path path, JobConf job, FileSystem fs, MatrixBlock dest, long rlen, long clen, int blen, boolean mmap )
 		throws IOException
 	{
 		boolean sparse = dest.isInSparseFormat();
@@ -153,14 +156,16 @@ public class ReaderBinaryBlock extends MatrixReader
 		
 		for( Path lpath : IOUtilFunctions.getSequenceFilePaths(fs, path) ) //1..N files 
 		{
-			//directly read from sequence files (individual partfiles)
-			SequenceFile.Reader reader = new SequenceFile
-				.Reader(job, SequenceFile.Reader.file(lpath));
+			//directly read from sequence files (individual partfiles),
+			//memory-mapped for uncompressed local files
+			MappedSequenceFileReader mreader = mmap ? MappedSequenceFileReader.openBinaryBlock(fs, lpath) : null;
+			SequenceFile.Reader reader = (mreader == null) ? new SequenceFile
+				.Reader(job, SequenceFile.Reader.file(lpath)) : null;
 			
 			try
 			{
 				//note: next(key, value) does not yet exploit the given serialization classes, record reader does but is generally slower.
-				while( reader.next(key, value) )
+				while( mreader != null ? mreader.next(key, value) : reader.next(key, value) )
 				{	
 					//empty block filter (skip entire block)
 					if( value.isEmptyBlock(false) )
@@ -198,6 +203,7 @@ public class ReaderBinaryBlock extends MatrixReader
 			}
 			finally
 			{
+				IOUtilFunctions.closeSilently(mreader);
 				IOUtilFunctions.closeSilently(reader);
 			}
 		}
@@ -210,7 +216,7 @@ public class ReaderBinaryBlock extends MatrixReader
 		}
 	}
 	
-	private static void readBinaryBlockMatrixBlocksFromHDFS( Path path, JobConf job, FileSystem fs, Collection<IndexedMatrixValue> dest, long rlen, long clen, int blen )
+	private static void readBinaryBlockMatrixBlocksFromHDFS( Path path, JobConf job, FileSystem fs, Collection<IndexedMatrixValue> dest, long rlen, long clen, int blen, boolean mmap )
 		throws IOException
 	{
 		MatrixIndexes key = new MatrixIndexes(); 
@@ -222,13 +228,15 @@ public class ReaderBinaryBlock extends MatrixReader
 		
 		for( Path lpath : IOUtilFunctions.getSequenceFilePaths(fs, path) ) //1..N files 
 		{
-			//directly read from sequence files (individual partfiles)
-			SequenceFile.Reader reader = new SequenceFile
-				.Reader(job, SequenceFile.Reader.file(lpath));
+			//directly read from sequence files (individual partfiles),
+			//memory-mapped for uncompressed local files
+			MappedSequenceFileReader mreader = mmap ? MappedSequenceFileReader.openBinaryBlock(fs, lpath) : null;
+			SequenceFile.Reader reader = (mreader == null) ? new SequenceFile
+				.Reader(job, SequenceFile.Reader.file(lpath)) : null;
 			
 			try
 			{
-				while( reader.next(key, value) )
+				while( mreader != null ? mreader.next(key, value) : reader.next(key, value) )
 				{	
 					int row_offset = (int)(key.getRowIndex()-1)*blen;
 					int col_offset = (int)(key.getColumnIndex()-1)*blen;
@@ -248,6 +256,7 @@ public class ReaderBinaryBlock extends MatrixReader
 			}
 			finally
 			{
+				IOUtilFunctions.closeSilently(mreader);
 				IOUtilFunctions.closeSilently(reader);
 			}
 		}
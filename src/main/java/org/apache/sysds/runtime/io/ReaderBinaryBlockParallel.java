@@ -75,7 +75,7 @@ public class ReaderBinaryBlockParallel extends ReaderBinaryBlock
 		int numThreads = OptimizerUtils.getParallelBinaryReadParallelism();
 		long numBlocks = (long)Math.ceil((double)rlen / blen);
 		readBinaryBlockMatrixFromHDFS(path, job, fs, ret,
-			rlen, clen, blen, numThreads<=numBlocks);
+			rlen, clen, blen, numThreads<=numBlocks, _mmap);
 		
 		//finally check if change of sparse/dense block representation required
 		if( !AGGREGATE_BLOCK_NNZ )
@@ -86,7 +86,7 @@ public class ReaderBinaryBlockParallel extends ReaderBinaryBlock
 	}
 
 	private static void readBinaryBlockMatrixFromHDFS( Path path, JobConf job, FileSystem fs, MatrixBlock dest,
-			long rlen, long clen, int blen, boolean syncBlock )
+			long rlen, long clen, int blen, boolean syncBlock, boolean mmap )
 		throws IOException, DMLRuntimeException
 	{
 		//set up preferred custom serialization framework for binary block format
@@ -99,7 +99,7 @@ public class ReaderBinaryBlockParallel extends ReaderBinaryBlock
 			//create read tasks for all files
 			ArrayList<ReadFileTask> tasks = new ArrayList<>();
 			for( Path lpath : IOUtilFunctions.getSequenceFilePaths(fs, path) ){
-				ReadFileTask t = new ReadFileTask(lpath, job, dest, rlen, clen, blen, syncBlock);
+				ReadFileTask t = new ReadFileTask(lpath, job, fs, dest, rlen, clen, blen, syncBlock, mmap);
 				tasks.add(t);
 			}
 
@@ -129,19 +129,23 @@ public class ReaderBinaryBlockParallel extends ReaderBinaryBlock
 	{
 		private final Path _path;
 		private final JobConf _job;
+		private final FileSystem _fs;
 		private final MatrixBlock _dest;
 		private final long _rlen, _clen;
 		private final int _blen;
 		private final boolean _syncBlocks;
+		private final boolean _mmap;
 		
-		public ReadFileTask(Path path, JobConf job, MatrixBlock dest, long rlen, long clen, int blen, boolean syncBlocks) {
+		public ReadFileTask(Path path, JobConf job, FileSystem fs, MatrixBlock dest, long rlen, long clen, int blen, boolean syncBlocks, boolean mmap) {
 			_path = path;
 			_job = job;
+			_fs = fs;
 			_dest = dest;
 			_rlen = rlen;
 			_clen = clen;
 			_blen = blen;
 			_syncBlocks = syncBlocks;
+			_mmap = mmap;
 		}
 
 		@Override
@@ -152,14 +156,17 @@ public class ReaderBinaryBlockParallel extends ReaderBinaryBlock
 			MatrixBlock value = getReuseBlock(_blen, sparse);
 			long lnnz = 0; //aggregate block nnz
 			
-			//directly read from sequence files (individual partfiles)
-			final Reader reader = new SequenceFile
-				.Reader(_job, SequenceFile.Reader.file(_path));
+			//directly read from sequence files (individual partfiles),
+			//memory-mapped for uncompressed local files
+			final MappedSequenceFileReader mreader = _mmap ?
+				MappedSequenceFileReader.openBinaryBlock(_fs, _path) : null;
+			final Reader reader = (mreader == null) ? new SequenceFile
+				.Reader(_job, SequenceFile.Reader.file(_path)) : null;
 			
 			try
 			{
 				//note: next(key, value) does not yet exploit the given serialization classes, record reader does but is generally slower.
-				while( reader.next(key, value) )
+				while( mreader != null ? mreader.next(key, value) : reader.next(key, value) )
 				{	
 					//empty block filter (skip entire block)
 					if( value.isEmptyBlock(false) )
@@ -220,6 +227,7 @@ public class ReaderBinaryBlockParallel extends ReaderBinaryBlock
 				}
 			}
 			finally {
+				IOUtilFunctions.closeSilently(mreader);
 				IOUtilFunctions.closeSilently(reader);
 			}
 			
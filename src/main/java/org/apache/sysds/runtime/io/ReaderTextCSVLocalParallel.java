@@ -0,0 +1,466 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.sysds.runtime.io;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+import org.apache.hadoop.fs.FileSystem;
+import org.apache.hadoop.fs.LocalFileSystem;
+import org.apache.hadoop.fs.Path;
+import org.apache.hadoop.fs.RawLocalFileSystem;
+import org.apache.sysds.conf.ConfigurationManager;
+import org.apache.sysds.runtime.DMLRuntimeException;
+import org.apache.sysds.runtime.data.DenseBlock;
+import org.apache.sysds.runtime.data.SparseBlock;
+import org.apache.sysds.runtime.data.SparseRowVector;
+import org.apache.sysds.runtime.matrix.data.MatrixBlock;
+import org.apache.sysds.runtime.util.CommonThreadPool;
+import org.apache.sysds.utils.DoubleParser;
+
+/**
+ * Single-pass parallel reader for text CSV matrices on the local file system.
+ * 
+ * In contrast to ReaderTextCSVParallel, which first counts the rows of all splits
+ * and then parses the splits via Hadoop record readers and string tokenization,
+ * this reader partitions the files into byte ranges, parses numbers directly from
+ * byte buffers (no strings per line or cell), and appends the non-zeros into
+ * per-range row chunks, which are stitched into the output block at the end.
+ * Hence, the input is scanned only once.
+ * 
+ * Lines belong to the byte range that contains their first byte. The reader is
+ * applicable for single-byte delimiters only, other configurations fall back
+ * to ReaderTextCSVParallel. Since quoted fields may contain delimiters and line
+ * breaks, which invalidate the byte-range partitioning, files with quotes are
+ * detected during parsing and read via ReaderTextCSVParallel as well. Empty
+ * lines are handled like in ReaderTextCSVParallel, i.e., as rows of a single
+ * empty field. Both fallbacks use the two-pass read of ReaderTextCSVParallel,
+ * and the single-pass read can be disabled via sysds.io.local.csv.singlepass.
+ */
+public class ReaderTextCSVLocalParallel extends MatrixReader
+{
+	private static final int BUFFER_SIZE = 1 << 20; //1MB
+	private static final long MIN_RANGE_SIZE = 4L << 20; //4MB
+	
+	private final FileFormatPropertiesCSV _props;
+	private final int _numThreads;
+	private final byte _delim;
+	private final byte[][] _naStrings;
+	
+	public ReaderTextCSVLocalParallel(FileFormatPropertiesCSV props, int numThreads) {
+		_props = props;
+		_numThreads = numThreads;
+		_delim = (byte) props.getDelim().charAt(0);
+		HashSet<String> na = props.getNAStrings();
+		_naStrings = (na == null) ? null : na.stream()
+			.map(s -> s.getBytes(StandardCharsets.UTF_8)).toArray(byte[][]::new);
+	}
+	
+	/**
+	 * Indicates if the single-pass reader is applicable for the given
+	 * file system and CSV properties.
+	 * 
+	 * @param fs file system
+	 * @param props csv file format properties
+	 * @return true if applicable
+	 */
+	public static boolean isApplicable(FileSystem fs, FileFormatPropertiesCSV props) {
+		String delim = props.getDelim();
+		return ConfigurationManager.isLocalSinglePassCSVEnabled()
+			&& (fs instanceof LocalFileSystem || fs instanceof RawLocalFileSystem)
+			&& delim.length() == 1 && delim.charAt(0) < 128 && delim.charAt(0) > ' ';
+	}
+	
+	@Override
+	public MatrixBlock readMatrixFromHDFS(String fname, long rlen, long clen, int blen, long estnnz)
+		throws IOException, DMLRuntimeException
+	{
+		MatrixBlock ret = readMatrixSinglePass(fname, rlen, clen, blen, estnnz);
+		//fallback to two-pass parallel reader for quoted fields
+		return (ret != null) ? ret :
+			new ReaderTextCSVParallel(_props).readMatrixTwoPass(fname, rlen, clen, blen, estnnz);
+	}
+	
+	/**
+	 * Reads the matrix in a single pass, unless the files contain quoted fields.
+	 * 
+	 * @param fname file name
+	 * @param rlen number of rows, or -1 if unknown
+	 * @param clen number of columns, or -1 if unknown
+	 * @param blen block size
+	 * @param estnnz estimated number of non-zeros
+	 * @return matrix block, or null if the files contain quoted fields
+	 * @throws IOException if IOException occurs
+	 * @throws DMLRuntimeException if DMLRuntimeException occurs
+	 */
+	protected MatrixBlock readMatrixSinglePass(String fname, long rlen, long clen, int blen, long estnnz)
+		throws IOException, DMLRuntimeException
+	{
+		//prepare file access
+		Path path = new Path(fname);
+		FileSystem fs = IOUtilFunctions.getFileSystem(path, ConfigurationManager.getCachedJobConf());
+		checkValidInputFile(fs, path);
+		File[] files = getInputFiles(fs, path);
+		
+		//determine number of columns from first line
+		int ncol = countColumns(files[0]);
+		
+		//partition files into byte ranges and parse ranges in parallel
+		List<ParseTask> tasks = createParseTasks(files, ncol);
+		ExecutorService pool = CommonThreadPool.get(_numThreads);
+		try {
+			RowChunk[] chunks = new RowChunk[tasks.size()];
+			List<Future<RowChunk>> rtasks = pool.invokeAll(tasks);
+			int i = 0;
+			for( Future<RowChunk> rt : rtasks ) {
+				//probe all tasks for quoted fields before raising other errors
+				try {
+					chunks[i++] = rt.get();
+				}
+				catch(ExecutionException ex) {
+					if( ex.getCause() instanceof QuotedFieldException )
+						return null;
+				}
+			}
+			for( Future<RowChunk> rt : rtasks )
+				rt.get();
+			
+			//compute row offsets and check dimensions
+			int[] offsets = new int[chunks.length];
+			long nrow = 0, nnz = 0;
+			for( i=0; i<chunks.length; i++ ) {
+				offsets[i] = (int) nrow;
+				nrow += chunks[i].numRows;
+				nnz += chunks[i].nnz;
+			}
+			if( (rlen != -1 && nrow != rlen) || (clen != -1 && ncol != clen) ) {
+				String msg = "Read matrix dimensions differ from meta data: [" + nrow + "x" + ncol
+					+ "] vs. [" + rlen + "x" + clen + "].";
+				if( rlen < nrow || clen < ncol )
+					throw new DMLRuntimeException(msg);
+				//specified matrix dimensions too large -> padding and warning
+				LOG.warn(msg);
+				nrow = rlen;
+				ncol = (int) clen;
+			}
+			
+			//stitch per-range chunks into the output block
+			MatrixBlock ret = createOutputMatrixBlock(nrow, ncol, blen, nnz, true, true);
+			ArrayList<Callable<Object>> ctasks = new ArrayList<>();
+			for( i=0; i<chunks.length; i++ ) {
+				final RowChunk chunk = chunks[i];
+				final int off = offsets[i];
+				ctasks.add(() -> { chunk.copyTo(ret, off); return null; });
+			}
+			for( Future<Object> rt : pool.invokeAll(ctasks) )
+				rt.get();
+			ret.setNonZeros(nnz);
+			return ret;
+		}
+		catch(DMLRuntimeException ex) {
+			throw ex;
+		}
+		catch(Exception ex) {
+			throw new IOException("Failed single-pass parallel read of CSV input.", ex);
+		}
+		finally {
+			pool.shutdown();
+		}
+	}
+	
+	@Override
+	public MatrixBlock readMatrixFromInputStream(InputStream is, long rlen, long clen, int blen, long estnnz)
+		throws IOException, DMLRuntimeException
+	{
+		//not applicable, fallback to sequential reader
+		return new ReaderTextCSV(_props).readMatrixFromInputStream(is, rlen, clen, blen, estnnz);
+	}
+	
+	private static File[] getInputFiles(FileSystem fs, Path path) throws IOException {
+		Path[] paths = IOUtilFunctions.getSequenceFilePaths(fs, path);
+		File[] files = Arrays.stream(paths)
+			.map(p -> new File(p.toUri().getPath()))
+			.filter(f -> f.length() > 0)
+			.sorted(Comparator.comparing(File::getName))
+			.toArray(File[]::new);
+		if( files.length == 0 )
+			throw new IOException("Empty input file "+ path.toString() +".");
+		return files;
+	}
+	
+	private int countColumns(File file) throws IOException {
+		try( FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ) ) {
+			ByteBuffer buff = ByteBuffer.allocate(BUFFER_SIZE);
+			int ncol = 1;
+			while( channel.read(buff) > 0 || buff.position() > 0 ) {
+				buff.flip();
+				while( buff.hasRemaining() ) {
+					byte b = buff.get();
+					if( b == '\n' )
+						return ncol;
+					ncol += (b == _delim) ? 1 : 0;
+				}
+				buff.clear();
+			}
+			return ncol;
+		}
+	}
+	
+	private List<ParseTask> createParseTasks(File[] files, int ncol) {
+		long total = 0;
+		for( File f : files )
+			total += f.length();
+		long rangeSize = Math.max(MIN_RANGE_SIZE, (total + _numThreads - 1) / _numThreads);
+		List<ParseTask> tasks = new ArrayList<>();
+		for( int i=0; i<files.length; i++ ) {
+			long len = files[i].length();
+			for( long start=0; start<len; start+=rangeSize )
+				tasks.add(new ParseTask(files[i], start, Math.min(start+rangeSize, len),
+					ncol, i==0 && start==0 && _props.hasHeader()));
+		}
+		return tasks;
+	}
+	
+	/**
+	 * Signals a quoted field, which requires the quote-aware fallback reader.
+	 */
+	private static class QuotedFieldException extends IOException {
+		private static final long serialVersionUID = -4920934271383125642L;
+	}
+	
+	/**
+	 * Non-zero cells of a contiguous range of rows in CSR layout,
+	 * where the row offset is only known after all ranges are parsed.
+	 */
+	private static class RowChunk {
+		private int numRows = 0;
+		private long nnz = 0;
+		private int[] rptr = new int[1024];
+		private int[] cix = new int[1024];
+		private double[] vals = new double[1024];
+		
+		public void append(int c, double v) {
+			if( nnz == vals.length ) {
+				int newCap = (int) Math.min(Integer.MAX_VALUE - 8, 2L * vals.length);
+				if( newCap <= nnz )
+					throw new DMLRuntimeException("Too many non-zeros in CSV byte range.");
+				cix = Arrays.copyOf(cix, newCap);
+				vals = Arrays.copyOf(vals, newCap);
+			}
+			cix[(int)nnz] = c;
+			vals[(int)nnz] = v;
+			nnz++;
+		}
+		
+		public void endRow() {
+			if( numRows + 1 == rptr.length )
+				rptr = Arrays.copyOf(rptr, 2 * rptr.length);
+			rptr[++numRows] = (int) nnz;
+		}
+		
+		public void copyTo(MatrixBlock ret, int off) {
+			if( ret.isInSparseFormat() ) {
+				SparseBlock sb = ret.getSparseBlock();
+				for( int i=0; i<numRows; i++ ) {
+					int apos = rptr[i], alen = rptr[i+1] - rptr[i];
+					if( alen > 0 )
+						sb.set(off+i, new SparseRowVector(
+							Arrays.copyOfRange(vals, apos, apos+alen),
+							Arrays.copyOfRange(cix, apos, apos+alen)), false);
+				}
+			}
+			else {
+				DenseBlock db = ret.getDenseBlock();
+				for( int i=0; i<numRows; i++ ) {
+					double[] c = db.values(off+i);
+					int cpos = db.pos(off+i);
+					for( int k=rptr[i]; k<rptr[i+1]; k++ )
+						c[cpos+cix[k]] = vals[k];
+				}
+			}
+			//release memory of parsed chunk
+			cix = null;
+			vals = null;
+		}
+	}
+	
+	/**
+	 * Parse task of all lines that start in the byte range [start, end) of a file.
+	 */
+	private class ParseTask implements Callable<RowChunk> {
+		private final File _file;
+		private final long _start;
+		private final long _end;
+		private final int _ncol;
+		private final boolean _skipHeader;
+		
+		//buffered file access
+		private FileChannel _channel;
+		private byte[] _buff = new byte[BUFFER_SIZE];
+		private long _buffOffset; //file offset of _buff[0]
+		private int _buffLen;
+		
+		public ParseTask(File file, long start, long end, int ncol, boolean skipHeader) {
+			_file = file;
+			_start = start;
+			_end = end;
+			_ncol = ncol;
+			_skipHeader = skipHeader;
+		}
+		
+		@Override
+		public RowChunk call() throws IOException {
+			RowChunk chunk = new RowChunk();
+			try( FileChannel channel = FileChannel.open(_file.toPath(), StandardOpenOption.READ) ) {
+				_channel = channel;
+				//find first line start: lines belong to the range containing their first byte
+				long pos = _start;
+				if( _start > 0 ) {
+					fill(_start - 1, 0);
+					pos = nextLine(_start - 1);
+				}
+				if( _skipHeader && pos < _end )
+					pos = nextLine(pos);
+				//parse all lines starting in [start, end)
+				while( pos >= 0 && pos < _end ) {
+					long next = nextLine(pos); //ensures line in buffer
+					int ls = (int)(pos - _buffOffset);
+					int le = (int)((next < 0 ? _buffOffset + _buffLen : next - 1) - _buffOffset);
+					parseLine(ls, le, chunk);
+					pos = next;
+				}
+			}
+			finally {
+				_channel = null;
+				_buff = null;
+			}
+			return chunk;
+		}
+		
+		/**
+		 * Returns the start of the next line after the line containing pos,
+		 * and ensures that the entire line is in the buffer.
+		 */
+		private long nextLine(long pos) throws IOException {
+			if( pos < _buffOffset || pos >= _buffOffset + _buffLen )
+				fill(pos, 0);
+			int i = (int)(pos - _buffOffset);
+			while( true ) {
+				for( ; i < _buffLen; i++ )
+					if( _buff[i] == '\n' )
+						return _buffOffset + i + 1;
+				//line exceeds buffer: keep line prefix, read more data
+				int keep = (int)(_buffLen - (pos - _buffOffset));
+				if( !fill(pos, keep) )
+					return -1; //end of file
+				i = keep;
+			}
+		}
+		
+		/**
+		 * Fills the buffer starting at the given file offset, where keep bytes
+		 * are already available at the end of the current buffer.
+		 */
+		private boolean fill(long pos, int keep) throws IOException {
+			if( keep > 0 ) {
+				if( keep == _buff.length )
+					_buff = Arrays.copyOf(_buff, 2 * _buff.length);
+				System.arraycopy(_buff, (int)(pos - _buffOffset), _buff, 0, keep);
+			}
+			_buffOffset = pos;
+			_buffLen = keep;
+			ByteBuffer bb = ByteBuffer.wrap(_buff, keep, _buff.length - keep);
+			while( bb.hasRemaining() && _channel.read(bb, pos + bb.position()) > 0 );
+			_buffLen = bb.position();
+			return _buffLen > keep;
+		}
+		
+		private void parseLine(int ls, int le, RowChunk chunk) throws IOException {
+			final byte[] buff = _buff;
+			//trim line (incl carriage return)
+			while( ls < le && buff[ls] <= ' ' ) ls++;
+			while( le > ls && buff[le-1] <= ' ' ) le--;
+			int col = 0;
+			int p = ls;
+			while( true ) {
+				int q = p;
+				while( q < le && buff[q] != _delim ) q++;
+				if( col < _ncol ) {
+					double v = parseCell(buff, p, q, ls, le);
+					if( v != 0 )
+						chunk.append(col, v);
+				}
+				col++;
+				if( q >= le )
+					break;
+				p = q + 1;
+			}
+			if( col != _ncol ) {
+				//quoted delimiters or line breaks cause invalid numbers of columns
+				for( int i = ls; i < le; i++ )
+					if( buff[i] == '"' )
+						throw new QuotedFieldException();
+				throw new IOException("Invalid number of columns (" + col + ", expected=" + _ncol + ") "
+					+ "found in delimited file (" + _file + ") for line: " + line(ls, le));
+			}
+			chunk.endRow();
+		}
+		
+		private double parseCell(byte[] buff, int p, int q, int ls, int le) throws IOException {
+			//trim cell
+			while( p < q && buff[p] <= ' ' ) p++;
+			while( q > p && buff[q-1] <= ' ' ) q--;
+			if( p == q ) {
+				if( !_props.isFill() ) //error handling w/o line materialization in the common case
+					IOUtilFunctions.checkAndRaiseErrorCSVEmptyField(line(ls, le), false, true);
+				return _props.getFillValue();
+			}
+			if( buff[p] == '"' || buff[q-1] == '"' )
+				throw new QuotedFieldException();
+			if( _naStrings != null && isNAString(buff, p, q) )
+				return Double.NaN;
+			return DoubleParser.parseFloatingPointLiteral(buff, p, q);
+		}
+		
+		private boolean isNAString(byte[] buff, int p, int q) {
+			for( byte[] na : _naStrings )
+				if( Arrays.equals(buff, p, q, na, 0, na.length) )
+					return true;
+			return false;
+		}
+		
+		private String line(int ls, int le) {
+			return new String(_buff, ls, le - ls, StandardCharsets.UTF_8);
+		}
+	}
+}
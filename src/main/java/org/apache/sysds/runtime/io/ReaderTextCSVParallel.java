@@ -73,6 +73,34 @@ public class ReaderTextCSVParallel extends MatrixReader {
 
 	@Override
 	public MatrixBlock readMatrixFromHDFS(String fname, long rlen, long clen, int blen, long estnnz)
+		throws IOException, DMLRuntimeException {
+		// single-pass byte-level read for local files (w/o quoted fields)
+		Path path = new Path(fname);
+		FileSystem fs = IOUtilFunctions.getFileSystem(path, ConfigurationManager.getCachedJobConf());
+		if(ReaderTextCSVLocalParallel.isApplicable(fs, _props)) {
+			MatrixBlock ret = new ReaderTextCSVLocalParallel(_props, _numThreads)
+				.readMatrixSinglePass(fname, rlen, clen, blen, estnnz);
+			if(ret != null)
+				return ret;
+		}
+
+		return readMatrixTwoPass(fname, rlen, clen, blen, estnnz);
+	}
+
+	/**
+	 * Reads the matrix in two passes via Hadoop record readers, which is also the
+	 * fallback of the single-pass reader for quoted fields.
+	 * 
+	 * @param fname  file name
+	 * @param rlen   number of rows, or -1 if unknown
+	 * @param clen   number of columns, or -1 if unknown
+	 * @param blen   block size
+	 * @param estnnz estimated number of non-zeros
+	 * @return matrix block
+	 * @throws IOException         if IOException occurs
+	 * @throws DMLRuntimeException if DMLRuntimeException occurs
+	 */
+	protected MatrixBlock readMatrixTwoPass(String fname, long rlen, long clen, int blen, long estnnz)
 		throws IOException, DMLRuntimeException {
 		_bLen = blen;
 
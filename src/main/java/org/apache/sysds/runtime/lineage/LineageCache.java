@@ -69,10 +69,11 @@ import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 public class LineageCache
 {
-	private static final Map<LineageItem, LineageCacheEntry> _cache = new HashMap<>();
+	private static final Map<LineageItem, LineageCacheEntry> _cache = new ConcurrentHashMap<>();
 	protected static final boolean DEBUG = false;
 
 	static {
@@ -88,6 +89,10 @@ public class LineageCache
 	//   entry objects which reduces contention and prevents deadlocks in case of
 	//   function/statement block placeholders which computation itself might be
 	//   a complex workflow of operations that accesses the cache as well.
+	//   Lookups of in-memory entries and the creation of placeholders are
+	//   lock-free via the concurrent map (with per-key atomicity), and the
+	//   maintenance of the eviction order for such hits is deferred to the
+	//   next thread that holds the monitor (see LineageCacheEviction.drainHits).
 	
 	
 	//--------------- PUBLIC CACHE API (keep it narrow) ----------------//
@@ -104,27 +109,31 @@ public class LineageCache
 			//atomic try reuse full/partial and set placeholder, without
 			//obtaining value to avoid blocking in critical section
 			LineageCacheEntry e = null;
-			boolean reuseAll = true;
-			synchronized( _cache ) {
-				//try to reuse full or partial intermediates (CPU and FED only)
-				for (MutablePair<LineageItem,LineageCacheEntry> item : liList) {
-					if (LineageCacheConfig.getCacheType().isFullReuse())
-						//e = LineageCache.probe(item.getKey()) ? getIntern(item.getKey()) : null;
-						e = getIntern(item.getKey()); //avoid double probing (containsKey + get)
-					//TODO need to also move execution of compensation plan out of here
-					//(create lazily evaluated entry)
-					if (e == null && LineageCacheConfig.getCacheType().isPartialReuse()
-						&& !(inst instanceof ComputationSPInstruction)
-						&& !(DMLScript.USE_ACCELERATOR))
-						if( LineageRewriteReuse.executeRewrites(inst, ec) )
-							e = getIntern(item.getKey());
-					reuseAll &= (e != null);
-					item.setValue(e);
+			boolean reuseAll = LineageCacheConfig.getCacheType().isFullReuse()
+				&& getInternLockFree(liList); //lock-free common case of concurrent hits
+			if( !reuseAll ) {
+				reuseAll = true;
+				synchronized( _cache ) {
+					//try to reuse full or partial intermediates (CPU and FED only)
+					for (MutablePair<LineageItem,LineageCacheEntry> item : liList) {
+						if (LineageCacheConfig.getCacheType().isFullReuse())
+							//e = LineageCache.probe(item.getKey()) ? getIntern(item.getKey()) : null;
+							e = getIntern(item.getKey()); //avoid double probing (containsKey + get)
+						//TODO need to also move execution of compensation plan out of here
+						//(create lazily evaluated entry)
+						if (e == null && LineageCacheConfig.getCacheType().isPartialReuse()
+							&& !(inst instanceof ComputationSPInstruction)
+							&& !(DMLScript.USE_ACCELERATOR))
+							if( LineageRewriteReuse.executeRewrites(inst, ec) )
+								e = getIntern(item.getKey());
+						reuseAll &= (e != null);
+						item.setValue(e);
 					
-					//create a placeholder if no reuse to avoid redundancy
-					//(e.g., concurrent threads that try to start the computation)
-					if(e == null && isMarkedForCaching(inst, ec))
-						putInternPlaceholder(inst, item.getKey());
+						//create a placeholder if no reuse to avoid redundancy
+						//(e.g., concurrent threads that try to start the computation)
+						if(e == null && isMarkedForCaching(inst, ec))
+							putInternPlaceholder(inst, item.getKey());
+					}
 				}
 			}
 			reuse = reuseAll;
@@ -234,18 +243,11 @@ public class LineageCache
 			// set _distLeaf2Node for this special lineage item to 1
 			// to save it from early eviction if DAGHEIGHT policy is selected
 			li.setHeight(1);
-			LineageCacheEntry e = null;
-			synchronized(_cache) {
-				if (LineageCache.probe(li)) {
-					e = LineageCache.getIntern(li);
-					funcOutLIs.add(e);
-				}
-				else {
-					//create a placeholder if no reuse to avoid redundancy
-					//(e.g., concurrent threads that try to start the computation)
-					putIntern(li, outParams.get(i).getDataType(), null, null, 0);
-				}
-			}
+			//create a placeholder if no reuse to avoid redundancy
+			//(e.g., concurrent threads that try to start the computation)
+			LineageCacheEntry e = getInternOrPutPlaceholder(li, outParams.get(i).getDataType());
+			if (e != null)
+				funcOutLIs.add(e);
 			//TODO: handling of recursive calls
 			
 			if (e != null) {
@@ -396,14 +398,8 @@ public class LineageCache
 
 		LineageItem li = udf.getLineageItem(ec).getValue();
 		li.setHeight(1); //to save from early eviction
-		LineageCacheEntry e = null;
-		synchronized(_cache) {
-			if (probe(li))
-				e = LineageCache.getIntern(li);
-			else
-				//for now allow only matrix blocks
-				putIntern(li, DataType.MATRIX, null, null, 0);
-		}
+		//for now allow only matrix blocks
+		LineageCacheEntry e = getInternOrPutPlaceholder(li, DataType.MATRIX);
 		
 		if (e != null) {
 			String outName = String.valueOf(outIds.get(0));
@@ -465,16 +461,9 @@ public class LineageCache
 		if (ReuseCacheType.isNone() || dataType != DataType.MATRIX)
 			return false;
 
-		LineageCacheEntry e = null;
-		synchronized(_cache) {
-			if(LineageCache.probe(li)) {
-				e = LineageCache.getIntern(li);
-			}
-			else {
-				putIntern(li, dataType, null, null, 0);
-				return false; // direct return after placing the placeholder
-			}
-		}
+		LineageCacheEntry e = getInternOrPutPlaceholder(li, dataType);
+		if(e == null)
+			return false; // direct return after placing the placeholder
 
 		if(e != null && e.isMatrixValue()) {
 			MatrixBlock mb = e.getMBValue(); // waiting if the value is not set yet
@@ -499,16 +488,9 @@ public class LineageCache
 
 		LineageItem li = LineageItemUtils.getSerializedFedResponseLineageItem(objLI);
 
-		LineageCacheEntry e = null;
-		synchronized(_cache) {
-			if(LineageCache.probe(li)) {
-				e = LineageCache.getIntern(li);
-			}
-			else {
-				putIntern(li, DataType.UNKNOWN, null, null, 0);
-				return null; // direct return after placing the placeholder
-			}
-		}
+		LineageCacheEntry e = getInternOrPutPlaceholder(li, DataType.UNKNOWN);
+		if(e == null)
+			return null; // direct return after placing the placeholder
 
 		if(e != null && e.isSerializedBytes()) {
 			byte[] sBytes = e.getSerializedBytes(); // waiting if the value is not set yet
@@ -1084,12 +1066,17 @@ public class LineageCache
 		
 		// Create a new entry.
 		LineageCacheEntry newItem = new LineageCacheEntry(key, dt, Mval, Sval, computetime);
+		long size = newItem.getSize();
+		if( size > LineageCacheEviction.getCacheLimit())
+			return; //not applicable
+		
+		// Place the entry atomically, as placeholders are also created
+		// outside the cache monitor (see getInternOrPutPlaceholder)
+		if (_cache.putIfAbsent(key, newItem) != null)
+			return;
 		
 		// Make space by removing or spilling entries.
 		if( Mval != null || Sval != null ) {
-			long size = newItem.getSize();
-			if( size > LineageCacheEviction.getCacheLimit())
-				return; //not applicable
 			if( !LineageCacheEviction.isBelowThreshold(size) )
 				LineageCacheEviction.makeSpace(_cache, size);
 			LineageCacheEviction.updateSize(size, true);
@@ -1097,8 +1084,6 @@ public class LineageCache
 		
 		// Place the entry in the weighted queue.
 		LineageCacheEviction.addEntry(newItem);
-		
-		_cache.put(key, newItem);
 	}
 	
 	private static LineageCacheEntry getIntern(LineageItem key) {
@@ -1126,6 +1111,52 @@ public class LineageCache
 			return LineageCacheEviction.readFromLocalFS(_cache, key);
 	}
 	
+	private static boolean getInternLockFree(List<MutablePair<LineageItem, LineageCacheEntry>> liList) {
+		//probe all items w/o side effects to obtain all-or-nothing semantics
+		for (MutablePair<LineageItem, LineageCacheEntry> item : liList) {
+			LineageCacheEntry e = _cache.get(item.getKey());
+			if (e == null || !e.isLockFreeReusable())
+				return false;
+			item.setValue(e);
+		}
+		for (MutablePair<LineageItem, LineageCacheEntry> item : liList)
+			recordHit(item.getValue());
+		return true;
+	}
+	
+	private static LineageCacheEntry getInternOrPutPlaceholder(LineageItem key, DataType dt) {
+		LineageCacheEntry e = _cache.get(key);
+		if (e == null) {
+			//atomically place a placeholder w/o the cache monitor, as
+			//placeholders don't participate in eviction and size maintenance
+			LineageCacheEntry ph = new LineageCacheEntry(key, dt, null, null, 0);
+			if ((e = _cache.putIfAbsent(key, ph)) == null)
+				return null;
+		}
+		if (e.isLockFreeReusable()) {
+			recordHit(e);
+			return e;
+		}
+		//fallback for entries that require maintenance (e.g., spilled, RDD, GPU)
+		synchronized( _cache ) {
+			e = getIntern(key);
+			if (e == null)
+				putIntern(key, dt, null, null, 0);
+			return e;
+		}
+	}
+	
+	private static void recordHit(LineageCacheEntry e) {
+		if (DMLScript.STATISTICS)
+			LineageCacheStatistics.incrementMemHits();
+		//defer the maintenance of the eviction order, but bound the pending hits
+		if (LineageCacheEviction.recordHit(e)) {
+			synchronized( _cache ) {
+				LineageCacheEviction.drainHits();
+			}
+		}
+	}
+	
 	private static void mvIntern(LineageItem item, LineageItem probeItem, long computetime) {
 		if (ReuseCacheType.isNone())
 			return;
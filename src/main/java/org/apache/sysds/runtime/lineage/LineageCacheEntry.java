@@ -168,6 +168,18 @@ public class LineageCacheEntry {
 		return size;
 	}
 	
+	/**
+	 * Indicates if this entry (value or placeholder) can be reused without
+	 * holding the global cache monitor, i.e., if it is a local in-memory entry
+	 * whose reuse requires no restore or backend-specific order maintenance.
+	 * 
+	 * @return true if reusable w/o global cache monitor
+	 */
+	protected synchronized boolean isLockFreeReusable() {
+		return _status != LineageCacheStatus.SPILLED
+			&& _rddObject == null && _gpuPointer == null;
+	}
+	
 	public boolean isNullVal() {
 		return(_MBval == null && _SOval == null && _gpuPointer == null && _serialBytes == null && _rddObject == null);
 	}
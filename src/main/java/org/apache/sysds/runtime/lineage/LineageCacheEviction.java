@@ -20,9 +20,11 @@
 package org.apache.sysds.runtime.lineage;
 
 import java.io.IOException;
-import java.util.HashMap;
 import java.util.Map;
 import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.apache.sysds.api.DMLScript;
 import org.apache.sysds.hops.OptimizerUtils;
@@ -37,15 +39,21 @@ public class LineageCacheEviction
 	private static long _cachesize = 0;
 	private static long CACHE_LIMIT; //limit in bytes
 	private static long _startTimestamp = 0;
-	protected static final Map<LineageItem, Integer> _removelist = new HashMap<>();
+	protected static final Map<LineageItem, Integer> _removelist = new ConcurrentHashMap<>();
 	private static String _outdir = null;
 	private static TreeSet<LineageCacheEntry> weightedQueue = new TreeSet<>(LineageCacheConfig.LineageCacheComparator);
+	//buffer of cache hits w/o cache monitor, applied before eviction decisions
+	private static final int MAX_PENDING_HITS = 1024;
+	private static final ConcurrentLinkedQueue<LineageCacheEntry> _pendingHits = new ConcurrentLinkedQueue<>();
+	private static final AtomicInteger _numPendingHits = new AtomicInteger(0);
 	
 	protected static void resetEviction() {
 		// reset cache size, otherwise the cache clear leads to unusable 
 		// space which means evictions could run into endless loops
 		_cachesize = 0;
 		weightedQueue.clear();
+		_pendingHits.clear();
+		_numPendingHits.set(0);
 		_outdir = null;
 		_removelist.clear();
 	}
@@ -96,6 +104,31 @@ public class LineageCacheEviction
 		}
 	}
 
+	/**
+	 * Records a cache hit without holding the cache monitor. The eviction
+	 * order is updated for all pending hits by the next thread that holds
+	 * the monitor and calls drainHits (e.g., before making space).
+	 * 
+	 * @param entry cache entry
+	 * @return true if the number of pending hits exceeds its bound
+	 */
+	protected static boolean recordHit(LineageCacheEntry entry) {
+		_pendingHits.add(entry);
+		return _numPendingHits.incrementAndGet() >= MAX_PENDING_HITS;
+	}
+	
+	/**
+	 * Applies all pending cache hits to the eviction order.
+	 * Caller should hold the monitor on the cache.
+	 */
+	protected static void drainHits() {
+		LineageCacheEntry e = null;
+		while ((e = _pendingHits.poll()) != null) {
+			_numPendingHits.decrementAndGet();
+			getEntry(e);
+		}
+	}
+
 	private static void removeEntry(Map<LineageItem, LineageCacheEntry> cache, LineageCacheEntry e, boolean updateSpace) {
 		if (cache.remove(e._key) != null) {
 			if (updateSpace)
@@ -211,6 +244,7 @@ public class LineageCacheEviction
 	}
 
 	public static void removeAll(Map<LineageItem, LineageCacheEntry> cache) {
+		drainHits();
 		while (!weightedQueue.isEmpty()) {
 			LineageCacheEntry e = weightedQueue.pollFirst();
 			if (e == null)
@@ -224,6 +258,8 @@ public class LineageCacheEviction
 	}
 
 	protected static void makeSpace(Map<LineageItem, LineageCacheEntry> cache, long spaceNeeded) {
+		//apply deferred hits to obtain the same order as w/ synchronous hits
+		drainHits();
 		//Cost based eviction
 		while ((spaceNeeded + _cachesize) > CACHE_LIMIT)
 		{
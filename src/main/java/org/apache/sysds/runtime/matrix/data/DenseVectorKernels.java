@@ -0,0 +1,82 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.sysds.runtime.matrix.data;
+
+/**
+ * Explicitly vectorized implementations of the dense primitives of
+ * {@link LibMatrixMult}, which are also used by the codegen primitives and
+ * fused binary operations.
+ * 
+ * The default build targets Java 11, where these primitives rely on manual
+ * loop unrolling for auto-vectorization. The optional <code>vector-api</code>
+ * build profile compiles an implementation based on the JDK Vector API into
+ * the multi-release layer (META-INF/versions/17) of the jar, which is selected
+ * at startup if available (i.e., on JDK 17+ with
+ * <code>--add-modules jdk.incubator.vector</code>).
+ */
+public interface DenseVectorKernels
+{
+	/** Name of the Vector API implementation in the multi-release layer */
+	public static final String VECTOR_API_IMPL = 
+		"org.apache.sysds.runtime.matrix.data.DenseVectorKernelsVectorAPI";
+	
+	/** System property to disable the Vector API implementation at startup */
+	public static final String DISABLE_PROPERTY = "sysds.vectorapi.disable";
+	
+	/**
+	 * c = sum(a * b), accumulated in a different order than the scalar
+	 * primitive and hence, not bit-identical (differences in rounding).
+	 * 
+	 * @param a  first input vector
+	 * @param b  second input vector
+	 * @param ai offset of a
+	 * @param bi offset of b
+	 * @param len number of cells
+	 * @return dot product
+	 */
+	public double dotProduct(double[] a, double[] b, int ai, int bi, int len);
+	
+	/** c = aval * b + c */
+	public void vectMultiplyAdd(double aval, double[] b, double[] c, int bi, int ci, int len);
+	
+	/** c = a * b */
+	public void vectMultiplyWrite(double[] a, double[] b, double[] c, int ai, int bi, int ci, int len);
+	
+	/** c = a + c */
+	public void vectAdd(double[] a, double[] c, int ai, int ci, int len);
+	
+	/**
+	 * Obtains the explicitly vectorized kernels if available in the
+	 * current runtime environment and not disabled.
+	 * 
+	 * @return kernels, or null if not available
+	 */
+	public static DenseVectorKernels get() {
+		if( Boolean.getBoolean(DISABLE_PROPERTY) )
+			return null;
+		try {
+			return (DenseVectorKernels) Class.forName(VECTOR_API_IMPL)
+				.getDeclaredConstructor().newInstance();
+		}
+		catch(Throwable ex) {
+			//not compiled (Java 11 layer) or module not added at runtime
+			return null;
+		}
+	}
+}
@@ -262,8 +262,20 @@ public class LibMatrixAgg {
 	}
 
 	public static void aggregateUnaryMatrix(MatrixBlock in, MatrixBlock out, AggregateUnaryOperator uaop, int k) {
+		//acquire cores from global budget (nested parallelism, e.g., in parfor)
+		k = satisfiesMultiThreadingConstraints(in, out, uaop, k) ?
+			CommonThreadPool.acquireCores(k) : 1;
+		try {
+			aggregateUnaryMatrixParallel(in, out, uaop, k);
+		}
+		finally {
+			CommonThreadPool.releaseCores(k);
+		}
+	}
+
+	private static void aggregateUnaryMatrixParallel(MatrixBlock in, MatrixBlock out, AggregateUnaryOperator uaop, int k) {
 		//fall back to sequential version if necessary
-		if( !satisfiesMultiThreadingConstraints(in, out, uaop, k) ) {
+		if( k <= 1 || !satisfiesMultiThreadingConstraints(in, out, uaop, k) ) {
 			if(uaop.aggOp.increOp.fn instanceof Builtin && (((((Builtin) uaop.aggOp.increOp.fn).getBuiltinCode() == BuiltinCode.MININDEX)
 				|| (((Builtin) uaop.aggOp.increOp.fn).getBuiltinCode() == BuiltinCode.MAXINDEX)) && uaop.aggOp.correction.getNumRemovedRowsColumns()==0))
 					out.clen = 2;
@@ -19,13 +19,7 @@
 
 package org.apache.sysds.runtime.matrix.data;
 
-import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.List;
-import java.util.concurrent.Callable;
-import java.util.concurrent.ExecutionException;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Future;
 
 import org.apache.commons.lang3.NotImplementedException;
 import org.apache.commons.logging.Log;
@@ -63,6 +57,7 @@ import org.apache.sysds.runtime.matrix.operators.ScalarOperator;
 import org.apache.sysds.runtime.matrix.operators.UnaryOperator;
 import org.apache.sysds.runtime.util.CommonThreadPool;
 import org.apache.sysds.runtime.util.DataConverter;
+import org.apache.sysds.runtime.util.ParallelFor;
 import org.apache.sysds.runtime.util.SortUtils;
 import org.apache.sysds.runtime.util.UtilFunctions;
 
@@ -116,25 +111,8 @@ public class LibMatrixBincell {
 			int k = op.getNumThreads();
 			DenseBlock a = m1.getDenseBlock();
 			DenseBlock c = ret.getDenseBlock();
-			ExecutorService pool = CommonThreadPool.get(k);
-			try {
-				ArrayList<UncellTask> tasks = new ArrayList<>();
-				ArrayList<Integer> blklens = UtilFunctions.getBalancedBlockSizesDefault(ret.rlen, k, false);
-				for( int i=0, lb=0; i<blklens.size(); lb+=blklens.get(i), i++ )
-					tasks.add(new UncellTask(a, c, op, lb, lb+blklens.get(i)));
-				List<Future<Long>> taskret = pool.invokeAll(tasks);
-				
-				long nnz = 0;
-				for( Future<Long> task : taskret )
-					nnz += task.get();
-				ret.setNonZeros(nnz);
-			}
-			catch(InterruptedException | ExecutionException ex) {
-				throw new DMLRuntimeException(ex);
-			}
-			finally{
-				pool.shutdown();
-			}
+			ret.setNonZeros(ParallelFor.execute("uncell", ret.rlen, ret.clen, k,
+				(rl, ru) -> uncellOpDense(a, c, op, rl, ru)));
 		}
 		else {
 			if (op.isInplace() && !m1.isInSparseFormat() )
@@ -474,28 +452,9 @@ public class LibMatrixBincell {
 		// preallocate dense/sparse block for multi-threaded operations
 		ret.allocateBlock();
 
-		final ExecutorService pool = CommonThreadPool.get(k);
-		try {
-			// execute binary cell operations
-			final ArrayList<BincellScalarTask> tasks = new ArrayList<>();
-
-			final int rMax = m1.getNumRows();
-			final int blkLen = Math.max(Math.max(rMax / k, 1000 / ret.getNumColumns()), 1);
-			for(int i = 0; i < rMax; i += blkLen)
-				tasks.add(new BincellScalarTask(m1, ret, op, i, Math.min(rMax, i + blkLen)));
-
-			// aggregate non-zeros
-			long nnz = 0;
-			for(Future<Long> task : pool.invokeAll(tasks))
-				nnz += task.get();
-			ret.nonZeros = nnz;
-		}
-		catch(InterruptedException | ExecutionException ex) {
-			throw new DMLRuntimeException(ex);
-		}
-		finally{
-			pool.shutdown();
-		}
+		// execute binary cell operations and aggregate non-zeros
+		ret.nonZeros = ParallelFor.execute("bincellScalar", m1.getNumRows(), getCellsPerRow(m1), k,
+			(rl, ru) -> safeBinaryScalar(m1, ret, op, rl, ru));
 		
 		//ensure empty results sparse representation 
 		//(no additional memory requirements)
@@ -504,31 +463,23 @@ public class LibMatrixBincell {
 	}
 	
 	
-	private static void bincellOpMatrixParallel(MatrixBlock m1, MatrixBlock m2, MatrixBlock ret, BinaryOperator op, BinaryAccessType atype, int k) throws Exception {
-		final ExecutorService pool = CommonThreadPool.get(k);
-		try {
-			//execute binary cell operations
-			ArrayList<BincellTask> tasks = new ArrayList<>();
-			ArrayList<Integer> blklens = UtilFunctions.getBalancedBlockSizesDefault(ret.rlen, k, false);
-			for( int i=0, lb=0; i<blklens.size(); lb+=blklens.get(i), i++ )
-				tasks.add(new BincellTask(m1, m2, ret, op, atype, lb, lb+blklens.get(i)));
-			List<Future<Long>> taskret = pool.invokeAll(tasks);
-			
-			//aggregate non-zeros
-			long nnz =  0; //reset after execute
-			for( Future<Long> task : taskret )
-				nnz += task.get();
-			
-			ret.nonZeros = nnz;
-			//ensure empty results sparse representation
-			//(no additional memory requirements)
-			if( ret.isEmptyBlock(false) )
-				ret.examSparsity(k);
-		}
-		finally{
-			pool.shutdown();
-		}
+	private static void bincellOpMatrixParallel(MatrixBlock m1, MatrixBlock m2, MatrixBlock ret, BinaryOperator op, BinaryAccessType atype, int k) {
+		//execute binary cell operations and aggregate non-zeros
+		ret.nonZeros = ParallelFor.execute("bincell", ret.rlen,
+			Math.max(getCellsPerRow(m1), getCellsPerRow(m2)), k,
+			(rl, ru) -> binCellOpExecute(m1, m2, ret, op, atype, rl, ru));
 		
+		//ensure empty results sparse representation
+		//(no additional memory requirements)
+		if( ret.isEmptyBlock(false) )
+			ret.examSparsity(k);
+	}
+	
+	private static long getCellsPerRow(MatrixBlock mb) {
+		//processed cells per row for the grain size of parallel row ranges
+		return mb.isInSparseFormat() ?
+			Math.max(mb.getNonZeros() / Math.max(mb.getNumRows(), 1), 1) :
+			mb.getNumColumns();
 	}
 
 	private static void bincellOpMatrixSingle(MatrixBlock m1, MatrixBlock m2, MatrixBlock ret, BinaryOperator op, BinaryAccessType atype) {
@@ -3228,98 +3179,34 @@ public class LibMatrixBincell {
 		return new SparsityEstimate(MatrixBlock.evalSparseFormatInMemory(m, n, estnnz), estnnz);
 	}
 	
-	private static class BincellTask implements Callable<Long> {
-		private final MatrixBlock _m1;
-		private final MatrixBlock _m2;
-		private final MatrixBlock _ret;
-		private final BinaryOperator _bop;
-		BinaryAccessType _atype;
-		private final int _rl;
-		private final int _ru;
-
-		protected BincellTask( MatrixBlock m1, MatrixBlock m2, MatrixBlock ret, BinaryOperator bop, BinaryAccessType atype, int rl, int ru ) {
-			_m1 = m1;
-			_m2 = m2;
-			_ret = ret;
-			_bop = bop;
-			_atype = atype;
-			_rl = rl;
-			_ru = ru;
-		}
-		
-		@Override
-		public Long call() throws Exception {
-			return binCellOpExecute(_m1,_m2, _ret,_bop, _atype, _rl, _ru);
-		}
-	}
-	
-	private static class BincellScalarTask implements Callable<Long> {
-		private final MatrixBlock _m1;
-		private final MatrixBlock _ret;
-		private final ScalarOperator _sop;
-		private final int _rl;
-		private final int _ru;
-
-		protected BincellScalarTask( MatrixBlock m1, MatrixBlock ret, ScalarOperator sop, int rl, int ru ) {
-			_m1 = m1;
-			_ret = ret;
-			_sop = sop;
-			_rl = rl;
-			_ru = ru;
-		}
-		
-		@Override
-		public Long call() throws Exception {
-			return safeBinaryScalar(_m1, _ret, _sop, _rl, _ru);
-		}
-	}
-	
-	private static class UncellTask implements Callable<Long> {
-		private final DenseBlock _a;
-		private final DenseBlock _c;
-		private final UnaryOperator _op;
-		private final int _rl;
-		private final int _ru;
-
-		protected UncellTask(DenseBlock a, DenseBlock c, UnaryOperator op, int rl, int ru ) {
-			_a = a;
-			_c = c;
-			_op = op;
-			_rl = rl;
-			_ru = ru;
-		}
-		
-		@Override
-		public Long call() throws Exception {
-			long nnz = 0;
-			//fast dense-dense operations
-			if(_a.isContiguous(_rl, _ru)) {
-				double[] avals = _a.values(_rl);
-				double[] cvals = _c.values(_rl);
-				int start = _a.pos(_rl), end = _a.pos(_ru);
-				for( int i=start; i<end; i++ ) {
-					cvals[i] = _op.fn.execute(avals[i]);
-					nnz += (cvals[i] != 0) ? 1 : 0;
-				}
+	private static long uncellOpDense(DenseBlock a, DenseBlock c, UnaryOperator op, int rl, int ru) {
+		long nnz = 0;
+		//fast dense-dense operations
+		if(a.isContiguous(rl, ru)) {
+			double[] avals = a.values(rl);
+			double[] cvals = c.values(rl);
+			int start = a.pos(rl), end = a.pos(ru);
+			for( int i=start; i<end; i++ ) {
+				cvals[i] = op.fn.execute(avals[i]);
+				nnz += (cvals[i] != 0) ? 1 : 0;
 			}
-			//generic dense-dense, including large blocks
-			else {
-				int clen = _a.getDim(1);
-				for(int i=_rl; i<_ru; i++) {
-					double[] avals = _a.values(i);
-					double[] cvals = _c.values(i);
-					int pos = _a.pos(i);
-					for( int j=0; j<clen; j++ ) {
-						cvals[pos+j] = _op.fn.execute(avals[pos+j]);
-						nnz += (cvals[pos+j] != 0) ? 1 : 0;
-					}
+		}
+		//generic dense-dense, including large blocks
+		else {
+			int clen = a.getDim(1);
+			for(int i=rl; i<ru; i++) {
+				double[] avals = a.values(i);
+				double[] cvals = c.values(i);
+				int pos = a.pos(i);
+				for( int j=0; j<clen; j++ ) {
+					cvals[pos+j] = op.fn.execute(avals[pos+j]);
+					nnz += (cvals[pos+j] != 0) ? 1 : 0;
 				}
 			}
-			return nnz;
 		}
+		return nnz;
 	}
 
-
 	private static class SparsityEstimate {
 		protected final  long estimatedNonZeros;
 		protected final boolean sparse ;
@@ -78,11 +78,33 @@ public class LibMatrixMult
 	public static final int L2_CACHESIZE = 256 * 1024; //256KB (common size)
 	public static final int L3_CACHESIZE = 16 * 1024 * 1024; //16MB (common size)
 	private static final Log LOG = LogFactory.getLog(LibMatrixMult.class.getName());
+	
+	//explicitly vectorized dense primitives if available (JDK Vector API), null otherwise
+	private static final DenseVectorKernels VECTOR_KERNELS = loadVectorKernels();
+	//minimum vector length for using the vectorized dense primitives
+	private static final int VECTOR_MIN_LEN = 32;
 
 	private LibMatrixMult() {
 		//prevent instantiation via private constructor
 	}
 	
+	private static DenseVectorKernels loadVectorKernels() {
+		DenseVectorKernels ret = DenseVectorKernels.get();
+		if( ret != null && LOG.isDebugEnabled() )
+			LOG.debug("Using vectorized dense primitives: "+ret.getClass().getSimpleName());
+		return ret;
+	}
+	
+	/**
+	 * Indicates if the explicitly vectorized dense primitives (JDK Vector API)
+	 * have been selected at startup.
+	 * 
+	 * @return true if vectorized primitives are used
+	 */
+	public static boolean isVectorKernelsEnabled() {
+		return VECTOR_KERNELS != null;
+	}
+	
 	////////////////////////////////
 	// public matrix mult interface
 	////////////////////////////////
@@ -236,10 +258,17 @@ public class LibMatrixMult
 				|| fixedRet) // Fixed ret not supported in multithreaded execution yet
 			k = 1;
 
-		if(k <= 1)
-			singleThreadedMatrixMult(m1, m2, ret, ultraSparse, sparse, tm2, m1Perm, fixedRet);
-		else
-			parallelMatrixMult(m1, m2, ret, k, ultraSparse, sparse, tm2, m1Perm);
+		// acquire cores from global budget (nested parallelism, e.g., in parfor)
+		k = CommonThreadPool.acquireCores(k);
+		try {
+			if(k <= 1)
+				singleThreadedMatrixMult(m1, m2, ret, ultraSparse, sparse, tm2, m1Perm, fixedRet);
+			else
+				parallelMatrixMult(m1, m2, ret, k, ultraSparse, sparse, tm2, m1Perm);
+		}
+		finally {
+			CommonThreadPool.releaseCores(k);
+		}
 
 		//System.out.println("MM "+k+" ("+m1.isInSparseFormat()+","+m1.getNumRows()+","+m1.getNumColumns()+","+m1.getNonZeros()+")x" +
 		//		"("+m2.isInSparseFormat()+","+m2.getNumRows()+","+m2.getNumColumns()+","+m2.getNonZeros()+") in "+time.stop());
@@ -3567,7 +3596,16 @@ public class LibMatrixMult
 	}
 
 	//note: public for use by codegen for consistency
+	//(vectorized kernels sum in a different order, i.e., not bit-identical)
 	public static double dotProduct( double[] a, double[] b, int ai, int bi, final int len )
+	{
+		if( VECTOR_KERNELS != null && len >= VECTOR_MIN_LEN )
+			return VECTOR_KERNELS.dotProduct(a, b, ai, bi, len);
+		return dotProductScalar(a, b, ai, bi, len);
+	}
+	
+	//note: public for comparison with vectorized primitives
+	public static double dotProductScalar( double[] a, double[] b, int ai, int bi, final int len )
 	{
 		double val = 0;
 		final int bn = len%8;
@@ -3657,6 +3695,15 @@ public class LibMatrixMult
 
 	//note: public for use by codegen for consistency
 	public static void vectMultiplyAdd( final double aval, double[] b, double[] c, int bi, int ci, final int len )
+	{
+		if( VECTOR_KERNELS != null && len >= VECTOR_MIN_LEN )
+			VECTOR_KERNELS.vectMultiplyAdd(aval, b, c, bi, ci, len);
+		else
+			vectMultiplyAddScalar(aval, b, c, bi, ci, len);
+	}
+	
+	//note: public for comparison with vectorized primitives
+	public static void vectMultiplyAddScalar( final double aval, double[] b, double[] c, int bi, int ci, final int len )
 	{
 		final int bn = len%8;
 		
@@ -3870,6 +3917,15 @@ public class LibMatrixMult
 
 	//note: public for use by codegen for consistency
 	public static void vectMultiplyWrite( double[] a, double[] b, double[] c, int ai, int bi, int ci, final int len )
+	{
+		if( VECTOR_KERNELS != null && len >= VECTOR_MIN_LEN )
+			VECTOR_KERNELS.vectMultiplyWrite(a, b, c, ai, bi, ci, len);
+		else
+			vectMultiplyWriteScalar(a, b, c, ai, bi, ci, len);
+	}
+	
+	//note: public for comparison with vectorized primitives
+	public static void vectMultiplyWriteScalar( double[] a, double[] b, double[] c, int ai, int bi, int ci, final int len )
 	{
 		final int bn = len%8;
 		
@@ -3958,6 +4014,15 @@ public class LibMatrixMult
 	
 	//note: public for use by codegen for consistency
 	public static void vectAdd( double[] a, double[] c, int ai, int ci, final int len )
+	{
+		if( VECTOR_KERNELS != null && len >= VECTOR_MIN_LEN )
+			VECTOR_KERNELS.vectAdd(a, c, ai, ci, len);
+		else
+			vectAddScalar(a, c, ai, ci, len);
+	}
+	
+	//note: public for comparison with vectorized primitives
+	public static void vectAddScalar( double[] a, double[] c, int ai, int ci, final int len )
 	{
 		final int bn = len%8;
 		
@@ -250,6 +250,36 @@ public abstract class ColumnEncoder implements Encoder, Comparable<ColumnEncoder
 		// do nothing
 	}
 
+	/**
+	 * Incremental build of the internal data structures with the next batch of rows, which extends instead of
+	 * replaces the meta data of previous batches. Encoders without data-dependent meta data simply build.
+	 *
+	 * @param in input block of the next batch
+	 */
+	public void buildIncremental(CacheBlock<?> in) {
+		build(in);
+	}
+
+	/**
+	 * Get the number of meta data rows changed since the last call of getMetaDataDelta.
+	 *
+	 * @return number of rows
+	 */
+	public int getMetaDataDeltaRows() {
+		return 0;
+	}
+
+	/**
+	 * Construct the meta data changed since the last call of this method (or since initialization from meta data),
+	 * in the format of getMetaData. Columns without changes are left untouched.
+	 *
+	 * @param meta output frame block
+	 * @return output frame block
+	 */
+	public FrameBlock getMetaDataDelta(FrameBlock meta) {
+		return meta;
+	}
+
 
 	/**
 	 * Merges another encoder, of a compatible type, in after a certain position. Resizes as necessary.
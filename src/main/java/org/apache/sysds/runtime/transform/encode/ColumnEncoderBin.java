@@ -49,6 +49,11 @@ public class ColumnEncoderBin extends ColumnEncoder {
 	public static final double SAMPLE_FRACTION = 0.1;
 	public static final int MINIMUM_SAMPLE_SIZE = 1000;
 
+	// externalized format: a marker (never a valid number of bins) followed by the
+	// format version; streams without the marker are read in the legacy layout
+	private static final int EXTERNAL_MARKER = Integer.MIN_VALUE;
+	private static final byte EXTERNAL_VERSION = 1;
+
 	protected int _numBin = -1;
 	private BinMethod _binMethod = BinMethod.EQUI_WIDTH;
 
@@ -60,6 +65,11 @@ public class ColumnEncoderBin extends ColumnEncoder {
 	private double _colMins = -1f;
 	private double _colMaxs = -1f;
 
+	// incremental build state: quantile sketch for equi-height bins, and the last emitted bins
+	private QuantileSketch _sketch = null;
+	private double[] _emittedMins = null;
+	private double[] _emittedMaxs = null;
+
 	public ColumnEncoderBin() {
 		super(-1);
 	}
@@ -152,6 +162,38 @@ public class ColumnEncoderBin extends ColumnEncoder {
 			TransformStatistics.incBinningBuildTime(System.nanoTime()-t0);
 	}
 
+	@Override
+	public void buildIncremental(CacheBlock<?> in) {
+		long t0 = DMLScript.STATISTICS ? System.nanoTime() : 0;
+		if(!isApplicable())
+			return;
+		else if(_binMethod == BinMethod.EQUI_WIDTH) {
+			// extend the value range of previous batches
+			double[] pairMinMax = getMinMaxOfCol(in, _colID, 0, -1);
+			if(_binMins != null) {
+				pairMinMax[0] = Math.min(pairMinMax[0], _binMins[0]);
+				pairMinMax[1] = Math.max(pairMinMax[1], _binMaxs[_binMaxs.length - 1]);
+			}
+			if(pairMinMax[0] <= pairMinMax[1])
+				computeBins(pairMinMax[0], pairMinMax[1]);
+		}
+		else { // EQUI_HEIGHT or EQUI_HEIGHT_APPROX
+			if(_sketch == null) {
+				if(_binMaxs != null)
+					throw new DMLRuntimeException("Incremental equi-height binning of column " + _colID
+						+ " requires the state of previous incremental builds.");
+				_sketch = new QuantileSketch();
+			}
+			double[] vals = extractDoubleColumnNaN(in, _colID);
+			_sketch.update(vals, vals.length);
+			if(!_sketch.isEmpty())
+				computeEqualHeightBins(_sketch);
+		}
+
+		if(DMLScript.STATISTICS)
+			TransformStatistics.incBinningBuildTime(System.nanoTime()-t0);
+	}
+
 	protected double getCode(CacheBlock<?> in, int row){
 		// find the right bucket for a single row
 		if( _binMins.length == 0 || _binMaxs.length == 0 ) {
@@ -299,6 +341,21 @@ public class ColumnEncoderBin extends ColumnEncoder {
 		return vals;
 	}
 
+	private static double[] extractDoubleColumnNaN(CacheBlock<?> in, int colID) {
+		final int nRow = in.getNumRows();
+		double[] vals = new double[nRow];
+		if(in instanceof FrameBlock) {
+			Array<?> a = ((FrameBlock) in).getColumn(colID - 1);
+			for(int i = 0; i < nRow; i++)
+				vals[i] = a.getAsNaNDouble(i);
+		}
+		else {
+			for(int i = 0; i < nRow; i++)
+				vals[i] = in.getDoubleNaN(i, colID - 1);
+		}
+		return vals;
+	}
+
 	private static double[] sampleDoubleColumn(CacheBlock<?> in, int colID, double sampleFraction, int minimum_sample_size){
 		final int nRow = in.getNumRows();
 		int elm =(int) Math.min( nRow, Math.max(minimum_sample_size, Math.ceil(nRow * sampleFraction)));
@@ -364,6 +421,23 @@ public class ColumnEncoderBin extends ColumnEncoder {
 		System.arraycopy(_binMaxs, 0, _binMins, 1, _numBin - 1);
 	}
 
+	private void computeEqualHeightBins(QuantileSketch sketch) {
+		if(_binMins == null || _binMaxs == null) {
+			_binMins = new double[_numBin];
+			_binMaxs = new double[_numBin];
+		}
+		// same positions as for the sorted column, but looked up in the sketch
+		long n = sketch.getCount();
+		for(int i = 0; i < _numBin; i++) {
+			double pos = n * (i + 1d) / _numBin;
+			_binMaxs[i] = sketch.getValueAtRank((pos % 1 == 0) ? (long) pos - 1 : (long) Math.floor(pos));
+		}
+		_binMaxs[_numBin - 1] = sketch.getMax();
+
+		_binMins[0] = sketch.getMin();
+		System.arraycopy(_binMaxs, 0, _binMins, 1, _numBin - 1);
+	}
+
 	public void prepareBuildPartial() {
 		// ensure allocated min/max arrays
 		_colMins = -1f;
@@ -432,6 +506,31 @@ public class ColumnEncoderBin extends ColumnEncoder {
 		return meta;
 	}
 
+	@Override
+	public int getMetaDataDeltaRows() {
+		return isMetaDataChanged() ? _binMaxs.length : 0;
+	}
+
+	@Override
+	public FrameBlock getMetaDataDelta(FrameBlock meta) {
+		// bins are emitted as a whole if any boundary changed
+		if(!isMetaDataChanged())
+			return meta;
+		getMetaData(meta);
+		markMetaDataEmitted();
+		return meta;
+	}
+
+	private boolean isMetaDataChanged() {
+		return isApplicable() && _binMaxs != null
+			&& !(Arrays.equals(_binMins, _emittedMins) && Arrays.equals(_binMaxs, _emittedMaxs));
+	}
+
+	private void markMetaDataEmitted() {
+		_emittedMins = _binMins != null ? _binMins.clone() : null;
+		_emittedMaxs = _binMaxs != null ? _binMaxs.clone() : null;
+	}
+
 	@Override
 	public void initMetaData(FrameBlock meta) {
 		if(meta == null || _binMaxs != null || meta.getColumnMetadata()[_colID - 1].isDefault())
@@ -445,12 +544,15 @@ public class ColumnEncoderBin extends ColumnEncoder {
 			_binMins[i] = Double.parseDouble(tmp[0]);
 			_binMaxs[i] = Double.parseDouble(tmp[1]);
 		}
+		markMetaDataEmitted();
 	}
 
 	@Override
 	public void writeExternal(ObjectOutput out) throws IOException {
 		super.writeExternal(out);
 
+		out.writeInt(EXTERNAL_MARKER);
+		out.writeByte(EXTERNAL_VERSION);
 		out.writeInt(_numBin);
 		out.writeUTF(_binMethod.toString());
 		out.writeBoolean(_binMaxs != null);
@@ -460,22 +562,32 @@ public class ColumnEncoderBin extends ColumnEncoder {
 				out.writeDouble(_binMins[j]);
 			}
 		}
+		out.writeBoolean(_sketch != null);
+		if(_sketch != null)
+			_sketch.write(out);
 	}
 
 	@Override
 	public void readExternal(ObjectInput in) throws IOException {
 		super.readExternal(in);
+		int version = 0;
 		_numBin = in.readInt();
+		if(_numBin == EXTERNAL_MARKER) {
+			version = in.readByte();
+			if(version > EXTERNAL_VERSION)
+				throw new IOException("Unsupported bin encoder format version: " + version);
+			_numBin = in.readInt();
+		}
 		setBinMethod(in.readUTF());
 		boolean minmax = in.readBoolean();
 		_binMaxs = minmax ? new double[_numBin] : null;
 		_binMins = minmax ? new double[_numBin] : null;
-		if(!minmax)
-			return;
-		for(int j = 0; j < _binMaxs.length; j++) {
+		for(int j = 0; minmax && j < _binMaxs.length; j++) {
 			_binMaxs[j] = in.readDouble();
 			_binMins[j] = in.readDouble();
 		}
+		_sketch = (version >= 1 && in.readBoolean()) ? QuantileSketch.read(in) : null;
+		markMetaDataEmitted();
 	}
 
 	@Override
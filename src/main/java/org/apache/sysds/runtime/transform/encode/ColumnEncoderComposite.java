@@ -119,6 +119,27 @@ public class ColumnEncoderComposite extends ColumnEncoder {
 		}
 	}
 
+	@Override
+	public void buildIncremental(CacheBlock<?> in) {
+		for(ColumnEncoder columnEncoder : _columnEncoders)
+			columnEncoder.buildIncremental(in);
+	}
+
+	@Override
+	public int getMetaDataDeltaRows() {
+		int rows = 0;
+		for(ColumnEncoder columnEncoder : _columnEncoders)
+			rows = Math.max(rows, columnEncoder.getMetaDataDeltaRows());
+		return rows;
+	}
+
+	@Override
+	public FrameBlock getMetaDataDelta(FrameBlock meta) {
+		for(ColumnEncoder columnEncoder : _columnEncoders)
+			columnEncoder.getMetaDataDelta(meta);
+		return meta;
+	}
+
 	@Override
 	public List<DependencyTask<?>> getApplyTasks(CacheBlock<?> in, MatrixBlock out, int outputCol) {
 		List<DependencyTask<?>> tasks = new ArrayList<>();
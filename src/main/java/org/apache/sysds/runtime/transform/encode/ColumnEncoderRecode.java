@@ -30,6 +30,7 @@ import java.util.HashSet;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Objects;
+import java.util.TreeMap;
 import java.util.concurrent.Callable;
 
 import org.apache.sysds.api.DMLScript;
@@ -37,6 +38,9 @@ import org.apache.sysds.lops.Lop;
 import org.apache.sysds.runtime.compress.estim.sample.SampleEstimatorFactory;
 import org.apache.sysds.runtime.controlprogram.caching.CacheBlock;
 import org.apache.sysds.runtime.frame.data.FrameBlock;
+import org.apache.sysds.runtime.frame.data.columns.Array;
+import org.apache.sysds.runtime.frame.data.columns.HashIntegerArray;
+import org.apache.sysds.runtime.frame.data.columns.IHashArray;
 import org.apache.sysds.runtime.matrix.data.MatrixBlock;
 import org.apache.sysds.utils.stats.TransformStatistics;
 
@@ -47,12 +51,15 @@ public class ColumnEncoderRecode extends ColumnEncoder {
 	public static boolean SORT_RECODE_MAP = false;
 
 	// recode maps and custom map for partial recode maps
+	// (recode maps are RecodeMaps unless initialized from meta data)
 	private Map<Object, Long> _rcdMap;
 	private HashSet<Object> _rcdMapPart = null;
+	// number of recode map entries already emitted as meta data delta
+	private int _numEmitted = 0;
 
 	public ColumnEncoderRecode(int colID) {
 		super(colID);
-		_rcdMap = new HashMap<>();
+		_rcdMap = new RecodeMap();
 	}
 
 	public ColumnEncoderRecode() {
@@ -107,6 +114,10 @@ public class ColumnEncoderRecode extends ColumnEncoder {
 	}
 
 	private static void sortCPRecodeMaps(Map<Object, Long> map) {
+		if(map instanceof RecodeMap) {
+			((RecodeMap) map).sort();
+			return;
+		}
 		Object[] keys = map.keySet().toArray(new Object[0]);
 		Arrays.sort(keys);
 		map.clear();
@@ -114,19 +125,49 @@ public class ColumnEncoderRecode extends ColumnEncoder {
 			putCode(map, key);
 	}
 
-	private static void makeRcdMap(CacheBlock<?> in, Map<Object, Long> map, int colID, int startRow, int blk) {
-		for(int row = startRow; row < getEndIndex(in.getNumRows(), startRow, blk); row++){
-			String key = in.getString(row, colID - 1);
-			if(key != null && !key.isEmpty() && !map.containsKey(key))
-				putCode(map, key);
+	private static void makeRcdMap(CacheBlock<?> in, RecodeMap map, int colID, int startRow, int blk) {
+		final int endRow = getEndIndex(in.getNumRows(), startRow, blk);
+		final Array<?> hcol = getHashColumn(in, colID);
+		if(hcol != null) {
+			// probe and build on the primitive hashes (no null or empty values)
+			for(int row = startRow; row < endRow; row++)
+				map.putCode(getHashKey(hcol, row));
+			return;
 		}
-		if(SORT_RECODE_MAP) {
-			sortCPRecodeMaps(map);
+		for(int row = startRow; row < endRow; row++){
+			String key = in.getString(row, colID - 1);
+			if(key != null && !key.isEmpty())
+				map.putCode(key);
 		}
 	}
 
+	private static Array<?> getHashColumn(CacheBlock<?> in, int colID) {
+		if(!(in instanceof FrameBlock))
+			return null;
+		Array<?> a = ((FrameBlock) in).getColumn(colID - 1);
+		return (a instanceof IHashArray) ? a : null;
+	}
+
+	private static long getHashKey(Array<?> a, int row) {
+		// unsigned hash, consistent with the string representation of the column
+		long v = ((IHashArray) a).getLong(row);
+		return (a instanceof HashIntegerArray) ? v & 0xFFFFFFFFL : v;
+	}
+
+	/**
+	 * Get the recode map for building, converting a recode map that was initialized from meta data.
+	 *
+	 * @return the recode map
+	 */
+	private RecodeMap getBuildRcdMap() {
+		if(!(_rcdMap instanceof RecodeMap))
+			_rcdMap = new RecodeMap(_rcdMap);
+		return (RecodeMap) _rcdMap;
+	}
+
 	private long lookupRCDMap(Object key) {
-		return _rcdMap.getOrDefault(key, -1L);
+		return (_rcdMap instanceof RecodeMap) ? ((RecodeMap) _rcdMap).getCode(key) :
+			_rcdMap.getOrDefault(key, -1L);
 	}
 
 	public void computeRCDMapSizeEstimate(CacheBlock<?> in, int[] sampleIndices) {
@@ -174,12 +215,26 @@ public class ColumnEncoderRecode extends ColumnEncoder {
 		if(!isApplicable())
 			return;
 		long t0 = DMLScript.STATISTICS ? System.nanoTime() : 0;
-		makeRcdMap(in, _rcdMap, _colID, 0, in.getNumRows());
+		RecodeMap map = getBuildRcdMap();
+		makeRcdMap(in, map, _colID, 0, in.getNumRows());
+		if(SORT_RECODE_MAP)
+			map.sort();
 		if(DMLScript.STATISTICS){
 			TransformStatistics.incRecodeBuildTime(System.nanoTime() - t0);
 		}
 	}
 
+	@Override
+	public void buildIncremental(CacheBlock<?> in) {
+		if(!isApplicable())
+			return;
+		long t0 = DMLScript.STATISTICS ? System.nanoTime() : 0;
+		// codes of existing tokens remain stable, new tokens get the next codes (hence no sorting)
+		makeRcdMap(in, getBuildRcdMap(), _colID, 0, in.getNumRows());
+		if(DMLScript.STATISTICS)
+			TransformStatistics.incRecodeBuildTime(System.nanoTime() - t0);
+	}
+
 	@Override
 	public Callable<Object> getBuildTask(CacheBlock<?> in) {
 		return new ColumnRecodeBuildTask(this, in);
@@ -220,6 +275,15 @@ public class ColumnEncoderRecode extends ColumnEncoder {
 	protected double[] getCodeCol(CacheBlock<?> in, int startInd, int endInd, double[] tmp) {
 		final int endLength = endInd - startInd;
 		final double[] codes = tmp != null && tmp.length == endLength ? tmp : new double[endLength];
+		final Array<?> hcol = (_rcdMap instanceof RecodeMap) ? getHashColumn(in, _colID) : null;
+		if(hcol != null) {
+			final RecodeMap map = (RecodeMap) _rcdMap;
+			for(int i = startInd; i < endInd; i++) {
+				long code = map.getCode(getHashKey(hcol, i));
+				codes[i - startInd] = (code < 0) ? Double.NaN : code;
+			}
+			return codes;
+		}
 		for (int i=startInd; i<endInd; i++) {
 			String key = in.getString(i, _colID-1);
 			if(key == null || key.isEmpty()) {
@@ -272,12 +336,12 @@ public class ColumnEncoderRecode extends ColumnEncoder {
 		Map<Object, Long> otherMap = otherRec._rcdMap;
 		if(otherMap != null) {
 			// for each column, add all non present recode values
-			for(Map.Entry<Object, Long> entry : otherMap.entrySet()) {
-				if(lookupRCDMap(entry.getKey()) == -1) {
-					// key does not yet exist
-					putCode(_rcdMap, entry.getKey());
-				}
-			}
+			RecodeMap map = getBuildRcdMap();
+			if(otherMap instanceof RecodeMap)
+				map.putAllCodes((RecodeMap) otherMap);
+			else
+				for(Object key : otherMap.keySet())
+					map.putCode(key);
 		}
 	}
 
@@ -313,6 +377,29 @@ public class ColumnEncoderRecode extends ColumnEncoder {
 		return meta;
 	}
 
+	@Override
+	public int getMetaDataDeltaRows() {
+		return isApplicable() ? Math.max(_rcdMap.size() - _numEmitted, 0) : 0;
+	}
+
+	@Override
+	public FrameBlock getMetaDataDelta(FrameBlock meta) {
+		if(getMetaDataDeltaRows() == 0)
+			return meta;
+
+		// only entries appended since the last delta (recode maps keep insertion order)
+		RecodeMap map = getBuildRcdMap();
+		meta.ensureAllocatedColumns(getMetaDataDeltaRows());
+		StringBuilder sb = new StringBuilder(); // for reuse
+		int rowID = 0;
+		for(int i = _numEmitted; i < map.size(); i++)
+			meta.set(rowID++, _colID - 1, constructRecodeMapEntry(map.getKeyAt(i), map.getCodeAt(i), sb));
+		// number of distinct values refers to the entire recode map
+		meta.getColumnMetadata(_colID - 1).setNumDistinct(map.size());
+		_numEmitted = map.size();
+		return meta;
+	}
+
 	/**
 	 * Construct the recodemaps from the given input frame for all columns registered for recode.
 	 *
@@ -323,6 +410,7 @@ public class ColumnEncoderRecode extends ColumnEncoder {
 		if(meta == null || meta.getNumRows() <= 0)
 			return;
 		_rcdMap = meta.getRecodeMap(_colID - 1); // 1-based
+		_numEmitted = _rcdMap.size();
 	}
 
 	@Override
@@ -345,6 +433,7 @@ public class ColumnEncoderRecode extends ColumnEncoder {
 			Long value = in.readLong();
 			_rcdMap.put(key, value);
 		}
+		_numEmitted = size;
 	}
 
 	@Override
@@ -429,7 +518,7 @@ public class ColumnEncoderRecode extends ColumnEncoder {
 		@Override
 		public Object call() throws Exception {
 			long t0 = DMLScript.STATISTICS ? System.nanoTime() : 0;
-			HashMap<Object, Long> partialMap = new HashMap<>();
+			RecodeMap partialMap = new RecodeMap();
 			makeRcdMap(_input, partialMap, _colID, _startRow, _blockSize);
 			synchronized(_partialMaps) {
 				_partialMaps.put(_startRow, partialMap);
@@ -459,14 +548,11 @@ public class ColumnEncoderRecode extends ColumnEncoder {
 		@Override
 		public Object call() throws Exception {
 			long t0 = DMLScript.STATISTICS ? System.nanoTime() : 0;
-			Map<Object, Long> rcdMap = _encoder.getRcdMap();
-			_partialMaps.forEach((start_row, map) -> {
-				((HashMap<?, ?>) map).forEach((k, v) -> {
-					if(!rcdMap.containsKey(k))
-						putCode(rcdMap, k);
-				});
-			});
-			_encoder._rcdMap = rcdMap;
+			// merge in row order, which yields the same codes as a single-threaded build
+			RecodeMap rcdMap = _encoder.getBuildRcdMap();
+			new TreeMap<>(_partialMaps).forEach((start_row, map) -> rcdMap.putAllCodes((RecodeMap) map));
+			if(SORT_RECODE_MAP)
+				rcdMap.sort();
 			if(DMLScript.STATISTICS){
 				TransformStatistics.incRecodeBuildTime(System.nanoTime() - t0);
 			}
@@ -61,6 +61,8 @@ public class EncoderMVImpute extends LegacyEncoder {
 												// mode category
 	private List<Integer> _rcList = null;
 	private HashMap<Integer, HashMap<String, Long>> _hist = null;
+	// replacements already emitted as meta data delta
+	private String[] _emittedReplacements = null;
 	public EncoderMVImpute(JSONObject parsedSpec, String[] colnames, int clen, int minCol, int maxCol)
 		throws JSONException {
 		super(null, clen);
@@ -193,7 +195,8 @@ public class EncoderMVImpute extends LegacyEncoder {
 							off + i + 1);
 					}
 					_replacementList[j] = String.valueOf(_meanList[j]._sum);
-					_countList[j] += in.getNumRows();
+					// off was decremented for missing values, so this adds the non-missing values only
+					_countList[j] = off + in.getNumRows();
 				}
 				else if(_mvMethodList[j] == MVMethod.GLOBAL_MODE) {
 					// compute global column mode (categorical), i.e., most frequent category
@@ -317,6 +320,25 @@ public class EncoderMVImpute extends LegacyEncoder {
 		return out;
 	}
 
+	/**
+	 * Set the imputation values of all columns whose replacement changed since the last call (e.g., after
+	 * incremental builds over multiple batches).
+	 *
+	 * @param out output frame block
+	 * @return output frame block
+	 */
+	public FrameBlock getMetaDataDelta(FrameBlock out) {
+		if(_emittedReplacements == null)
+			_emittedReplacements = new String[_colList.length];
+		for(int j = 0; j < _colList.length; j++) {
+			if(_replacementList[j] != null && !_replacementList[j].equals(_emittedReplacements[j])) {
+				out.getColumnMetadata(_colList[j] - 1).setMvValue(_replacementList[j]);
+				_emittedReplacements[j] = _replacementList[j];
+			}
+		}
+		return out;
+	}
+
 	@Override
 	public void initMetaData(FrameBlock meta) {
 		// init replacement lists, replace recoded values to
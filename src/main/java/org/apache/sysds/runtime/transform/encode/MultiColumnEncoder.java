@@ -305,6 +305,53 @@ public class MultiColumnEncoder implements Encoder {
 		}
 	}
 
+	public void buildIncremental(CacheBlock<?> in) {
+		buildIncremental(in, 1);
+	}
+
+	/**
+	 * Incremental build with the next batch of rows, which extends the meta data of previous batches instead of
+	 * replacing it. Recode maps keep the codes of known tokens and append new tokens (without sorting), equi-width
+	 * bins extend the value range, equi-height bins are derived from a quantile sketch over all batches, and impute
+	 * statistics are accumulated. Changed meta data is obtained via getMetaDataDelta.
+	 *
+	 * @param in input block of the next batch
+	 * @param k  degree of parallelism (over columns)
+	 */
+	public void buildIncremental(CacheBlock<?> in, int k) {
+		if(hasLegacyEncoder() && !(in instanceof FrameBlock))
+			throw new DMLRuntimeException("LegacyEncoders do not support non FrameBlock Inputs");
+		if(k > 1) {
+			ExecutorService pool = CommonThreadPool.get(k);
+			try {
+				List<Future<?>> tasks = new ArrayList<>();
+				for(ColumnEncoderComposite columnEncoder : _columnEncoders)
+					tasks.add(pool.submit(() -> {
+						columnEncoder.buildIncremental(in);
+						columnEncoder.updateAllDCEncoders();
+					}));
+				for(Future<?> task : tasks)
+					task.get();
+			}
+			catch(Exception ex) {
+				throw new DMLRuntimeException(ex);
+			}
+			finally {
+				pool.shutdown();
+			}
+		}
+		else {
+			for(ColumnEncoderComposite columnEncoder : _columnEncoders) {
+				columnEncoder.buildIncremental(in);
+				columnEncoder.updateAllDCEncoders();
+			}
+		}
+		if(hasLegacyEncoder())
+			legacyBuild((FrameBlock) in);
+		// invalidate meta data cached by encode
+		_meta = null;
+	}
+
 	public void legacyBuild(FrameBlock in) {
 		if(_legacyOmit != null)
 			_legacyOmit.build(in);
@@ -739,6 +786,28 @@ public class MultiColumnEncoder implements Encoder {
 		return meta;
 	}
 
+	/**
+	 * Construct a frame block of the meta data changed since the last call (or since initialization from meta data),
+	 * in the format of getMetaData: new recode map entries, all bins of columns with changed bin boundaries, and
+	 * changed imputation values. Columns without changes are empty.
+	 *
+	 * @param meta output frame block, or null to allocate
+	 * @return frame block with the meta data delta
+	 */
+	public FrameBlock getMetaDataDelta(FrameBlock meta) {
+		if(meta == null)
+			meta = new FrameBlock(_columnEncoders.size(), ValueType.STRING);
+		int rows = 0;
+		for(ColumnEncoder columnEncoder : _columnEncoders)
+			rows = Math.max(rows, columnEncoder.getMetaDataDeltaRows());
+		meta.ensureAllocatedColumns(rows);
+		for(ColumnEncoder columnEncoder : _columnEncoders)
+			columnEncoder.getMetaDataDelta(meta);
+		if(_legacyMVImpute != null)
+			_legacyMVImpute.getMetaDataDelta(meta);
+		return meta;
+	}
+
 	@Override
 	public void initMetaData(FrameBlock meta) {
 		for(ColumnEncoder columnEncoder : _columnEncoders)
@@ -0,0 +1,196 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysds.runtime.transform.encode;
+
+import java.io.IOException;
+import java.io.ObjectInput;
+import java.io.ObjectOutput;
+import java.io.Serializable;
+import java.util.Arrays;
+
+/**
+ * Summary of a stream of doubles for approximate quantiles, used by incremental equi-height binning.
+ * 
+ * The sketch keeps a sorted list of values with lower and upper bounds of their (1-based) positions in the sorted
+ * stream, in the spirit of Greenwald-Khanna summaries. Batches are merged exactly, i.e., the positions of retained
+ * values shift by the known number of smaller batch values, and batch values inherit the bounds of their neighbors.
+ * As long as at most capacity values were added the summary is exact. Afterwards, values are pruned such that the
+ * bounds of retained neighbors are at most 4n/capacity apart, which bounds the rank error of a quantile by
+ * 2n/capacity while retaining at most about capacity/2 values. Min and max are always exact.
+ */
+public class QuantileSketch implements Serializable {
+	private static final long serialVersionUID = 4630431282947734539L;
+
+	public static final int DEFAULT_CAPACITY = 4096;
+
+	private final int _capacity;
+	private double[] _vals;
+	private long[] _rmin;
+	private long[] _rmax;
+	private int _size;
+	private long _count;
+
+	public QuantileSketch() {
+		this(DEFAULT_CAPACITY);
+	}
+
+	public QuantileSketch(int capacity) {
+		if(capacity < 4)
+			throw new IllegalArgumentException("Invalid sketch capacity: " + capacity);
+		_capacity = capacity;
+		_vals = new double[0];
+		_rmin = new long[0];
+		_rmax = new long[0];
+	}
+
+	/**
+	 * Add the first len values of the given array to the sketch. The array is sorted in place and NaN values are
+	 * ignored.
+	 * 
+	 * @param vals values
+	 * @param len  number of values
+	 */
+	public void update(double[] vals, int len) {
+		Arrays.sort(vals, 0, len);
+		while(len > 0 && Double.isNaN(vals[len - 1]))
+			len--; // NaNs are sorted to the end
+		if(len == 0)
+			return;
+
+		// merge the sorted batch with the current summary (summary values first on ties)
+		final int n = _size + len;
+		final double[] mvals = new double[n];
+		final long[] mrmin = new long[n];
+		final long[] mrmax = new long[n];
+		int i = 0, j = 0, k = 0;
+		while(i < _size || j < len) {
+			if(j == len || (i < _size && _vals[i] <= vals[j])) {
+				// j batch values precede the summary value
+				mvals[k] = _vals[i];
+				mrmin[k] = _rmin[i] + j;
+				mrmax[k++] = _rmax[i++] + j;
+			}
+			else {
+				// between the last preceding and the next summary value
+				mvals[k] = vals[j];
+				mrmin[k] = j + 1 + ((i > 0) ? _rmin[i - 1] : 0);
+				mrmax[k++] = j + 1 + ((i < _size) ? _rmax[i] - 1 : _count);
+				j++;
+			}
+		}
+		_vals = mvals;
+		_rmin = mrmin;
+		_rmax = mrmax;
+		_size = n;
+		_count += len;
+
+		if(_size > _capacity)
+			prune();
+	}
+
+	private void prune() {
+		// drop values whose neighbors still have close enough position bounds, keep min and max
+		final long gap = Math.max(1, 4 * _count / _capacity);
+		int k = 1;
+		for(int i = 1; i < _size - 1; i++) {
+			if(_rmax[i + 1] - _rmin[k - 1] > gap) {
+				_vals[k] = _vals[i];
+				_rmin[k] = _rmin[i];
+				_rmax[k++] = _rmax[i];
+			}
+		}
+		_vals[k] = _vals[_size - 1];
+		_rmin[k] = _rmin[_size - 1];
+		_rmax[k++] = _rmax[_size - 1];
+		_size = k;
+		_vals = Arrays.copyOf(_vals, k);
+		_rmin = Arrays.copyOf(_rmin, k);
+		_rmax = Arrays.copyOf(_rmax, k);
+	}
+
+	/**
+	 * Get the value at the given 0-based rank of all added values in sorted order.
+	 * 
+	 * @param rank rank in [0, count)
+	 * @return the exact value if no pruning happened, otherwise a value within the rank error
+	 */
+	public double getValueAtRank(long rank) {
+		if(_count == 0)
+			throw new IllegalStateException("Empty quantile sketch");
+		// value with the smallest maximum distance of its position bounds to the requested position
+		final long pos = rank + 1;
+		int best = 0;
+		long bestErr = Long.MAX_VALUE;
+		for(int i = 0; i < _size; i++) {
+			long err = Math.max(pos - _rmin[i], _rmax[i] - pos);
+			if(err < bestErr) {
+				best = i;
+				bestErr = err;
+			}
+		}
+		return _vals[best];
+	}
+
+	public long getCount() {
+		return _count;
+	}
+
+	public double getMin() {
+		return _vals[0];
+	}
+
+	public double getMax() {
+		return _vals[_size - 1];
+	}
+
+	public int getNumPoints() {
+		return _size;
+	}
+
+	public boolean isEmpty() {
+		return _count == 0;
+	}
+
+	public void write(ObjectOutput out) throws IOException {
+		out.writeInt(_capacity);
+		out.writeLong(_count);
+		out.writeInt(_size);
+		for(int i = 0; i < _size; i++) {
+			out.writeDouble(_vals[i]);
+			out.writeLong(_rmin[i]);
+			out.writeLong(_rmax[i]);
+		}
+	}
+
+	public static QuantileSketch read(ObjectInput in) throws IOException {
+		QuantileSketch ret = new QuantileSketch(in.readInt());
+		ret._count = in.readLong();
+		ret._size = in.readInt();
+		ret._vals = new double[ret._size];
+		ret._rmin = new long[ret._size];
+		ret._rmax = new long[ret._size];
+		for(int i = 0; i < ret._size; i++) {
+			ret._vals[i] = in.readDouble();
+			ret._rmin[i] = in.readLong();
+			ret._rmax[i] = in.readLong();
+		}
+		return ret;
+	}
+}
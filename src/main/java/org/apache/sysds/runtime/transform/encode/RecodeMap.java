@@ -0,0 +1,439 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysds.runtime.transform.encode;
+
+import java.io.Serializable;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.function.BiConsumer;
+
+import org.apache.sysds.utils.MemoryEstimates;
+
+/**
+ * Compact recode map from distinct tokens to codes, used by the recode encoder instead of a
+ * {@code HashMap<Object, Long>}. Entries are stored in insertion order in parallel arrays of keys, codes, and cached
+ * hashes, and are indexed by an open-addressing table of entry positions (linear probing). This avoids the per-entry
+ * node and boxed code objects of a HashMap, and allows merging partial maps without re-hashing their keys.
+ * 
+ * Columns of hashed IDs (HashLongArray, HashIntegerArray) can be probed with their primitive value through a lazily
+ * created secondary index, which avoids materializing a hex string per row.
+ * 
+ * The map does not support null keys or removal of individual entries. Concurrent reads are safe once the map is no
+ * longer modified.
+ */
+public class RecodeMap extends AbstractMap<Object, Long> implements Serializable {
+	private static final long serialVersionUID = -2745301289431836018L;
+
+	private static final int MIN_CAPACITY = 16;
+
+	// entries in insertion order
+	private Object[] _keys;
+	private long[] _codes;
+	private int[] _hashes;
+	private int _size;
+	// open-addressing table of entry positions + 1 (0 marks an empty slot)
+	private int[] _table;
+	// lazily created index of hashed IDs, see getCode(long)
+	private transient volatile HashIndex _hindex;
+
+	public RecodeMap() {
+		this(MIN_CAPACITY);
+	}
+
+	public RecodeMap(int expectedSize) {
+		int cap = Math.max(expectedSize, MIN_CAPACITY);
+		_keys = new Object[cap];
+		_codes = new long[cap];
+		_hashes = new int[cap];
+		_table = new int[tableSize(cap)];
+	}
+
+	public RecodeMap(Map<?, Long> map) {
+		this(map.size());
+		for(Entry<?, Long> e : map.entrySet())
+			put(e.getKey(), e.getValue());
+	}
+
+	@Override
+	public int size() {
+		return _size;
+	}
+
+	/**
+	 * Get the code of the given key without boxing.
+	 * 
+	 * @param key token
+	 * @return the code, or -1 if the key does not exist
+	 */
+	public long getCode(Object key) {
+		if(key == null)
+			return -1;
+		final int e = _table[slot(key, hash(key))] - 1;
+		return (e < 0) ? -1 : _codes[e];
+	}
+
+	/**
+	 * Get the code of a hashed ID, which is equivalent to {@code getCode(Long.toHexString(hkey))} but does not
+	 * allocate a string. Integer hashes have to be passed as unsigned values.
+	 * 
+	 * @param hkey hashed ID
+	 * @return the code, or -1 if the key does not exist
+	 */
+	public long getCode(long hkey) {
+		final int e = getHashIndex().get(hkey);
+		return (e < 0) ? -1 : _codes[e];
+	}
+
+	/**
+	 * Add the key with the next code (size + 1) if it does not yet exist.
+	 * 
+	 * @param key token
+	 * @return the existing or newly assigned code
+	 */
+	public long putCode(Object key) {
+		return putCode(key, hash(key));
+	}
+
+	/**
+	 * Add the hashed ID with the next code (size + 1) if it does not yet exist, where the string key is only
+	 * materialized for new distinct values. Integer hashes have to be passed as unsigned values.
+	 * 
+	 * @param hkey hashed ID
+	 * @return the existing or newly assigned code
+	 */
+	public long putCode(long hkey) {
+		final int e = getHashIndex().get(hkey);
+		return (e < 0) ? putCode(Long.toHexString(hkey)) : _codes[e];
+	}
+
+	/**
+	 * Add all keys of the other map that do not yet exist, in the other map's insertion order and with the next
+	 * codes. The cached hashes of the other map are reused.
+	 * 
+	 * @param that other map
+	 */
+	public void putAllCodes(RecodeMap that) {
+		for(int i = 0; i < that._size; i++)
+			putCode(that._keys[i], that._hashes[i]);
+	}
+
+	/**
+	 * Get the key at the given insertion position, which allows iterating only entries added after a known size.
+	 *
+	 * @param pos position in [0, size)
+	 * @return token
+	 */
+	public Object getKeyAt(int pos) {
+		return _keys[pos];
+	}
+
+	/**
+	 * Get the code at the given insertion position.
+	 *
+	 * @param pos position in [0, size)
+	 * @return code
+	 */
+	public long getCodeAt(int pos) {
+		return _codes[pos];
+	}
+
+	@Override
+	public Long put(Object key, Long code) {
+		final int h = hash(key);
+		final int s = slot(key, h);
+		final int e = _table[s] - 1;
+		if(e >= 0) {
+			long old = _codes[e];
+			_codes[e] = code;
+			return old;
+		}
+		append(s, key, h, code);
+		return null;
+	}
+
+	@Override
+	public Long get(Object key) {
+		long code = getCode(key);
+		return (code < 0) ? null : code;
+	}
+
+	@Override
+	public boolean containsKey(Object key) {
+		return getCode(key) >= 0;
+	}
+
+	/**
+	 * Sort the keys and reassign the codes 1 to n in sorted order.
+	 */
+	public void sort() {
+		Object[] keys = Arrays.copyOf(_keys, _size);
+		Arrays.sort(keys);
+		clear();
+		for(Object key : keys)
+			putCode(key);
+	}
+
+	@Override
+	public void clear() {
+		Arrays.fill(_keys, 0, _size, null);
+		Arrays.fill(_table, 0);
+		_size = 0;
+		_hindex = null;
+	}
+
+	@Override
+	public void forEach(BiConsumer<? super Object, ? super Long> action) {
+		for(int i = 0; i < _size; i++)
+			action.accept(_keys[i], _codes[i]);
+	}
+
+	@Override
+	public Set<Entry<Object, Long>> entrySet() {
+		return new EntrySet();
+	}
+
+	@Override
+	public int hashCode() {
+		// consistent with AbstractMap and HashMap
+		int h = 0;
+		for(int i = 0; i < _size; i++)
+			h += _keys[i].hashCode() ^ Long.hashCode(_codes[i]);
+		return h;
+	}
+
+	/**
+	 * Get the in-memory size of the map, excluding the keys themselves.
+	 * 
+	 * @return size in bytes
+	 */
+	public long getInMemorySize() {
+		long size = 16 + 4 * 8 + 4;
+		size += (long) MemoryEstimates.objectArrayCost(_keys.length);
+		size += (long) MemoryEstimates.longArrayCost(_codes.length);
+		size += (long) MemoryEstimates.intArrayCost(_hashes.length);
+		size += (long) MemoryEstimates.intArrayCost(_table.length);
+		HashIndex hindex = _hindex;
+		if(hindex != null) {
+			size += (long) MemoryEstimates.longArrayCost(hindex._vals.length);
+			size += (long) MemoryEstimates.intArrayCost(hindex._table.length);
+		}
+		return size;
+	}
+
+	private long putCode(Object key, int h) {
+		final int s = slot(key, h);
+		final int e = _table[s] - 1;
+		if(e >= 0)
+			return _codes[e];
+		final long code = _size + 1;
+		append(s, key, h, code);
+		return code;
+	}
+
+	private void append(int s, Object key, int h, long code) {
+		if(_size == _keys.length) {
+			int cap = _size + (_size >> 1);
+			_keys = Arrays.copyOf(_keys, cap);
+			_codes = Arrays.copyOf(_codes, cap);
+			_hashes = Arrays.copyOf(_hashes, cap);
+		}
+		final int e = _size++;
+		_keys[e] = key;
+		_codes[e] = code;
+		_hashes[e] = h;
+		_table[s] = e + 1;
+		if(_hindex != null)
+			_hindex.add(key, e);
+		if(_size * 2 > _table.length)
+			rehash(_table.length * 2);
+	}
+
+	private int slot(Object key, int h) {
+		final int[] table = _table;
+		final int mask = table.length - 1;
+		int s = h & mask;
+		while(true) {
+			final int e = table[s] - 1;
+			if(e < 0 || (_hashes[e] == h && key.equals(_keys[e])))
+				return s;
+			s = (s + 1) & mask;
+		}
+	}
+
+	private void rehash(int len) {
+		final int[] table = new int[len];
+		final int mask = len - 1;
+		for(int e = 0; e < _size; e++) {
+			int s = _hashes[e] & mask;
+			while(table[s] != 0)
+				s = (s + 1) & mask;
+			table[s] = e + 1;
+		}
+		_table = table;
+	}
+
+	private HashIndex getHashIndex() {
+		HashIndex hindex = _hindex;
+		if(hindex == null) {
+			synchronized(this) {
+				hindex = _hindex;
+				if(hindex == null) {
+					hindex = new HashIndex(_keys.length);
+					for(int e = 0; e < _size; e++)
+						hindex.add(_keys[e], e);
+					_hindex = hindex;
+				}
+			}
+		}
+		return hindex;
+	}
+
+	private static int tableSize(int cap) {
+		return Integer.highestOneBit(Math.max(cap, MIN_CAPACITY) * 2 - 1) << 1;
+	}
+
+	private static int hash(Object key) {
+		return mix(key.hashCode());
+	}
+
+	private static int mix(int h) {
+		// fibonacci hashing to spread sequential hash codes (e.g., of numeric IDs)
+		h *= 0x9E3779B9;
+		return h ^ (h >>> 16);
+	}
+
+	/**
+	 * Parse a canonical hex string as produced by Long.toHexString (lower case, without leading zeros).
+	 * 
+	 * @param key the key
+	 * @return the unsigned value, or null if the key is not a canonical hex string
+	 */
+	private static Long parseCanonicalHex(Object key) {
+		if(!(key instanceof String))
+			return null;
+		final String s = (String) key;
+		final int len = s.length();
+		if(len == 0 || len > 16 || (len > 1 && s.charAt(0) == '0'))
+			return null;
+		long v = 0;
+		for(int i = 0; i < len; i++) {
+			final char c = s.charAt(i);
+			if(c >= '0' && c <= '9')
+				v = (v << 4) | (c - '0');
+			else if(c >= 'a' && c <= 'f')
+				v = (v << 4) | (c - 'a' + 10);
+			else
+				return null;
+		}
+		return v;
+	}
+
+	/** Secondary index from hashed IDs to entry positions, for keys that are canonical hex strings. */
+	private static final class HashIndex {
+		private long[] _vals;
+		private int[] _table;
+		private int _size;
+
+		private HashIndex(int cap) {
+			_vals = new long[Math.max(cap, MIN_CAPACITY)];
+			_table = new int[tableSize(cap)];
+		}
+
+		private int get(long v) {
+			final int[] table = _table;
+			final int mask = table.length - 1;
+			int s = mix(Long.hashCode(v)) & mask;
+			while(true) {
+				final int e = table[s] - 1;
+				if(e < 0)
+					return -1;
+				if(_vals[e] == v)
+					return e;
+				s = (s + 1) & mask;
+			}
+		}
+
+		private void add(Object key, int e) {
+			final Long v = parseCanonicalHex(key);
+			if(v == null)
+				return;
+			if(e >= _vals.length)
+				_vals = Arrays.copyOf(_vals, Math.max(e + 1, _vals.length + (_vals.length >> 1)));
+			_vals[e] = v;
+			insert(_table, e, v);
+			if(++_size * 2 > _table.length) {
+				final int[] table = new int[_table.length * 2];
+				for(int i : _table)
+					if(i != 0)
+						insert(table, i - 1, _vals[i - 1]);
+				_table = table;
+			}
+		}
+
+		private static void insert(int[] table, int e, long v) {
+			final int mask = table.length - 1;
+			int s = mix(Long.hashCode(v)) & mask;
+			while(table[s] != 0)
+				s = (s + 1) & mask;
+			table[s] = e + 1;
+		}
+	}
+
+	private final class EntrySet extends AbstractSet<Entry<Object, Long>> {
+		@Override
+		public int size() {
+			return _size;
+		}
+
+		@Override
+		public boolean contains(Object o) {
+			if(!(o instanceof Entry))
+				return false;
+			Entry<?, ?> e = (Entry<?, ?>) o;
+			long code = getCode(e.getKey());
+			return code >= 0 && e.getValue() instanceof Long && (Long) e.getValue() == code;
+		}
+
+		@Override
+		public Iterator<Entry<Object, Long>> iterator() {
+			return new Iterator<Entry<Object, Long>>() {
+				private int _pos = 0;
+
+				@Override
+				public boolean hasNext() {
+					return _pos < _size;
+				}
+
+				@Override
+				public Entry<Object, Long> next() {
+					if(_pos >= _size)
+						throw new NoSuchElementException();
+					final int e = _pos++;
+					return new SimpleImmutableEntry<>(_keys[e], _codes[e]);
+				}
+			};
+		}
+	}
+}
@@ -0,0 +1,232 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysds.runtime.transform.encode;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+import org.apache.sysds.runtime.DMLRuntimeException;
+import org.apache.sysds.runtime.data.SparseBlockCSR;
+import org.apache.sysds.runtime.frame.data.FrameBlock;
+import org.apache.sysds.runtime.matrix.data.MatrixBlock;
+
+/**
+ * Low-latency transformapply for single rows and small batches (e.g., online scoring via JMLC).
+ * 
+ * The encoder chain of a meta data initialized MultiColumnEncoder is compiled into a flat per-column mapping of code
+ * producer (recode lookup, bin table, feature hash, or passthrough), output offset, and dummycode flag. Rows are then
+ * encoded row-major into a contiguous dense row or CSR row, without task creation or column-wise output allocation. Only
+ * chains of one code producer optionally followed by dummycoding are supported, i.e., no UDF, word embedding, or
+ * legacy impute/omit encoders.
+ */
+public class RowEncoder {
+	// maximum number of input rows for which transformapply uses the row encoder
+	public static int MAX_ROWS = 64;
+
+	// compiled encoders per meta data frame (by identity), with the spec and column names they were compiled for
+	private static final Map<FrameBlock, RowEncoder> _cache = Collections.synchronizedMap(new WeakHashMap<>());
+
+	private final String _key;
+	// per input column: code producer, output column, and dummycode flag
+	private final ColumnEncoder[] _producers;
+	private final int[] _offsets;
+	private final boolean[] _dummy;
+	private final int _numOutCols;
+
+	private RowEncoder(String key) {
+		_key = key;
+		_producers = null;
+		_offsets = null;
+		_dummy = null;
+		_numOutCols = -1;
+	}
+
+	/**
+	 * Compile the given encoder, which is expected to be initialized with meta data.
+	 * 
+	 * @param encoder multi column encoder
+	 * @throws DMLRuntimeException if the encoder chain is not supported
+	 */
+	public RowEncoder(MultiColumnEncoder encoder) {
+		this(null, encoder);
+	}
+
+	private RowEncoder(String key, MultiColumnEncoder encoder) {
+		if(!isSupported(encoder))
+			throw new DMLRuntimeException("Unsupported encoder for row-wise apply: " + encoder);
+		_key = key;
+		encoder.updateAllDCEncoders();
+		List<ColumnEncoderComposite> encs = encoder.getColumnEncoders();
+		final int n = encs.size();
+		_producers = new ColumnEncoder[n];
+		_offsets = new int[n];
+		_dummy = new boolean[n];
+		int off = 0;
+		for(ColumnEncoderComposite e : encs) {
+			final int j = e.getColID() - 1;
+			_producers[j] = e.getEncoders().get(0);
+			_offsets[j] = j + off;
+			ColumnEncoderDummycode dc = e.getEncoder(ColumnEncoderDummycode.class);
+			_dummy[j] = dc != null;
+			if(dc != null)
+				off += dc._domainSize - 1;
+		}
+		_numOutCols = n + off;
+	}
+
+	/**
+	 * Get a compiled row encoder for the given spec and meta data, reusing the encoder compiled for the same meta
+	 * data frame and spec.
+	 * 
+	 * @param spec     transform specification
+	 * @param colnames column names
+	 * @param clen     number of columns
+	 * @param meta     meta data frame
+	 * @return row encoder, or null if the spec is not supported
+	 */
+	public static RowEncoder get(String spec, String[] colnames, int clen, FrameBlock meta) {
+		final String key = spec + Arrays.toString(colnames) + clen;
+		RowEncoder ret = _cache.get(meta);
+		if(ret == null || !key.equals(ret._key)) {
+			MultiColumnEncoder encoder = EncoderFactory.createEncoder(spec, colnames, clen, meta);
+			ret = isSupported(encoder) ? new RowEncoder(key, encoder) : new RowEncoder(key);
+			_cache.put(meta, ret);
+		}
+		return ret._producers != null ? ret : null;
+	}
+
+	/**
+	 * Indicates if the encoder chain can be compiled into a row encoder.
+	 * 
+	 * @param encoder multi column encoder
+	 * @return true if supported
+	 */
+	public static boolean isSupported(MultiColumnEncoder encoder) {
+		if(encoder.hasLegacyEncoder())
+			return false;
+		List<ColumnEncoderComposite> encs = encoder.getColumnEncoders();
+		boolean[] seen = new boolean[encs.size()];
+		for(ColumnEncoderComposite e : encs) {
+			final int j = e.getColID() - 1;
+			if(j < 0 || j >= seen.length || seen[j])
+				return false;
+			seen[j] = true;
+			List<ColumnEncoder> chain = e.getEncoders();
+			if(chain.isEmpty() || !isProducer(chain.get(0)) || chain.size() > 2 ||
+				(chain.size() == 2 && !(chain.get(1) instanceof ColumnEncoderDummycode)))
+				return false;
+		}
+		return true;
+	}
+
+	private static boolean isProducer(ColumnEncoder e) {
+		return e instanceof ColumnEncoderRecode || e instanceof ColumnEncoderBin ||
+			e instanceof ColumnEncoderFeatureHash || e instanceof ColumnEncoderPassThrough;
+	}
+
+	public int getNumOutCols() {
+		return _numOutCols;
+	}
+
+	/**
+	 * Encode a single row into the given output array, which is fully overwritten.
+	 * 
+	 * @param in  input frame
+	 * @param row row index
+	 * @param out output row of length getNumOutCols
+	 * @param pos start position in the output array
+	 */
+	public void apply(FrameBlock in, int row, double[] out, int pos) {
+		Arrays.fill(out, pos, pos + _numOutCols, 0);
+		for(int j = 0; j < _producers.length; j++) {
+			final double code = _producers[j].getCode(in, row);
+			if(!_dummy[j])
+				out[pos + _offsets[j]] = code;
+			else if(!Double.isNaN(code)) // missing values are all zeros
+				out[pos + _offsets[j] + (int) code - 1] = 1;
+		}
+	}
+
+	/**
+	 * Encode a single row into the given sparse output arrays (at most one entry per input column), which avoids
+	 * touching all output columns of wide dummycoded outputs.
+	 * 
+	 * @param in   input frame
+	 * @param row  row index
+	 * @param ix   output column indexes, in increasing order
+	 * @param vals output values
+	 * @param pos  start position in the output arrays
+	 * @return number of non-zero entries written
+	 */
+	public int apply(FrameBlock in, int row, int[] ix, double[] vals, int pos) {
+		int k = pos;
+		for(int j = 0; j < _producers.length; j++) {
+			final double code = _producers[j].getCode(in, row);
+			if(_dummy[j]) {
+				if(Double.isNaN(code)) // missing values are all zeros
+					continue;
+				ix[k] = _offsets[j] + (int) code - 1;
+				vals[k++] = 1;
+			}
+			else if(code != 0) {
+				ix[k] = _offsets[j];
+				vals[k++] = code;
+			}
+		}
+		return k - pos;
+	}
+
+	/**
+	 * Encode all rows of the given frame into a row-major output matrix, in sparse format if the output is wide.
+	 * 
+	 * @param in input frame
+	 * @return output matrix
+	 */
+	public MatrixBlock apply(FrameBlock in) {
+		final int ncol = _producers.length;
+		if(in.getNumColumns() != ncol)
+			throw new DMLRuntimeException("Invalid input with " + in.getNumColumns()
+				+ " columns for row encoder of " + ncol + " columns");
+		final int rlen = in.getNumRows();
+		final long maxNnz = (long) rlen * ncol;
+		MatrixBlock out;
+		if(MatrixBlock.evalSparseFormatInMemory(rlen, _numOutCols, maxNnz)) {
+			final int[] rptr = new int[rlen + 1];
+			final int[] ix = new int[(int) maxNnz];
+			final double[] vals = new double[(int) maxNnz];
+			for(int i = 0; i < rlen; i++)
+				rptr[i + 1] = rptr[i] + apply(in, i, ix, vals, rptr[i]);
+			out = new MatrixBlock(rlen, _numOutCols, rptr[rlen],
+				new SparseBlockCSR(rptr, ix, vals, rptr[rlen]));
+		}
+		else {
+			out = new MatrixBlock(rlen, _numOutCols, false);
+			out.allocateDenseBlock();
+			final double[] c = out.getDenseBlockValues();
+			for(int i = 0; i < rlen; i++)
+				apply(in, i, c, i * _numOutCols);
+			out.recomputeNonZeros();
+		}
+		return out;
+	}
+}
@@ -31,11 +31,14 @@ import java.util.concurrent.ForkJoinPool;
 import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
+import org.apache.sysds.api.DMLScript;
 import org.apache.sysds.runtime.DMLRuntimeException;
 import org.apache.sysds.utils.stats.InfrastructureAnalyzer;
+import org.apache.sysds.utils.stats.ThreadPoolStatistics;
 
 /**
  * This common thread pool provides an abstraction to obtain a shared thread pool.
@@ -47,6 +50,9 @@ import org.apache.sysds.utils.stats.InfrastructureAnalyzer;
  * 
  * Alternatively the class also contain a dynamic threadPool, that is intended for asynchronous long running tasks with
  * low compute overhead, such as broadcast and collect from federated workers.
+ * 
+ * Nested parallel operations (e.g., multi-threaded kernels in parfor bodies) share a global core budget, see
+ * acquireCores and releaseCores.
  */
 public class CommonThreadPool implements ExecutorService {
 	/** Log object */
@@ -67,6 +73,8 @@ public class CommonThreadPool implements ExecutorService {
 	private static ConcurrentHashMap<Long, CommonThreadPool> shared2 = null;
 	/** Dynamic thread pool, that dynamically allocate threads as tasks come in. */
 	private static ExecutorService asyncPool = null;
+	/** Global budget of additional cores (beyond the calling threads) for nested parallel operations */
+	private static final AtomicInteger budget = new AtomicInteger(size - 1);
 	/** This common thread pool */
 	private final ExecutorService _pool;
 
@@ -128,6 +136,70 @@ public class CommonThreadPool implements ExecutorService {
 
 	}
 
+	/**
+	 * Get the fork-join pool underlying the executor returned by get(k), which allows for recursive task splitting and
+	 * work stealing.
+	 * 
+	 * @param k The number of threads wanted
+	 * @return The fork-join pool, or null if the executor for the current thread is not a fork-join pool.
+	 */
+	public static ForkJoinPool getForkJoinPool(int k) {
+		ExecutorService pool = get(k);
+		if(pool instanceof CommonThreadPool)
+			pool = ((CommonThreadPool) pool)._pool;
+		if(pool instanceof ForkJoinPool)
+			return (ForkJoinPool) pool;
+		pool.shutdown();
+		return null;
+	}
+
+	/**
+	 * Acquire cores from the global core budget, which is shared by all (potentially nested) parallel operations such
+	 * as parfor workers and multi-threaded kernels to prevent oversubscription. The calling thread always counts as one
+	 * core, so the returned parallelism is at least 1, and cores are only reserved for additional threads. The granted
+	 * parallelism needs to be returned via releaseCores after the operation.
+	 * 
+	 * @param k The requested parallelism
+	 * @return The granted parallelism in [1, k]
+	 */
+	public static int acquireCores(int k) {
+		if(k <= 1)
+			return 1;
+		while(true) {
+			final int avail = budget.get();
+			final int extra = Math.min(k - 1, avail);
+			if(extra <= 0) {
+				if(DMLScript.STATISTICS)
+					ThreadPoolStatistics.incrementBudgetDenied(false);
+				return 1;
+			}
+			if(budget.compareAndSet(avail, avail - extra)) {
+				if(extra < k - 1 && DMLScript.STATISTICS)
+					ThreadPoolStatistics.incrementBudgetDenied(true);
+				return extra + 1;
+			}
+		}
+	}
+
+	/**
+	 * Release cores previously acquired via acquireCores.
+	 * 
+	 * @param k The granted parallelism returned by acquireCores
+	 */
+	public static void releaseCores(int k) {
+		if(k > 1)
+			budget.addAndGet(k - 1);
+	}
+
+	/**
+	 * Get the number of currently available additional cores of the global core budget.
+	 * 
+	 * @return The number of available cores
+	 */
+	public static int getAvailableCores() {
+		return budget.get();
+	}
+
 	/**
 	 * Invoke the collection of tasks and shutdown the pool upon job termination.
 	 * 
@@ -43,7 +43,9 @@ import org.apache.sysds.conf.ConfigurationManager;
 import org.apache.sysds.conf.DMLConfig;
 import org.apache.sysds.lops.Lop;
 import org.apache.sysds.runtime.DMLRuntimeException;
+import org.apache.sysds.runtime.compress.CompressedMatrixBlock;
 import org.apache.sysds.runtime.controlprogram.caching.CacheBlock;
+import org.apache.sysds.runtime.controlprogram.caching.SpillCompression;
 import org.apache.sysds.runtime.controlprogram.parfor.util.IDSequence;
 import org.apache.sysds.runtime.frame.data.FrameBlock;
 import org.apache.sysds.runtime.io.IOUtilFunctions;
@@ -112,6 +114,8 @@ public class LocalFileUtils
 	 * @throws IOException if IOException occurs
 	 */
 	public static CacheBlock<?> readCacheBlockFromLocal(String fname, boolean matrix) throws IOException {
+		if( SpillCompression.isEnabled() )
+			return SpillCompression.readBlock(fname, matrix);
 		return (CacheBlock<?>) readWritableFromLocal(fname, matrix?new MatrixBlock():new FrameBlock());
 	}
 	
@@ -221,7 +225,13 @@ public class LocalFileUtils
 	 * @throws IOException if IOException occurs
 	 */
 	public static void writeCacheBlockToLocal(String fname, CacheBlock<?> cb) throws IOException {
+		if( SpillCompression.writeBlock(fname, cb) )
+			return;
+		long t0 = System.nanoTime();
 		writeWritableToLocal(fname, cb, cb.getInMemorySize()>=DOUBLE_BUFFERING_MIN);
+		if( SpillCompression.isEnabled() && !(cb instanceof CompressedMatrixBlock) )
+			SpillCompression.recordRawWrite(SpillCompression.getBlockType(cb),
+				cb.getExactSerializedSize(), System.nanoTime() - t0);
 	}
 	
 	/**
@@ -0,0 +1,213 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.sysds.runtime.util;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.apache.sysds.api.DMLScript;
+import org.apache.sysds.runtime.DMLRuntimeException;
+import org.apache.sysds.utils.stats.ThreadPoolStatistics;
+
+/**
+ * Parallel range loops via recursive fork-join splitting and work stealing.
+ * 
+ * In contrast to a fixed number of statically partitioned tasks, the range is recursively split until the grain size
+ * is reached, and idle threads steal the remaining halves. The grain size is adapted per operation from the observed
+ * execution time per cell (items times cells per item, e.g., rows times columns), such that leaf tasks run roughly for
+ * TARGET_TASK_TIME, which bounds the scheduling overhead of cheap kernels while keeping expensive kernels balanced.
+ * Normalizing by the cells per item allows sharing the profile of an operation across inputs of different shapes. The parallelism is acquired from the global core budget
+ * of the CommonThreadPool, which prevents oversubscription by nested parallel operations.
+ */
+public class ParallelFor {
+	/** Target execution time per leaf task in nano seconds */
+	public static final long TARGET_TASK_TIME = 200_000;
+	/** Initial number of tasks per thread for operations without profile */
+	private static final int INIT_TASKS_PER_THREAD = 4;
+	/** Maximum number of tasks per thread, bounding the overhead for very cheap items */
+	private static final int MAX_TASKS_PER_THREAD = 64;
+	/** Smoothing factor of the per-cell cost profile */
+	private static final double ALPHA = 0.25;
+
+	/** Profiles of execution time per cell, by operation name */
+	private static final ConcurrentHashMap<String, GrainProfile> _profiles = new ConcurrentHashMap<>();
+
+	private ParallelFor() {
+		// prevent instantiation via private constructor
+	}
+
+	/**
+	 * Body of a parallel range loop, processing the items in [rl, ru) and returning a partial result (e.g., the number
+	 * of non-zeros) which is aggregated by sum.
+	 */
+	@FunctionalInterface
+	public interface RangeBody {
+		long apply(int rl, int ru) throws Exception;
+	}
+
+	/**
+	 * Executes the given range body over [0, n) with a parallelism of up to k threads.
+	 * 
+	 * @param opName operation name for adaptive grain sizes and statistics
+	 * @param n      number of items (e.g., rows)
+	 * @param k      maximum parallelism
+	 * @param body   range body
+	 * @return sum of partial results of all range bodies
+	 */
+	public static long execute(String opName, int n, int k, RangeBody body) {
+		return execute(opName, n, 1, k, body);
+	}
+
+	/**
+	 * Executes the given range body over [0, n) with a parallelism of up to k threads.
+	 * 
+	 * @param opName operation name for adaptive grain sizes and statistics
+	 * @param n      number of items (e.g., rows)
+	 * @param cells  average number of cells per item (e.g., columns or non-zeros per row)
+	 * @param k      maximum parallelism
+	 * @param body   range body
+	 * @return sum of partial results of all range bodies
+	 */
+	public static long execute(String opName, int n, long cells, int k, RangeBody body) {
+		if(n <= 0)
+			return 0;
+		final GrainProfile profile = _profiles.computeIfAbsent(opName, o -> new GrainProfile());
+		final int kb = (k > 1 && n > 1 && CommonThreadPool.useParallelismOnThread()) ? //
+			CommonThreadPool.acquireCores(Math.min(k, n)) : 1;
+		try {
+			final ForkJoinPool pool = (kb > 1) ? CommonThreadPool.getForkJoinPool(kb) : null;
+			final RangeTask root = new RangeTask(body, 0, n, (pool != null) ? profile.getGrainSize(n, cells, kb) : n);
+			final long steals = (pool != null) ? pool.getStealCount() : 0;
+			final long t0 = System.nanoTime();
+			final long ret = (pool != null) ? pool.invoke(root) : root.compute();
+			final long wall = System.nanoTime() - t0;
+
+			// maintain profile and statistics
+			final long busy = root.busy.longValue();
+			profile.update(n, cells, busy);
+			if(DMLScript.STATISTICS)
+				ThreadPoolStatistics.incrementOp(opName, root.tasks.longValue(), busy,
+					wall * ((pool != null) ? kb : 1), (pool != null) ? pool.getStealCount() - steals : 0);
+			return ret;
+		}
+		finally {
+			CommonThreadPool.releaseCores(kb);
+		}
+	}
+
+	/**
+	 * Get the current grain size for the given operation, number of items, and parallelism.
+	 * 
+	 * @param opName operation name
+	 * @param n      number of items
+	 * @param k      parallelism
+	 * @return grain size in number of items
+	 */
+	public static int getGrainSize(String opName, int n, int k) {
+		return getGrainSize(opName, n, 1, k);
+	}
+
+	/**
+	 * Get the current grain size for the given operation, number of items, cells per item, and parallelism.
+	 * 
+	 * @param opName operation name
+	 * @param n      number of items
+	 * @param cells  average number of cells per item
+	 * @param k      parallelism
+	 * @return grain size in number of items
+	 */
+	public static int getGrainSize(String opName, int n, long cells, int k) {
+		GrainProfile profile = _profiles.get(opName);
+		return (profile != null) ? profile.getGrainSize(n, cells, k) : new GrainProfile().getGrainSize(n, cells, k);
+	}
+
+	private static class GrainProfile {
+		// smoothed execution time per cell in nano seconds (<=0 if unknown)
+		private volatile double _nanosPerCell = -1;
+
+		private int getGrainSize(int n, long cells, int k) {
+			final int maxGrain = (int) Math.ceil((double) n / k);
+			final int minGrain = (int) Math.ceil((double) n / ((long) k * MAX_TASKS_PER_THREAD));
+			final double nanos = _nanosPerCell * Math.max(cells, 1);
+			if(nanos <= 0)
+				return (int) Math.ceil((double) n / ((long) k * INIT_TASKS_PER_THREAD));
+			long grain = (long) (TARGET_TASK_TIME / nanos);
+			return (int) Math.max(Math.max(minGrain, 1), Math.min(grain, maxGrain));
+		}
+
+		private void update(int n, long cells, long busy) {
+			// benign races of concurrent updates are acceptable
+			final double nanos = (double) busy / n / Math.max(cells, 1);
+			final double old = _nanosPerCell;
+			_nanosPerCell = (old <= 0) ? nanos : (1 - ALPHA) * old + ALPHA * nanos;
+		}
+	}
+
+	@SuppressWarnings("serial")
+	private static class RangeTask extends RecursiveTask<Long> {
+		private final RangeBody _body;
+		private final int _rl;
+		private final int _ru;
+		private final int _grain;
+		// shared counters of all tasks of a root task
+		private final LongAdder busy;
+		private final LongAdder tasks;
+
+		private RangeTask(RangeBody body, int rl, int ru, int grain) {
+			this(body, rl, ru, grain, new LongAdder(), new LongAdder());
+		}
+
+		private RangeTask(RangeBody body, int rl, int ru, int grain, LongAdder busy, LongAdder tasks) {
+			_body = body;
+			_rl = rl;
+			_ru = ru;
+			_grain = grain;
+			this.busy = busy;
+			this.tasks = tasks;
+		}
+
+		@Override
+		protected Long compute() {
+			if(_ru - _rl <= _grain) {
+				final long t0 = System.nanoTime();
+				try {
+					return _body.apply(_rl, _ru);
+				}
+				catch(RuntimeException ex) {
+					throw ex;
+				}
+				catch(Exception ex) {
+					throw new DMLRuntimeException(ex);
+				}
+				finally {
+					busy.add(System.nanoTime() - t0);
+					tasks.increment();
+				}
+			}
+			// split range, fork left half and compute right half
+			final int mid = (_rl + _ru) >>> 1;
+			RangeTask left = new RangeTask(_body, _rl, mid, _grain, busy, tasks);
+			left.fork();
+			long ret = new RangeTask(_body, mid, _ru, _grain, busy, tasks).compute();
+			return ret + left.join();
+		}
+	}
+}
@@ -877,6 +877,30 @@ public class ProgramConverter
 		return rSerializeFunctionProgramBlocks(prog, cand, clsMap);
 	}
 
+	/**
+	 * Serializes a complete runtime program, i.e., all function program blocks
+	 * and the main program blocks, for reuse of compiled plans across processes.
+	 * Similar to parfor bodies, only programs of CP instructions are supported.
+	 * 
+	 * @param prog runtime program
+	 * @return serialized runtime program
+	 */
+	public static String serializeRuntimeProgram( Program prog ) {
+		HashMap<String, byte[]> clsMap = new HashMap<>();
+		StringBuilder sb = new StringBuilder();
+		sb.append(PROG_BEGIN);
+		sb.append( rSerializeFunctionProgramBlocks(prog,
+			new HashSet<>(prog.getFunctionProgramBlocks().keySet()), clsMap) );
+		sb.append(PROG_END);
+		sb.append( COMPONENTS_DELIM );
+		sb.append(PBS_BEGIN);
+		sb.append( rSerializeProgramBlocks(prog.getProgramBlocks(), clsMap) );
+		sb.append(PBS_END);
+		if( !clsMap.isEmpty() )
+			throw new DMLRuntimeException("Not supported: serialization of runtime programs with generated operators.");
+		return sb.toString();
+	}
+
 	private static void rFindSerializationCandidates( ArrayList<ProgramBlock> pbs, HashSet<String> cand)
 	{
 		for( ProgramBlock pb : pbs )
@@ -1399,6 +1423,20 @@ public class ProgramConverter
 		return prog;
 	}
 
+	/**
+	 * Parses a complete runtime program serialized via {@link #serializeRuntimeProgram(Program)}.
+	 * 
+	 * @param in serialized runtime program
+	 * @return runtime program
+	 */
+	public static Program parseRuntimeProgram( String in ) {
+		HierarchyAwareStringTokenizer st = new HierarchyAwareStringTokenizer(in, COMPONENTS_DELIM);
+		Program prog = parseProgram(st.nextToken(), 0);
+		for( ProgramBlock pb : rParseProgramBlocks(st.nextToken(), prog, 0) )
+			prog.addProgramBlock(pb);
+		return prog;
+	}
+
 	private static LocalVariableMap parseVariables(String in) {
 		LocalVariableMap ret = null;
 		if( in.length()> VARS_BEGIN.length() + VARS_END.length()) {
@@ -41,6 +41,9 @@ public class DMLCompressionStatistics {
 	private static int DecompressSparkCount = 0;
 	private static int DecompressCacheCount = 0;
 
+	private static int RecompressCount = 0;
+	private static double Recompress = 0.0;
+
 	public static void reset() {
 		Phase0 = 0.0;
 		Phase1 = 0.0;
@@ -58,6 +61,8 @@ public class DMLCompressionStatistics {
 		DecompressToMT = 0.0;
 		DecompressSparkCount = 0;
 		DecompressCacheCount = 0;
+		RecompressCount = 0;
+		Recompress = 0.0;
 	}
 
 	public static boolean haveCompressed() {
@@ -117,6 +122,15 @@ public class DMLCompressionStatistics {
 		DecompressCacheCount++;
 	}
 
+	public static synchronized void addRecompressTime(double time) {
+		RecompressCount++;
+		Recompress += time;
+	}
+
+	public static int getRecompressionCount() {
+		return RecompressCount;
+	}
+
 	public static int getDecompressionCount() {
 		return DecompressMTCount + DecompressSTCount + DecompressSparkCount + DecompressCacheCount + DecompressToSTCount +
 			DecompressToMTCount;
@@ -134,6 +148,9 @@ public class DMLCompressionStatistics {
 				DecompressToSTCount, DecompressToMTCount));
 			sb.append(String.format("Decompression to block Time (Single, Multi)                 : %.3f/%.3f sec.\n",
 				DecompressToST / 1000, DecompressToMT / 1000));
+			if(RecompressCount > 0)
+				sb.append(String.format("Workload-aware recompression (Count, Time)                  : %d/%.3f sec.\n",
+					RecompressCount, Recompress / 1000));
 		}
 	}
 }
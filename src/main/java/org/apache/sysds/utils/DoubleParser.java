@@ -19,6 +19,8 @@
 
 package org.apache.sysds.utils;
 
+import java.nio.charset.StandardCharsets;
+
 /**
  * A fast double parser inspired from https://github.com/wrandelshofer/FastDoubleParser
  */
@@ -208,6 +210,64 @@ public interface DoubleParser {
 		return isNegative ? -val : val;
 	}
 
+	/**
+	 * Parses a floating point literal from the given ASCII bytes, which avoids the creation of intermediate strings for
+	 * the common case of decimal literals with up to 19 digits. All other cases (e.g., NaN, Infinity, more digits, or
+	 * invalid syntax) are delegated to Double.parseDouble.
+	 * 
+	 * @param buf      The byte buffer
+	 * @param offset   The start index (inclusive)
+	 * @param endIndex The end index (exclusive)
+	 * @return The parsed double value
+	 */
+	public static double parseFloatingPointLiteral(byte[] buf, int offset, int endIndex) {
+		int index = offset;
+		// Parse optional sign
+		final boolean isNegative = buf[index] == '-';
+		if(isNegative || buf[index] == '+')
+			index++;
+
+		// Parse significand and position of decimal point
+		long significand = 0;
+		int digitCount = 0;
+		int exponent = 0;
+		boolean hasPoint = false;
+		for(; index < endIndex; index++) {
+			final byte ch = buf[index];
+			if(ch >= '0' && ch <= '9') {
+				significand = 10 * significand + ch - '0';
+				digitCount++;
+				exponent -= hasPoint ? 1 : 0;
+			}
+			else if(ch == '.' && !hasPoint)
+				hasPoint = true;
+			else
+				break;
+		}
+
+		// Parse optional exponent
+		boolean valid = digitCount > 0 && digitCount <= 19;
+		if(index < endIndex && (buf[index] | 0x20) == 'e') {
+			index++;
+			final boolean isExponentNegative = index < endIndex && buf[index] == '-';
+			if(isExponentNegative || (index < endIndex && buf[index] == '+'))
+				index++;
+			int expNumber = 0;
+			final int expStart = index;
+			for(; index < endIndex && buf[index] >= '0' && buf[index] <= '9'; index++)
+				if(expNumber < MAX_EXPONENT_NUMBER) // Guard against overflow
+					expNumber = 10 * expNumber + buf[index] - '0';
+			valid &= index > expStart;
+			exponent += isExponentNegative ? -expNumber : expNumber;
+		}
+
+		final double val = (valid && index == endIndex) ? //
+			tryDecFloatToDoubleTruncated(significand, exponent, false, 0) : Double.NaN;
+		if(Double.isNaN(val))
+			return Double.parseDouble(new String(buf, offset, endIndex - offset, StandardCharsets.US_ASCII));
+		return isNegative ? -val : val;
+	}
+
 	private static void illegal() {
 		throw new NumberFormatException("illegal syntax");
 	}
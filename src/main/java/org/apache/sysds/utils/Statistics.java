@@ -27,6 +27,10 @@ import org.apache.sysds.hops.OptimizerUtils;
 import org.apache.sysds.hops.fedplanner.FederatedCompilationTimer;
 import org.apache.sysds.runtime.controlprogram.caching.CacheStatistics;
 import org.apache.sysds.runtime.controlprogram.caching.CacheableData;
+import org.apache.sysds.runtime.controlprogram.caching.MemoryGovernor;
+import org.apache.sysds.runtime.controlprogram.caching.OffHeapBuffer;
+import org.apache.sysds.runtime.controlprogram.caching.PrefetchScheduler;
+import org.apache.sysds.runtime.controlprogram.caching.SpillCompression;
 import org.apache.sysds.runtime.controlprogram.context.ExecutionContext;
 import org.apache.sysds.runtime.controlprogram.federated.FederatedStatistics;
 import org.apache.sysds.runtime.instructions.Instruction;
@@ -43,6 +47,7 @@ import org.apache.sysds.utils.stats.CodegenStatistics;
 import org.apache.sysds.utils.stats.NGramBuilder;
 import org.apache.sysds.utils.stats.NativeStatistics;
 import org.apache.sysds.utils.stats.ParForStatistics;
+import org.apache.sysds.utils.stats.ThreadPoolStatistics;
 import org.apache.sysds.utils.stats.ParamServStatistics;
 import org.apache.sysds.utils.stats.RecompileStatistics;
 import org.apache.sysds.utils.stats.SparkStatistics;
@@ -348,6 +353,7 @@ public class Statistics
 
 		CodegenStatistics.reset();
 		ParForStatistics.reset();
+		ThreadPoolStatistics.reset();
 		ParamServStatistics.reset();
 		SparkStatistics.reset();
 		TransformStatistics.reset();
@@ -1058,6 +1064,14 @@ public class Statistics
 			sb.append("Cache hits (Mem/Li/WB/FS/HDFS):\t" + CacheStatistics.displayHits() + ".\n");
 			sb.append("Cache writes (Li/WB/FS/HDFS):\t" + CacheStatistics.displayWrites() + ".\n");
 			sb.append("Cache times (ACQr/m, RLS, EXP):\t" + CacheStatistics.displayTime() + " sec.\n");
+			if (OffHeapBuffer.isEnabled())
+				sb.append("Cache off-heap (Hit/Wr/MB):\t" + CacheStatistics.displayOffHeap() + ".\n");
+			if (PrefetchScheduler.isEnabled())
+				sb.append("Cache prefetch (Rst/Hit/Late):\t" + CacheStatistics.displayPrefetch() + ".\n");
+			if (SpillCompression.isEnabled())
+				sb.append("Cache spill compr (Blk/MB/Ct/Dt):\t" + CacheStatistics.displaySpillCompression() + " sec.\n");
+			if (MemoryGovernor.isEnabled())
+				sb.append("Cache mem gov (Prs/Ev/Fct/Est):\t" + CacheStatistics.displayMemoryGovernor() + ".\n");
 			if (DMLScript.JMLC_MEM_STATISTICS)
 				sb.append("Max size of live objects:\t" + byteCountToDisplaySize(getSizeofPinnedObjects()) + " ("  + getNumPinnedObjects() + " total objects)" + "\n");
 
@@ -1096,6 +1110,7 @@ public class Statistics
 			sb.append(ParamServStatistics.displayStatistics());
 
 			sb.append(ParForStatistics.displayStatistics());
+			sb.append(ThreadPoolStatistics.displayStatistics());
 
 			sb.append(FederatedStatistics.displayFedIOExecStatistics());
 			sb.append(FederatedStatistics.displayFedWorkerStats());
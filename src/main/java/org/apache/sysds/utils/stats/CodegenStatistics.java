@@ -35,6 +35,9 @@ public class CodegenStatistics {
 	private static final LongAdder opCacheTotal = new LongAdder(); //count
 	private static final LongAdder planCacheHits = new LongAdder(); //count
 	private static final LongAdder planCacheTotal = new LongAdder(); //count
+	private static final LongAdder classCacheHits = new LongAdder(); //count
+	private static final LongAdder classCacheMisses = new LongAdder(); //count
+	private static final LongAdder classCacheTime = new LongAdder(); //in nano
 
 
 	public static void incrementDAGCompile() {
@@ -86,6 +89,15 @@ public class CodegenStatistics {
 		planCacheTotal.increment();
 	}
 
+	public static void incrementClassCacheHits(long delta) {
+		classCacheHits.increment();
+		classCacheTime.add(delta);
+	}
+
+	public static void incrementClassCacheMisses() {
+		classCacheMisses.increment();
+	}
+
 	public static long getDAGCompile() {
 		return hopCompile.longValue();
 	}
@@ -138,6 +150,18 @@ public class CodegenStatistics {
 		return planCacheTotal.longValue();
 	}
 
+	public static long getClassCacheHits() {
+		return classCacheHits.longValue();
+	}
+
+	public static long getClassCacheMisses() {
+		return classCacheMisses.longValue();
+	}
+
+	public static long getClassCacheTime() {
+		return classCacheTime.longValue();
+	}
+
 	public static void reset() {
 		hopCompile.reset();
 		cPlanCompile.reset();
@@ -152,6 +176,9 @@ public class CodegenStatistics {
 		opCacheTotal.reset();
 		planCacheHits.reset();
 		planCacheTotal.reset();
+		classCacheHits.reset();
+		classCacheMisses.reset();
+		classCacheTime.reset();
 	}
 
 	public static String displayStatistics() {
@@ -164,6 +191,10 @@ public class CodegenStatistics {
 				String.format("%.3f", (double)getClassCompileTime()/1000000000)  + " sec.\n");
 		sb.append("Codegen enum plan cache hits:\t" + getPlanCacheHits() + "/" + getPlanCacheTotal() + ".\n");
 		sb.append("Codegen op plan cache hits:\t" + getOpCacheHits() + "/" + getOpCacheTotal() + ".\n");
+		if( getClassCacheHits() + getClassCacheMisses() > 0 )
+			sb.append("Codegen class cache hits:\t" + getClassCacheHits() + "/"
+				+ (getClassCacheHits() + getClassCacheMisses()) + " (" 
+				+ String.format("%.3f", (double)getClassCacheTime()/1000000000) + " sec).\n");
 		return sb.toString();
 	}
 }
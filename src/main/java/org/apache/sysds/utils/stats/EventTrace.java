@@ -0,0 +1,366 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysds.utils.stats;
+
+import java.io.BufferedWriter;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.apache.sysds.runtime.controlprogram.caching.CacheableData;
+import org.apache.sysds.runtime.controlprogram.caching.FrameObject;
+import org.apache.sysds.runtime.controlprogram.caching.MatrixObject;
+import org.apache.sysds.runtime.controlprogram.context.ExecutionContext;
+import org.apache.sysds.runtime.instructions.Instruction;
+import org.apache.sysds.runtime.instructions.cp.CPOperand;
+import org.apache.sysds.runtime.instructions.cp.ComputationCPInstruction;
+import org.apache.sysds.runtime.instructions.cp.Data;
+import org.apache.sysds.runtime.instructions.fed.ComputationFEDInstruction;
+import org.apache.sysds.runtime.instructions.gpu.GPUInstruction;
+import org.apache.sysds.runtime.instructions.spark.ComputationSPInstruction;
+import org.apache.sysds.runtime.matrix.data.MatrixBlock;
+import org.apache.sysds.runtime.meta.DataCharacteristics;
+
+/**
+ * Opt-in structured event trace of the runtime, which records per-instruction events
+ * (CP, Spark, GPU, federated, incl. instructions of parfor and paramserv workers) with
+ * thread ID, input/output sizes and formats, as well as nested events of buffer pool
+ * actions (restore, read, evict) and federated requests. In contrast to the aggregated
+ * heavy hitters in Statistics, the trace shows overlap between parallel operations.
+ * 
+ * Events are appended to unsynchronized thread-local buffers (bounded by MAX_EVENTS in
+ * total) and written on finish as a Chrome trace JSON file (chrome://tracing, Perfetto).
+ */
+public class EventTrace {
+	private static final Log LOG = LogFactory.getLog(EventTrace.class.getName());
+
+	public static final String CAT_CACHE = "CACHE";
+	public static final String CAT_FED = "FED";
+	public static final String CAT_PS = "PS";
+
+	/** Maximum number of recorded events, further events are dropped. */
+	public static long MAX_EVENTS = 4L * 1024 * 1024;
+
+	private static volatile boolean _enabled = false;
+	private static String _fname = null;
+	private static long _start = 0;
+	private static int _epoch = 0;
+	private static boolean _hook = false;
+	private static final AtomicLong _numEvents = new AtomicLong(0);
+	private static final AtomicLong _numDropped = new AtomicLong(0);
+	private static final ConcurrentLinkedQueue<ThreadBuffer> _buffers = new ConcurrentLinkedQueue<>();
+	private static final ThreadLocal<ThreadBuffer> _tbuff = new ThreadLocal<>();
+
+	private EventTrace() {
+		// static utility
+	}
+
+	/**
+	 * Starts a new trace, which is written to the given file on finish or JVM shutdown.
+	 * 
+	 * @param fname local file name of the Chrome trace, null to disable tracing
+	 */
+	public static synchronized void init(String fname) {
+		if( fname == null )
+			return;
+		_buffers.clear();
+		_numEvents.set(0);
+		_numDropped.set(0);
+		_fname = fname;
+		_start = System.nanoTime();
+		_epoch++;
+		_enabled = true;
+		if( !_hook ) { //write pending traces of long-running processes (e.g., fed workers)
+			Runtime.getRuntime().addShutdownHook(new Thread(EventTrace::finish));
+			_hook = true;
+		}
+	}
+
+	public static boolean isEnabled() {
+		return _enabled;
+	}
+
+	/**
+	 * Returns the start time of an event, to be passed to the end of the event.
+	 * 
+	 * @return start time in nano seconds, or 0 if disabled
+	 */
+	public static long begin() {
+		return _enabled ? System.nanoTime() : 0;
+	}
+
+	/**
+	 * Records an event from the given start time until now.
+	 * 
+	 * @param name event name
+	 * @param cat  event category
+	 * @param t0   start time obtained via begin()
+	 * @param args optional event arguments as JSON object, or null
+	 */
+	public static void end(String name, String cat, long t0, String args) {
+		if( !_enabled || t0 == 0 )
+			return;
+		long t1 = System.nanoTime();
+		if( _numEvents.incrementAndGet() > MAX_EVENTS ) {
+			_numDropped.incrementAndGet();
+			return;
+		}
+		getBuffer().add(name, cat, t0 - _start, t1 - t0, args);
+	}
+
+	/**
+	 * Records an event from the given start time until now with a single numeric argument.
+	 * 
+	 * @param name event name
+	 * @param cat  event category
+	 * @param t0   start time obtained via begin()
+	 * @param key  argument name
+	 * @param val  argument value
+	 */
+	public static void end(String name, String cat, long t0, String key, long val) {
+		if( !_enabled || t0 == 0 )
+			return;
+		end(name, cat, t0, "{\"" + key + "\":" + val + "}");
+	}
+
+	/**
+	 * Records an instruction event from the given start time until now, including
+	 * the sizes and formats of its matrix and frame operands.
+	 * 
+	 * @param inst executed instruction
+	 * @param ec   execution context
+	 * @param t0   start time obtained via begin()
+	 */
+	public static void instruction(Instruction inst, ExecutionContext ec, long t0) {
+		if( !_enabled || t0 == 0 )
+			return;
+		end(inst.getExtendedOpcode(), getCategory(inst), t0, getOperandArgs(inst, ec));
+	}
+
+	/**
+	 * Records a buffer pool action (e.g., restore, read, evict) of the given data object.
+	 * 
+	 * @param action name of the cache action
+	 * @param cd     cacheable data object
+	 * @param t0     start time obtained via begin()
+	 */
+	public static void cache(String action, CacheableData<?> cd, long t0) {
+		if( !_enabled || t0 == 0 )
+			return;
+		end(action, CAT_CACHE, t0, "{\"data\":\"" + getDataInfo(cd) + "\"}");
+	}
+
+	/**
+	 * Stops tracing and writes all recorded events to the trace file.
+	 */
+	public static synchronized void finish() {
+		if( !_enabled )
+			return;
+		_enabled = false;
+		try( Writer out = new BufferedWriter(new FileWriter(_fname)) ) {
+			writeTrace(out);
+			LOG.info("Wrote event trace with " + Math.min(_numEvents.get(), MAX_EVENTS) + " events to " + _fname);
+		}
+		catch(IOException ex) {
+			LOG.error("Failed to write event trace to " + _fname, ex);
+		}
+		finally {
+			_buffers.clear();
+		}
+	}
+
+	public static long getNumEvents() {
+		return Math.min(_numEvents.get(), MAX_EVENTS);
+	}
+
+	public static long getNumDropped() {
+		return _numDropped.get();
+	}
+
+	private static ThreadBuffer getBuffer() {
+		ThreadBuffer buff = _tbuff.get();
+		if( buff == null || buff.epoch != _epoch ) {
+			buff = new ThreadBuffer(Thread.currentThread(), _epoch);
+			_tbuff.set(buff);
+			_buffers.add(buff);
+		}
+		return buff;
+	}
+
+	private static String getCategory(Instruction inst) {
+		switch( inst.getType() ) {
+			case CONTROL_PROGRAM: return "CP";
+			case SPARK:           return "SPARK";
+			case GPU:             return "GPU";
+			case FEDERATED:       return CAT_FED;
+			default:              return inst.getType().name();
+		}
+	}
+
+	private static String getOperandArgs(Instruction inst, ExecutionContext ec) {
+		CPOperand[] inputs = null;
+		CPOperand output = null;
+		if( inst instanceof ComputationCPInstruction ) {
+			inputs = ((ComputationCPInstruction) inst).getInputs();
+			output = ((ComputationCPInstruction) inst).getOutput();
+		}
+		else if( inst instanceof ComputationSPInstruction ) {
+			ComputationSPInstruction spinst = (ComputationSPInstruction) inst;
+			inputs = new CPOperand[] {spinst.input1, spinst.input2, spinst.input3};
+			output = spinst.output;
+		}
+		else if( inst instanceof ComputationFEDInstruction ) {
+			ComputationFEDInstruction finst = (ComputationFEDInstruction) inst;
+			inputs = new CPOperand[] {finst.input1, finst.input2, finst.input3};
+			output = finst.output;
+		}
+		else if( inst instanceof GPUInstruction ) {
+			GPUInstruction ginst = (GPUInstruction) inst;
+			inputs = new CPOperand[] {ginst._input1, ginst._input2};
+			output = ginst._output;
+		}
+		if( inputs == null )
+			return null;
+
+		StringBuilder sb = new StringBuilder("{\"in\":[");
+		boolean first = true;
+		for( CPOperand in : inputs ) {
+			String info = getOperandInfo(in, ec);
+			if( info == null )
+				continue;
+			sb.append(first ? "\"" : ",\"").append(info).append("\"");
+			first = false;
+		}
+		sb.append("]");
+		String oinfo = getOperandInfo(output, ec);
+		if( oinfo != null )
+			sb.append(",\"out\":\"").append(oinfo).append("\"");
+		sb.append("}");
+		return sb.toString();
+	}
+
+	private static String getOperandInfo(CPOperand op, ExecutionContext ec) {
+		if( op == null || op.isLiteral() || op.getName() == null )
+			return null;
+		Data dat = ec.getVariable(op.getName());
+		return (dat instanceof CacheableData) ?
+			escape(op.getName()) + " " + getDataInfo((CacheableData<?>) dat) : null;
+	}
+
+	private static String getDataInfo(CacheableData<?> cd) {
+		DataCharacteristics dc = cd.getDataCharacteristics();
+		String fmt = (cd instanceof FrameObject) ? "frame" :
+			(cd instanceof MatrixObject && ((MatrixObject) cd).isCompressed()) ? "compressed" :
+			!dc.nnzKnown() ? "unknown" : MatrixBlock.evalSparseFormatInMemory(dc) ? "sparse" : "dense";
+		return dc.getRows() + "x" + dc.getCols() + " nnz=" + dc.getNonZeros() + " " + fmt;
+	}
+
+	private static String escape(String str) {
+		return (str.indexOf('"') < 0 && str.indexOf('\\') < 0) ? str :
+			str.replace("\\", "\\\\").replace("\"", "\\\"");
+	}
+
+	private static void writeTrace(Writer out) throws IOException {
+		List<ThreadBuffer> buffers = new ArrayList<>(_buffers);
+		StringBuilder sb = new StringBuilder();
+		out.write("{\"traceEvents\":[\n");
+		boolean first = true;
+		for( ThreadBuffer buff : buffers ) {
+			//thread meta data
+			sb.append(first ? "" : ",\n");
+			sb.append("{\"name\":\"thread_name\",\"ph\":\"M\",\"pid\":1,\"tid\":").append(buff.tid);
+			sb.append(",\"args\":{\"name\":\"").append(escape(buff.tname)).append("\"}}");
+			first = false;
+			//recorded events
+			int len = buff.size;
+			for( int i = 0; i < len; i++ ) {
+				sb.append(",\n{\"name\":\"").append(escape(buff.names[i]));
+				sb.append("\",\"cat\":\"").append(buff.cats[i]);
+				sb.append("\",\"ph\":\"X\",\"ts\":");
+				appendMicros(sb, buff.ts[i]);
+				sb.append(",\"dur\":");
+				appendMicros(sb, buff.dur[i]);
+				sb.append(",\"pid\":1,\"tid\":").append(buff.tid);
+				if( buff.args[i] != null )
+					sb.append(",\"args\":").append(buff.args[i]);
+				sb.append("}");
+				if( sb.length() > 64 * 1024 ) {
+					out.write(sb.toString());
+					sb.setLength(0);
+				}
+			}
+		}
+		sb.append("\n],\"displayTimeUnit\":\"ms\",\"otherData\":{\"dropped\":");
+		sb.append(_numDropped.get()).append("}}\n");
+		out.write(sb.toString());
+	}
+
+	private static void appendMicros(StringBuilder sb, long nanos) {
+		//locale-independent micro seconds with three fractional digits
+		long frac = nanos % 1000;
+		sb.append(nanos / 1000).append('.');
+		if( frac < 100 )
+			sb.append(frac < 10 ? "00" : "0");
+		sb.append(frac);
+	}
+
+	private static class ThreadBuffer {
+		private final long tid;
+		private final String tname;
+		private final int epoch;
+		private volatile int size = 0;
+		private String[] names = new String[256];
+		private String[] cats = new String[256];
+		private String[] args = new String[256];
+		private long[] ts = new long[256];
+		private long[] dur = new long[256];
+
+		private ThreadBuffer(Thread thread, int epoch) {
+			this.tid = thread.getId();
+			this.tname = thread.getName();
+			this.epoch = epoch;
+		}
+
+		private void add(String name, String cat, long t, long d, String arg) {
+			int pos = size;
+			if( pos == names.length ) {
+				int len = pos * 2;
+				names = Arrays.copyOf(names, len);
+				cats = Arrays.copyOf(cats, len);
+				args = Arrays.copyOf(args, len);
+				ts = Arrays.copyOf(ts, len);
+				dur = Arrays.copyOf(dur, len);
+			}
+			names[pos] = name;
+			cats[pos] = cat;
+			args[pos] = arg;
+			ts[pos] = t;
+			dur[pos] = d;
+			size = pos + 1;
+		}
+	}
+}
@@ -34,6 +34,14 @@ public class ParamServStatistics {
 	private static final LongAdder batchIndexTime = new LongAdder();
 	private static final LongAdder rpcRequestTime = new LongAdder();
 	private static final LongAdder validationTime = new LongAdder();
+	// Sharded accumulation specifics (time is in milli sec)
+	private static final LongAdder shardedPushes = new LongAdder();
+	private static final LongAdder shardedCells = new LongAdder();
+	private static final LongAdder shardedAccTime = new LongAdder();
+	private static final LongAdder shardLockWaits = new LongAdder();
+	// Gradient compression specifics (sizes in bytes)
+	private static final LongAdder gradRawBytes = new LongAdder();
+	private static final LongAdder gradCompressedBytes = new LongAdder();
 	// Federated parameter server specifics (time is in milli sec)
 	private static final LongAdder fedDataPartitioningTime = new LongAdder();
 	private static final LongAdder fedWorkerComputingTime = new LongAdder();
@@ -104,6 +112,32 @@ public class ParamServStatistics {
 		validationTime.add(t);
 	}
 
+	public static void incShardedPushes(long cells) {
+		shardedPushes.increment();
+		shardedCells.add(cells);
+	}
+
+	public static long getShardedPushes() {
+		return shardedPushes.longValue();
+	}
+
+	public static void accShardedAccTime(long t) {
+		shardedAccTime.add(t);
+	}
+
+	public static void incShardLockWaits() {
+		shardLockWaits.increment();
+	}
+
+	public static void accGradientCompression(long rawBytes, long compressedBytes) {
+		gradRawBytes.add(rawBytes);
+		gradCompressedBytes.add(compressedBytes);
+	}
+
+	public static long getGradientCompressedBytes() {
+		return gradCompressedBytes.longValue();
+	}
+
 	public static long getFedDataPartitioningTime() {
 		return fedDataPartitioningTime.longValue();
 	}
@@ -159,6 +193,12 @@ public class ParamServStatistics {
 		batchIndexTime.reset();
 		rpcRequestTime.reset();
 		validationTime.reset();
+		shardedPushes.reset();
+		shardedCells.reset();
+		shardedAccTime.reset();
+		shardLockWaits.reset();
+		gradRawBytes.reset();
+		gradCompressedBytes.reset();
 		fedDataPartitioningTime.reset();
 		fedWorkerComputingTime.reset();
 		fedGradientWeightingTime.reset();
@@ -189,13 +229,30 @@ public class ParamServStatistics {
 				sb.append(String.format("Paramserv model broadcast time:\t%.3f secs.\n", modelBroadcastTime.doubleValue() / 1000));
 				sb.append(String.format("Paramserv batch slice time:\t%.3f secs.\n", batchIndexTime.doubleValue() / 1000));
 				sb.append(String.format("Paramserv RPC request time:\t%.3f secs.\n", rpcRequestTime.doubleValue() / 1000));
+				if(shardedPushes.longValue() > 0)
+					sb.append(displayShardedStatistics());
 			}
+			if(gradCompressedBytes.longValue() > 0)
+				sb.append(String.format("Paramserv grad compression:\t%.3f/%.3f MB (%.1fx).\n",
+					gradCompressedBytes.doubleValue() / 1024 / 1024, gradRawBytes.doubleValue() / 1024 / 1024,
+					gradRawBytes.doubleValue() / gradCompressedBytes.doubleValue()));
 			sb.append(String.format("Paramserv valdiation time:\t%.3f secs.\n", validationTime.doubleValue() / 1000));
 			return sb.toString();
 		}
 		return "";
 	}
 
+	private static String displayShardedStatistics() {
+		StringBuilder sb = new StringBuilder();
+		double accTime = shardedAccTime.doubleValue() / 1000;
+		sb.append(String.format("Paramserv sharded acc time:\t%.3f secs (%d pushes, %d waits).\n",
+			accTime, shardedPushes.longValue(), shardLockWaits.longValue()));
+		if(accTime > 0)
+			sb.append(String.format("Paramserv sharded throughput:\t%.1f pushes/s, %.1f MB/s.\n",
+				shardedPushes.doubleValue() / accTime, shardedCells.doubleValue() * 8 / 1024 / 1024 / accTime));
+		return sb.toString();
+	}
+
 	private static String displayFedPSStatistics() {
 		StringBuilder sb = new StringBuilder();
 		sb.append(String.format("PS fed data partitioning time:\t%.3f secs.\n", fedDataPartitioningTime.doubleValue() / 1000));
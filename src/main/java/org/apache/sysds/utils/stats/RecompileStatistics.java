@@ -26,6 +26,10 @@ public class RecompileStatistics {
 	private static final LongAdder recompileTime = new LongAdder(); //in nano sec
 	private static final LongAdder recompilePred = new LongAdder(); //count
 	private static final LongAdder recompileSB = new LongAdder();   //count
+	private static final LongAdder instGenTime = new LongAdder();   //in nano sec
+	private static final LongAdder planCacheHits = new LongAdder(); //count
+	private static final LongAdder planCacheMisses = new LongAdder(); //count
+	private static final LongAdder planCacheTime = new LongAdder(); //in nano sec
 
 
 	public static void incrementRecompileTime( long delta ) {
@@ -48,6 +52,19 @@ public class RecompileStatistics {
 		recompileSB.add(delta);
 	}
 
+	public static void incrementInstGenTime( long delta ) {
+		instGenTime.add(delta);
+	}
+
+	public static void incrementPlanCacheHits(long delta) {
+		planCacheHits.increment();
+		planCacheTime.add(delta);
+	}
+
+	public static void incrementPlanCacheMisses() {
+		planCacheMisses.increment();
+	}
+
 	public static long getRecompileTime(){
 		return recompileTime.longValue();
 	}
@@ -60,16 +77,41 @@ public class RecompileStatistics {
 		return recompileSB.longValue();
 	}
 
+	public static long getInstGenTime(){
+		return instGenTime.longValue();
+	}
+
+	public static long getPlanCacheHits(){
+		return planCacheHits.longValue();
+	}
+
+	public static long getPlanCacheMisses(){
+		return planCacheMisses.longValue();
+	}
+
+	public static long getPlanCacheTime(){
+		return planCacheTime.longValue();
+	}
+
 	public static void reset() {
 		recompileTime.reset();
 		recompilePred.reset();
 		recompileSB.reset();
+		instGenTime.reset();
+		planCacheHits.reset();
+		planCacheMisses.reset();
+		planCacheTime.reset();
 	}
 
 	public static String displayStatistics() {
 		StringBuilder sb = new StringBuilder();
 		sb.append("HOP DAGs recompiled (PRED, SB):\t" + getRecompiledPredDAGs() + "/" + getRecompiledSBDAGs() + ".\n");
 		sb.append("HOP DAGs recompile time:\t" + String.format("%.3f", ((double)getRecompileTime())/1000000000) + " sec.\n");
+		sb.append("HOP DAGs inst gen time:\t" + String.format("%.3f", ((double)getInstGenTime())/1000000000) + " sec.\n");
+		if( getPlanCacheHits() + getPlanCacheMisses() > 0 )
+			sb.append("Plan cache hits:\t\t" + getPlanCacheHits() + "/"
+				+ (getPlanCacheHits() + getPlanCacheMisses()) + " ("
+				+ String.format("%.3f", ((double)getPlanCacheTime())/1000000000) + " sec).\n");
 		return sb.toString();
 	}
 }
@@ -0,0 +1,104 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.sysds.utils.stats;
+
+import java.util.Map.Entry;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+public class ThreadPoolStatistics {
+	//core budget of nested parallel operations
+	private static final LongAdder budgetPartial = new LongAdder(); //count
+	private static final LongAdder budgetDenied = new LongAdder(); //count
+	
+	//per-operation stats of parallel range loops
+	private static final ConcurrentHashMap<String, OpStats> opStats = new ConcurrentHashMap<>();
+
+	public static void incrementBudgetDenied(boolean partial) {
+		if( partial )
+			budgetPartial.increment();
+		else
+			budgetDenied.increment();
+	}
+
+	/**
+	 * Maintains the statistics of a parallel operation.
+	 * 
+	 * @param opName operation name
+	 * @param tasks number of executed tasks
+	 * @param busy aggregated task execution time in nano seconds
+	 * @param capacity wall time times granted parallelism in nano seconds
+	 * @param steals number of observed work steals
+	 */
+	public static void incrementOp(String opName, long tasks, long busy, long capacity, long steals) {
+		OpStats stats = opStats.computeIfAbsent(opName, n -> new OpStats());
+		stats.calls.increment();
+		stats.tasks.add(tasks);
+		stats.busy.add(busy);
+		stats.idle.add(Math.max(capacity - busy, 0));
+		stats.steals.add(steals);
+	}
+
+	public static long getBudgetPartial() {
+		return budgetPartial.longValue();
+	}
+
+	public static long getBudgetDenied() {
+		return budgetDenied.longValue();
+	}
+
+	public static long getOpCalls(String opName) {
+		OpStats stats = opStats.get(opName);
+		return (stats != null) ? stats.calls.longValue() : 0;
+	}
+
+	public static long getOpTasks(String opName) {
+		OpStats stats = opStats.get(opName);
+		return (stats != null) ? stats.tasks.longValue() : 0;
+	}
+
+	public static void reset() {
+		budgetPartial.reset();
+		budgetDenied.reset();
+		opStats.clear();
+	}
+
+	public static String displayStatistics() {
+		if( opStats.isEmpty() && getBudgetPartial() + getBudgetDenied() == 0 )
+			return "";
+		StringBuilder sb = new StringBuilder();
+		sb.append("Core budget (partial/denied):\t" + getBudgetPartial() + "/" + getBudgetDenied() + ".\n");
+		for( Entry<String, OpStats> e : new TreeMap<>(opStats).entrySet() ) {
+			OpStats s = e.getValue();
+			sb.append("ParOp " + e.getKey() + " (call/task/steal):\t" + s.calls.longValue() + "/"
+				+ s.tasks.longValue() + "/" + s.steals.longValue() + ", busy/idle "
+				+ String.format("%.3f/%.3f", s.busy.doubleValue()/1e9, s.idle.doubleValue()/1e9) + " sec.\n");
+		}
+		return sb.toString();
+	}
+
+	private static class OpStats {
+		private final LongAdder calls = new LongAdder();
+		private final LongAdder tasks = new LongAdder();
+		private final LongAdder busy = new LongAdder(); //in nano
+		private final LongAdder idle = new LongAdder(); //in nano
+		private final LongAdder steals = new LongAdder();
+	}
+}
@@ -0,0 +1,97 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.sysds.runtime.matrix.data;
+
+import jdk.incubator.vector.DoubleVector;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * Dense primitives based on the JDK Vector API (jdk.incubator.vector), which is
+ * compiled into the multi-release layer of the jar by the vector-api profile and
+ * selected at startup via {@link DenseVectorKernels#get()}.
+ * 
+ * Element-wise primitives use separate multiply and add (no fma) in order to
+ * produce the same results as the scalar primitives. The dot product accumulates
+ * per lane and reduces the lanes at the end, and thus, its result may differ from
+ * the scalar primitive in floating-point rounding.
+ */
+public class DenseVectorKernelsVectorAPI implements DenseVectorKernels
+{
+	private static final VectorSpecies<Double> SPECIES = DoubleVector.SPECIES_PREFERRED;
+	
+	@Override
+	public double dotProduct(double[] a, double[] b, int ai, int bi, int len) {
+		final int vlen = SPECIES.loopBound(len);
+		DoubleVector acc = DoubleVector.zero(SPECIES);
+		int j = 0;
+		for( ; j < vlen; j += SPECIES.length() ) {
+			DoubleVector av = DoubleVector.fromArray(SPECIES, a, ai+j);
+			DoubleVector bv = DoubleVector.fromArray(SPECIES, b, bi+j);
+			acc = acc.add(av.mul(bv));
+		}
+		double val = acc.reduceLanes(VectorOperators.ADD);
+		//compute rest
+		for( ; j < len; j++ )
+			val += a[ai+j] * b[bi+j];
+		return val;
+	}
+	
+	@Override
+	public void vectMultiplyAdd(double aval, double[] b, double[] c, int bi, int ci, int len) {
+		final int vlen = SPECIES.loopBound(len);
+		int j = 0;
+		for( ; j < vlen; j += SPECIES.length() ) {
+			DoubleVector bv = DoubleVector.fromArray(SPECIES, b, bi+j);
+			DoubleVector cv = DoubleVector.fromArray(SPECIES, c, ci+j);
+			bv.mul(aval).add(cv).intoArray(c, ci+j);
+		}
+		//compute rest
+		for( ; j < len; j++ )
+			c[ci+j] += aval * b[bi+j];
+	}
+	
+	@Override
+	public void vectMultiplyWrite(double[] a, double[] b, double[] c, int ai, int bi, int ci, int len) {
+		final int vlen = SPECIES.loopBound(len);
+		int j = 0;
+		for( ; j < vlen; j += SPECIES.length() ) {
+			DoubleVector av = DoubleVector.fromArray(SPECIES, a, ai+j);
+			DoubleVector bv = DoubleVector.fromArray(SPECIES, b, bi+j);
+			av.mul(bv).intoArray(c, ci+j);
+		}
+		//compute rest
+		for( ; j < len; j++ )
+			c[ci+j] = a[ai+j] * b[bi+j];
+	}
+	
+	@Override
+	public void vectAdd(double[] a, double[] c, int ai, int ci, int len) {
+		final int vlen = SPECIES.loopBound(len);
+		int j = 0;
+		for( ; j < vlen; j += SPECIES.length() ) {
+			DoubleVector av = DoubleVector.fromArray(SPECIES, a, ai+j);
+			DoubleVector cv = DoubleVector.fromArray(SPECIES, c, ci+j);
+			cv.add(av).intoArray(c, ci+j);
+		}
+		//compute rest
+		for( ; j < len; j++ )
+			c[ci+j] += a[ai+j];
+	}
+}
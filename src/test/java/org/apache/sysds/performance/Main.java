@@ -30,6 +30,11 @@ import org.apache.sysds.performance.generators.FrameTransformFile;
 import org.apache.sysds.performance.generators.GenMatrices;
 import org.apache.sysds.performance.generators.IGenerate;
 import org.apache.sysds.performance.generators.MatrixFile;
+import org.apache.sysds.performance.io.BinaryBlockReadPerf;
+import org.apache.sysds.performance.io.CSVReadPerf;
+import org.apache.sysds.performance.jmlc.PreparedScriptLatency;
+import org.apache.sysds.performance.lineage.LineageCachePerf;
+import org.apache.sysds.performance.matrix.DenseVectorKernelsPerf;
 import org.apache.sysds.performance.matrix.MatrixBinaryCellPerf;
 import org.apache.sysds.performance.matrix.MatrixMulPerformance;
 import org.apache.sysds.performance.matrix.MatrixReplacePerf;
@@ -110,6 +115,24 @@ public class Main {
 			case 17: 
 				run17(args);
 				break;
+			case 18:
+				run18(args);
+				break;
+			case 19:
+				run19(args);
+				break;
+			case 20:
+				run20(args);
+				break;
+			case 21:
+				run21(args);
+				break;
+			case 22:
+				run22(args);
+				break;
+			case 23:
+				run23(args);
+				break;
 			case 1000:
 				run1000(args);
 				break;
@@ -226,6 +249,52 @@ public class Main {
 		new MatrixReplacePerf(100, g, k).run();
 	}
 
+	private static void run18(String[] args) throws Exception {
+		int k = Integer.parseInt(args[1]);
+		int n = Integer.parseInt(args[2]);
+		int items = Integer.parseInt(args[3]);
+		int probes = Integer.parseInt(args[4]);
+		new LineageCachePerf(n, k, items, probes).run();
+	}
+
+	private static void run19(String[] args) throws Exception {
+		int n = Integer.parseInt(args[1]);
+		int rows = Integer.parseInt(args[2]);
+		int cols = Integer.parseInt(args[3]);
+		new PreparedScriptLatency(n, rows, cols).run();
+	}
+
+	private static void run20(String[] args) throws Exception {
+		int n = Integer.parseInt(args[1]);
+		int rows = Integer.parseInt(args[2]);
+		int cols = Integer.parseInt(args[3]);
+		double sparsity = Double.parseDouble(args[4]);
+		new BinaryBlockReadPerf(n, rows, cols, sparsity).run();
+	}
+
+	private static void run21(String[] args) throws Exception {
+		int n = Integer.parseInt(args[1]);
+		int len = Integer.parseInt(args[2]);
+		new DenseVectorKernelsPerf(n, len).run();
+	}
+
+	private static void run22(String[] args) throws Exception {
+		int n = Integer.parseInt(args[1]);
+		int rows = Integer.parseInt(args[2]);
+		int cols = Integer.parseInt(args[3]);
+		double sparsity = Double.parseDouble(args[4]);
+		new CSVReadPerf(n, rows, cols, sparsity).run();
+	}
+
+	private static void run23(String[] args) throws Exception {
+		int n = Integer.parseInt(args[1]);
+		int rows = Integer.parseInt(args[2]);
+		int cols = Integer.parseInt(args[3]);
+		int unique = Integer.parseInt(args[4]);
+		int k = Integer.parseInt(args[5]);
+		new StreamCompress(n, new GenMatrices(rows, cols, unique, 1.0), k).runAppend();
+	}
+
 	private static void run1000(String[] args) {
 		MatrixMulPerformance perf;
 		if (args.length < 3) {
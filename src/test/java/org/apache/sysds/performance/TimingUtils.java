@@ -130,6 +130,24 @@ public interface TimingUtils {
 		}
 	}
 
+	/**
+	 * Calculate the latency percentiles (p50, p99) of the times observed, which is more meaningful than the mean for
+	 * latency-sensitive workloads with long-tail outliers.
+	 * 
+	 * @param v The times observed
+	 * @return The percentile string.
+	 */
+	public static String statsPercentiles(double[] v) {
+		double[] s = Arrays.copyOf(v, v.length);
+		Arrays.sort(s);
+		return String.format("p50 %8.3f ms, p99 %8.3f ms", percentile(s, 0.5), percentile(s, 0.99));
+	}
+
+	private static double percentile(double[] sorted, double p) {
+		int ix = (int) Math.ceil(p * sorted.length) - 1;
+		return sorted[Math.max(0, Math.min(ix, sorted.length - 1))];
+	}
+
 	private static String statsMeanSTD(double[] v) {
 		final int l = v.length;
 		final int remove = (int) Math.floor(l * 0.05);
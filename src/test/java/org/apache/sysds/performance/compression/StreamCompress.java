@@ -26,13 +26,29 @@ import java.util.zip.Deflater;
 import java.util.zip.DeflaterOutputStream;
 
 import org.apache.sysds.performance.generators.IGenerate;
+import org.apache.sysds.runtime.compress.CompressedMatrixBlock;
 import org.apache.sysds.runtime.compress.CompressedMatrixBlockFactory;
+import org.apache.sysds.runtime.compress.colgroup.scheme.CompressionScheme;
 import org.apache.sysds.runtime.matrix.data.MatrixBlock;
 
 public class StreamCompress extends APerfTest<Double, MatrixBlock> {
 
+	/** The number of threads to use for the append tasks */
+	private final int k;
+
+	/** The accumulated stream of appended batches */
+	private MatrixBlock stream;
+
+	/** The scheme used to encode incoming batches in the compressed append task */
+	private CompressionScheme scheme;
+
 	public StreamCompress(int N, IGenerate<MatrixBlock> gen) {
+		this(N, gen, 1);
+	}
+
+	public StreamCompress(int N, IGenerate<MatrixBlock> gen, int k) {
 		super(N, gen);
+		this.k = k;
 	}
 
 	public void run() throws Exception, InterruptedException, IOException {
@@ -51,6 +67,25 @@ public class StreamCompress extends APerfTest<Double, MatrixBlock> {
 
 	}
 
+	/**
+	 * Append all incoming batches to one growing stream, and report the in memory size of the stream after each batch.
+	 * 
+	 * @throws Exception If the execution is interrupted
+	 */
+	public void runAppend() throws Exception {
+		System.out.println("Running Stream Append Test");
+		System.out.println(this);
+
+		warmup(() -> sumTask(), 10);
+		resetStream();
+		execute(() -> appendUncompressedTask(), "Append Uncompressed");
+		resetStream();
+		execute(() -> appendRecompressTask(), "Append Decompress Recompress");
+		resetStream();
+		execute(() -> appendCompressedTask(), "Append Compressed Scheme (CS)");
+		resetStream();
+	}
+
 	@Override
 	protected String makeResString() {
 		Double avgRes = ret.stream().mapToDouble(a -> a).average().getAsDouble();
@@ -72,6 +107,41 @@ public class StreamCompress extends APerfTest<Double, MatrixBlock> {
 
 	}
 
+	private void resetStream() {
+		stream = null;
+		scheme = null;
+	}
+
+	private void appendUncompressedTask() {
+		MatrixBlock mb = gen.take();
+		stream = stream == null ? mb : stream.append(mb, false);
+		ret.add((double) stream.getInMemorySize());
+	}
+
+	private void appendRecompressTask() {
+		MatrixBlock mb = gen.take();
+		if(stream != null) {
+			MatrixBlock prev = CompressedMatrixBlock.getUncompressed(stream);
+			mb = prev.append(mb, false);
+		}
+		stream = CompressedMatrixBlockFactory.compress(mb, k).getLeft();
+		ret.add((double) stream.getInMemorySize());
+	}
+
+	private void appendCompressedTask() {
+		MatrixBlock mb = gen.take();
+		if(stream == null) {
+			stream = CompressedMatrixBlockFactory.compress(mb, k).getLeft();
+			if(stream instanceof CompressedMatrixBlock)
+				scheme = CompressionScheme.getScheme((CompressedMatrixBlock) stream);
+		}
+		else if(scheme != null)
+			stream = scheme.updateEncodeAndAppend((CompressedMatrixBlock) stream, mb, k);
+		else // the first batch was not compressible
+			stream = stream.append(mb, false);
+		ret.add((double) stream.getInMemorySize());
+	}
+
 	private void writeStreamCompressTask() {
 
 		MatrixBlock mb = CompressedMatrixBlockFactory.compress(gen.take()).getLeft();
@@ -19,6 +19,9 @@
 
 package org.apache.sysds.performance.compression;
 
+import java.util.HashMap;
+import java.util.Map;
+
 import org.apache.sysds.performance.PerfUtil;
 import org.apache.sysds.performance.compression.Serialize.InOut;
 import org.apache.sysds.performance.generators.ConstFrame;
@@ -30,6 +33,8 @@ import org.apache.sysds.runtime.frame.data.lib.FrameLibDetectSchema;
 import org.apache.sysds.runtime.matrix.data.MatrixBlock;
 import org.apache.sysds.runtime.transform.encode.EncoderFactory;
 import org.apache.sysds.runtime.transform.encode.MultiColumnEncoder;
+import org.apache.sysds.runtime.transform.encode.RecodeMap;
+import org.apache.sysds.utils.MemoryEstimates;
 
 public class TransformPerf extends APerfTest<Serialize.InOut, FrameBlock> {
 
@@ -56,6 +61,8 @@ public class TransformPerf extends APerfTest<Serialize.InOut, FrameBlock> {
 		execute(() -> detectAndApply(k), "Detect&Apply Frame Schema");
 		execute(() -> transformEncode(k), "TransformEncode Def");
 		execute(() -> transformEncodeCompressed(k), "TransformEncode Comp");
+		execute(() -> recodeHashMap(), "Recode HashMap");
+		execute(() -> recodeRecodeMap(), "Recode RecodeMap");
 
 		updateGen();
 
@@ -75,7 +82,6 @@ public class TransformPerf extends APerfTest<Serialize.InOut, FrameBlock> {
 		}
 	}
 
-	@SuppressWarnings("unused")
 	private void detectSchema(int k) {
 		FrameBlock fb = gen.take();
 		long in = fb.getInMemorySize();
@@ -84,7 +90,6 @@ public class TransformPerf extends APerfTest<Serialize.InOut, FrameBlock> {
 		ret.add(new InOut(in, out));
 	}
 
-	@SuppressWarnings("unused")
 	private void detectAndApply(int k) {
 		FrameBlock fb = gen.take();
 		long in = fb.getInMemorySize();
@@ -94,7 +99,6 @@ public class TransformPerf extends APerfTest<Serialize.InOut, FrameBlock> {
 		ret.add(new InOut(in, outS));
 	}
 
-	@SuppressWarnings("unused")
 	private void transformEncode(int k) {
 		FrameBlock fb = gen.take();
 		long in = fb.getInMemorySize();
@@ -104,6 +108,43 @@ public class TransformPerf extends APerfTest<Serialize.InOut, FrameBlock> {
 		ret.add(new InOut(in, out));
 	}
 
+	private void recodeHashMap() {
+		// distinct-value maps of all columns, out is the estimated map size excluding keys
+		FrameBlock fb = gen.take();
+		long out = 0;
+		for(int c = 0; c < fb.getNumColumns(); c++) {
+			Map<Object, Long> map = new HashMap<>();
+			for(int r = 0; r < fb.getNumRows(); r++) {
+				String key = fb.getString(r, c);
+				if(key != null)
+					map.putIfAbsent(key, (long) map.size() + 1);
+			}
+			out += estimateHashMapSize(map.size());
+		}
+		ret.add(new InOut(fb.getInMemorySize(), out));
+	}
+
+	private void recodeRecodeMap() {
+		FrameBlock fb = gen.take();
+		long out = 0;
+		for(int c = 0; c < fb.getNumColumns(); c++) {
+			RecodeMap map = new RecodeMap();
+			for(int r = 0; r < fb.getNumRows(); r++) {
+				String key = fb.getString(r, c);
+				if(key != null)
+					map.putCode(key);
+			}
+			out += map.getInMemorySize();
+		}
+		ret.add(new InOut(fb.getInMemorySize(), out));
+	}
+
+	private static long estimateHashMapSize(int n) {
+		// table of references, 32 byte nodes, and boxed codes outside the Long cache
+		int cap = Integer.highestOneBit(Math.max((int) (n / 0.75), 1) * 2 - 1);
+		return 48 + (long) MemoryEstimates.objectArrayCost(cap) + 32L * n + 16L * Math.max(n - 127, 0);
+	}
+
 	private void transformEncodeCompressed(int k) {
 		FrameBlock fb = gen.take();
 		long in = fb.getInMemorySize();
@@ -0,0 +1,118 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.sysds.performance.io;
+
+import java.io.File;
+import java.nio.file.Files;
+
+import org.apache.sysds.common.Types.FileFormat;
+import org.apache.sysds.conf.ConfigurationManager;
+import org.apache.sysds.conf.DMLConfig;
+import org.apache.sysds.performance.TimingUtils;
+import org.apache.sysds.runtime.io.MatrixWriterFactory;
+import org.apache.sysds.runtime.io.ReaderBinaryBlock;
+import org.apache.sysds.runtime.io.ReaderBinaryBlockParallel;
+import org.apache.sysds.runtime.matrix.data.MatrixBlock;
+import org.apache.sysds.runtime.util.HDFSTool;
+import org.apache.sysds.test.TestUtils;
+
+/**
+ * Read benchmark of local binary-block matrices, comparing the stream-based
+ * SequenceFile.Reader with the memory-mapped reader, for both the single-threaded
+ * and multi-threaded readers.
+ */
+public class BinaryBlockReadPerf {
+
+	private static final int blen = 1000;
+
+	private final int N;
+	private final int rows;
+	private final int cols;
+	private final double sparsity;
+
+	public BinaryBlockReadPerf(int N, int rows, int cols, double sparsity) {
+		this.N = N;
+		this.rows = rows;
+		this.cols = cols;
+		this.sparsity = sparsity;
+	}
+
+	public void run() throws Exception {
+		System.out.println(this);
+		File dir = Files.createTempDirectory("binreadperf").toFile();
+		String fname = new File(dir, "X").getAbsolutePath();
+		try {
+			MatrixBlock mb = TestUtils.generateTestMatrixBlock(rows, cols, -1, 1, sparsity, 7);
+			MatrixWriterFactory.createMatrixWriter(FileFormat.BINARY)
+				.writeMatrixToHDFS(mb, fname, rows, cols, blen, mb.getNonZeros());
+			final long nnz = mb.getNonZeros();
+			try {
+				setMMapRead(false);
+				final ReaderBinaryBlock single = new ReaderBinaryBlock(false);
+				final ReaderBinaryBlock multi = new ReaderBinaryBlockParallel(false);
+				execute(() -> read(single, fname, nnz), "Stream read");
+				execute(() -> read(multi, fname, nnz), "Stream read parallel");
+				setMMapRead(true);
+				final ReaderBinaryBlock msingle = new ReaderBinaryBlock(false);
+				final ReaderBinaryBlock mmulti = new ReaderBinaryBlockParallel(false);
+				execute(() -> read(msingle, fname, nnz), "Mapped read");
+				execute(() -> read(mmulti, fname, nnz), "Mapped read parallel");
+			}
+			finally {
+				ConfigurationManager.clearLocalConfigs();
+			}
+		}
+		finally {
+			HDFSTool.deleteFileIfExistOnHDFS(dir.getAbsolutePath());
+		}
+	}
+
+	private static void setMMapRead(boolean mmap) {
+		DMLConfig conf = new DMLConfig();
+		conf.setTextValue(DMLConfig.IO_LOCAL_MMAP, String.valueOf(mmap));
+		ConfigurationManager.setLocalConfig(conf);
+	}
+
+	private void read(ReaderBinaryBlock reader, String fname, long nnz) {
+		try {
+			reader.readMatrixFromHDFS(fname, rows, cols, blen, nnz);
+		}
+		catch(Exception e) {
+			throw new RuntimeException(e);
+		}
+	}
+
+	private void execute(TimingUtils.F f, String name) {
+		TimingUtils.time(f, Math.max(N / 10, 3)); // warmup
+		double[] times = TimingUtils.time(f, N);
+		System.out.println(String.format("%35s, %s, %s", name, TimingUtils.stats(times), //
+			TimingUtils.statsPercentiles(times)));
+	}
+
+	@Override
+	public String toString() {
+		StringBuilder sb = new StringBuilder();
+		sb.append(String.format("%20s ", this.getClass().getSimpleName()));
+		sb.append(" Repetitions: ").append(N);
+		sb.append(" Rows: ").append(rows);
+		sb.append(" Cols: ").append(cols);
+		sb.append(" Sparsity: ").append(sparsity);
+		return sb.toString();
+	}
+}
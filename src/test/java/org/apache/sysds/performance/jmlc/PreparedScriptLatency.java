@@ -0,0 +1,88 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.sysds.performance.jmlc;
+
+import org.apache.sysds.api.jmlc.Connection;
+import org.apache.sysds.api.jmlc.PreparedScript;
+import org.apache.sysds.performance.TimingUtils;
+import org.apache.sysds.runtime.matrix.data.MatrixBlock;
+import org.apache.sysds.test.TestUtils;
+
+/**
+ * Latency benchmark of repeated JMLC scoring with small inputs, comparing the default execution of prepared scripts
+ * with the hot execution mode (index-based input binding, reused wrappers and execution context).
+ */
+public class PreparedScriptLatency {
+
+	private static final String SCRIPT = ""
+		+ "X = read(\"./tmp/X\", data_type=\"matrix\");"
+		+ "W = read(\"./tmp/W\", data_type=\"matrix\");"
+		+ "P = 1 / (1 + exp(-(X %*% W)));"
+		+ "R = rowIndexMax(P);"
+		+ "write(R, \"./tmp/R\");";
+
+	private final int N;
+	private final int rows;
+	private final int cols;
+
+	public PreparedScriptLatency(int N, int rows, int cols) {
+		this.N = N;
+		this.rows = rows;
+		this.cols = cols;
+	}
+
+	public void run() throws Exception {
+		System.out.println(this);
+		MatrixBlock X = TestUtils.generateTestMatrixBlock(rows, cols, -1, 1, 1.0, 7);
+		MatrixBlock W = TestUtils.generateTestMatrixBlock(cols, 10, -1, 1, 1.0, 3);
+		try(Connection conn = new Connection()) {
+			PreparedScript ps = conn.prepareScript(SCRIPT, new String[] {"X", "W"}, new String[] {"R"});
+			ps.setMatrix("W", W, true);
+			execute(() -> {
+				ps.setMatrix("X", X, false);
+				ps.executeScript().getMatrixBlock("R");
+			}, "Default");
+
+			PreparedScript hot = ps.clone(false);
+			hot.enableHotExecution(true);
+			final int ixX = hot.getInputIndex("X");
+			execute(() -> {
+				hot.setMatrix(ixX, X);
+				hot.executeScript().getMatrixBlock("R");
+			}, "Hot");
+		}
+	}
+
+	private void execute(TimingUtils.F f, String name) {
+		TimingUtils.time(f, Math.max(N / 10, 100)); // warmup
+		double[] times = TimingUtils.time(f, N);
+		System.out.println(String.format("%35s, %s, %s", name, TimingUtils.stats(times), //
+			TimingUtils.statsPercentiles(times)));
+	}
+
+	@Override
+	public String toString() {
+		StringBuilder sb = new StringBuilder();
+		sb.append(String.format("%20s ", this.getClass().getSimpleName()));
+		sb.append(" Repetitions: ").append(N);
+		sb.append(" Rows: ").append(rows);
+		sb.append(" Cols: ").append(cols);
+		return sb.toString();
+	}
+}
@@ -0,0 +1,135 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysds.performance.lineage;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+
+import org.apache.sysds.api.DMLScript;
+import org.apache.sysds.performance.TimingUtils;
+import org.apache.sysds.runtime.lineage.LineageCache;
+import org.apache.sysds.runtime.lineage.LineageCacheConfig;
+import org.apache.sysds.runtime.lineage.LineageCacheConfig.ReuseCacheType;
+import org.apache.sysds.runtime.lineage.LineageItem;
+import org.apache.sysds.runtime.util.CommonThreadPool;
+
+/**
+ * Contention benchmark of the lineage cache, where k threads concurrently
+ * probe a shared set of cached entries (mostly hits), and a small fraction
+ * of new items (misses with placeholders and puts).
+ */
+public class LineageCachePerf {
+
+	private final int N;
+	private final int k;
+	private final int numItems;
+	private final int numProbes;
+
+	public LineageCachePerf(int N, int k, int numItems, int numProbes) {
+		this.N = N;
+		this.k = k;
+		this.numItems = numItems;
+		this.numProbes = numProbes;
+	}
+
+	public void run() throws Exception {
+		System.out.println(this);
+		ReuseCacheType rtype = DMLScript.LINEAGE_REUSE;
+		DMLScript.LINEAGE_REUSE = ReuseCacheType.REUSE_FULL;
+		LineageCacheConfig.setConfig(ReuseCacheType.REUSE_FULL);
+		try {
+			LineageItem[] items = populate();
+			ExecutorService pool = CommonThreadPool.get(k);
+			try {
+				execute(() -> probeTask(pool, items, 0.0), "Hits");
+				execute(() -> probeTask(pool, items, 0.01), "Hits + 1% Misses");
+			}
+			finally {
+				pool.shutdown();
+			}
+		}
+		finally {
+			LineageCache.resetCache();
+			LineageCacheConfig.setConfig(rtype);
+			DMLScript.LINEAGE_REUSE = rtype;
+		}
+	}
+
+	private LineageItem[] populate() {
+		LineageCache.resetCache();
+		LineageItem[] items = new LineageItem[numItems];
+		for(int i = 0; i < numItems; i++) {
+			items[i] = new LineageItem("perf" + i);
+			put(items[i]);
+		}
+		return items;
+	}
+
+	private static void put(LineageItem li) {
+		//placeholder on miss, followed by the value
+		if(LineageCache.reuseSerialization(li) == null)
+			LineageCache.putSerializedObject(new byte[64], li, 1000);
+	}
+
+	private void probeTask(ExecutorService pool, LineageItem[] items, double missRatio) {
+		try {
+			List<Future<?>> tasks = new ArrayList<>();
+			for(int t = 0; t < k; t++)
+				tasks.add(pool.submit(() -> {
+					ThreadLocalRandom rand = ThreadLocalRandom.current();
+					for(int i = 0; i < numProbes; i++) {
+						if(rand.nextDouble() < missRatio)
+							put(new LineageItem("miss" + rand.nextLong()));
+						else
+							LineageCache.reuseSerialization(items[rand.nextInt(items.length)]);
+					}
+				}));
+			for(Future<?> f : tasks)
+				f.get();
+		}
+		catch(Exception e) {
+			throw new RuntimeException(e);
+		}
+	}
+
+	private void execute(TimingUtils.F f, String name) {
+		TimingUtils.time(f, 10); //warmup
+		double[] times = TimingUtils.time(f, N);
+		double mean = 0;
+		for(double t : times)
+			mean += t / N;
+		double throughput = (double) k * numProbes / mean; //probes per ms
+		System.out.println(String.format("%35s, %s, %10.1f probes/ms", name, TimingUtils.stats(times), throughput));
+	}
+
+	@Override
+	public String toString() {
+		StringBuilder sb = new StringBuilder();
+		sb.append(String.format("%20s ", this.getClass().getSimpleName()));
+		sb.append(" Repetitions: ").append(N);
+		sb.append(" Threads: ").append(k);
+		sb.append(" Items: ").append(numItems);
+		sb.append(" Probes/Thread: ").append(numProbes);
+		return sb.toString();
+	}
+}
@@ -0,0 +1,110 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.sysds.performance.matrix;
+
+import org.apache.sysds.performance.TimingUtils;
+import org.apache.sysds.runtime.matrix.data.DenseVectorKernels;
+import org.apache.sysds.runtime.matrix.data.LibMatrixMult;
+import org.apache.sysds.test.TestUtils;
+
+/**
+ * Micro benchmark of the dense primitives of LibMatrixMult, comparing the scalar
+ * (manually unrolled) implementations with the JDK Vector API implementations, which
+ * are only available if running from the multi-release jar (vector-api profile) on
+ * JDK 17+ with the jdk.incubator.vector module.
+ */
+public class DenseVectorKernelsPerf {
+
+	private final int N;
+	private final int len;
+	private final int reps;
+
+	private double sink = 0;
+
+	public DenseVectorKernelsPerf(int N, int len) {
+		this.N = N;
+		this.len = len;
+		this.reps = Math.max(1, 10_000_000 / len);
+	}
+
+	public void run() throws Exception {
+		System.out.println(this);
+		final double[] a = TestUtils.generateTestMatrix(1, len, -1, 1, 1.0, 7)[0];
+		final double[] b = TestUtils.generateTestMatrix(1, len, -1, 1, 1.0, 3)[0];
+		final double[] c = new double[len];
+
+		execute(() -> {
+			for(int i = 0; i < reps; i++)
+				sink += LibMatrixMult.dotProductScalar(a, b, 0, 0, len);
+		}, "Scalar dotProduct");
+		execute(() -> {
+			for(int i = 0; i < reps; i++)
+				LibMatrixMult.vectMultiplyAddScalar(1e-9, a, c, 0, 0, len);
+		}, "Scalar vectMultiplyAdd");
+		execute(() -> {
+			for(int i = 0; i < reps; i++)
+				LibMatrixMult.vectMultiplyWriteScalar(a, b, c, 0, 0, 0, len);
+		}, "Scalar vectMultiplyWrite");
+		execute(() -> {
+			for(int i = 0; i < reps; i++)
+				LibMatrixMult.vectAddScalar(a, c, 0, 0, len);
+		}, "Scalar vectAdd");
+
+		final DenseVectorKernels kernels = DenseVectorKernels.get();
+		if(kernels == null) {
+			System.out.println("Vector API kernels not available "
+				+ "(requires multi-release jar and --add-modules jdk.incubator.vector)");
+			return;
+		}
+		execute(() -> {
+			for(int i = 0; i < reps; i++)
+				sink += kernels.dotProduct(a, b, 0, 0, len);
+		}, "Vector dotProduct");
+		execute(() -> {
+			for(int i = 0; i < reps; i++)
+				kernels.vectMultiplyAdd(1e-9, a, c, 0, 0, len);
+		}, "Vector vectMultiplyAdd");
+		execute(() -> {
+			for(int i = 0; i < reps; i++)
+				kernels.vectMultiplyWrite(a, b, c, 0, 0, 0, len);
+		}, "Vector vectMultiplyWrite");
+		execute(() -> {
+			for(int i = 0; i < reps; i++)
+				kernels.vectAdd(a, c, 0, 0, len);
+		}, "Vector vectAdd");
+		System.out.println("Sink: " + sink);
+	}
+
+	private void execute(TimingUtils.F f, String name) {
+		TimingUtils.time(f, Math.max(N / 10, 5)); // warmup
+		double[] times = TimingUtils.time(f, N);
+		System.out.println(String.format("%35s, %s, %s", name, TimingUtils.stats(times), //
+			TimingUtils.statsPercentiles(times)));
+	}
+
+	@Override
+	public String toString() {
+		StringBuilder sb = new StringBuilder();
+		sb.append(String.format("%20s ", this.getClass().getSimpleName()));
+		sb.append(" Repetitions: ").append(N);
+		sb.append(" Length: ").append(len);
+		sb.append(" Calls: ").append(reps);
+		return sb.toString();
+	}
+}
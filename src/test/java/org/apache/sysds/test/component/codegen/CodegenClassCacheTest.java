@@ -0,0 +1,123 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.sysds.test.component.codegen;
+
+import java.io.File;
+import java.nio.file.Files;
+
+import org.apache.commons.io.FileUtils;
+import org.apache.sysds.api.DMLScript;
+import org.apache.sysds.hops.codegen.SpoofCompiler;
+import org.apache.sysds.hops.codegen.SpoofCompiler.CompilerType;
+import org.apache.sysds.runtime.codegen.CodegenClassCache;
+import org.apache.sysds.runtime.codegen.CodegenUtils;
+import org.apache.sysds.utils.stats.CodegenStatistics;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+public class CodegenClassCacheTest
+{
+	private static final String DIR = "target/testTemp/component/codegen/classcache";
+
+	private CompilerType _oldCompiler;
+	private boolean _oldStats;
+
+	@Before
+	public void setUp() throws Exception {
+		FileUtils.deleteDirectory(new File(DIR));
+		_oldCompiler = SpoofCompiler.JAVA_COMPILER;
+		_oldStats = DMLScript.STATISTICS;
+		SpoofCompiler.JAVA_COMPILER = CompilerType.JANINO;
+		DMLScript.STATISTICS = true;
+		CodegenClassCache.setDirectory(DIR);
+		CodegenStatistics.reset();
+	}
+
+	@After
+	public void tearDown() throws Exception {
+		CodegenClassCache.setDirectory(null);
+		SpoofCompiler.JAVA_COMPILER = _oldCompiler;
+		DMLScript.STATISTICS = _oldStats;
+		CodegenUtils.clearClassCache();
+		FileUtils.deleteDirectory(new File(DIR));
+	}
+
+	@Test
+	public void testReuseAcrossClassCacheClear() throws Exception {
+		String src = createSource("TMPClassCache1", 7);
+		Class<?> c1 = CodegenUtils.compileClass("codegen.TMPClassCache1", src);
+		Assert.assertEquals(7, invoke(c1));
+		Assert.assertEquals(0, CodegenStatistics.getClassCacheHits());
+		Assert.assertEquals(1, CodegenStatistics.getClassCacheMisses());
+		Assert.assertEquals(1, new File(DIR).list().length);
+
+		//simulate a new process by dropping the in-memory class cache
+		CodegenUtils.clearClassCache();
+		long compileCount = CodegenStatistics.getClassCompile();
+		Class<?> c2 = CodegenUtils.compileClass("codegen.TMPClassCache1", src);
+		Assert.assertEquals(7, invoke(c2));
+		Assert.assertEquals(1, CodegenStatistics.getClassCacheHits());
+		Assert.assertEquals(compileCount, CodegenStatistics.getClassCompile());
+		Assert.assertNotNull(CodegenUtils.getClassData("codegen.TMPClassCache1"));
+	}
+
+	@Test
+	public void testDifferentSourcesDifferentEntries() throws Exception {
+		CodegenUtils.compileClass("codegen.TMPClassCache2", createSource("TMPClassCache2", 1));
+		CodegenUtils.clearClassCache();
+		Class<?> c = CodegenUtils.compileClass("codegen.TMPClassCache2", createSource("TMPClassCache2", 2));
+		Assert.assertEquals(2, invoke(c));
+		Assert.assertEquals(0, CodegenStatistics.getClassCacheHits());
+		Assert.assertEquals(2, new File(DIR).list().length);
+	}
+
+	@Test
+	public void testCorruptEntryRecompiled() throws Exception {
+		String src = createSource("TMPClassCache3", 3);
+		CodegenUtils.compileClass("codegen.TMPClassCache3", src);
+		CodegenUtils.clearClassCache();
+		File entry = new File(DIR).listFiles()[0];
+		Files.write(entry.toPath(), new byte[]{1, 2, 3});
+		Class<?> c = CodegenUtils.compileClass("codegen.TMPClassCache3", src);
+		Assert.assertEquals(3, invoke(c));
+		Assert.assertEquals(1, CodegenStatistics.getClassCacheHits());
+		Assert.assertTrue(Files.size(entry.toPath()) > 3);
+	}
+
+	@Test
+	public void testDisabled() {
+		CodegenClassCache.setDirectory("");
+		Assert.assertFalse(CodegenClassCache.isEnabled());
+		Assert.assertNull(CodegenClassCache.get(createSource("TMPClassCache4", 4)));
+		Assert.assertEquals(0, CodegenStatistics.getClassCacheMisses());
+	}
+
+	private static String createSource(String name, int val) {
+		return "package codegen;\n"
+			+ "public final class " + name + " implements java.util.function.IntSupplier {\n"
+			+ "  public int getAsInt() { return " + val + "; }\n"
+			+ "}\n";
+	}
+
+	private static int invoke(Class<?> cla) throws Exception {
+		return ((java.util.function.IntSupplier) cla.getDeclaredConstructor().newInstance()).getAsInt();
+	}
+}
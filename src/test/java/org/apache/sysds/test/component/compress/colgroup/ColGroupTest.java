@@ -2227,11 +2227,6 @@ public class ColGroupTest extends ColGroupBase {
 
 	public void sliceRows(int rl, int ru) {
 		try {
-			if(base instanceof ColGroupRLE || other instanceof ColGroupRLE) {
-				expectNotImplementedSlice(rl, ru);
-				return;
-			}
-
 			AColGroup a = base.sliceRows(rl, ru);
 			AColGroup b = other.sliceRows(rl, ru);
 
@@ -2263,23 +2258,6 @@ public class ColGroupTest extends ColGroupBase {
 		}
 	}
 
-	private void expectNotImplementedSlice(int rl, int ru) {
-		boolean exception = false;
-		try {
-			base.sliceRows(rl, ru);
-			other.sliceRows(rl, ru);
-		}
-		catch(NotImplementedException nie) {
-			// good
-			exception = true;
-		}
-		catch(Exception e) {
-			e.printStackTrace();
-			fail(e.getMessage());
-		}
-		assertTrue(exception);
-	}
-
 	@Test
 	public void getScheme() {
 		try {
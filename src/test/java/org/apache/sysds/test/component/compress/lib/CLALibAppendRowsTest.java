@@ -0,0 +1,171 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysds.test.component.compress.lib;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+
+import org.apache.sysds.runtime.compress.CompressedMatrixBlock;
+import org.apache.sysds.runtime.compress.CompressedMatrixBlockFactory;
+import org.apache.sysds.runtime.compress.CompressionSettingsBuilder;
+import org.apache.sysds.runtime.compress.DMLCompressionException;
+import org.apache.sysds.runtime.compress.colgroup.AColGroup;
+import org.apache.sysds.runtime.compress.colgroup.AColGroup.CompressionType;
+import org.apache.sysds.runtime.compress.colgroup.ColGroupEmpty;
+import org.apache.sysds.runtime.compress.colgroup.ColGroupUncompressed;
+import org.apache.sysds.runtime.compress.colgroup.indexes.ColIndexFactory;
+import org.apache.sysds.runtime.compress.colgroup.scheme.CompressionScheme;
+import org.apache.sysds.runtime.compress.cost.CostEstimatorBuilder;
+import org.apache.sysds.runtime.compress.lib.CLALibAppend;
+import org.apache.sysds.runtime.matrix.data.MatrixBlock;
+import org.apache.sysds.test.TestUtils;
+import org.junit.Test;
+
+public class CLALibAppendRowsTest {
+
+	@Test
+	public void appendSameValues() {
+		MatrixBlock a = TestUtils.round(TestUtils.generateTestMatrixBlock(1000, 5, 0, 3, 1.0, 7));
+		MatrixBlock b = TestUtils.round(TestUtils.generateTestMatrixBlock(500, 5, 0, 3, 1.0, 8));
+		appendAndCompare(1, a, b);
+	}
+
+	@Test
+	public void appendNewValues() {
+		MatrixBlock a = TestUtils.round(TestUtils.generateTestMatrixBlock(1000, 5, 0, 3, 1.0, 7));
+		MatrixBlock b = TestUtils.round(TestUtils.generateTestMatrixBlock(500, 5, 0, 10, 1.0, 8));
+		appendAndCompare(1, a, b);
+	}
+
+	@Test
+	public void appendManyBatches() {
+		MatrixBlock a = TestUtils.round(TestUtils.generateTestMatrixBlock(1000, 10, 0, 3, 1.0, 7));
+		MatrixBlock b = TestUtils.round(TestUtils.generateTestMatrixBlock(300, 10, 0, 5, 1.0, 8));
+		MatrixBlock c = TestUtils.round(TestUtils.generateTestMatrixBlock(200, 10, 0, 300, 1.0, 9));
+		MatrixBlock d = TestUtils.round(TestUtils.generateTestMatrixBlock(700, 10, 0, 2, 1.0, 10));
+		appendAndCompare(1, a, b, c, d);
+	}
+
+	@Test
+	public void appendManyBatchesParallel() {
+		MatrixBlock a = TestUtils.round(TestUtils.generateTestMatrixBlock(1000, 10, 0, 3, 1.0, 7));
+		MatrixBlock b = TestUtils.round(TestUtils.generateTestMatrixBlock(3000, 10, 0, 5, 1.0, 8));
+		MatrixBlock c = TestUtils.round(TestUtils.generateTestMatrixBlock(2000, 10, 0, 30, 1.0, 9));
+		appendAndCompare(4, a, b, c);
+	}
+
+	@Test
+	public void appendConstantToValues() {
+		MatrixBlock a = new MatrixBlock(1000, 3, 2.0);
+		MatrixBlock b = TestUtils.round(TestUtils.generateTestMatrixBlock(500, 3, 0, 3, 1.0, 8));
+		appendAndCompare(1, a, b);
+	}
+
+	@Test
+	public void appendEmptyToValues() {
+		MatrixBlock a = new MatrixBlock(1000, 3, true);
+		MatrixBlock b = TestUtils.round(TestUtils.generateTestMatrixBlock(500, 3, 0, 3, 1.0, 8));
+		appendAndCompare(1, a, b);
+	}
+
+	@Test
+	public void appendDifferentConstants() {
+		MatrixBlock a = new MatrixBlock(1000, 3, 2.0);
+		MatrixBlock b = new MatrixBlock(500, 3, 3.0);
+		appendAndCompare(1, a, b);
+	}
+
+	@Test
+	public void appendSparseValues() {
+		MatrixBlock a = TestUtils.round(TestUtils.generateTestMatrixBlock(1000, 5, 0, 3, 0.05, 7));
+		MatrixBlock b = TestUtils.round(TestUtils.generateTestMatrixBlock(500, 5, 0, 6, 0.05, 8));
+		appendAndCompare(1, a, b);
+	}
+
+	@Test
+	public void appendDefaultCompression() {
+		MatrixBlock a = TestUtils.round(TestUtils.generateTestMatrixBlock(1000, 5, 0, 3, 0.2, 7));
+		MatrixBlock b = TestUtils.round(TestUtils.generateTestMatrixBlock(500, 5, 0, 6, 0.2, 8));
+		MatrixBlock cmb = CompressedMatrixBlockFactory.compress(a).getLeft();
+		if(!(cmb instanceof CompressedMatrixBlock))
+			return; // not compressible
+		CompressedMatrixBlock ret = CompressionScheme.getScheme((CompressedMatrixBlock) cmb)
+			.updateEncodeAndAppend((CompressedMatrixBlock) cmb, b, 1);
+		TestUtils.compareMatrices(a.append(b, false), ret, 0, "Not equivalent row append");
+	}
+
+	@Test(expected = DMLCompressionException.class)
+	public void appendInvalidColumns() {
+		MatrixBlock a = TestUtils.round(TestUtils.generateTestMatrixBlock(1000, 5, 0, 3, 1.0, 7));
+		MatrixBlock b = TestUtils.round(TestUtils.generateTestMatrixBlock(500, 4, 0, 3, 1.0, 8));
+		CompressedMatrixBlock cmb = compressDDC(a);
+		CompressionScheme.getScheme(cmb).updateEncodeAndAppend(cmb, b, 1);
+	}
+
+	@Test(expected = DMLCompressionException.class)
+	public void appendInvalidColumnGroups() {
+		List<AColGroup> gt = new ArrayList<>();
+		gt.add(new ColGroupEmpty(ColIndexFactory.create(0, 1)));
+		gt.add(new ColGroupEmpty(ColIndexFactory.create(1, 2)));
+		List<AColGroup> gb = new ArrayList<>();
+		gb.add(new ColGroupEmpty(ColIndexFactory.create(0, 2)));
+		CompressedMatrixBlock top = new CompressedMatrixBlock(100, 2, 0, false, gt);
+		CompressedMatrixBlock bottom = new CompressedMatrixBlock(50, 2, 0, false, gb);
+		CLALibAppend.appendRows(top, bottom, 1);
+	}
+
+	private static void appendAndCompare(int k, MatrixBlock first, MatrixBlock... batches) {
+		try {
+			CompressedMatrixBlock ret = compressDDC(first);
+			CompressionScheme sh = CompressionScheme.getScheme(ret);
+			MatrixBlock exp = first;
+			for(MatrixBlock b : batches) {
+				ret = sh.updateEncodeAndAppend(ret, b, k);
+				exp = exp.append(b, false);
+			}
+			assertEquals(exp.getNumRows(), ret.getNumRows());
+			assertEquals(exp.getNumColumns(), ret.getNumColumns());
+			for(AColGroup g : ret.getColGroups())
+				assertTrue("Column group was decompressed: " + g.getClass().getSimpleName(),
+					!(g instanceof ColGroupUncompressed));
+			TestUtils.compareMatrices(exp, ret, 0, "Not equivalent row append");
+			assertEquals(exp.getNonZeros(), ret.getNonZeros());
+		}
+		catch(Exception e) {
+			e.printStackTrace();
+			fail(e.getMessage());
+		}
+	}
+
+	private static CompressedMatrixBlock compressDDC(MatrixBlock mb) {
+		CompressionSettingsBuilder csb = new CompressionSettingsBuilder().setSamplingRatio(1.0)
+			.setValidCompressions(EnumSet.of(CompressionType.DDC, CompressionType.CONST, CompressionType.EMPTY))
+			.setMinimumCompressionRatio(0.0);
+		MatrixBlock ret = CompressedMatrixBlockFactory.compress(mb, 1, csb, (CostEstimatorBuilder) null).getLeft();
+		if(!(ret instanceof CompressedMatrixBlock))
+			fail("Failed to compress input");
+		return (CompressedMatrixBlock) ret;
+	}
+}
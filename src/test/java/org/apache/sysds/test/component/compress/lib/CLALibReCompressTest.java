@@ -0,0 +1,212 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysds.test.component.compress.lib;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.apache.sysds.common.Types.FileFormat;
+import org.apache.sysds.common.Types.ValueType;
+import org.apache.sysds.conf.ConfigurationManager;
+import org.apache.sysds.conf.DMLConfig;
+import org.apache.sysds.runtime.compress.CompressedMatrixBlock;
+import org.apache.sysds.runtime.compress.colgroup.AColGroup;
+import org.apache.sysds.runtime.compress.colgroup.ColGroupDDC;
+import org.apache.sysds.runtime.compress.colgroup.ColGroupUncompressed;
+import org.apache.sysds.runtime.compress.colgroup.dictionary.Dictionary;
+import org.apache.sysds.runtime.compress.colgroup.indexes.ColIndexFactory;
+import org.apache.sysds.runtime.compress.colgroup.mapping.AMapToData;
+import org.apache.sysds.runtime.compress.colgroup.mapping.MapToFactory;
+import org.apache.sysds.runtime.compress.lib.CLALibReCompress;
+import org.apache.sysds.runtime.controlprogram.caching.MatrixObject;
+import org.apache.sysds.runtime.functionobjects.Multiply;
+import org.apache.sysds.runtime.instructions.InstructionUtils;
+import org.apache.sysds.runtime.matrix.data.MatrixBlock;
+import org.apache.sysds.runtime.matrix.operators.AggregateUnaryOperator;
+import org.apache.sysds.runtime.matrix.operators.RightScalarOperator;
+import org.apache.sysds.runtime.meta.MatrixCharacteristics;
+import org.apache.sysds.runtime.meta.MetaDataFormat;
+import org.apache.sysds.test.TestUtils;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class CLALibReCompressTest {
+
+	private static final int nRow = 1000;
+	private static final int nCol = 10;
+
+	private DMLConfig _conf;
+
+	@Before
+	public void enableRecompression() {
+		_conf = ConfigurationManager.getDMLConfig();
+		DMLConfig conf = new DMLConfig();
+		conf.setTextValue(DMLConfig.COMPRESSED_RECOMPRESS, "true");
+		ConfigurationManager.setLocalConfig(conf);
+	}
+
+	@After
+	public void resetConfig() {
+		ConfigurationManager.setLocalConfig(_conf);
+	}
+
+	@Test
+	public void notRecompressedWithoutWorkload() {
+		CompressedMatrixBlock cmb = createGroups(20, true);
+		assertFalse(CLALibReCompress.shouldRecompress(cmb));
+	}
+
+	@Test
+	public void notRecompressedIfNotDegraded() {
+		CompressedMatrixBlock cmb = createGroups(1, false);
+		for(int i = 0; i < 50; i++)
+			rowSums(cmb);
+		assertFalse(CLALibReCompress.shouldRecompress(cmb));
+		assertNull(cmb.getWorkload().getRecompressed());
+	}
+
+	@Test
+	public void notObservedIfDisabled() {
+		ConfigurationManager.setLocalConfig(new DMLConfig());
+		CompressedMatrixBlock cmb = createGroups(20, true);
+		rowSums(cmb);
+		assertNull(cmb.getWorkload());
+	}
+
+	@Test
+	public void recompressOverlappingAfterScans() throws Exception {
+		CompressedMatrixBlock cmb = createGroups(20, true);
+		MatrixBlock expected = cmb.decompress();
+		MatrixBlock expectedSums = rowSums(expected);
+
+		for(int i = 0; i < 10; i++)
+			TestUtils.compareMatrices(expectedSums, rowSums(cmb), 1e-10, "Invalid row sums");
+		assertTrue(CLALibReCompress.shouldRecompress(cmb));
+
+		// wait for the background recompression triggered by the scans
+		CompressedMatrixBlock r = waitForRecompression(cmb);
+		assertNotNull(r);
+		assertFalse(r.isOverlapping());
+		assertEquals(cmb.getColGroups().size(), 20); // input is not modified
+		TestUtils.compareMatrices(expected, r.decompress(), 1e-10, "Invalid recompression");
+
+		// following operations are applied on the recompressed block
+		TestUtils.compareMatrices(expectedSums, rowSums(cmb), 1e-10, "Invalid row sums after recompression");
+		assertTrue(r.getWorkload().getCounter().getScans() > 0);
+	}
+
+	@Test
+	public void singleAttemptWhileRepeatingWorkload() throws Exception {
+		CompressedMatrixBlock cmb = createGroups(20, true);
+		for(int i = 0; i < 100; i++)
+			rowSums(cmb);
+		CompressedMatrixBlock r = waitForRecompression(cmb);
+		assertNotNull(r);
+		assertEquals(1, cmb.getWorkload().getNumAttempts());
+	}
+
+	@Test
+	public void unsuccessfulAttemptIsRecorded() throws Exception {
+		// degraded, but uncompressed is already the best representation
+		MatrixBlock mb = TestUtils.generateTestMatrixBlock(nRow, nCol, 0, 1, 1.0, 7);
+		List<AColGroup> groups = new ArrayList<>();
+		groups.add(ColGroupUncompressed.create(mb));
+		CompressedMatrixBlock cmb = new CompressedMatrixBlock(nRow, nCol, mb.getNonZeros(), false, groups);
+		rowSums(cmb);
+		CLALibReCompress.recompressAsync(cmb, 1).get();
+		assertNull(cmb.getWorkload().getRecompressed());
+		assertEquals(1, cmb.getWorkload().getNumAttempts());
+
+		// retries only after the number of observed operations doubled
+		for(int i = 0; i < 100; i++)
+			rowSums(cmb);
+		assertTrue(cmb.getWorkload().getNumAttempts() <= 1 + (int) Math.ceil(Math.log(101) / Math.log(2)));
+	}
+
+	@Test
+	public void adoptedByCacheObject() throws Exception {
+		CompressedMatrixBlock cmb = createGroups(20, true);
+		MatrixObject mo = new MatrixObject(ValueType.FP64, "/dev/null",
+			new MetaDataFormat(new MatrixCharacteristics(nRow, nCol, 1000, cmb.getNonZeros()), FileFormat.BINARY), cmb);
+		MatrixBlock expected = cmb.decompress();
+		for(int i = 0; i < 10; i++)
+			rowSums(cmb);
+		CompressedMatrixBlock r = waitForRecompression(cmb);
+		assertNotNull(r);
+
+		// the next read adopts the recompressed block and releases the reference of the input
+		MatrixBlock ret = mo.acquireReadAndRelease();
+		assertTrue(ret == r);
+		assertNull(cmb.getWorkload().getRecompressed());
+		assertEquals(r.getInMemorySize(), mo.getCompressedSize());
+		TestUtils.compareMatrices(expected, ret, 1e-10, "Invalid adopted block");
+	}
+
+	@Test
+	public void inheritWorkload() {
+		CompressedMatrixBlock cmb = createGroups(20, true);
+		rowSums(cmb);
+		MatrixBlock ret = cmb.scalarOperations(new RightScalarOperator(Multiply.getMultiplyFnObject(), 2), null);
+		assertTrue(ret instanceof CompressedMatrixBlock);
+		CLALibReCompress.Workload w = ((CompressedMatrixBlock) ret).getWorkload();
+		assertNotNull(w);
+		assertEquals(1, w.getCounter().getScans());
+		assertEquals(1, w.getCounter().getDictionaryOps());
+	}
+
+	private static CompressedMatrixBlock waitForRecompression(CompressedMatrixBlock cmb) throws InterruptedException {
+		CompressedMatrixBlock r = null;
+		for(int i = 0; i < 1000 && r == null; i++) {
+			r = cmb.getWorkload().getRecompressed();
+			if(r == null)
+				Thread.sleep(10);
+		}
+		return r;
+	}
+
+	private static MatrixBlock rowSums(MatrixBlock mb) {
+		AggregateUnaryOperator op = InstructionUtils.parseBasicAggregateUnaryOperator("uark+", 1);
+		return mb.aggregateUnaryOperations(op, null, 1000, null, true);
+	}
+
+	private static CompressedMatrixBlock createGroups(int nGroups, boolean overlapping) {
+		Random r = new Random(42);
+		List<AColGroup> groups = new ArrayList<>(nGroups);
+		for(int g = 0; g < nGroups; g++) {
+			int nVals = 4;
+			double[] values = new double[nVals * nCol];
+			for(int i = 0; i < values.length; i++)
+				values[i] = r.nextInt(10) + 1;
+			AMapToData m = MapToFactory.create(nRow, nVals);
+			for(int i = 0; i < nRow; i++)
+				m.set(i, r.nextInt(nVals));
+			groups.add(ColGroupDDC.create(ColIndexFactory.create(nCol), Dictionary.create(values), m, null));
+		}
+		return new CompressedMatrixBlock(nRow, nCol, (long) nRow * nCol, overlapping, groups);
+	}
+}
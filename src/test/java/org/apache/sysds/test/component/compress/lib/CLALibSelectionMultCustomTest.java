@@ -23,9 +23,17 @@ import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertThrows;
 import static org.junit.Assert.assertTrue;
 
+import java.util.EnumSet;
+
+import org.apache.sysds.runtime.compress.CompressedMatrixBlock;
+import org.apache.sysds.runtime.compress.CompressedMatrixBlockFactory;
+import org.apache.sysds.runtime.compress.CompressionSettingsBuilder;
+import org.apache.sysds.runtime.compress.colgroup.AColGroup.CompressionType;
+import org.apache.sysds.runtime.compress.cost.CostEstimatorBuilder;
 import org.apache.sysds.runtime.compress.lib.CLALibSelectionMult;
 import org.apache.sysds.runtime.data.SparseBlockCSR;
 import org.apache.sysds.runtime.matrix.data.MatrixBlock;
+import org.apache.sysds.test.TestUtils;
 import org.junit.Test;
 
 public class CLALibSelectionMultCustomTest {
@@ -125,4 +133,56 @@ public class CLALibSelectionMultCustomTest {
 		Exception e = assertThrows(Exception.class, () -> CLALibSelectionMult.leftSelection(null, null, null, 1));
 		assertTrue(e.getMessage().contains("Failed left selection Multiplication"));
 	}
+
+	@Test
+	public void selectionPermutationDDC() {
+		selectionCompressed(EnumSet.of(CompressionType.DDC), 1000, 1);
+	}
+
+	@Test
+	public void selectionSampleDDC() {
+		selectionCompressed(EnumSet.of(CompressionType.DDC), 64, 1);
+	}
+
+	@Test
+	public void selectionSampleDDCParallel() {
+		selectionCompressed(EnumSet.of(CompressionType.DDC), 64, 4);
+	}
+
+	@Test
+	public void selectionSampleMixed() {
+		selectionCompressed(EnumSet.of(CompressionType.DDC, CompressionType.SDC, CompressionType.CONST), 128, 1);
+	}
+
+	private static void selectionCompressed(EnumSet<CompressionType> valid, int nSel, int k) {
+		final MatrixBlock mb = new MatrixBlock(1000, 4, false);
+		mb.allocateDenseBlock();
+		for(int i = 0; i < 1000; i++) {
+			mb.set(i, 0, i % 7);
+			mb.set(i, 1, i % 50 == 0 ? i % 3 + 1 : 0);
+			mb.set(i, 2, 3);
+			mb.set(i, 3, (i * 31) % 5);
+		}
+		mb.recomputeNonZeros();
+		final CompressionSettingsBuilder csb = new CompressionSettingsBuilder().setSamplingRatio(1.0)
+			.setValidCompressions(valid).setMinimumCompressionRatio(0.0);
+		final MatrixBlock cmb = CompressedMatrixBlockFactory.compress(mb, 1, csb, (CostEstimatorBuilder) null).getLeft();
+		assertTrue(cmb instanceof CompressedMatrixBlock);
+
+		// select rows in a permuted order
+		final MatrixBlock sel = new MatrixBlock(nSel, 1000, true);
+		final MatrixBlock exp = new MatrixBlock(nSel, 4, false);
+		sel.allocateSparseRowsBlock();
+		for(int i = 0; i < nSel; i++) {
+			final int r = (i * 997 + 13) % 1000;
+			sel.appendValue(i, r, 1);
+			for(int j = 0; j < 4; j++)
+				exp.set(i, j, mb.get(r, j));
+		}
+		assertTrue(CLALibSelectionMult.isSelectionMatrix(sel));
+
+		final MatrixBlock ret = CLALibSelectionMult.leftSelection((CompressedMatrixBlock) cmb, sel, null, k);
+		assertTrue(ret instanceof CompressedMatrixBlock);
+		TestUtils.compareMatrices(exp, ret, 0, "Not equivalent selection");
+	}
 }
@@ -23,15 +23,22 @@ import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertTrue;
 
 import java.util.ArrayList;
+import java.util.EnumSet;
 import java.util.List;
 
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 import org.apache.sysds.runtime.compress.CompressedMatrixBlock;
+import org.apache.sysds.runtime.compress.CompressedMatrixBlockFactory;
+import org.apache.sysds.runtime.compress.CompressionSettingsBuilder;
 import org.apache.sysds.runtime.compress.colgroup.AColGroup;
+import org.apache.sysds.runtime.compress.colgroup.AColGroup.CompressionType;
 import org.apache.sysds.runtime.compress.colgroup.ColGroupEmpty;
 import org.apache.sysds.runtime.compress.colgroup.indexes.ColIndexFactory;
 import org.apache.sysds.runtime.compress.colgroup.indexes.IColIndex;
+import org.apache.sysds.runtime.compress.cost.CostEstimatorBuilder;
+import org.apache.sysds.runtime.matrix.data.MatrixBlock;
+import org.apache.sysds.test.TestUtils;
 import org.junit.Test;
 
 public class CLALibSliceTest {
@@ -130,4 +137,54 @@ public class CLALibSliceTest {
 		}
 		assertEquals(cmb2.getNumColumns(), countColumns);
 	}
+
+	@Test
+	public void sliceRowsDDC() {
+		sliceRowsCompressed(CompressionType.DDC, 100, 899);
+	}
+
+	@Test
+	public void sliceRowsSDC() {
+		sliceRowsCompressed(CompressionType.SDC, 100, 899);
+	}
+
+	@Test
+	public void sliceRowsRLE() {
+		sliceRowsCompressed(CompressionType.RLE, 100, 899);
+	}
+
+	@Test
+	public void sliceRowsRLEStart() {
+		sliceRowsCompressed(CompressionType.RLE, 0, 63);
+	}
+
+	@Test
+	public void sliceRowsRLEEnd() {
+		sliceRowsCompressed(CompressionType.RLE, 936, 999);
+	}
+
+	@Test
+	public void sliceRowsRLESubsetOfValues() {
+		sliceRowsCompressed(CompressionType.RLE, 40, 60);
+	}
+
+	private static void sliceRowsCompressed(CompressionType ct, int rl, int ru) {
+		final MatrixBlock mb = new MatrixBlock(1000, 3, false);
+		mb.allocateDenseBlock();
+		for(int i = 0; i < 1000; i++) {
+			mb.set(i, 0, (i / 37) % 4);
+			mb.set(i, 1, i % 300 < 200 ? 0 : (i / 53) % 3 + 1);
+			mb.set(i, 2, (i / 11) % 5);
+		}
+		mb.recomputeNonZeros();
+
+		final CompressionSettingsBuilder csb = new CompressionSettingsBuilder().setSamplingRatio(1.0)
+			.setValidCompressions(EnumSet.of(ct)).setMinimumCompressionRatio(0.0);
+		final MatrixBlock cmb = CompressedMatrixBlockFactory.compress(mb, 1, csb, (CostEstimatorBuilder) null).getLeft();
+		assertTrue(cmb instanceof CompressedMatrixBlock);
+
+		final MatrixBlock ret = cmb.slice(rl, ru, 0, 2);
+		assertTrue(ret instanceof CompressedMatrixBlock);
+		TestUtils.compareMatrices(mb.slice(rl, ru, 0, 2), ret, 0, "Not equivalent slice of " + ct);
+	}
 }
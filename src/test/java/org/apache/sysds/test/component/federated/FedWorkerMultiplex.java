@@ -0,0 +1,205 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysds.test.component.federated;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.sysds.conf.ConfigurationManager;
+import org.apache.sysds.conf.DMLConfig;
+import org.apache.sysds.runtime.controlprogram.federated.FederatedData;
+import org.apache.sysds.runtime.controlprogram.federated.FederatedRequest;
+import org.apache.sysds.runtime.controlprogram.federated.FederatedRequest.RequestType;
+import org.apache.sysds.runtime.controlprogram.federated.FederatedRequestScheduler;
+import org.apache.sysds.runtime.controlprogram.federated.FederatedResponse;
+import org.apache.sysds.runtime.controlprogram.federated.FederationUtils;
+import org.apache.sysds.runtime.matrix.data.MatrixBlock;
+import org.apache.sysds.test.TestUtils;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+public class FedWorkerMultiplex {
+	private static int port;
+	private DMLConfig _conf;
+
+	@BeforeClass
+	public static void setUp() {
+		port = FedWorkerBase.startWorker();
+	}
+
+	@Before
+	public void enableMultiplexing() {
+		_conf = ConfigurationManager.getDMLConfig();
+		DMLConfig conf = new DMLConfig();
+		conf.setTextValue(DMLConfig.FEDERATED_WIRE_PROTOCOL, "binary");
+		conf.setTextValue(DMLConfig.FEDERATED_MULTIPLEX, "true");
+		ConfigurationManager.setLocalConfig(conf);
+	}
+
+	@After
+	public void resetConfig() {
+		ConfigurationManager.setLocalConfig(_conf);
+	}
+
+	@Test
+	public void verifyPipelinedPutGet() throws Exception {
+		final InetSocketAddress addr = new InetSocketAddress(InetAddress.getByName("localhost"), port);
+		final int n = 16;
+		final List<MatrixBlock> blocks = new ArrayList<>();
+		final List<Long> ids = new ArrayList<>();
+		final List<Future<FederatedResponse>> puts = new ArrayList<>();
+		for(int i = 0; i < n; i++) {
+			MatrixBlock mb = TestUtils.generateTestMatrixBlock(100, 10, 0, 1, 0.7, i);
+			long id = FederationUtils.getNextFedDataID();
+			blocks.add(mb);
+			ids.add(id);
+			puts.add(FederatedData.executeFederatedOperation(addr, new FederatedRequest(RequestType.PUT_VAR, id, mb)));
+		}
+		for(Future<FederatedResponse> put : puts)
+			assertTrue(put.get(5000, TimeUnit.MILLISECONDS).isSuccessful());
+
+		final List<Future<FederatedResponse>> gets = new ArrayList<>();
+		for(int i = 0; i < n; i++)
+			gets.add(FederatedData.executeFederatedOperation(addr, new FederatedRequest(RequestType.GET_VAR, ids.get(i))));
+		for(int i = 0; i < n; i++) {
+			MatrixBlock ret = (MatrixBlock) gets.get(i).get(5000, TimeUnit.MILLISECONDS).getData()[0];
+			TestUtils.compareMatricesBitAvgDistance(blocks.get(i), ret, 0, 0,
+				"Not equivalent matrix block returned from federated site");
+		}
+	}
+
+	@Test
+	public void verifyConcurrentSenders() throws Exception {
+		// concurrent first requests of multiple coordinator threads share one channel per worker
+		FederatedData.resetFederatedSites();
+		final InetSocketAddress addr = new InetSocketAddress(InetAddress.getByName("localhost"), port);
+		final DMLConfig conf = ConfigurationManager.getDMLConfig();
+		final int k = 8;
+		final ExecutorService pool = Executors.newFixedThreadPool(k);
+		try {
+			final CountDownLatch start = new CountDownLatch(1);
+			final List<Future<Boolean>> tasks = new ArrayList<>();
+			for(int t = 0; t < k; t++) {
+				final int seed = t;
+				tasks.add(pool.submit(() -> {
+					ConfigurationManager.setLocalConfig(conf);
+					MatrixBlock mb = TestUtils.generateTestMatrixBlock(50, 10, 0, 1, 0.7, seed);
+					long id = FederationUtils.getNextFedDataID();
+					start.await();
+					FederatedResponse put = FederatedData
+						.executeFederatedOperation(addr, new FederatedRequest(RequestType.PUT_VAR, id, mb))
+						.get(5000, TimeUnit.MILLISECONDS);
+					MatrixBlock ret = (MatrixBlock) FederatedData
+						.executeFederatedOperation(addr, new FederatedRequest(RequestType.GET_VAR, id))
+						.get(5000, TimeUnit.MILLISECONDS).getData()[0];
+					TestUtils.compareMatricesBitAvgDistance(mb, ret, 0, 0,
+						"Not equivalent matrix block returned from federated site");
+					return put.isSuccessful();
+				}));
+			}
+			start.countDown();
+			for(Future<Boolean> task : tasks)
+				assertTrue(task.get(10, TimeUnit.SECONDS));
+		}
+		finally {
+			pool.shutdownNow();
+		}
+	}
+
+	@Test
+	public void verifySchedulerOrdersConflicts() throws Exception {
+		final ExecutorService pool = Executors.newCachedThreadPool();
+		try {
+			final FederatedRequestScheduler scheduler = new FederatedRequestScheduler(pool);
+			final CountDownLatch release = new CountDownLatch(1);
+			final CountDownLatch independent = new CountDownLatch(1);
+			final CountDownLatch dependent = new CountDownLatch(1);
+			final long id1 = FederationUtils.getNextFedDataID();
+			final long id2 = FederationUtils.getNextFedDataID();
+
+			scheduler.submit(new FederatedRequest[] {new FederatedRequest(RequestType.PUT_VAR, id1)}, () -> {
+				try {
+					release.await();
+				}
+				catch(InterruptedException e) {
+					fail(e.getMessage());
+				}
+			});
+			scheduler.submit(new FederatedRequest[] {new FederatedRequest(RequestType.GET_VAR, id1)},
+				dependent::countDown);
+			scheduler.submit(new FederatedRequest[] {new FederatedRequest(RequestType.PUT_VAR, id2)},
+				independent::countDown);
+
+			// independent batch runs while the conflicting batch waits
+			assertTrue(independent.await(5, TimeUnit.SECONDS));
+			assertFalse(dependent.await(100, TimeUnit.MILLISECONDS));
+			release.countDown();
+			assertTrue(dependent.await(5, TimeUnit.SECONDS));
+		}
+		finally {
+			pool.shutdown();
+		}
+	}
+
+	@Test
+	public void verifySchedulerBarrier() throws Exception {
+		final ExecutorService pool = Executors.newCachedThreadPool();
+		try {
+			final FederatedRequestScheduler scheduler = new FederatedRequestScheduler(pool);
+			final CountDownLatch release = new CountDownLatch(1);
+			final CountDownLatch after = new CountDownLatch(1);
+			scheduler.submit(new FederatedRequest[] {new FederatedRequest(RequestType.PUT_VAR,
+				FederationUtils.getNextFedDataID())}, () -> {
+					try {
+						release.await();
+					}
+					catch(InterruptedException e) {
+						fail(e.getMessage());
+					}
+				});
+			scheduler.submit(new FederatedRequest[] {new FederatedRequest(RequestType.CLEAR)}, () -> {});
+			scheduler.submit(new FederatedRequest[] {new FederatedRequest(RequestType.PUT_VAR,
+				FederationUtils.getNextFedDataID())}, after::countDown);
+
+			// batches after a CLEAR wait for the CLEAR and all earlier batches
+			assertFalse(after.await(100, TimeUnit.MILLISECONDS));
+			assertEquals(3, scheduler.getNumPending());
+			release.countDown();
+			assertTrue(after.await(5, TimeUnit.SECONDS));
+		}
+		finally {
+			pool.shutdown();
+		}
+	}
+}
@@ -0,0 +1,165 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysds.test.component.federated;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Collection;
+
+import org.apache.sysds.common.Types.ValueType;
+import org.apache.sysds.conf.ConfigurationManager;
+import org.apache.sysds.conf.DMLConfig;
+import org.apache.sysds.runtime.controlprogram.federated.FederatedRequest;
+import org.apache.sysds.runtime.controlprogram.federated.FederatedRequest.RequestType;
+import org.apache.sysds.runtime.controlprogram.federated.FederatedResponse;
+import org.apache.sysds.runtime.controlprogram.federated.FederatedResponse.ResponseType;
+import org.apache.sysds.runtime.controlprogram.federated.FederatedStatistics;
+import org.apache.sysds.runtime.controlprogram.federated.FederatedWireCodec;
+import org.apache.sysds.runtime.frame.data.FrameBlock;
+import org.apache.sysds.runtime.instructions.cp.DoubleObject;
+import org.apache.sysds.runtime.instructions.cp.ScalarObject;
+import org.apache.sysds.runtime.matrix.data.MatrixBlock;
+import org.apache.sysds.test.TestUtils;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+import org.junit.runners.Parameterized.Parameters;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.channel.embedded.EmbeddedChannel;
+
+@RunWith(value = Parameterized.class)
+public class FedWorkerWireProtocol extends FedWorkerBase {
+
+	private final MatrixBlock mb;
+	private DMLConfig _conf;
+
+	@Parameters
+	public static Collection<Object[]> data() {
+		final ArrayList<Object[]> tests = new ArrayList<>();
+
+		final int port = startWorker();
+
+		tests.add(new Object[] {port, TestUtils.generateTestMatrixBlock(10, 10, 0.5, 9.5, 1.0, 1342)});
+		tests.add(new Object[] {port, TestUtils.generateTestMatrixBlock(1000, 10, 0.5, 9.5, 1.0, 1342)});
+		tests.add(new Object[] {port, TestUtils.generateTestMatrixBlock(100, 100, 0.5, 9.5, 0.05, 7)});
+		tests.add(new Object[] {port, new MatrixBlock(30, 20, true)});
+
+		return tests;
+	}
+
+	public FedWorkerWireProtocol(int port, MatrixBlock mb) {
+		super(port);
+		this.mb = mb;
+	}
+
+	@Before
+	public void enableBinaryProtocol() {
+		_conf = ConfigurationManager.getDMLConfig();
+		DMLConfig conf = new DMLConfig();
+		conf.setTextValue(DMLConfig.FEDERATED_WIRE_PROTOCOL, "binary");
+		ConfigurationManager.setLocalConfig(conf);
+	}
+
+	@After
+	public void resetConfig() {
+		ConfigurationManager.setLocalConfig(_conf);
+	}
+
+	@Test
+	public void verifyPutGetMatrixBlock() {
+		final long count = FederatedStatistics.getFedWireEncodeCount();
+		final long id = putMatrixBlock(mb);
+		final MatrixBlock mbr = getMatrixBlock(id);
+		TestUtils.compareMatricesBitAvgDistance(mb, mbr, 0, 0,
+			"Not equivalent matrix block returned from federated site");
+		assertTrue("binary wire protocol not used", FederatedStatistics.getFedWireEncodeCount() > count);
+	}
+
+	@Test
+	public void verifyPutGetScalar() {
+		final long id = putDouble(7.3);
+		assertEquals(7.3, getDouble(id), 0.0);
+	}
+
+	@Test
+	public void verifyEncodeDecodeRequests() {
+		final FrameBlock fb = new FrameBlock(new ValueType[] {ValueType.STRING, ValueType.FP64},
+			new String[][] {{"a", "1.5"}, {"b", "2.5"}});
+		final FederatedRequest fr1 = new FederatedRequest(RequestType.PUT_VAR, 7, mb);
+		final FederatedRequest fr2 = new FederatedRequest(RequestType.EXEC_INST, 8,
+			"CP_+_mVar1_mVar2_mVar3", null, 3L, new DoubleObject(3.5), fb);
+		fr2.setTID(11);
+
+		final FederatedRequest[] ret = roundtrip(new FederatedRequest[] {fr1, fr2});
+		assertEquals(2, ret.length);
+		assertEquals(RequestType.PUT_VAR, ret[0].getType());
+		assertEquals(7, ret[0].getID());
+		assertEquals(fr1.getPID(), ret[0].getPID());
+		TestUtils.compareMatricesBitAvgDistance(mb, (MatrixBlock) ret[0].getParam(0), 0, 0, "Not equivalent matrix block");
+		assertEquals(RequestType.EXEC_INST, ret[1].getType());
+		assertEquals(11, ret[1].getTID());
+		assertEquals(fr2.getParam(0), ret[1].getParam(0));
+		assertNull(ret[1].getParam(1));
+		assertEquals(3L, ret[1].getParam(2));
+		assertEquals(3.5, ((ScalarObject) ret[1].getParam(3)).getDoubleValue(), 0.0);
+		FrameBlock fbr = (FrameBlock) ret[1].getParam(4);
+		assertArrayEquals(fb.getSchema(), fbr.getSchema());
+		assertEquals("b", fbr.get(1, 0));
+		assertEquals(2.5, (Double) fbr.get(1, 1), 0.0);
+	}
+
+	@Test
+	public void verifyEncodeDecodeResponse() {
+		final FederatedResponse ret = roundtrip(new FederatedResponse(ResponseType.SUCCESS, mb));
+		assertTrue(ret.isSuccessful());
+		try {
+			TestUtils.compareMatricesBitAvgDistance(mb, (MatrixBlock) ret.getData()[0], 0, 0, "Not equivalent matrix block");
+		}
+		catch(Exception ex) {
+			throw new RuntimeException(ex);
+		}
+		final FederatedResponse err = roundtrip(new FederatedResponse(ResponseType.ERROR, "failed"));
+		assertTrue(!err.isSuccessful());
+		assertEquals("failed", err.getErrorMessage());
+	}
+
+	@SuppressWarnings("unchecked")
+	private static <T> T roundtrip(Object msg) {
+		final EmbeddedChannel enc = new EmbeddedChannel(new FederatedWireCodec.Encoder());
+		assertTrue(enc.writeOutbound(msg));
+		final ByteBuf buf = enc.readOutbound();
+		assertTrue(FederatedWireCodec.isBinaryFrame(buf.getInt(0)));
+
+		// deliver the frame in two chunks to exercise partial frames
+		final EmbeddedChannel dec = new EmbeddedChannel(new FederatedWireCodec.Decoder());
+		final int half = buf.readableBytes() / 2;
+		dec.writeInbound(buf.readRetainedSlice(half));
+		assertNull(dec.readInbound());
+		dec.writeInbound(buf);
+		return (T) dec.readInbound();
+	}
+}
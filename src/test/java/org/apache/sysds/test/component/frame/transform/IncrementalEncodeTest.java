@@ -0,0 +1,324 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysds.test.component.frame.transform;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import org.apache.sysds.runtime.DMLRuntimeException;
+import org.apache.sysds.runtime.frame.data.FrameBlock;
+import org.apache.sysds.runtime.frame.data.columns.Array;
+import org.apache.sysds.runtime.frame.data.columns.ArrayFactory;
+import org.apache.sysds.runtime.transform.encode.ColumnEncoderBin;
+import org.apache.sysds.runtime.transform.encode.ColumnEncoderRecode;
+import org.apache.sysds.runtime.transform.encode.EncoderFactory;
+import org.apache.sysds.runtime.transform.encode.EncoderMVImpute;
+import org.apache.sysds.runtime.transform.encode.MultiColumnEncoder;
+import org.apache.sysds.runtime.transform.encode.QuantileSketch;
+import org.junit.Test;
+
+public class IncrementalEncodeTest {
+
+	private static final String SPEC_WIDTH = "{ids:true,recode:[1],bin:[{id:2,method:equi-width,numbins:5}],"
+		+ "impute:[{id:3,method:global_mean}]}";
+	private static final String SPEC_HEIGHT = "{ids:true,bin:[{id:2,method:equi-height,numbins:8}]}";
+
+	@Test
+	public void testRecodeCodesStable() {
+		Data d = new Data(3000, 7);
+		MultiColumnEncoder inc = EncoderFactory.createEncoder(SPEC_WIDTH, 3);
+		Map<Object, Long> before = new HashMap<>();
+		for(int b = 0; b < 3; b++) {
+			inc.buildIncremental(d.batch(b * 1000, (b + 1) * 1000));
+			Map<Object, Long> map = getRecodeMap(inc);
+			for(Map.Entry<Object, Long> e : before.entrySet())
+				assertEquals(e.getValue(), map.get(e.getKey()));
+			before = new HashMap<>(map);
+		}
+
+		// equivalent to a full build over all batches (first-occurrence order)
+		MultiColumnEncoder full = EncoderFactory.createEncoder(SPEC_WIDTH, 3);
+		full.build(d.batch(0, 3000));
+		assertEquals(getRecodeMap(full), getRecodeMap(inc));
+	}
+
+	@Test
+	public void testRecodeDelta() {
+		Data d = new Data(3000, 11);
+		MultiColumnEncoder inc = EncoderFactory.createEncoder(SPEC_WIDTH, 3);
+		int total = 0;
+		for(int b = 0; b < 3; b++) {
+			Map<Object, Long> before = new HashMap<>(getRecodeMap(inc));
+			inc.buildIncremental(d.batch(b * 1000, (b + 1) * 1000));
+			FrameBlock delta = inc.getMetaDataDelta(null);
+			Map<Object, Long> deltaMap = delta.getRecodeMap(0);
+			Map<Object, Long> map = getRecodeMap(inc);
+			assertEquals(map.size() - before.size(), deltaMap.size());
+			for(Map.Entry<Object, Long> e : deltaMap.entrySet()) {
+				assertNull(before.get(e.getKey()));
+				assertEquals(map.get(e.getKey()), e.getValue());
+			}
+			assertEquals(map.size(), delta.getColumnMetadata(0).getNumDistinct());
+			total += deltaMap.size();
+		}
+		assertEquals(getRecodeMap(inc).size(), total);
+
+		// no new data, no delta
+		FrameBlock delta = inc.getMetaDataDelta(null);
+		assertEquals(0, delta.getNumRows());
+	}
+
+	@Test
+	public void testContinueFromMetaData() {
+		Data d = new Data(2000, 13);
+		MultiColumnEncoder e1 = EncoderFactory.createEncoder(SPEC_WIDTH, 3);
+		e1.buildIncremental(d.batch(0, 1000));
+		FrameBlock meta = e1.getMetaData(null);
+
+		MultiColumnEncoder e2 = EncoderFactory.createEncoder(SPEC_WIDTH, null, 3, meta);
+		e2.buildIncremental(d.batch(1000, 2000));
+		e1.buildIncremental(d.batch(1000, 2000));
+		assertEquals(getRecodeMap(e1), getRecodeMap(e2));
+		// only the entries unknown to the given meta data are emitted
+		Map<Object, Long> delta = e2.getMetaDataDelta(null).getRecodeMap(0);
+		assertEquals(getRecodeMap(e2).size() - meta.getRecodeMap(0).size(), delta.size());
+	}
+
+	@Test
+	public void testEquiWidth() {
+		Data d = new Data(3000, 17);
+		MultiColumnEncoder inc = EncoderFactory.createEncoder(SPEC_WIDTH, 3);
+		for(int b = 0; b < 3; b++)
+			inc.buildIncremental(d.batch(b * 1000, (b + 1) * 1000));
+		MultiColumnEncoder full = EncoderFactory.createEncoder(SPEC_WIDTH, 3);
+		full.build(d.batch(0, 3000));
+		assertArrayEquals(getBin(full).getBinMins(), getBin(inc).getBinMins(), 1e-10);
+		assertArrayEquals(getBin(full).getBinMaxs(), getBin(inc).getBinMaxs(), 1e-10);
+
+		// bins are emitted as a whole, and only if changed
+		FrameBlock delta = inc.getMetaDataDelta(null);
+		assertEquals(5, delta.getColumnMetadata(1).getNumDistinct());
+		inc.buildIncremental(d.batch(0, 1000));
+		delta = inc.getMetaDataDelta(null);
+		assertTrue(delta.getColumnMetadata(1).isDefault());
+	}
+
+	@Test
+	public void testEquiHeightExact() {
+		// below the sketch capacity, the bins are identical to a full build
+		Data d = new Data(3000, 19);
+		MultiColumnEncoder inc = EncoderFactory.createEncoder(SPEC_HEIGHT, 3);
+		for(int b = 0; b < 3; b++)
+			inc.buildIncremental(d.batch(b * 1000, (b + 1) * 1000));
+		MultiColumnEncoder full = EncoderFactory.createEncoder(SPEC_HEIGHT, 3);
+		full.build(d.batch(0, 3000));
+		assertArrayEquals(getBin(full).getBinMins(), getBin(inc).getBinMins(), 0);
+		assertArrayEquals(getBin(full).getBinMaxs(), getBin(inc).getBinMaxs(), 0);
+	}
+
+	@Test
+	public void testEquiHeightApproximate() {
+		final int n = 200000, nb = 10;
+		Data d = new Data(n, 23);
+		MultiColumnEncoder inc = EncoderFactory.createEncoder(SPEC_HEIGHT, 3);
+		for(int b = 0; b < nb; b++)
+			inc.buildIncremental(d.batch(b * n / nb, (b + 1) * n / nb));
+
+		double[] sorted = d.vals.clone();
+		Arrays.sort(sorted);
+		double[] maxs = getBin(inc).getBinMaxs();
+		assertEquals(sorted[0], getBin(inc).getBinMins()[0], 0);
+		assertEquals(sorted[n - 1], maxs[maxs.length - 1], 0);
+		for(int i = 0; i < maxs.length - 1; i++) {
+			// fraction of values up to the boundary within the rank error of the sketch
+			int rank = upperBound(sorted, maxs[i]);
+			double expected = (i + 1d) / maxs.length;
+			assertEquals(expected, (double) rank / n, 2d / QuantileSketch.DEFAULT_CAPACITY + 1e-4);
+		}
+	}
+
+	@Test
+	public void testEquiHeightSerialized() throws Exception {
+		Data d = new Data(20000, 29);
+		MultiColumnEncoder inc = EncoderFactory.createEncoder(SPEC_HEIGHT, 3);
+		inc.buildIncremental(d.batch(0, 10000));
+		ColumnEncoderBin bin = getBin(inc);
+
+		ByteArrayOutputStream bos = new ByteArrayOutputStream();
+		try(ObjectOutputStream oos = new ObjectOutputStream(bos)) {
+			bin.writeExternal(oos);
+		}
+		ColumnEncoderBin bin2 = new ColumnEncoderBin();
+		try(ObjectInputStream ois = new ObjectInputStream(new ByteArrayInputStream(bos.toByteArray()))) {
+			bin2.readExternal(ois);
+		}
+		// a deserialized encoder continues with the same state and has no pending delta
+		assertEquals(0, bin2.getMetaDataDeltaRows());
+		FrameBlock next = d.batch(10000, 20000);
+		bin.buildIncremental(next);
+		bin2.buildIncremental(next);
+		assertArrayEquals(bin.getBinMaxs(), bin2.getBinMaxs(), 0);
+	}
+
+	@Test
+	public void testLegacyFormatDeserialized() throws Exception {
+		// layout written before the format was versioned: colID, bins, method, min/max, no sketch
+		ByteArrayOutputStream bos = new ByteArrayOutputStream();
+		try(ObjectOutputStream oos = new ObjectOutputStream(bos)) {
+			oos.writeInt(2);
+			oos.writeInt(2);
+			oos.writeUTF("EQUI-WIDTH");
+			oos.writeBoolean(true);
+			oos.writeDouble(5);
+			oos.writeDouble(0);
+			oos.writeDouble(10);
+			oos.writeDouble(5);
+			oos.writeInt(42); // data of a subsequent encoder
+		}
+		ColumnEncoderBin bin = new ColumnEncoderBin();
+		try(ObjectInputStream ois = new ObjectInputStream(new ByteArrayInputStream(bos.toByteArray()))) {
+			bin.readExternal(ois);
+			assertEquals(42, ois.readInt());
+		}
+		assertEquals(2, bin.getNumBin());
+		assertArrayEquals(new double[] {5, 10}, bin.getBinMaxs(), 0);
+		assertArrayEquals(new double[] {0, 5}, bin.getBinMins(), 0);
+	}
+
+	@Test
+	public void testEquiHeightWithoutState() {
+		Data d = new Data(1000, 31);
+		MultiColumnEncoder full = EncoderFactory.createEncoder(SPEC_HEIGHT, 3);
+		full.build(d.batch(0, 1000));
+		try {
+			full.buildIncremental(d.batch(0, 1000));
+			fail("incremental equi-height binning without sketch should fail");
+		}
+		catch(DMLRuntimeException ex) {
+			assertTrue(ex.getMessage().contains("incremental"));
+		}
+	}
+
+	@Test
+	public void testImputeMean() {
+		Data d = new Data(3000, 37);
+		MultiColumnEncoder inc = EncoderFactory.createEncoder(SPEC_WIDTH, 3);
+		for(int b = 0; b < 3; b++) {
+			inc.buildIncremental(d.batch(b * 1000, (b + 1) * 1000));
+			FrameBlock delta = inc.getMetaDataDelta(null);
+			double mean = Double.parseDouble(delta.getColumnMetadata(2).getMvValue());
+			assertEquals(d.mean(0, (b + 1) * 1000), mean, 1e-9);
+		}
+		EncoderMVImpute impute = inc.getLegacyEncoder(EncoderMVImpute.class);
+		assertEquals(d.mean(0, 3000), Double.parseDouble(impute.getReplacement(3)), 1e-9);
+		assertEquals(d.nonNull(0, 3000), impute.getNonMVCount(3));
+	}
+
+	@Test
+	public void testSketchMinMax() {
+		QuantileSketch sketch = new QuantileSketch(16);
+		Random r = new Random(41);
+		double[] vals = new double[1000];
+		double min = Double.MAX_VALUE, max = -Double.MAX_VALUE;
+		for(int b = 0; b < 10; b++) {
+			for(int i = 0; i < vals.length; i++) {
+				vals[i] = r.nextGaussian();
+				min = Math.min(min, vals[i]);
+				max = Math.max(max, vals[i]);
+			}
+			vals[3] = Double.NaN;
+			sketch.update(vals, vals.length);
+			assertTrue(sketch.getNumPoints() <= 16);
+		}
+		assertEquals(10 * 999, sketch.getCount());
+		assertEquals(min, sketch.getMin(), 0);
+		assertEquals(max, sketch.getMax(), 0);
+		assertEquals(min, sketch.getValueAtRank(0), 0);
+		assertEquals(max, sketch.getValueAtRank(sketch.getCount() - 1), 0);
+	}
+
+	private static Map<Object, Long> getRecodeMap(MultiColumnEncoder e) {
+		return e.getColumnEncoder(1, ColumnEncoderRecode.class).getRcdMap();
+	}
+
+	private static ColumnEncoderBin getBin(MultiColumnEncoder e) {
+		return e.getColumnEncoder(2, ColumnEncoderBin.class);
+	}
+
+	private static int upperBound(double[] sorted, double v) {
+		int ix = Arrays.binarySearch(sorted, v);
+		if(ix < 0)
+			return -ix - 1;
+		while(ix < sorted.length && sorted[ix] == v)
+			ix++;
+		return ix;
+	}
+
+	/** Rows with a token column whose domain grows over time, a numeric column, and a column with nulls. */
+	private static class Data {
+		final String[] tokens;
+		final double[] vals;
+		final String[] nulls;
+
+		Data(int n, long seed) {
+			Random r = new Random(seed);
+			tokens = new String[n];
+			vals = new double[n];
+			nulls = new String[n];
+			for(int i = 0; i < n; i++) {
+				tokens[i] = "t" + r.nextInt(10 + i / 20);
+				vals[i] = Math.round(r.nextGaussian() * 1000 + i / 10) / 10.0;
+				nulls[i] = r.nextDouble() < 0.2 ? null : String.valueOf(r.nextInt(100) + i / 100);
+			}
+		}
+
+		FrameBlock batch(int rl, int ru) {
+			return new FrameBlock(new Array<?>[] {ArrayFactory.create(Arrays.copyOfRange(tokens, rl, ru)),
+				ArrayFactory.create(Arrays.copyOfRange(vals, rl, ru)),
+				ArrayFactory.create(Arrays.copyOfRange(nulls, rl, ru))});
+		}
+
+		double mean(int rl, int ru) {
+			double sum = 0;
+			for(int i = rl; i < ru; i++)
+				sum += nulls[i] != null ? Double.parseDouble(nulls[i]) : 0;
+			return sum / nonNull(rl, ru);
+		}
+
+		long nonNull(int rl, int ru) {
+			long cnt = 0;
+			for(int i = rl; i < ru; i++)
+				cnt += nulls[i] != null ? 1 : 0;
+			return cnt;
+		}
+	}
+}
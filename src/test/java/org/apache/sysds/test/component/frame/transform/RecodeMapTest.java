@@ -0,0 +1,206 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysds.test.component.frame.transform;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Random;
+
+import org.apache.sysds.runtime.frame.data.FrameBlock;
+import org.apache.sysds.runtime.frame.data.columns.Array;
+import org.apache.sysds.runtime.frame.data.columns.HashIntegerArray;
+import org.apache.sysds.runtime.frame.data.columns.HashLongArray;
+import org.apache.sysds.runtime.frame.data.columns.StringArray;
+import org.apache.sysds.runtime.matrix.data.MatrixBlock;
+import org.apache.sysds.runtime.transform.encode.ColumnEncoder;
+import org.apache.sysds.runtime.transform.encode.ColumnEncoderRecode;
+import org.apache.sysds.runtime.transform.encode.EncoderFactory;
+import org.apache.sysds.runtime.transform.encode.MultiColumnEncoder;
+import org.apache.sysds.runtime.transform.encode.RecodeMap;
+import org.apache.sysds.test.TestUtils;
+import org.junit.Test;
+
+public class RecodeMapTest {
+
+	@Test
+	public void testPutCodeInsertionOrder() {
+		RecodeMap map = new RecodeMap();
+		assertEquals(1, map.putCode("b"));
+		assertEquals(2, map.putCode("a"));
+		assertEquals(1, map.putCode("b"));
+		assertEquals(3, map.putCode("c"));
+		assertEquals(3, map.size());
+		assertEquals(2, map.getCode("a"));
+		assertEquals(-1, map.getCode("d"));
+		assertEquals(-1, map.getCode(null));
+		assertNull(map.get("d"));
+		assertFalse(map.containsKey(null));
+		List<Object> keys = new ArrayList<>(map.keySet());
+		assertEquals(List.of("b", "a", "c"), keys);
+	}
+
+	@Test
+	public void testPutOverwrite() {
+		RecodeMap map = new RecodeMap();
+		assertNull(map.put("x", 7L));
+		assertEquals(Long.valueOf(7), map.put("x", 9L));
+		assertEquals(Long.valueOf(9), map.get("x"));
+		assertEquals(1, map.size());
+	}
+
+	@Test
+	public void testLargeAgainstHashMap() {
+		Random r = new Random(7);
+		RecodeMap map = new RecodeMap();
+		Map<Object, Long> ref = new HashMap<>();
+		for(int i = 0; i < 200000; i++) {
+			String key = "id" + r.nextInt(50000);
+			long code = map.putCode(key);
+			Long old = ref.putIfAbsent(key, (long) ref.size() + 1);
+			assertEquals(old == null ? ref.size() : old, code);
+		}
+		assertEquals(ref, map);
+		assertEquals(map, ref);
+		assertEquals(ref.hashCode(), map.hashCode());
+		assertEquals(ref.keySet(), map.keySet());
+		for(Entry<Object, Long> e : ref.entrySet())
+			assertTrue(map.entrySet().contains(e));
+	}
+
+	@Test
+	public void testCopyConstructor() {
+		Map<Object, Long> ref = new HashMap<>();
+		ref.put("a", 5L);
+		ref.put("b", 3L);
+		RecodeMap map = new RecodeMap(ref);
+		assertEquals(ref, map);
+		assertEquals(3, map.putCode("c"));
+	}
+
+	@Test
+	public void testSort() {
+		RecodeMap map = new RecodeMap();
+		for(String s : new String[] {"d", "b", "a", "c"})
+			map.putCode(s);
+		map.sort();
+		assertEquals(List.of("a", "b", "c", "d"), new ArrayList<>(map.keySet()));
+		assertEquals(1, map.getCode("a"));
+		assertEquals(4, map.getCode("d"));
+	}
+
+	@Test
+	public void testPutAllCodes() {
+		RecodeMap m1 = new RecodeMap();
+		RecodeMap m2 = new RecodeMap();
+		for(int i = 0; i < 100; i++)
+			m1.putCode("k" + i);
+		for(int i = 50; i < 200; i++)
+			m2.putCode("k" + i);
+		m1.putAllCodes(m2);
+		assertEquals(200, m1.size());
+		for(int i = 0; i < 200; i++)
+			assertEquals(i + 1, m1.getCode("k" + i));
+	}
+
+	@Test
+	public void testHashKeys() {
+		RecodeMap map = new RecodeMap();
+		map.putCode(Long.toHexString(-5L));
+		map.putCode("0ff"); // not canonical
+		map.putCode("FF"); // not canonical
+		assertEquals(1, map.getCode(-5L));
+		assertEquals(-1, map.getCode(255L));
+		assertEquals(4, map.putCode(255L));
+		assertEquals(4, map.getCode("ff"));
+		assertEquals(4, map.putCode(255L));
+		// keys added after the hash index was created
+		map.putCode("abc");
+		assertEquals(5, map.getCode(0xabcL));
+		assertEquals(6, map.putCode(0L));
+		assertEquals(6, map.getCode("0"));
+	}
+
+	@Test
+	public void testEncodeHashLongColumn() {
+		Random r = new Random(3);
+		long[] vals = new long[5000];
+		for(int i = 0; i < vals.length; i++)
+			vals[i] = r.nextInt(300) * 0x9E3779B97F4A7C15L;
+		String[] svals = new String[vals.length];
+		for(int i = 0; i < vals.length; i++)
+			svals[i] = Long.toHexString(vals[i]);
+		compareEncode(new HashLongArray(vals), new StringArray(svals));
+	}
+
+	@Test
+	public void testEncodeHashIntegerColumn() {
+		Random r = new Random(4);
+		int[] vals = new int[5000];
+		for(int i = 0; i < vals.length; i++)
+			vals[i] = r.nextInt(300) * 0x9E3779B9;
+		String[] svals = new String[vals.length];
+		for(int i = 0; i < vals.length; i++)
+			svals[i] = Integer.toHexString(vals[i]);
+		compareEncode(new HashIntegerArray(vals), new StringArray(svals));
+	}
+
+	@Test
+	public void testPartialBuildSameCodes() {
+		Random r = new Random(5);
+		String[] svals = new String[10000];
+		for(int i = 0; i < svals.length; i++)
+			svals[i] = (i % 17 == 0) ? null : "v" + r.nextInt(2000);
+		FrameBlock fb = new FrameBlock(new Array<?>[] {new StringArray(svals)});
+		int blks = ColumnEncoder.BUILD_ROW_BLOCKS_PER_COLUMN;
+		try {
+			ColumnEncoder.BUILD_ROW_BLOCKS_PER_COLUMN = 8;
+			MultiColumnEncoder e1 = EncoderFactory.createEncoder("{ids:true,recode:[1]}", 1);
+			MultiColumnEncoder e2 = EncoderFactory.createEncoder("{ids:true,recode:[1]}", 1);
+			e1.build(fb, 1);
+			e2.build(fb, 8);
+			Map<Object, Long> m1 = e1.getColumnEncoders(ColumnEncoderRecode.class).get(0).getRcdMap();
+			Map<Object, Long> m2 = e2.getColumnEncoders(ColumnEncoderRecode.class).get(0).getRcdMap();
+			assertEquals(m1, m2);
+		}
+		finally {
+			ColumnEncoder.BUILD_ROW_BLOCKS_PER_COLUMN = blks;
+		}
+	}
+
+	private static void compareEncode(Array<?> hashed, Array<?> strings) {
+		for(int k : new int[] {1, 4}) {
+			MultiColumnEncoder e1 = EncoderFactory.createEncoder("{ids:true,recode:[1]}", 1);
+			MultiColumnEncoder e2 = EncoderFactory.createEncoder("{ids:true,recode:[1]}", 1);
+			MatrixBlock out1 = e1.encode(new FrameBlock(new Array<?>[] {hashed}), k);
+			MatrixBlock out2 = e2.encode(new FrameBlock(new Array<?>[] {strings}), k);
+			TestUtils.compareMatricesBitAvgDistance(out2, out1, 0, 0, "hashed vs string recode");
+			assertEquals(e2.getColumnEncoders(ColumnEncoderRecode.class).get(0).getRcdMap(),
+				e1.getColumnEncoders(ColumnEncoderRecode.class).get(0).getRcdMap());
+		}
+	}
+}
@@ -0,0 +1,139 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysds.test.component.frame.transform;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import org.apache.sysds.runtime.frame.data.FrameBlock;
+import org.apache.sysds.runtime.frame.data.columns.Array;
+import org.apache.sysds.runtime.frame.data.columns.ArrayFactory;
+import org.apache.sysds.runtime.matrix.data.MatrixBlock;
+import org.apache.sysds.runtime.transform.encode.EncoderFactory;
+import org.apache.sysds.runtime.transform.encode.MultiColumnEncoder;
+import org.apache.sysds.runtime.transform.encode.RowEncoder;
+import org.apache.sysds.test.TestUtils;
+import org.junit.Test;
+
+public class RowEncoderTest {
+
+	private static final String[] SPECS = new String[] {
+		"{ids:true,recode:[1,3]}",
+		"{ids:true,recode:[1],dummycode:[1]}",
+		"{ids:true,recode:[1,3],dummycode:[3,1]}",
+		"{ids:true,bin:[{id:2,method:equi-width,numbins:5}]}",
+		"{ids:true,bin:[{id:2,method:equi-height,numbins:4}],dummycode:[2]}",
+		"{ids:true,hash:[3],K:7,dummycode:[3]}",
+		"{ids:true,recode:[1],bin:[{id:2,method:equi-width,numbins:3}],dummycode:[1,2]}",
+		"{ids:true}"};
+
+	@Test
+	public void testSingleRows() {
+		FrameBlock train = generate(500, 7, false);
+		FrameBlock test = generate(40, 8, true);
+		for(String spec : SPECS) {
+			FrameBlock meta = buildMeta(spec, train);
+			MatrixBlock expected = EncoderFactory.createEncoder(spec, null, 3, meta).apply(test);
+			RowEncoder renc = new RowEncoder(EncoderFactory.createEncoder(spec, null, 3, meta));
+			assertEquals(spec, expected.getNumColumns(), renc.getNumOutCols());
+			double[] row = new double[renc.getNumOutCols()];
+			Arrays.fill(row, 7); // reused buffer is fully overwritten
+			int[] six = new int[3];
+			double[] svals = new double[3];
+			for(int i = 0; i < test.getNumRows(); i++) {
+				renc.apply(test, i, row, 0);
+				for(int j = 0; j < row.length; j++)
+					assertEquals(spec + " row " + i, expected.get(i, j), row[j], 0);
+				int nnz = renc.apply(test, i, six, svals, 0);
+				double[] srow = new double[renc.getNumOutCols()];
+				for(int k = 0; k < nnz; k++) {
+					assertTrue(k == 0 || six[k - 1] < six[k]);
+					srow[six[k]] = svals[k];
+				}
+				assertArrayEquals(spec + " row " + i, row, srow, 0);
+			}
+		}
+	}
+
+	@Test
+	public void testBatch() {
+		FrameBlock train = generate(500, 9, false);
+		FrameBlock test = generate(64, 10, true);
+		for(String spec : SPECS) {
+			FrameBlock meta = buildMeta(spec, train);
+			MatrixBlock expected = EncoderFactory.createEncoder(spec, null, 3, meta).apply(test);
+			MatrixBlock actual = new RowEncoder(EncoderFactory.createEncoder(spec, null, 3, meta)).apply(test);
+			TestUtils.compareMatricesBitAvgDistance(expected, actual, 0, 0, spec);
+			assertEquals(spec, expected.getNonZeros(), actual.getNonZeros());
+		}
+	}
+
+	@Test
+	public void testCachedPerMeta() {
+		FrameBlock train = generate(200, 11, false);
+		String spec = SPECS[2];
+		FrameBlock meta = buildMeta(spec, train);
+		RowEncoder r1 = RowEncoder.get(spec, null, 3, meta);
+		assertNotNull(r1);
+		assertSame(r1, RowEncoder.get(spec, null, 3, meta));
+		// different spec for the same meta data is recompiled
+		RowEncoder r2 = RowEncoder.get(SPECS[0], null, 3, meta);
+		assertTrue(r1 != r2);
+		assertEquals(3, r2.getNumOutCols());
+	}
+
+	@Test
+	public void testUnsupported() {
+		FrameBlock train = generate(200, 13, false);
+		String spec = "{ids:true,recode:[1],impute:[{id:2,method:global_mean}]}";
+		FrameBlock meta = buildMeta(spec, train);
+		assertFalse(RowEncoder.isSupported(EncoderFactory.createEncoder(spec, null, 3, meta)));
+		assertNull(RowEncoder.get(spec, null, 3, meta));
+	}
+
+	private static FrameBlock buildMeta(String spec, FrameBlock train) {
+		MultiColumnEncoder enc = EncoderFactory.createEncoder(spec, null, 3, null);
+		enc.build(train);
+		return enc.getMetaData(null);
+	}
+
+	/** Frame of token, numeric, and token columns, optionally with unknown and missing values. */
+	private static FrameBlock generate(int n, long seed, boolean unknowns) {
+		Random r = new Random(seed);
+		String[] c1 = new String[n];
+		double[] c2 = new double[n];
+		String[] c3 = new String[n];
+		for(int i = 0; i < n; i++) {
+			c1[i] = String.valueOf(r.nextInt(unknowns ? 12 : 10));
+			c2[i] = unknowns && r.nextInt(10) == 0 ? Double.NaN : r.nextGaussian() * 10;
+			c3[i] = unknowns && r.nextInt(10) == 0 ? null : String.valueOf(100 + r.nextInt(5));
+		}
+		return new FrameBlock(new Array<?>[] {ArrayFactory.create(c1), ArrayFactory.create(c2),
+			ArrayFactory.create(c3)});
+	}
+}
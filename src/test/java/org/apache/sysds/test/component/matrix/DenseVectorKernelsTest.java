@@ -0,0 +1,116 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.sysds.test.component.matrix;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+import java.util.ArrayList;
+import java.util.Collection;
+
+import org.apache.sysds.runtime.matrix.data.DenseVectorKernels;
+import org.apache.sysds.runtime.matrix.data.LibMatrixMult;
+import org.apache.sysds.test.TestUtils;
+import org.junit.Assume;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+import org.junit.runners.Parameterized.Parameters;
+
+@RunWith(value = Parameterized.class)
+public class DenseVectorKernelsTest {
+
+	private final int len;
+	private final int off;
+	private final double[] a;
+	private final double[] b;
+
+	@Parameters
+	public static Collection<Object[]> data() {
+		ArrayList<Object[]> tests = new ArrayList<>();
+		for(int len : new int[] {1, 7, 31, 32, 33, 64, 100, 1023})
+			for(int off : new int[] {0, 3})
+				tests.add(new Object[] {len, off});
+		return tests;
+	}
+
+	public DenseVectorKernelsTest(int len, int off) {
+		this.len = len;
+		this.off = off;
+		a = TestUtils.generateTestMatrix(1, len + off, -10, 10, 1.0, 7)[0];
+		b = TestUtils.generateTestMatrix(1, len + off, -10, 10, 1.0, 13)[0];
+	}
+
+	@Test
+	public void testDispatchDotProduct() {
+		// vectorized dot products differ in summation order, not bit-identical
+		assertEquals(LibMatrixMult.dotProductScalar(a, b, off, off, len),
+			LibMatrixMult.dotProduct(a, b, off, off, len), getDotProductTolerance());
+	}
+
+	@Test
+	public void testDispatchMultiplyAdd() {
+		double[] c1 = b.clone(), c2 = b.clone();
+		LibMatrixMult.vectMultiplyAddScalar(1.7, a, c1, off, 0, len);
+		LibMatrixMult.vectMultiplyAdd(1.7, a, c2, off, 0, len);
+		assertArrayEquals(c1, c2, 0);
+	}
+
+	@Test
+	public void testDispatchMultiplyWrite() {
+		double[] c1 = new double[len + off], c2 = new double[len + off];
+		LibMatrixMult.vectMultiplyWriteScalar(a, b, c1, off, off, off, len);
+		LibMatrixMult.vectMultiplyWrite(a, b, c2, off, off, off, len);
+		assertArrayEquals(c1, c2, 0);
+	}
+
+	@Test
+	public void testDispatchAdd() {
+		double[] c1 = b.clone(), c2 = b.clone();
+		LibMatrixMult.vectAddScalar(a, c1, off, off, len);
+		LibMatrixMult.vectAdd(a, c2, off, off, len);
+		assertArrayEquals(c1, c2, 0);
+	}
+
+	@Test
+	public void testVectorKernels() {
+		DenseVectorKernels kernels = DenseVectorKernels.get();
+		Assume.assumeTrue("Vector API kernels not available", kernels != null);
+		assertEquals(LibMatrixMult.dotProductScalar(a, b, off, off, len),
+			kernels.dotProduct(a, b, off, off, len), getDotProductTolerance());
+		double[] c1 = b.clone(), c2 = b.clone();
+		LibMatrixMult.vectMultiplyAddScalar(-0.3, a, c1, off, off, len);
+		kernels.vectMultiplyAdd(-0.3, a, c2, off, off, len);
+		assertArrayEquals(c1, c2, 0);
+		LibMatrixMult.vectMultiplyWriteScalar(a, b, c1, off, off, 0, len);
+		kernels.vectMultiplyWrite(a, b, c2, off, off, 0, len);
+		assertArrayEquals(c1, c2, 0);
+		LibMatrixMult.vectAddScalar(a, c1, off, 0, len);
+		kernels.vectAdd(a, c2, off, 0, len);
+		assertArrayEquals(c1, c2, 0);
+	}
+
+	private double getDotProductTolerance() {
+		// rounding error bound of summation in arbitrary order: len * eps * sum(|a * b|)
+		double sumAbs = 0;
+		for(int i = off; i < off + len; i++)
+			sumAbs += Math.abs(a[i] * b[i]);
+		return len * Math.ulp(1.0) * sumAbs;
+	}
+}
@@ -0,0 +1,168 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysds.test.component.misc;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.List;
+
+import org.apache.sysds.common.Types.DataType;
+import org.apache.sysds.common.Types.ExecType;
+import org.apache.sysds.common.Types.FileFormat;
+import org.apache.sysds.common.Types.OpOp2;
+import org.apache.sysds.common.Types.OpOpData;
+import org.apache.sysds.common.Types.ValueType;
+import org.apache.sysds.lops.Binary;
+import org.apache.sysds.lops.BinaryScalar;
+import org.apache.sysds.lops.Data;
+import org.apache.sysds.lops.Lop;
+import org.apache.sysds.runtime.controlprogram.caching.MatrixObject.UpdateType;
+import org.apache.sysds.runtime.functionobjects.ValueFunction;
+import org.apache.sysds.runtime.instructions.CPInstructionParser;
+import org.apache.sysds.runtime.instructions.Instruction;
+import org.apache.sysds.runtime.instructions.cp.BinaryCPInstruction;
+import org.apache.sysds.runtime.instructions.cp.CPOperand;
+import org.apache.sysds.runtime.instructions.cp.ComputationCPInstruction;
+import org.apache.sysds.runtime.instructions.cp.VariableCPInstruction;
+import org.apache.sysds.runtime.matrix.operators.BinaryOperator;
+import org.apache.sysds.runtime.matrix.operators.MultiThreadedOperator;
+import org.apache.sysds.runtime.matrix.operators.Operator;
+import org.apache.sysds.runtime.matrix.operators.ScalarOperator;
+import org.apache.sysds.runtime.meta.MatrixCharacteristics;
+import org.apache.sysds.runtime.meta.MetaDataFormat;
+import org.junit.Test;
+
+public class DirectInstructionGenTest {
+
+	@Test
+	public void testRemoveVariable() {
+		VariableCPInstruction inst = (VariableCPInstruction)
+			VariableCPInstruction.prepareRemoveInstruction("_mVar1", "_Var2");
+		compareVariable(inst, VariableCPInstruction.parseInstruction(inst.toString()));
+		assertTrue(inst.isRemoveVariable("_Var2"));
+	}
+
+	@Test
+	public void testCopyAndMoveVariable() {
+		Instruction cp = VariableCPInstruction.prepareCopyInstruction("_mVar1", "X");
+		Instruction mv = VariableCPInstruction.prepMoveInstruction("_mVar1temp", "X");
+		compareVariable((VariableCPInstruction) cp, VariableCPInstruction.parseInstruction(cp.toString()));
+		compareVariable((VariableCPInstruction) mv, VariableCPInstruction.parseInstruction(mv.toString()));
+	}
+
+	@Test
+	public void testCreateVariable() {
+		for( DataType dt : new DataType[] {DataType.MATRIX, DataType.FRAME} ) {
+			VariableCPInstruction inst = (VariableCPInstruction) VariableCPInstruction.prepCreatevarInstruction(
+				"_mVar7", "scratch_space/temp7", true, dt, FileFormat.BINARY.toString(),
+				new MatrixCharacteristics(100, 10, 1000, 750), UpdateType.INPLACE_PINNED);
+			VariableCPInstruction inst2 = VariableCPInstruction.parseInstruction(inst.toString());
+			compareVariable(inst, inst2);
+			MetaDataFormat md1 = (MetaDataFormat) inst.getMetaData();
+			MetaDataFormat md2 = (MetaDataFormat) inst2.getMetaData();
+			assertEquals(md2.getDataCharacteristics(), md1.getDataCharacteristics());
+			assertEquals(md2.getFileFormat(), md1.getFileFormat());
+		}
+	}
+
+	@Test
+	public void testBinaryMatrixScalar() {
+		Lop in1 = new Data(OpOpData.TRANSIENTREAD, null, null, "X", null, DataType.MATRIX, ValueType.FP64, FileFormat.BINARY);
+		Lop in2 = Data.createLiteralLop(ValueType.FP64, "7.5");
+		Binary lop = new Binary(in1, in2, OpOp2.MULT, DataType.MATRIX, ValueType.FP64, ExecType.CP, 4);
+		compareComputation(lop.getInstruction(new String[] {"X", "7.5"}, "_mVar3"));
+	}
+
+	@Test
+	public void testBinaryMatrixMatrix() {
+		Lop in1 = new Data(OpOpData.TRANSIENTREAD, null, null, "X", null, DataType.MATRIX, ValueType.FP64, FileFormat.BINARY);
+		Lop in2 = new Data(OpOpData.TRANSIENTREAD, null, null, "Y", null, DataType.MATRIX, ValueType.FP64, FileFormat.BINARY);
+		Binary lop = new Binary(in1, in2, OpOp2.GREATER, DataType.MATRIX, ValueType.FP64, ExecType.CP, 2);
+		compareComputation(lop.getInstruction(new String[] {"X", "Y"}, "_mVar4"));
+
+		//fallback to instruction parsing for in-place updates
+		Binary lop2 = new Binary(in1, in2, OpOp2.PLUS, DataType.MATRIX, ValueType.FP64, ExecType.CP, 2, true);
+		assertNull(lop2.getInstruction(new String[] {"X", "Y"}, "_mVar5"));
+	}
+
+	@Test
+	public void testBinaryScalarScalar() {
+		Lop in1 = new Data(OpOpData.TRANSIENTREAD, null, null, "i", null, DataType.SCALAR, ValueType.INT64, FileFormat.BINARY);
+		Lop in2 = Data.createLiteralLop(ValueType.INT64, "1");
+		BinaryScalar lop = new BinaryScalar(in1, in2, OpOp2.PLUS, DataType.SCALAR, ValueType.INT64);
+		compareComputation(lop.getInstruction(new String[] {"i", "1"}, "_Var6"));
+
+		//operands are constructed from the given input labels
+		Instruction inst = lop.getInstruction(new String[] {"_Var7", "1"}, "_Var8");
+		compareComputation(inst);
+		assertEquals("_Var7", ((ComputationCPInstruction) inst).getInputs()[0].getName());
+	}
+
+	private static void compareVariable(VariableCPInstruction inst1, VariableCPInstruction inst2) {
+		assertEquals(inst2.toString(), inst1.toString());
+		assertEquals(inst2.getOpcode(), inst1.getOpcode());
+		assertEquals(inst2.getVariableOpcode(), inst1.getVariableOpcode());
+		compareOperands(inst2.getInputs(), inst1.getInputs());
+	}
+
+	private static void compareComputation(Instruction inst) {
+		assertNotNull(inst);
+		ComputationCPInstruction inst1 = (ComputationCPInstruction) inst;
+		ComputationCPInstruction inst2 = (ComputationCPInstruction)
+			CPInstructionParser.parseSingleInstruction(inst.toString());
+		assertTrue(inst1 instanceof BinaryCPInstruction);
+		assertEquals(inst2.getClass(), inst1.getClass());
+		assertEquals(inst2.toString(), inst1.toString());
+		assertEquals(inst2.getOpcode(), inst1.getOpcode());
+		compareOperands(Arrays.asList(inst2.getInputs()), Arrays.asList(inst1.getInputs()));
+		compareOperand(inst2.getOutput(), inst1.getOutput());
+		assertEquals(inst2.getOperator().getClass(), inst1.getOperator().getClass());
+		assertEquals(getFunction(inst2.getOperator()).getClass(), getFunction(inst1.getOperator()).getClass());
+		if( inst1.getOperator() instanceof MultiThreadedOperator )
+			assertEquals(((MultiThreadedOperator) inst2.getOperator()).getNumThreads(),
+				((MultiThreadedOperator) inst1.getOperator()).getNumThreads());
+	}
+
+	private static ValueFunction getFunction(Operator op) {
+		return (op instanceof BinaryOperator) ?
+			((BinaryOperator) op).fn : ((ScalarOperator) op).fn;
+	}
+
+	private static void compareOperands(List<CPOperand> ops1, List<CPOperand> ops2) {
+		assertEquals(ops1.size(), ops2.size());
+		for( int i = 0; i < ops1.size(); i++ )
+			compareOperand(ops1.get(i), ops2.get(i));
+	}
+
+	private static void compareOperand(CPOperand op1, CPOperand op2) {
+		if( op1 == null || op2 == null ) {
+			assertEquals(op1, op2);
+			return;
+		}
+		assertEquals(op1.getName(), op2.getName());
+		assertEquals(op1.getDataType(), op2.getDataType());
+		assertEquals(op1.getValueType(), op2.getValueType());
+		assertEquals(op1.isLiteral(), op2.isLiteral());
+	}
+}
@@ -21,6 +21,9 @@ package org.apache.sysds.test.component.misc;
 
 import static org.junit.Assert.assertEquals;
 
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+
 import org.apache.sysds.utils.DoubleParser;
 import org.junit.Test;
 
@@ -172,11 +175,60 @@ public class DoubleParserTest {
 		parse("      ");
 	}
 
+	@Test
+	public void parseBytesExponent() {
+		compareToDoubleParser("1.5e-7");
+		compareToDoubleParser("-2.25E+12");
+		compareToDoubleParser("3e308");
+		compareToDoubleParser("4.9e-324");
+	}
+
+	@Test
+	public void parseBytesSpecial() {
+		compareToDoubleParser("NaN");
+		compareToDoubleParser("-Infinity");
+		compareToDoubleParser("-0.0");
+		compareToDoubleParser(".5");
+		compareToDoubleParser("7.");
+	}
+
+	@Test
+	public void parseBytesRandom() {
+		Random r = new Random(7);
+		for(int i = 0; i < 10000; i++) {
+			compareToDoubleParser(Double.toString(r.nextGaussian() * Math.pow(10, r.nextInt(40) - 20)));
+			compareToDoubleParser(String.valueOf(r.nextInt()));
+		}
+	}
+
+	@Test
+	public void parseBytesOffset() {
+		byte[] buf = "1.5,-2.75,1e3".getBytes();
+		assertEquals(-2.75, DoubleParser.parseFloatingPointLiteral(buf, 4, 9), 0);
+		assertEquals(1000, DoubleParser.parseFloatingPointLiteral(buf, 10, 13), 0);
+	}
+
+	@Test(expected = NumberFormatException.class)
+	public void invalidBytes() {
+		parseBytes("1.2.3");
+	}
+
+	@Test(expected = NumberFormatException.class)
+	public void invalidBytes2() {
+		parseBytes("1e");
+	}
+
 	private void compareToDoubleParser(String s) {
 		assertEquals(Double.parseDouble(s), parse(s), 0.00);
+		assertEquals(Double.doubleToLongBits(Double.parseDouble(s)), Double.doubleToLongBits(parseBytes(s)));
 	}
 
 	private double parse(String s) {
 		return DoubleParser.parseFloatingPointLiteral(s, 0, s.length());
 	}
+
+	private double parseBytes(String s) {
+		byte[] buf = s.getBytes(StandardCharsets.US_ASCII);
+		return DoubleParser.parseFloatingPointLiteral(buf, 0, buf.length);
+	}
 }
@@ -0,0 +1,204 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysds.test.component.misc;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+import org.apache.sysds.api.DMLScript;
+import org.apache.sysds.common.Types.DataType;
+import org.apache.sysds.runtime.controlprogram.context.ExecutionContext;
+import org.apache.sysds.runtime.controlprogram.context.ExecutionContextFactory;
+import org.apache.sysds.runtime.lineage.LineageCache;
+import org.apache.sysds.runtime.lineage.LineageCacheConfig;
+import org.apache.sysds.runtime.lineage.LineageCacheConfig.LineageCachePolicy;
+import org.apache.sysds.runtime.lineage.LineageCacheConfig.ReuseCacheType;
+import org.apache.sysds.runtime.lineage.LineageCacheEviction;
+import org.apache.sysds.runtime.lineage.LineageItem;
+import org.apache.sysds.runtime.matrix.data.MatrixBlock;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Concurrent probes, puts, and evictions of the lineage cache, where hits of
+ * in-memory entries are served without the cache monitor and their eviction
+ * order is maintained lazily.
+ */
+@net.jcip.annotations.NotThreadSafe
+public class LineageCacheConcurrencyTest {
+	private static final String OPCODE = "tsmm";
+	private static final int THREADS = 8;
+
+	private ReuseCacheType _rtype;
+	private LineageCachePolicy _policy;
+
+	@Before
+	public void setUp() {
+		_rtype = DMLScript.LINEAGE_REUSE;
+		_policy = LineageCacheConfig.getCachePolicy();
+		DMLScript.LINEAGE_REUSE = ReuseCacheType.REUSE_FULL;
+		LineageCacheConfig.setConfig(ReuseCacheType.REUSE_FULL);
+		LineageCacheConfig.setReusableOpcodes(OPCODE);
+		LineageCache.resetCache();
+	}
+
+	@After
+	public void cleanup() {
+		LineageCache.resetCache();
+		LineageCacheConfig.resetReusableOpcodes();
+		LineageCacheConfig.setCachePolicy(_policy);
+		LineageCacheConfig.setConfig(_rtype);
+		DMLScript.LINEAGE_REUSE = _rtype;
+	}
+
+	@Test
+	public void testConcurrentProbeAndPut() throws Exception {
+		//every item is computed by exactly one thread, all others reuse its value
+		final int numItems = 64;
+		LineageItem[] items = new LineageItem[numItems];
+		for(int i = 0; i < numItems; i++)
+			items[i] = new LineageItem("probe" + i, OPCODE);
+		AtomicIntegerArray computed = new AtomicIntegerArray(numItems);
+
+		run(t -> () -> {
+			ExecutionContext ec = createContext();
+			for(int r = 0; r < 10; r++) {
+				for(int i = 0; i < numItems; i++) {
+					int ix = (i + t * 7) % numItems;
+					if(LineageCache.reuseFedRead("X", DataType.MATRIX, items[ix], ec)) {
+						assertEquals(ix, ec.getMatrixInput("X").get(0, 0), 0);
+						ec.releaseMatrixInput("X");
+					}
+					else { //placeholder placed by this thread
+						computed.incrementAndGet(ix);
+						MatrixBlock mb = new MatrixBlock(10, 10, (double) ix);
+						LineageCache.putFedReadObject(ExecutionContext.createMatrixObject(mb), items[ix], ec);
+					}
+				}
+			}
+			return null;
+		});
+
+		for(int i = 0; i < numItems; i++) {
+			assertEquals(1, computed.get(i));
+			assertTrue(LineageCache.probe(items[i]));
+			assertEquals(i, LineageCache.getMatrix(items[i]).get(0, 0), 0);
+		}
+	}
+
+	@Test
+	public void testPutIfAbsent() {
+		//puts of existing keys keep the existing entry and value
+		LineageItem li = new LineageItem("put", OPCODE);
+		MatrixBlock mb1 = new MatrixBlock(10, 10, 1d);
+		MatrixBlock mb2 = new MatrixBlock(10, 10, 2d);
+		LineageCache.putValueAsyncOp(li, ExecutionContext.createMatrixObject(mb1), mb1, System.nanoTime());
+		LineageCache.putValueAsyncOp(li, ExecutionContext.createMatrixObject(mb2), mb2, System.nanoTime());
+		assertSame(mb1, LineageCache.getMatrix(li));
+	}
+
+	@Test
+	public void testConcurrentHitsEvictionOrder() throws Exception {
+		LineageCacheConfig.setCachePolicy(LineageCachePolicy.LRU);
+		//fill the cache with entries of equal size
+		long limit = LineageCacheEviction.getCacheLimit();
+		MatrixBlock mb = new MatrixBlock((int) (limit / 16 / 800), 100, 1d);
+		final int numEntries = (int) (limit / mb.getInMemorySize());
+		final int numNew = numEntries / 4;
+		assertTrue(numEntries >= 8);
+		LineageItem[] items = new LineageItem[numEntries];
+		for(int i = 0; i < numEntries; i++) {
+			items[i] = new LineageItem("entry" + i, OPCODE);
+			putMatrix(items[i], mb);
+		}
+		for(LineageItem li : items)
+			assertTrue(LineageCache.probe(li));
+		Thread.sleep(20); //distinct timestamps of hits
+
+		//concurrently hit the even entries (lock-free w/ deferred order maintenance),
+		//while half of the threads put new entries that require evictions
+		LineageItem[] newItems = new LineageItem[numNew];
+		for(int i = 0; i < numNew; i++)
+			newItems[i] = new LineageItem("new" + i, OPCODE);
+		run(t -> () -> {
+			ExecutionContext ec = createContext();
+			for(int r = 0; r < 500; r++)
+				for(int i = 0; i < numEntries; i += 2)
+					assertTrue(LineageCache.reuseFedRead("X", DataType.MATRIX, items[i], ec));
+			if(t % 2 == 1)
+				for(int i = t / 2; i < numNew; i += THREADS / 2)
+					putMatrix(newItems[i], mb);
+			return null;
+		});
+
+		//all hot and new entries are retained, only the cold entries got evicted
+		int numCold = 0;
+		for(int i = 0; i < numEntries; i++) {
+			if(i % 2 == 0)
+				assertTrue("Evicted hot entry " + i, LineageCache.probe(items[i]));
+			else if(LineageCache.probe(items[i]))
+				numCold++;
+		}
+		for(LineageItem li : newItems)
+			assertTrue(LineageCache.probe(li));
+		assertEquals(numEntries / 2 - numNew, numCold);
+		assertFalse(LineageCacheEviction.getAvailableSpace() < 0);
+	}
+
+	private static void putMatrix(LineageItem li, MatrixBlock mb) {
+		LineageCache.putValueAsyncOp(li, ExecutionContext.createMatrixObject(mb), mb, System.nanoTime());
+	}
+
+	private static ExecutionContext createContext() {
+		ExecutionContext ec = ExecutionContextFactory.createContext();
+		ec.setAutoCreateVars(true);
+		return ec;
+	}
+
+	private interface TaskFactory {
+		Callable<Void> create(int t);
+	}
+
+	private static void run(TaskFactory factory) throws Exception {
+		ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+		try {
+			List<Future<Void>> tasks = new ArrayList<>();
+			for(int t = 0; t < THREADS; t++)
+				tasks.add(pool.submit(factory.create(t)));
+			for(Future<Void> task : tasks)
+				task.get(60, TimeUnit.SECONDS);
+		}
+		finally {
+			pool.shutdownNow();
+		}
+	}
+}
@@ -0,0 +1,156 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.sysds.test.component.misc;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.nio.file.Files;
+
+import org.apache.hadoop.fs.FileSystem;
+import org.apache.hadoop.fs.Path;
+import org.apache.sysds.common.Types.FileFormat;
+import org.apache.sysds.conf.ConfigurationManager;
+import org.apache.sysds.conf.DMLConfig;
+import org.apache.sysds.runtime.io.IOUtilFunctions;
+import org.apache.sysds.runtime.io.MappedSequenceFileReader;
+import org.apache.sysds.runtime.io.MatrixWriterFactory;
+import org.apache.sysds.runtime.io.ReaderBinaryBlock;
+import org.apache.sysds.runtime.io.ReaderBinaryBlockParallel;
+import org.apache.sysds.runtime.matrix.data.MatrixBlock;
+import org.apache.sysds.runtime.matrix.data.MatrixIndexes;
+import org.apache.sysds.runtime.util.HDFSTool;
+import org.apache.sysds.test.TestUtils;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class MappedSequenceFileReaderTest {
+
+	private static final int blen = 100;
+
+	private File _dir;
+
+	@Before
+	public void setUp() throws Exception {
+		_dir = Files.createTempDirectory("mmapread").toFile();
+	}
+
+	@After
+	public void tearDown() throws Exception {
+		ConfigurationManager.clearLocalConfigs();
+		HDFSTool.deleteFileIfExistOnHDFS(_dir.getAbsolutePath());
+	}
+
+	@Test
+	public void testDenseSingleBlock() throws Exception {
+		runReadTest(57, 83, 1.0, false);
+	}
+
+	@Test
+	public void testDenseMultiBlock() throws Exception {
+		runReadTest(1234, 321, 1.0, false);
+	}
+
+	@Test
+	public void testSparseMultiBlock() throws Exception {
+		runReadTest(1234, 321, 0.05, false);
+	}
+
+	@Test
+	public void testDenseMultiBlockParallel() throws Exception {
+		runReadTest(1234, 321, 0.9, true);
+	}
+
+	@Test
+	public void testSparseMultiBlockParallel() throws Exception {
+		runReadTest(2345, 432, 0.01, true);
+	}
+
+	@Test
+	public void testEmptyBlocks() throws Exception {
+		runReadTest(543, 210, 0.0, false);
+	}
+
+	@Test
+	public void testMappedRecords() throws Exception {
+		String fname = new File(_dir, "X").getAbsolutePath();
+		MatrixBlock mb = TestUtils.generateTestMatrixBlock(350, 250, -1, 1, 0.7, 7);
+		MatrixWriterFactory.createMatrixWriter(FileFormat.BINARY)
+			.writeMatrixToHDFS(mb, fname, mb.getNumRows(), mb.getNumColumns(), blen, mb.getNonZeros());
+		FileSystem fs = IOUtilFunctions.getFileSystem(fname);
+		int nblocks = 0;
+		long nnz = 0;
+		for( Path lpath : IOUtilFunctions.getSequenceFilePaths(fs, new Path(fname)) ) {
+			MappedSequenceFileReader reader = MappedSequenceFileReader.openBinaryBlock(fs, lpath);
+			assertNotNull(reader);
+			MatrixIndexes key = new MatrixIndexes();
+			MatrixBlock value = new MatrixBlock();
+			while( reader.next(key, value) ) {
+				assertTrue(key.getRowIndex() >= 1 && key.getRowIndex() <= 4);
+				assertTrue(key.getColumnIndex() >= 1 && key.getColumnIndex() <= 3);
+				nnz += value.getNonZeros();
+				nblocks++;
+			}
+			assertFalse(reader.next(key, value));
+			reader.close();
+		}
+		assertEquals(12, nblocks);
+		assertEquals(mb.getNonZeros(), nnz);
+	}
+
+	@Test
+	public void testNonSequenceFile() throws Exception {
+		File file = new File(_dir, "X.csv");
+		Files.write(file.toPath(), "1,2,3\n4,5,6\n".getBytes());
+		FileSystem fs = IOUtilFunctions.getFileSystem(file.getAbsolutePath());
+		assertNull(MappedSequenceFileReader.openBinaryBlock(fs, new Path(file.getAbsolutePath())));
+	}
+
+	private void runReadTest(int rows, int cols, double sparsity, boolean parallel) throws Exception {
+		String fname = new File(_dir, "X").getAbsolutePath();
+		MatrixBlock mb = TestUtils.generateTestMatrixBlock(rows, cols, -3, 3, sparsity, 42);
+		MatrixWriterFactory.createMatrixWriter(FileFormat.BINARY)
+			.writeMatrixToHDFS(mb, fname, rows, cols, blen, mb.getNonZeros());
+
+		setMMapRead(true);
+		MatrixBlock ret1 = read(fname, rows, cols, mb.getNonZeros(), parallel);
+		setMMapRead(false);
+		MatrixBlock ret2 = read(fname, rows, cols, mb.getNonZeros(), parallel);
+
+		assertEquals(mb.getNonZeros(), ret1.getNonZeros());
+		TestUtils.compareMatrices(mb, ret1, 0, "mapped read");
+		TestUtils.compareMatrices(ret2, ret1, 0, "mapped vs stream read");
+	}
+
+	private static void setMMapRead(boolean mmap) {
+		DMLConfig conf = new DMLConfig();
+		conf.setTextValue(DMLConfig.IO_LOCAL_MMAP, String.valueOf(mmap));
+		ConfigurationManager.setLocalConfig(conf);
+	}
+
+	private static MatrixBlock read(String fname, int rows, int cols, long nnz, boolean parallel) throws Exception {
+		ReaderBinaryBlock reader = parallel ? new ReaderBinaryBlockParallel(false) : new ReaderBinaryBlock(false);
+		return reader.readMatrixFromHDFS(fname, rows, cols, blen, nnz);
+	}
+}
@@ -0,0 +1,120 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysds.test.component.misc;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.apache.sysds.api.DMLScript;
+import org.apache.sysds.hops.OptimizerUtils;
+import org.apache.sysds.runtime.controlprogram.caching.CacheStatistics;
+import org.apache.sysds.runtime.controlprogram.caching.CacheableData;
+import org.apache.sysds.runtime.controlprogram.caching.LazyWriteBuffer;
+import org.apache.sysds.runtime.controlprogram.caching.MemoryGovernor;
+import org.apache.sysds.runtime.matrix.data.MatrixBlock;
+import org.apache.sysds.runtime.meta.MatrixCharacteristics;
+import org.apache.sysds.runtime.util.LocalFileUtils;
+import org.apache.sysds.test.TestUtils;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+@net.jcip.annotations.NotThreadSafe
+public class MemoryGovernorTest {
+	private static final long limit = 4 * 1024 * 1024;
+
+	private boolean _stats;
+	private double _memUtil;
+	private double _lowWatermark;
+
+	@Before
+	public void setUp() throws Exception {
+		_stats = DMLScript.STATISTICS;
+		_memUtil = OptimizerUtils.MEM_UTIL_FACTOR;
+		_lowWatermark = MemoryGovernor.LOW_WATERMARK;
+		DMLScript.STATISTICS = true;
+		CacheStatistics.reset();
+		CacheableData.initCaching("tmp_memory_governor_test");
+		LazyWriteBuffer.setWriteBufferLimit(limit);
+		//avoid concurrent relief by the background poll
+		MemoryGovernor.LOW_WATERMARK = 0;
+		MemoryGovernor.start();
+	}
+
+	@After
+	public void tearDown() {
+		MemoryGovernor.stop();
+		MemoryGovernor.LOW_WATERMARK = _lowWatermark;
+		DMLScript.STATISTICS = _stats;
+		CacheableData.cleanupCacheDir();
+	}
+
+	@Test
+	public void testPressureEvictsToLimit() throws Exception {
+		for( int i = 0; i < 4; i++ ) {
+			MatrixBlock mb = TestUtils.generateTestMatrixBlock(100, 1000, -1, 1, 1.0, i);
+			LazyWriteBuffer.writeBlock(LocalFileUtils.getWorkingDir(LocalFileUtils.CATEGORY_CACHE) + "/mg" + i, mb);
+		}
+		assertEquals(4, LazyWriteBuffer.getQueueSize());
+
+		MemoryGovernor.onPressure();
+		assertEquals(1, CacheStatistics.getMemPressure());
+		assertEquals(0.5, MemoryGovernor.getBudgetFactor(), 1e-10);
+		assertEquals(limit / 2, LazyWriteBuffer.getWriteBufferLimit());
+		assertTrue(LazyWriteBuffer.getWriteBufferSize() <= limit / 2);
+		assertTrue(LazyWriteBuffer.getQueueSize() < 4);
+		assertEquals(_memUtil / 2, OptimizerUtils.MEM_UTIL_FACTOR, 1e-10);
+
+		MemoryGovernor.onRelief();
+		assertEquals(1, MemoryGovernor.getBudgetFactor(), 1e-10);
+		assertEquals(limit, LazyWriteBuffer.getWriteBufferLimit());
+		assertEquals(_memUtil, OptimizerUtils.MEM_UTIL_FACTOR, 1e-10);
+	}
+
+	@Test
+	public void testUnderestimatedSizes() {
+		//dense 1000x1000 estimate of ~8MB vs actual size of 16MB
+		MatrixCharacteristics mc = new MatrixCharacteristics(1000, 1000, -1, 1000 * 1000);
+		MemoryGovernor.trackSize(mc, 2 * OptimizerUtils.estimateSizeExactSparsity(mc));
+		assertEquals(2, MemoryGovernor.getEstimateRatio(), 1e-10);
+
+		//small blocks are not tracked
+		MemoryGovernor.trackSize(new MatrixCharacteristics(10, 10, -1, 100), 1);
+		assertEquals(2, MemoryGovernor.getEstimateRatio(), 1e-10);
+
+		MemoryGovernor.onPressure();
+		assertEquals(_memUtil / 4, OptimizerUtils.MEM_UTIL_FACTOR, 1e-10);
+	}
+
+	@Test
+	public void testStopRestoresBudgets() {
+		assertTrue(MemoryGovernor.isEnabled());
+		MemoryGovernor.onPressure();
+		assertEquals(limit / 2, LazyWriteBuffer.getWriteBufferLimit());
+
+		MemoryGovernor.stop();
+		assertFalse(MemoryGovernor.isEnabled());
+		assertEquals(1, MemoryGovernor.getBudgetFactor(), 1e-10);
+		assertEquals(limit, LazyWriteBuffer.getWriteBufferLimit());
+		assertEquals(_memUtil, OptimizerUtils.MEM_UTIL_FACTOR, 1e-10);
+		assertEquals(1, MemoryGovernor.getEstimateRatio(), 1e-10);
+	}
+}
@@ -0,0 +1,149 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.sysds.test.component.misc;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+import org.apache.sysds.runtime.DMLRuntimeException;
+import org.apache.sysds.runtime.util.CommonThreadPool;
+import org.apache.sysds.runtime.util.ParallelFor;
+import org.apache.sysds.utils.stats.InfrastructureAnalyzer;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class ParallelForTest {
+	private String _name;
+
+	@Before
+	public void setUp() {
+		// parallelism is only used on main and parfor threads
+		_name = Thread.currentThread().getName();
+		Thread.currentThread().setName("main");
+	}
+
+	@After
+	public void tearDown() {
+		Thread.currentThread().setName(_name);
+		CommonThreadPool.shutdownAsyncPools();
+	}
+
+	@Test
+	public void testAllItemsOnce() {
+		final int n = 100_003;
+		AtomicIntegerArray counts = new AtomicIntegerArray(n);
+		long ret = ParallelFor.execute("testAllItemsOnce", n, 4, (rl, ru) -> {
+			for(int i = rl; i < ru; i++)
+				counts.incrementAndGet(i);
+			return ru - rl;
+		});
+		assertEquals(n, ret);
+		for(int i = 0; i < n; i++)
+			assertEquals(1, counts.get(i));
+	}
+
+	@Test
+	public void testEmptyAndSingle() {
+		assertEquals(0, ParallelFor.execute("testEmpty", 0, 4, (rl, ru) -> 1));
+		assertEquals(7, ParallelFor.execute("testSingle", 1, 4, (rl, ru) -> 7));
+	}
+
+	@Test
+	public void testCoreBudget() {
+		final int avail = CommonThreadPool.getAvailableCores();
+		final int k = CommonThreadPool.acquireCores(Integer.MAX_VALUE);
+		try {
+			assertEquals(avail + 1, k);
+			assertEquals(0, CommonThreadPool.getAvailableCores());
+			assertEquals(1, CommonThreadPool.acquireCores(4));
+
+			// nested operations without budget run in the calling thread
+			Set<Thread> threads = ConcurrentHashMap.newKeySet();
+			ParallelFor.execute("testCoreBudget", 10_000, 4, (rl, ru) -> {
+				threads.add(Thread.currentThread());
+				return 0;
+			});
+			assertEquals(1, threads.size());
+			assertTrue(threads.contains(Thread.currentThread()));
+		}
+		finally {
+			CommonThreadPool.releaseCores(k);
+		}
+		assertEquals(avail, CommonThreadPool.getAvailableCores());
+	}
+
+	@Test
+	public void testBudgetReleasedOnException() {
+		final int avail = CommonThreadPool.getAvailableCores();
+		try {
+			ParallelFor.execute("testException", 1000, 4, (rl, ru) -> {
+				if(rl == 0)
+					throw new Exception("failed task");
+				return 0;
+			});
+			fail("expected exception");
+		}
+		catch(DMLRuntimeException ex) {
+			// expected
+		}
+		assertEquals(avail, CommonThreadPool.getAvailableCores());
+	}
+
+	@Test
+	public void testAdaptiveGrainSize() {
+		final int n = 10_000;
+		final int k = Math.max(InfrastructureAnalyzer.getLocalParallelism(), 2);
+		ParallelFor.execute("testCheap", n, k, (rl, ru) -> ru - rl);
+		ParallelFor.execute("testExpensive", n, k, (rl, ru) -> {
+			double sum = 0;
+			for(int i = rl; i < ru; i++)
+				for(int j = 0; j < 10_000; j++)
+					sum += Math.sqrt(i + j);
+			return (long) Math.signum(sum);
+		});
+		int gCheap = ParallelFor.getGrainSize("testCheap", n, k);
+		int gExpensive = ParallelFor.getGrainSize("testExpensive", n, k);
+		assertTrue(gCheap + " vs " + gExpensive, gCheap > gExpensive);
+		assertTrue(gCheap <= (n + k - 1) / k);
+		assertTrue(gExpensive >= 1);
+	}
+
+	@Test
+	public void testGrainSizePerCell() {
+		// profile of wide items is normalized per cell and applies to narrow items
+		final int n = 10_000;
+		final int k = Math.max(InfrastructureAnalyzer.getLocalParallelism(), 2);
+		ParallelFor.execute("testCells", n, 1000, k, (rl, ru) -> {
+			double sum = 0;
+			for(int i = rl; i < ru; i++)
+				for(int j = 0; j < 1000; j++)
+					sum += Math.sqrt(i + j);
+			return (long) Math.signum(sum);
+		});
+		int gWide = ParallelFor.getGrainSize("testCells", n, 1000, k);
+		int gNarrow = ParallelFor.getGrainSize("testCells", n, 1, k);
+		assertTrue(gNarrow + " vs " + gWide, gNarrow > gWide);
+	}
+}
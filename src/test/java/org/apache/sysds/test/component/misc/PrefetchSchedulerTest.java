@@ -0,0 +1,147 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysds.test.component.misc;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.sysds.api.DMLScript;
+import org.apache.sysds.common.Types.FileFormat;
+import org.apache.sysds.common.Types.ValueType;
+import org.apache.sysds.runtime.controlprogram.caching.CacheStatistics;
+import org.apache.sysds.runtime.controlprogram.caching.CacheableData;
+import org.apache.sysds.runtime.controlprogram.caching.LazyWriteBuffer;
+import org.apache.sysds.runtime.controlprogram.caching.MatrixObject;
+import org.apache.sysds.runtime.controlprogram.caching.PrefetchScheduler;
+import org.apache.sysds.runtime.controlprogram.context.ExecutionContext;
+import org.apache.sysds.runtime.controlprogram.context.ExecutionContextFactory;
+import org.apache.sysds.runtime.instructions.CPInstructionParser;
+import org.apache.sysds.runtime.instructions.Instruction;
+import org.apache.sysds.runtime.matrix.data.MatrixBlock;
+import org.apache.sysds.runtime.meta.MatrixCharacteristics;
+import org.apache.sysds.runtime.meta.MetaDataFormat;
+import org.apache.sysds.test.TestUtils;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+@net.jcip.annotations.NotThreadSafe
+public class PrefetchSchedulerTest {
+	private static final int rows = 1000;
+	private static final int cols = 100;
+
+	private boolean _stats;
+
+	@Before
+	public void setUp() throws Exception {
+		_stats = DMLScript.STATISTICS;
+		DMLScript.STATISTICS = true;
+		CacheStatistics.reset();
+		CacheableData.initCaching("tmp_prefetch_scheduler_test");
+	}
+
+	@After
+	public void tearDown() {
+		PrefetchScheduler.init(false, 8, 0.1);
+		DMLScript.STATISTICS = _stats;
+		CacheableData.cleanupCacheDir();
+	}
+
+	@Test
+	public void testRestoreEvictedHit() throws Exception {
+		MatrixBlock mb = TestUtils.generateTestMatrixBlock(rows, cols, -1, 1, 0.9, 7);
+		MatrixObject mo = createEvicted("A", mb);
+		assertTrue(mo.isEvicted());
+		assertTrue(mo.markPrefetchPending());
+		assertFalse(mo.markPrefetchPending());
+		assertTrue(mo.restoreEvicted());
+		assertFalse(mo.isEvicted());
+
+		MatrixBlock mb2 = mo.acquireRead();
+		mo.release();
+		TestUtils.compareMatrices(mb, mb2, 0);
+		assertEquals(1, CacheStatistics.getPrefetchHits());
+		assertEquals(0, CacheStatistics.getPrefetchLate());
+	}
+
+	@Test
+	public void testRestoreEvictedLate() throws Exception {
+		MatrixBlock mb = TestUtils.generateTestMatrixBlock(rows, cols, -1, 1, 0.9, 3);
+		MatrixObject mo = createEvicted("A", mb);
+		assertTrue(mo.markPrefetchPending());
+
+		MatrixBlock mb2 = mo.acquireRead();
+		mo.release();
+		TestUtils.compareMatrices(mb, mb2, 0);
+		assertEquals(0, CacheStatistics.getPrefetchHits());
+		assertEquals(1, CacheStatistics.getPrefetchLate());
+
+		//restore after acquire is a no-op
+		assertFalse(mo.restoreEvicted());
+	}
+
+	@Test
+	public void testLookaheadRestoresInputs() throws Exception {
+		PrefetchScheduler.init(true, 8, 0.1);
+		MatrixBlock mb1 = TestUtils.generateTestMatrixBlock(rows, cols, -1, 1, 0.9, 11);
+		MatrixBlock mb2 = TestUtils.generateTestMatrixBlock(rows, cols, -1, 1, 0.9, 13);
+		ExecutionContext ec = ExecutionContextFactory.createContext();
+		MatrixObject mo1 = createEvicted("A", mb1);
+		MatrixObject mo2 = createEvicted("B", mb2);
+		ec.setVariable("A", mo1);
+		ec.setVariable("B", mo2);
+
+		List<Instruction> inst = new ArrayList<>();
+		inst.add(CPInstructionParser.parseSingleInstruction("CP°+°A·MATRIX·FP64°B·MATRIX·FP64°C·MATRIX·FP64°1"));
+		inst.add(CPInstructionParser.parseSingleInstruction("CP°*°B·MATRIX·FP64°A·MATRIX·FP64°D·MATRIX·FP64°1"));
+		PrefetchScheduler.lookahead(inst, 0, ec);
+
+		//wait for background restores
+		for( int i = 0; i < 100 && (mo1.isEvicted() || mo2.isEvicted()); i++ )
+			Thread.sleep(50);
+		assertFalse(mo1.isEvicted());
+		assertFalse(mo2.isEvicted());
+		assertEquals(2, CacheStatistics.getPrefetches());
+		assertEquals(0, PrefetchScheduler.getInflightBytes());
+
+		TestUtils.compareMatrices(mb1, mo1.acquireRead(), 0);
+		mo1.release();
+		assertEquals(1, CacheStatistics.getPrefetchHits());
+	}
+
+	private static MatrixObject createEvicted(String name, MatrixBlock mb) throws Exception {
+		MatrixCharacteristics mc = new MatrixCharacteristics(rows, cols, -1, mb.getNonZeros());
+		MatrixObject mo = new MatrixObject(ValueType.FP64, name, new MetaDataFormat(mc, FileFormat.BINARY));
+		mo.acquireModify(mb);
+		mo.release();
+
+		//evict matrix and clear in-memory reference
+		LazyWriteBuffer.forceEviction();
+		Method clear = CacheableData.class.getDeclaredMethod("clearCache", new Class[] {});
+		clear.setAccessible(true);
+		clear.invoke(mo, new Object[] {});
+		return mo;
+	}
+}
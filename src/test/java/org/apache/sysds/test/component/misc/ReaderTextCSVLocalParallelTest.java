@@ -0,0 +1,229 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.sysds.test.component.misc;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+
+import org.apache.sysds.common.Types.FileFormat;
+import org.apache.sysds.conf.ConfigurationManager;
+import org.apache.sysds.conf.DMLConfig;
+import org.apache.sysds.parser.DataExpression;
+import org.apache.sysds.runtime.io.FileFormatPropertiesCSV;
+import org.apache.sysds.runtime.io.MatrixWriterFactory;
+import org.apache.sysds.runtime.io.ReaderTextCSVLocalParallel;
+import org.apache.sysds.runtime.io.ReaderTextCSVParallel;
+import org.apache.sysds.runtime.matrix.data.MatrixBlock;
+import org.apache.sysds.runtime.util.DataConverter;
+import org.apache.sysds.runtime.util.HDFSTool;
+import org.apache.sysds.test.TestUtils;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class ReaderTextCSVLocalParallelTest {
+
+	private File _dir;
+
+	@Before
+	public void setUp() throws Exception {
+		_dir = Files.createTempDirectory("csvread").toFile();
+	}
+
+	@After
+	public void tearDown() throws Exception {
+		ConfigurationManager.clearLocalConfigs();
+		HDFSTool.deleteFileIfExistOnHDFS(_dir.getAbsolutePath());
+	}
+
+	@Test
+	public void testDense() throws Exception {
+		runWriteReadTest(1000, 37, 1.0, false, 4);
+	}
+
+	@Test
+	public void testSparse() throws Exception {
+		runWriteReadTest(1000, 237, 0.02, false, 4);
+	}
+
+	@Test
+	public void testDenseHeader() throws Exception {
+		runWriteReadTest(1000, 37, 0.7, true, 3);
+	}
+
+	@Test
+	public void testDenseMultiRange() throws Exception {
+		// ~16MB, i.e., multiple byte ranges
+		runWriteReadTest(60000, 20, 1.0, false, 16);
+	}
+
+	@Test
+	public void testSparseMultiRangeHeader() throws Exception {
+		runWriteReadTest(150000, 100, 0.05, true, 16);
+	}
+
+	@Test
+	public void testSingleColumn() throws Exception {
+		runWriteReadTest(5000, 1, 1.0, false, 2);
+	}
+
+	@Test
+	public void testNoTrailingNewlineCRLF() throws Exception {
+		MatrixBlock ret = read("1,2,3\r\n4, 5 ,6\r\n-7.5,8e2,0", new FileFormatPropertiesCSV(), 3, 3);
+		TestUtils.compareMatrices(new double[][] {{1, 2, 3}, {4, 5, 6}, {-7.5, 800, 0}}, //
+			DataConverter.convertToDoubleMatrix(ret), 3, 3, 0);
+		assertEquals(8, ret.getNonZeros());
+	}
+
+	@Test
+	public void testFillEmpty() throws Exception {
+		FileFormatPropertiesCSV props = new FileFormatPropertiesCSV(false, ",", true, 9, "");
+		MatrixBlock ret = read("1,,3\n,5,\n", props, 2, 3);
+		TestUtils.compareMatrices(new double[][] {{1, 9, 3}, {9, 5, 9}}, //
+			DataConverter.convertToDoubleMatrix(ret), 2, 3, 0);
+	}
+
+	@Test
+	public void testNAStrings() throws Exception {
+		FileFormatPropertiesCSV props = new FileFormatPropertiesCSV(false, ";", false, 0, "NA" + DataExpression.DELIM_NA_STRING_SEP + "-999");
+		MatrixBlock ret = read("1;NA;3\n-999;5;7\n", props, 2, 3);
+		double[][] out = DataConverter.convertToDoubleMatrix(ret);
+		assertTrue(Double.isNaN(out[0][1]));
+		assertTrue(Double.isNaN(out[1][0]));
+		assertEquals(7, out[1][2], 0);
+	}
+
+	@Test
+	public void testEmptyFieldNoFill() throws Exception {
+		FileFormatPropertiesCSV props = new FileFormatPropertiesCSV(false, ",", false, 0, "");
+		try {
+			read("1,,3\n4,5,6\n", props, 2, 3);
+			fail("Expected exception for empty fields");
+		}
+		catch(IOException ex) {
+			// expected
+		}
+	}
+
+	@Test
+	public void testInvalidNumColumns() throws Exception {
+		try {
+			read("1,2,3\n4,5\n", new FileFormatPropertiesCSV(), 2, 3);
+			fail("Expected exception for invalid number of columns");
+		}
+		catch(IOException ex) {
+			assertTrue(ex.getCause().getMessage().contains("Invalid number of columns"));
+		}
+	}
+
+	@Test
+	public void testEmptyLinesSingleColumnFill() throws Exception {
+		FileFormatPropertiesCSV props = new FileFormatPropertiesCSV(false, ",", true, 9, "");
+		MatrixBlock ret = read("1\n\n2\n \n", props, 4, 1);
+		TestUtils.compareMatrices(new double[][] {{1}, {9}, {2}, {9}}, //
+			DataConverter.convertToDoubleMatrix(ret), 4, 1, 0);
+		compareWithTwoPass("1\n\n2\n \n", props, false);
+	}
+
+	@Test
+	public void testEmptyLines() throws Exception {
+		// empty lines are rows of one empty field, i.e., invalid for multiple columns
+		for(boolean fill : new boolean[] {false, true}) {
+			FileFormatPropertiesCSV props = new FileFormatPropertiesCSV(false, ",", fill, 0, "");
+			compareWithTwoPass("1,2,3\n\n4,5,6\n", props, false);
+			compareWithTwoPass("1,2,3\n4,5,6\n\n", props, false);
+			compareWithTwoPass("1,2,3\n  \n4,5,6\n", props, false);
+		}
+	}
+
+	@Test
+	public void testQuotedFields() throws Exception {
+		// quoted fields fall back to the two-pass reader
+		FileFormatPropertiesCSV props = new FileFormatPropertiesCSV();
+		compareWithTwoPass("\"1\",2,3\n4,5,6\n", props, true);
+		compareWithTwoPass("1,2,\"3\"\n4,5,6\n", props, true);
+		compareWithTwoPass("1,\"2,5\",3\n4,5,6\n", props, true);
+		compareWithTwoPass("1,2,3\n4,\"5\n6\",7\n", props, true);
+	}
+
+	private void compareWithTwoPass(String content, FileFormatPropertiesCSV props, boolean sameError) throws Exception {
+		File file = new File(_dir, "X.csv");
+		Files.write(file.toPath(), content.getBytes(StandardCharsets.UTF_8));
+		Object ret1 = readOrError(file, props);
+		setSinglePass(false);
+		Object ret2 = readOrError(file, props);
+		setSinglePass(true);
+		if(ret2 instanceof MatrixBlock)
+			TestUtils.compareMatrices((MatrixBlock) ret2, (MatrixBlock) ret1, 0, "single-pass vs two-pass read");
+		else if(sameError) // same error as the two-pass reader
+			assertEquals(ret2, ret1);
+		else
+			assertFalse(ret1 instanceof MatrixBlock);
+	}
+
+	private static void setSinglePass(boolean singlePass) {
+		DMLConfig conf = new DMLConfig();
+		conf.setTextValue(DMLConfig.IO_LOCAL_CSV_SINGLEPASS, String.valueOf(singlePass));
+		ConfigurationManager.setLocalConfig(conf);
+	}
+
+	private static Object readOrError(File file, FileFormatPropertiesCSV props) {
+		try {
+			return new ReaderTextCSVParallel(props).readMatrixFromHDFS(file.getAbsolutePath(), -1, -1, 1000, -1);
+		}
+		catch(Exception ex) {
+			Throwable root = ex;
+			while(root.getCause() != null)
+				root = root.getCause();
+			return root.getClass().getName();
+		}
+	}
+
+	private MatrixBlock read(String content, FileFormatPropertiesCSV props, int rows, int cols) throws Exception {
+		File file = new File(_dir, "X.csv");
+		Files.write(file.toPath(), content.getBytes(StandardCharsets.UTF_8));
+		return new ReaderTextCSVLocalParallel(props, 2).readMatrixFromHDFS(file.getAbsolutePath(), rows, cols, 1000,
+			-1);
+	}
+
+	private void runWriteReadTest(int rows, int cols, double sparsity, boolean header, int k) throws Exception {
+		String fname = new File(_dir, "X").getAbsolutePath();
+		MatrixBlock mb = TestUtils.generateTestMatrixBlock(rows, cols, -10, 10, sparsity, 7);
+		FileFormatPropertiesCSV props = new FileFormatPropertiesCSV(header, ",", mb.isInSparseFormat());
+		MatrixWriterFactory.createMatrixWriter(FileFormat.CSV, 1, props) //
+			.writeMatrixToHDFS(mb, fname, rows, cols, 1000, mb.getNonZeros());
+
+		MatrixBlock ret1 = new ReaderTextCSVLocalParallel(props, k) //
+			.readMatrixFromHDFS(fname, rows, cols, 1000, -1);
+		setSinglePass(false);
+		MatrixBlock ret2 = new ReaderTextCSVParallel(props).readMatrixFromHDFS(fname, rows, cols, 1000, -1);
+
+		assertEquals(mb.getNonZeros(), ret1.getNonZeros());
+		assertEquals(ret2.isInSparseFormat(), ret1.isInSparseFormat());
+		TestUtils.compareMatrices(mb, ret1, 0, "single-pass read");
+		TestUtils.compareMatrices(ret2, ret1, 0, "single-pass vs two-pass read");
+	}
+}
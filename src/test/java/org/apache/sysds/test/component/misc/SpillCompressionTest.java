@@ -0,0 +1,176 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysds.test.component.misc;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.util.Random;
+
+import org.apache.sysds.api.DMLScript;
+import org.apache.sysds.common.Types.ValueType;
+import org.apache.sysds.runtime.controlprogram.caching.CacheBlock;
+import org.apache.sysds.runtime.controlprogram.caching.CacheStatistics;
+import org.apache.sysds.runtime.controlprogram.caching.SpillCompression;
+import org.apache.sysds.runtime.controlprogram.caching.SpillCompression.SpillBlockType;
+import org.apache.sysds.runtime.controlprogram.caching.SpillCompression.SpillCodec;
+import org.apache.sysds.runtime.frame.data.FrameBlock;
+import org.apache.sysds.runtime.matrix.data.MatrixBlock;
+import org.apache.sysds.runtime.util.LocalFileUtils;
+import org.apache.sysds.test.TestUtils;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+@net.jcip.annotations.NotThreadSafe
+public class SpillCompressionTest {
+	private File _file;
+	private boolean _stats;
+
+	@Before
+	public void setUp() throws IOException {
+		_file = File.createTempFile("spill_compression_test", ".bin");
+		_stats = DMLScript.STATISTICS;
+		DMLScript.STATISTICS = true;
+		CacheStatistics.reset();
+	}
+
+	@After
+	public void tearDown() {
+		SpillCompression.init(SpillCodec.NONE);
+		DMLScript.STATISTICS = _stats;
+		_file.delete();
+	}
+
+	@Test
+	public void testDenseLZ4() throws IOException {
+		MatrixBlock mb = TestUtils.round(TestUtils.generateTestMatrixBlock(500, 100, 0, 3, 1.0, 7));
+		runRoundtrip(SpillCodec.LZ4, mb, true);
+	}
+
+	@Test
+	public void testDenseSnappy() throws IOException {
+		MatrixBlock mb = TestUtils.round(TestUtils.generateTestMatrixBlock(500, 100, 0, 3, 1.0, 7));
+		runRoundtrip(SpillCodec.SNAPPY, mb, true);
+	}
+
+	@Test
+	public void testSparseLZ4() throws IOException {
+		MatrixBlock mb = TestUtils.round(TestUtils.generateTestMatrixBlock(2000, 1000, 1, 3, 0.05, 3));
+		runRoundtrip(SpillCodec.LZ4, mb, true);
+	}
+
+	@Test
+	public void testFrameLZ4() throws IOException {
+		FrameBlock fb = new FrameBlock(new ValueType[] {ValueType.STRING, ValueType.INT64, ValueType.BOOLEAN});
+		Random rand = new Random(11);
+		for( int i = 0; i < 5000; i++ )
+			fb.appendRow(new Object[] {"category_" + rand.nextInt(8), (long) rand.nextInt(4), rand.nextBoolean()});
+		runRoundtrip(SpillCodec.LZ4, fb, true);
+	}
+
+	@Test
+	public void testIncompressibleDense() throws IOException {
+		MatrixBlock mb = TestUtils.generateTestMatrixBlock(500, 100, -1, 1, 1.0, 7);
+		runRoundtrip(SpillCodec.LZ4, mb, false);
+		assertTrue(SpillCompression.getRatio(SpillBlockType.DENSE) > SpillCompression.MAX_RATIO);
+
+		//skip compression until the next probe
+		for( int i = 0; i < SpillCompression.PROBE_INTERVAL - 1; i++ )
+			assertFalse(SpillCompression.shouldCompress(SpillBlockType.DENSE));
+		assertTrue(SpillCompression.shouldCompress(SpillBlockType.DENSE));
+		assertTrue(SpillCompression.shouldCompress(SpillBlockType.SPARSE));
+	}
+
+	@Test
+	public void testSerializedBytes() throws IOException {
+		SpillCompression.init(SpillCodec.LZ4);
+		MatrixBlock mb = TestUtils.round(TestUtils.generateTestMatrixBlock(2000, 1000, 1, 3, 0.05, 5));
+		byte[] data = serialize(mb);
+		LocalFileUtils.writeByteArrayToLocal(_file.getAbsolutePath(), data);
+		//uncompressed files are read via the same stream
+		TestUtils.compareMatrices(mb, (MatrixBlock) SpillCompression.readBlock(_file.getAbsolutePath(), true), 0);
+		assertTrue(SpillCompression.writeBytes(_file.getAbsolutePath(), data, true));
+		TestUtils.compareMatrices(mb, (MatrixBlock) LocalFileUtils
+			.readCacheBlockFromLocal(_file.getAbsolutePath(), true), 0);
+	}
+
+	@Test
+	public void testAdaptiveToWriteCost() throws IOException {
+		SpillCompression.init(SpillCodec.LZ4);
+		MatrixBlock mb = TestUtils.round(TestUtils.generateTestMatrixBlock(500, 100, 0, 3, 1.0, 7));
+		LocalFileUtils.writeCacheBlockToLocal(_file.getAbsolutePath(), mb);
+		assertEquals(1, CacheStatistics.getSpillCompressed());
+
+		//without statistics of uncompressed writes, probe them
+		assertFalse(SpillCompression.shouldCompress(SpillBlockType.DENSE));
+
+		//slow uncompressed writes favor compression
+		SpillCompression.recordRawWrite(SpillBlockType.DENSE, 1 << 20, 1L << 40);
+		assertTrue(SpillCompression.shouldCompress(SpillBlockType.DENSE));
+
+		//fast uncompressed writes favor uncompressed spills, except for periodic probes
+		for( int i = 0; i < 100; i++ )
+			SpillCompression.recordRawWrite(SpillBlockType.DENSE, 1 << 20, 0);
+		int compressed = 0;
+		for( int i = 0; i < 2 * SpillCompression.PROBE_INTERVAL; i++ )
+			compressed += SpillCompression.shouldCompress(SpillBlockType.DENSE) ? 1 : 0;
+		assertEquals(2, compressed);
+	}
+
+	@Test
+	public void testDisabled() throws IOException {
+		SpillCompression.init(SpillCodec.NONE);
+		MatrixBlock mb = TestUtils.round(TestUtils.generateTestMatrixBlock(500, 100, 0, 3, 1.0, 7));
+		assertFalse(SpillCompression.writeBlock(_file.getAbsolutePath(), mb));
+		LocalFileUtils.writeCacheBlockToLocal(_file.getAbsolutePath(), mb);
+		assertEquals(mb.getExactSerializedSize(), _file.length());
+		assertEquals(0, CacheStatistics.getSpillCompressed());
+	}
+
+	private void runRoundtrip(SpillCodec codec, CacheBlock<?> cb, boolean compressed) throws IOException {
+		SpillCompression.init(codec);
+		String fname = _file.getAbsolutePath();
+		LocalFileUtils.writeCacheBlockToLocal(fname, cb);
+		boolean matrix = cb instanceof MatrixBlock;
+		CacheBlock<?> cb2 = LocalFileUtils.readCacheBlockFromLocal(fname, matrix);
+
+		long rawLen = serialize(cb).length;
+		assertEquals(compressed, _file.length() < rawLen);
+		assertEquals(compressed ? 1 : 0, CacheStatistics.getSpillCompressed());
+		if( compressed )
+			assertEquals(rawLen - _file.length(), CacheStatistics.getSpillBytesSaved());
+		if( matrix )
+			TestUtils.compareMatrices((MatrixBlock) cb, (MatrixBlock) cb2, 0);
+		else
+			TestUtils.compareFrames((FrameBlock) cb, (FrameBlock) cb2, true);
+	}
+
+	private static byte[] serialize(CacheBlock<?> cb) throws IOException {
+		ByteArrayOutputStream bos = new ByteArrayOutputStream();
+		cb.write(new DataOutputStream(bos));
+		return bos.toByteArray();
+	}
+}
@@ -0,0 +1,263 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysds.test.component.paramserv;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import org.apache.sysds.parser.Statement.PSCompression;
+import org.apache.sysds.runtime.DMLRuntimeException;
+import org.apache.sysds.runtime.controlprogram.caching.MatrixObject;
+import org.apache.sysds.runtime.controlprogram.paramserv.CompressedGradients;
+import org.apache.sysds.runtime.controlprogram.paramserv.GradientCompressor;
+import org.apache.sysds.runtime.controlprogram.paramserv.ParamservUtils;
+import org.apache.sysds.runtime.instructions.cp.Data;
+import org.apache.sysds.runtime.instructions.cp.ListObject;
+import org.apache.sysds.runtime.matrix.data.MatrixBlock;
+import org.apache.sysds.runtime.util.DataConverter;
+import org.apache.sysds.test.TestUtils;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class GradientCompressorTest {
+	private static final int[][] DIMS = {{40, 25}, {1, 25}, {25, 1}, {1, 1}};
+
+	@Test
+	public void testQuantize8Error() {
+		runQuantizationError(PSCompression.QUANTIZE8, 255);
+	}
+
+	@Test
+	public void testQuantize16Error() {
+		runQuantizationError(PSCompression.QUANTIZE16, 65535);
+	}
+
+	@Test
+	public void testQuantizeSparseInput() {
+		ListObject in = createList(7, 0.1);
+		ListObject out = GradientCompressor.decompress(
+			new GradientCompressor(PSCompression.QUANTIZE16, 1).compress(in));
+		for(int i = 0; i < DIMS.length; i++)
+			TestUtils.compareMatrices(getBlock(in, i), getBlock(out, i), 1e-4);
+	}
+
+	@Test
+	public void testTopKSelection() {
+		ListObject in = createList(3, 1.0);
+		double ratio = 0.05;
+		CompressedGradients cg = new GradientCompressor(PSCompression.TOPK, ratio).compress(in);
+		ListObject out = GradientCompressor.decompress(cg);
+		for(int i = 0; i < DIMS.length; i++) {
+			double[] a = DataConverter.convertToDoubleVector(getBlock(in, i));
+			double[] b = DataConverter.convertToDoubleVector(getBlock(out, i));
+			int k = (int) Math.ceil(ratio * a.length);
+			if( 2 * k >= a.length ) { //raw encoding
+				Assert.assertEquals(CompressedGradients.RAW, cg.getBlock(i).getType());
+				Assert.assertArrayEquals(a, b, 0);
+				continue;
+			}
+			Assert.assertEquals(CompressedGradients.TOPK, cg.getBlock(i).getType());
+			double minKept = Double.MAX_VALUE, maxDropped = 0;
+			int kept = 0;
+			for(int j = 0; j < a.length; j++) {
+				if( b[j] != 0 ) {
+					kept++;
+					minKept = Math.min(minKept, Math.abs(a[j]));
+					Assert.assertEquals(a[j], b[j], 1e-6);
+				}
+				else
+					maxDropped = Math.max(maxDropped, Math.abs(a[j]));
+			}
+			Assert.assertEquals(k, kept);
+			Assert.assertTrue(minKept >= maxDropped);
+		}
+	}
+
+	@Test
+	public void testErrorFeedbackQuantize8() {
+		runErrorFeedback(PSCompression.QUANTIZE8, 1);
+	}
+
+	@Test
+	public void testErrorFeedbackTopK() {
+		runErrorFeedback(PSCompression.TOPK, 0.1);
+	}
+
+	@Test
+	public void testResidualsRoundtrip() {
+		GradientCompressor c1 = new GradientCompressor(PSCompression.TOPK, 0.1);
+		GradientCompressor c2 = new GradientCompressor(PSCompression.TOPK, 0.1);
+		ListObject g1 = createList(1, 1.0);
+		c1.compress(g1);
+		c2.setResiduals(c1.getResiduals(g1));
+		ListObject g2 = createList(2, 1.0);
+		ListObject o1 = GradientCompressor.decompress(c1.compress(g2));
+		ListObject o2 = GradientCompressor.decompress(c2.compress(g2));
+		for(int i = 0; i < DIMS.length; i++)
+			TestUtils.compareMatrices(getBlock(o1, i), getBlock(o2, i), 0);
+	}
+
+	@Test
+	public void testCompressedSize() {
+		ListObject in = createList(5, 1.0);
+		CompressedGradients q8 = new GradientCompressor(PSCompression.QUANTIZE8, 1).compress(in);
+		CompressedGradients q16 = new GradientCompressor(PSCompression.QUANTIZE16, 1).compress(in);
+		CompressedGradients topk = new GradientCompressor(PSCompression.TOPK, 0.01).compress(in);
+		Assert.assertTrue(q8.getExactSerializedSize() * 4 < q8.getRawSize());
+		Assert.assertTrue(q16.getExactSerializedSize() * 3 < q16.getRawSize());
+		Assert.assertTrue(topk.getExactSerializedSize() * 10 < topk.getRawSize());
+		Assert.assertTrue(q8.getExactSerializedSize() < q16.getExactSerializedSize());
+	}
+
+	@Test
+	public void testConvergenceNone() {
+		Assert.assertTrue(runLinearRegression(null, 0) < 1e-8);
+	}
+
+	@Test
+	public void testConvergenceQuantize8() {
+		Assert.assertTrue(runLinearRegression(PSCompression.QUANTIZE8, 1) < 1e-4);
+	}
+
+	@Test
+	public void testConvergenceQuantize16() {
+		Assert.assertTrue(runLinearRegression(PSCompression.QUANTIZE16, 1) < 1e-6);
+	}
+
+	@Test
+	public void testConvergenceTopK() {
+		Assert.assertTrue(runLinearRegression(PSCompression.TOPK, 0.1) < 1e-4);
+	}
+
+	@Test(expected = DMLRuntimeException.class)
+	public void testInvalidType() {
+		new GradientCompressor(PSCompression.NONE, 1);
+	}
+
+	@Test(expected = DMLRuntimeException.class)
+	public void testInvalidRatio() {
+		new GradientCompressor(PSCompression.TOPK, 1.5);
+	}
+
+	private static void runQuantizationError(PSCompression type, int levels) {
+		ListObject in = createList(11, 1.0);
+		ListObject out = GradientCompressor.decompress(new GradientCompressor(type, 1).compress(in));
+		for(int i = 0; i < DIMS.length; i++) {
+			MatrixBlock a = getBlock(in, i);
+			double range = a.max() - a.min();
+			TestUtils.compareMatrices(a, getBlock(out, i), range / levels / 2 + 1e-12);
+		}
+	}
+
+	private static void runErrorFeedback(PSCompression type, double ratio) {
+		// sum of decompressed gradients plus the final residual
+		// must equal the sum of all original gradients
+		GradientCompressor compressor = new GradientCompressor(type, ratio);
+		double[][] expected = new double[DIMS.length][];
+		double[][] actual = new double[DIMS.length][];
+		ListObject last = null;
+		for(int t = 0; t < 20; t++) {
+			ListObject in = createList(100 + t, 1.0);
+			ListObject out = GradientCompressor.decompress(compressor.compress(in));
+			for(int i = 0; i < DIMS.length; i++) {
+				expected[i] = add(expected[i], DataConverter.convertToDoubleVector(getBlock(in, i)));
+				actual[i] = add(actual[i], DataConverter.convertToDoubleVector(getBlock(out, i)));
+			}
+			last = in;
+		}
+		ListObject residuals = compressor.getResiduals(last);
+		for(int i = 0; i < DIMS.length; i++) {
+			actual[i] = add(actual[i], DataConverter.convertToDoubleVector(getBlock(residuals, i)));
+			Assert.assertArrayEquals(expected[i], actual[i], 1e-9);
+		}
+	}
+
+	/**
+	 * Gradient descent for a noise-free least squares problem, where the
+	 * gradients are compressed before each update; returns the final loss.
+	 */
+	private static double runLinearRegression(PSCompression type, double ratio) {
+		int n = 200, m = 20;
+		Random rand = new Random(42);
+		double[][] X = new double[n][m];
+		double[] wstar = new double[m];
+		double[] y = new double[n];
+		for(int j = 0; j < m; j++)
+			wstar[j] = rand.nextGaussian();
+		for(int i = 0; i < n; i++) {
+			for(int j = 0; j < m; j++) {
+				X[i][j] = rand.nextGaussian();
+				y[i] += X[i][j] * wstar[j];
+			}
+		}
+		GradientCompressor compressor = (type != null) ? new GradientCompressor(type, ratio) : null;
+		double[] w = new double[m];
+		double lr = 0.1;
+		double loss = Double.MAX_VALUE;
+		for(int iter = 0; iter < 3000; iter++) {
+			double[] r = new double[n];
+			loss = 0;
+			for(int i = 0; i < n; i++) {
+				for(int j = 0; j < m; j++)
+					r[i] += X[i][j] * w[j];
+				r[i] -= y[i];
+				loss += r[i] * r[i] / n;
+			}
+			double[] g = new double[m];
+			for(int i = 0; i < n; i++)
+				for(int j = 0; j < m; j++)
+					g[j] += X[i][j] * r[i] / n;
+			if( compressor != null ) {
+				ListObject lo = new ListObject(Arrays.asList(
+					ParamservUtils.newMatrixObject(new MatrixBlock(m, 1, g), false)));
+				g = DataConverter.convertToDoubleVector(
+					getBlock(GradientCompressor.decompress(compressor.compress(lo)), 0));
+			}
+			for(int j = 0; j < m; j++)
+				w[j] -= lr * g[j];
+		}
+		return loss;
+	}
+
+	private static double[] add(double[] a, double[] b) {
+		if( a == null )
+			return b.clone();
+		for(int i = 0; i < a.length; i++)
+			a[i] += b[i];
+		return a;
+	}
+
+	private static ListObject createList(long seed, double sparsity) {
+		List<Data> data = new ArrayList<>();
+		List<String> names = new ArrayList<>();
+		for(int i = 0; i < DIMS.length; i++) {
+			MatrixBlock mb = TestUtils.generateTestMatrixBlock(DIMS[i][0], DIMS[i][1], -1, 1, sparsity, seed * 31 + i);
+			data.add(ParamservUtils.newMatrixObject(mb, false));
+			names.add("W" + i);
+		}
+		return new ListObject(data, names);
+	}
+
+	private static MatrixBlock getBlock(ListObject lo, int i) {
+		return ((MatrixObject) lo.slice(i)).acquireReadAndRelease();
+	}
+}
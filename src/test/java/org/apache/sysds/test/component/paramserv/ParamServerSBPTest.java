@@ -0,0 +1,192 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysds.test.component.paramserv;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.sysds.conf.ConfigurationManager;
+import org.apache.sysds.conf.DMLConfig;
+import org.apache.sysds.parser.Statement;
+import org.apache.sysds.runtime.DMLRuntimeException;
+import org.apache.sysds.runtime.controlprogram.caching.MatrixObject;
+import org.apache.sysds.runtime.controlprogram.context.ExecutionContext;
+import org.apache.sysds.runtime.controlprogram.paramserv.ParamServer;
+import org.apache.sysds.runtime.controlprogram.paramserv.ParamservUtils;
+import org.apache.sysds.runtime.instructions.cp.Data;
+import org.apache.sysds.runtime.instructions.cp.ListObject;
+import org.apache.sysds.runtime.matrix.data.MatrixBlock;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * SBP rounds with backup workers must aggregate exactly the contributions of
+ * the required number of workers, independent of how many pushes are in flight.
+ */
+public class ParamServerSBPTest {
+	private static final int ROUNDS = 50;
+
+	@After
+	public void cleanup() {
+		ConfigurationManager.clearLocalConfigs();
+	}
+
+	@Test
+	public void testShardedGradientsOneBackup() {
+		runSBP(4, 1, false, true);
+	}
+
+	@Test
+	public void testShardedGradientsTwoBackups() {
+		runSBP(6, 2, false, true);
+	}
+
+	@Test
+	public void testShardedModelAvgOneBackup() {
+		runSBP(4, 1, true, true);
+	}
+
+	@Test
+	public void testShardedModelAvgTwoBackups() {
+		runSBP(6, 2, true, true);
+	}
+
+	@Test
+	public void testUnshardedGradients() {
+		runSBP(4, 1, false, false);
+	}
+
+	@Test
+	public void testUnshardedModelAvg() {
+		runSBP(4, 1, true, false);
+	}
+
+	private static void runSBP(int numWorkers, int numBackup, boolean modelAvg, boolean sharded) {
+		DMLConfig conf = new DMLConfig();
+		conf.setTextValue(DMLConfig.PARAMSERV_SHARDED_ACC, String.valueOf(sharded));
+		ConfigurationManager.setLocalConfig(conf);
+
+		TestParamServer ps = new TestParamServer(createList(0), numWorkers, numBackup, modelAvg);
+		CyclicBarrier barrier = new CyclicBarrier(numWorkers);
+		ExecutorService pool = Executors.newFixedThreadPool(numWorkers);
+		try {
+			List<Future<?>> tasks = new ArrayList<>();
+			for(int w = 0; w < numWorkers; w++) {
+				final int wid = w;
+				tasks.add(pool.submit(() -> {
+					for(int r = 0; r < ROUNDS; r++) {
+						ps.pull(wid);
+						barrier.await(); // maximize concurrently in-flight pushes
+						ps.push(wid, createList(1));
+					}
+					return null;
+				}));
+			}
+			for(Future<?> task : tasks)
+				task.get(60, TimeUnit.SECONDS);
+		}
+		catch(Exception ex) {
+			throw new DMLRuntimeException(ex);
+		}
+		finally {
+			pool.shutdownNow();
+		}
+
+		// every round aggregates exactly the non-backup contributions
+		double expected = modelAvg ? 1 : numWorkers - numBackup;
+		Assert.assertFalse(ps.aggregates.isEmpty());
+		for(double agg : ps.aggregates)
+			Assert.assertEquals(expected, agg, 1e-9);
+		// every push returned a model, and all but the stragglers got aggregated
+		Assert.assertTrue(ps.aggregates.size() * (numWorkers - numBackup) <= numWorkers * ROUNDS);
+	}
+
+	private static ListObject createList(double value) {
+		List<Data> data = new ArrayList<>();
+		List<String> names = new ArrayList<>();
+		data.add(ParamservUtils.newMatrixObject(new MatrixBlock(10, 5, value), false));
+		data.add(ParamservUtils.newMatrixObject(new MatrixBlock(1, 5, value), false));
+		names.add("W");
+		names.add("b");
+		return new ListObject(data, names);
+	}
+
+	private static class TestParamServer extends ParamServer {
+		private final List<Double> aggregates = Collections.synchronizedList(new ArrayList<>());
+
+		protected TestParamServer(ListObject model, int numWorkers, int numBackup, boolean modelAvg) {
+			super(model, "aggregation", Statement.PSUpdateType.SBP, Statement.PSFrequency.BATCH, null, numWorkers,
+				null, -1, null, null, 0, modelAvg, numBackup);
+		}
+
+		@Override
+		protected void setupAggFunc(ExecutionContext ec, String aggFunc) {
+			// no aggregation function, updates are recorded instead
+		}
+
+		@Override
+		public void push(int workerID, ListObject value) {
+			updateGlobalModel(workerID, value);
+		}
+
+		@Override
+		public ListObject pull(int workerID) {
+			try {
+				return _modelMap.get(workerID).take();
+			}
+			catch(InterruptedException e) {
+				throw new DMLRuntimeException(e);
+			}
+		}
+
+		@Override
+		protected ListObject updateLocalModel(ExecutionContext ec, ListObject gradients, ListObject model) {
+			record(gradients);
+			return model;
+		}
+
+		@Override
+		protected ListObject setParams(ExecutionContext ec, ListObject accModels, ListObject model) {
+			record(accModels);
+			return accModels;
+		}
+
+		private void record(ListObject params) {
+			// all cells of all entries hold the same aggregate
+			double agg = Double.NaN;
+			for(Data d : params.getData()) {
+				MatrixBlock mb = ((MatrixObject) d).acquireReadAndRelease();
+				double min = mb.min();
+				double max = mb.max();
+				Assert.assertEquals(min, max, 1e-9);
+				Assert.assertTrue(Double.isNaN(agg) || Math.abs(agg - min) < 1e-9);
+				agg = min;
+			}
+			aggregates.add(agg);
+		}
+	}
+}
@@ -24,7 +24,10 @@ import java.util.Arrays;
 
 import org.junit.Assert;
 import org.junit.Test;
+import org.apache.sysds.parser.Statement.PSCompression;
 import org.apache.sysds.runtime.controlprogram.caching.MatrixObject;
+import org.apache.sysds.runtime.controlprogram.paramserv.CompressedGradients;
+import org.apache.sysds.runtime.controlprogram.paramserv.GradientCompressor;
 import org.apache.sysds.runtime.controlprogram.paramserv.rpc.PSRpcCall;
 import org.apache.sysds.runtime.controlprogram.paramserv.rpc.PSRpcObject;
 import org.apache.sysds.runtime.controlprogram.paramserv.rpc.PSRpcResponse;
@@ -47,6 +50,22 @@ public class RpcObjectTest {
 			actual.serialize().array()));
 	}
 
+	@Test
+	public void testPSRpcCallCompressed() throws IOException {
+		for(PSCompression type : new PSCompression[] {PSCompression.QUANTIZE8, PSCompression.QUANTIZE16, PSCompression.TOPK}) {
+			CompressedGradients data = new GradientCompressor(type, 0.2).compress(generateData());
+			PSRpcCall actual = new PSRpcCall(new PSRpcCall(1, data).serialize());
+			Assert.assertEquals(PSRpcObject.PUSH_COMPRESSED, actual.getMethod());
+			Assert.assertEquals(data.getRawSize(), actual.getCompressedData().getRawSize());
+			ListObject expected = GradientCompressor.decompress(data);
+			ListObject decompressed = GradientCompressor.decompress(actual.getCompressedData());
+			for(int i = 0; i < expected.getLength(); i++)
+				Assert.assertArrayEquals(
+					((MatrixObject) expected.slice(i)).acquireReadAndRelease().getDenseBlockValues(),
+					((MatrixObject) decompressed.slice(i)).acquireReadAndRelease().getDenseBlockValues(), 0);
+		}
+	}
+
 	@Test
 	public void testPSRpcResponse() throws IOException {
 		PSRpcResponse expected = new PSRpcResponse(PSRpcResponse.Type.SUCCESS, generateData());
@@ -0,0 +1,157 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysds.test.component.paramserv;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.apache.sysds.runtime.DMLRuntimeException;
+import org.apache.sysds.runtime.controlprogram.caching.MatrixObject;
+import org.apache.sysds.runtime.controlprogram.paramserv.ParamservUtils;
+import org.apache.sysds.runtime.controlprogram.paramserv.ShardedAccumulator;
+import org.apache.sysds.runtime.functionobjects.Multiply;
+import org.apache.sysds.runtime.functionobjects.Plus;
+import org.apache.sysds.runtime.instructions.cp.Data;
+import org.apache.sysds.runtime.instructions.cp.ListObject;
+import org.apache.sysds.runtime.matrix.data.MatrixBlock;
+import org.apache.sysds.runtime.matrix.operators.BinaryOperator;
+import org.apache.sysds.runtime.matrix.operators.RightScalarOperator;
+import org.apache.sysds.test.TestUtils;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class ShardedAccumulatorTest {
+	private static final int[][] DIMS = {{100, 50}, {1, 50}, {50, 10}, {1, 10}, {10, 1}, {1, 1}};
+	private static final double EPS = 1e-9;
+
+	@Test
+	public void testSingleShardDense() {
+		runAccumulation(1, 4, 1.0, 1.0);
+	}
+
+	@Test
+	public void testShardedDense() {
+		runAccumulation(3, 8, 1.0, 1.0);
+	}
+
+	@Test
+	public void testShardedSparse() {
+		runAccumulation(4, 8, 0.05, 1.0);
+	}
+
+	@Test
+	public void testShardedMixed() {
+		runAccumulation(4, 16, 0.3, 1.0);
+	}
+
+	@Test
+	public void testShardedModelAveraging() {
+		runAccumulation(4, 8, 1.0, 1d / 8);
+	}
+
+	@Test
+	public void testMoreShardsThanEntries() {
+		ShardedAccumulator acc = new ShardedAccumulator(32);
+		acc.accumulate(createList(0, 1.0), 1, 0);
+		Assert.assertEquals(DIMS.length, acc.getNumShards());
+	}
+
+	@Test
+	public void testHarvestResetsBuffers() {
+		ShardedAccumulator acc = new ShardedAccumulator(2);
+		acc.accumulate(createList(1, 1.0), 1, 0);
+		acc.harvest();
+		ListObject in = createList(2, 1.0);
+		acc.accumulate(in, 1, 1);
+		ListObject out = acc.harvest();
+		for(int i = 0; i < DIMS.length; i++)
+			TestUtils.compareMatrices(getBlock(in, i), getBlock(out, i), 0);
+		Assert.assertEquals(in.getNames(), out.getNames());
+	}
+
+	@Test
+	public void testHarvestWithoutContributions() {
+		Assert.assertNull(new ShardedAccumulator(3).harvest());
+	}
+
+	@Test(expected = DMLRuntimeException.class)
+	public void testListLengthMismatch() {
+		ShardedAccumulator acc = new ShardedAccumulator(2);
+		acc.accumulate(createList(1, 1.0), 1, 0);
+		acc.accumulate(new ListObject(Arrays.asList(createList(2, 1.0).slice(0))), 1, 1);
+	}
+
+	private static void runAccumulation(int numShards, int numWorkers, double sparsity, double factor) {
+		List<ListObject> inputs = new ArrayList<>();
+		for(int w = 0; w < numWorkers; w++)
+			inputs.add(createList(w + 1, sparsity));
+
+		// concurrent sharded accumulation
+		ShardedAccumulator acc = new ShardedAccumulator(numShards);
+		ExecutorService pool = Executors.newFixedThreadPool(numWorkers);
+		try {
+			List<Future<?>> tasks = new ArrayList<>();
+			for(int w = 0; w < numWorkers; w++) {
+				final int wid = w;
+				tasks.add(pool.submit(() -> acc.accumulate(inputs.get(wid), factor, wid)));
+			}
+			for(Future<?> task : tasks)
+				task.get();
+		}
+		catch(Exception ex) {
+			throw new RuntimeException(ex);
+		}
+		finally {
+			pool.shutdown();
+		}
+		ListObject actual = acc.harvest();
+
+		// serial reference accumulation
+		RightScalarOperator mult = new RightScalarOperator(Multiply.getMultiplyFnObject(), factor);
+		BinaryOperator plus = new BinaryOperator(Plus.getPlusFnObject());
+		for(int i = 0; i < DIMS.length; i++) {
+			MatrixBlock expected = new MatrixBlock(DIMS[i][0], DIMS[i][1], 0.0);
+			for(ListObject in : inputs)
+				expected = expected.binaryOperations(plus, getBlock(in, i).scalarOperations(mult, new MatrixBlock()));
+			MatrixBlock out = getBlock(actual, i);
+			TestUtils.compareMatrices(expected, out, EPS);
+			Assert.assertEquals(expected.getNonZeros(), out.getNonZeros());
+		}
+	}
+
+	private static ListObject createList(long seed, double sparsity) {
+		List<Data> data = new ArrayList<>();
+		List<String> names = new ArrayList<>();
+		for(int i = 0; i < DIMS.length; i++) {
+			MatrixBlock mb = TestUtils.generateTestMatrixBlock(DIMS[i][0], DIMS[i][1], -1, 1, sparsity, seed * 31 + i);
+			data.add(ParamservUtils.newMatrixObject(mb, false));
+			names.add("W" + i);
+		}
+		return new ListObject(data, names);
+	}
+
+	private static MatrixBlock getBlock(ListObject lo, int i) {
+		return ((MatrixObject) lo.slice(i)).acquireReadAndRelease();
+	}
+}
@@ -0,0 +1,248 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysds.test.functions.caching;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.sysds.common.Types.ValueType;
+import org.apache.sysds.runtime.controlprogram.caching.OffHeapBuffer;
+import org.apache.sysds.runtime.controlprogram.caching.OffHeapBuffer.OffHeapType;
+import org.apache.sysds.runtime.frame.data.FrameBlock;
+import org.apache.sysds.runtime.matrix.data.MatrixBlock;
+import org.apache.sysds.runtime.util.LocalFileUtils;
+import org.apache.sysds.test.AutomatedTestBase;
+import org.apache.sysds.test.TestUtils;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Test;
+
+@net.jcip.annotations.NotThreadSafe
+public class OffHeapBufferTest extends AutomatedTestBase
+{
+	private final static String TEST_DIR = TEST_DATA_DIR + "functions/caching/OffHeapBufferTest/";
+	private final static int rows = 300;
+	private final static int cols = 50;
+	private final static long limit = 1024*1024;
+
+	@Override
+	public void setUp() {
+		LocalFileUtils.createLocalFileIfNotExist(TEST_DIR);
+	}
+
+	@After
+	public void cleanup() {
+		OffHeapBuffer.init(OffHeapType.NONE, 0);
+	}
+
+	@Test
+	public void testDirectDense() {
+		runOffHeapMatrixTest(OffHeapType.DIRECT, 0.9);
+	}
+
+	@Test
+	public void testDirectSparse() {
+		runOffHeapMatrixTest(OffHeapType.DIRECT, 0.05);
+	}
+
+	@Test
+	public void testMappedDense() {
+		runOffHeapMatrixTest(OffHeapType.MAPPED, 0.9);
+	}
+
+	@Test
+	public void testMappedSparse() {
+		runOffHeapMatrixTest(OffHeapType.MAPPED, 0.05);
+	}
+
+	@Test
+	public void testDirectFrame() {
+		runOffHeapFrameTest(OffHeapType.DIRECT);
+	}
+
+	@Test
+	public void testMappedFrame() {
+		runOffHeapFrameTest(OffHeapType.MAPPED);
+	}
+
+	@Test
+	public void testDirectSpill() {
+		runOffHeapSpillTest(OffHeapType.DIRECT);
+	}
+
+	@Test
+	public void testMappedSpill() {
+		runOffHeapSpillTest(OffHeapType.MAPPED);
+	}
+
+	@Test
+	public void testMappedFailedAllocation() {
+		//failed allocations release their reserved capacity
+		OffHeapBuffer.init(OffHeapType.MAPPED, limit);
+		try {
+			OffHeapBuffer.writeBlock(TEST_DIR+"missing/X0", new MatrixBlock(3, 3, 1d));
+			Assert.fail("Expected IOException for missing directory");
+		}
+		catch(IOException e) {
+			Assert.assertEquals(0, OffHeapBuffer.getSize());
+		}
+	}
+
+	@Test
+	public void testDirectFailedSpill() throws IOException {
+		MatrixBlock mb1 = MatrixBlock.randOperations(rows, cols, 0.9, 0, 1, "uniform", 3);
+		MatrixBlock mb2 = MatrixBlock.randOperations(rows, cols, 0.9, 0, 1, "uniform", 4);
+		OffHeapBuffer.init(OffHeapType.DIRECT, mb1.getExactSizeOnDisk()*3/2);
+		String fname1 = TEST_DIR + "missing/S1";
+		try {
+			Assert.assertTrue(OffHeapBuffer.writeBlock(fname1, mb1));
+			OffHeapBuffer.writeBlock(TEST_DIR + "S2_FAILED", mb2);
+			Assert.fail("Expected IOException for spill into missing directory");
+		}
+		catch(IOException e) {
+			//unwritten segments are kept, the new block is rejected
+			Assert.assertTrue(OffHeapBuffer.contains(fname1));
+			Assert.assertEquals(mb1.getExactSizeOnDisk(), OffHeapBuffer.getSize());
+			TestUtils.compareMatrices(mb1, (MatrixBlock) OffHeapBuffer.readBlock(fname1, true), 1e-14);
+		}
+	}
+
+	@Test
+	public void testMappedReEvictDuringRestore() throws Exception {
+		//re-evictions of a block (alternating sizes) must not truncate
+		//the file of a previous mapping, which is concurrently restored
+		MatrixBlock mb1 = MatrixBlock.randOperations(rows*10, cols*4, 0.9, 0, 1, "uniform", 3);
+		MatrixBlock mb2 = new MatrixBlock(3, 3, 1d);
+		OffHeapBuffer.init(OffHeapType.MAPPED, mb1.getExactSizeOnDisk()*4);
+		String fname = TEST_DIR + "R_MAPPED";
+		Assert.assertTrue(OffHeapBuffer.writeBlock(fname, mb1));
+		AtomicBoolean stop = new AtomicBoolean(false);
+		AtomicInteger probes = new AtomicInteger(0);
+		AtomicInteger reads = new AtomicInteger(0);
+		ExecutorService pool = Executors.newSingleThreadExecutor();
+		try {
+			Future<?> reader = pool.submit(() -> {
+				while( !stop.get() ) {
+					probes.incrementAndGet();
+					MatrixBlock mb = (MatrixBlock) OffHeapBuffer.readBlock(fname, true);
+					if( mb != null ) {
+						TestUtils.compareMatrices(mb.getNumRows()==mb1.getNumRows() ? mb1 : mb2, mb, 1e-14);
+						reads.incrementAndGet();
+					}
+				}
+				return null;
+			});
+			for( int i=0; i<100; i++ ) {
+				//re-evict as soon as the reader started the next restore
+				int p = probes.get();
+				while( probes.get() == p && !reader.isDone() )
+					Thread.yield();
+				Assert.assertTrue(OffHeapBuffer.writeBlock(fname, (i%2==0) ? mb2 : mb1));
+			}
+			stop.set(true);
+			reader.get(60, TimeUnit.SECONDS);
+			Assert.assertTrue(reads.get() > 0);
+			//the committed file holds the last evicted block
+			TestUtils.compareMatrices(mb1, LocalFileUtils.readMatrixBlockFromLocal(fname), 1e-14);
+			Assert.assertFalse(new File(fname + ".map").exists());
+		}
+		finally {
+			stop.set(true);
+			pool.shutdownNow();
+			OffHeapBuffer.deleteBlock(fname);
+			LocalFileUtils.deleteFileIfExists(fname);
+		}
+	}
+
+	@Test
+	public void testDisabled() throws IOException {
+		OffHeapBuffer.init(OffHeapType.NONE, limit);
+		Assert.assertFalse(OffHeapBuffer.isEnabled());
+		Assert.assertFalse(OffHeapBuffer.writeBlock(TEST_DIR+"X0", new MatrixBlock(3, 3, 1d)));
+	}
+
+	private void runOffHeapMatrixTest(OffHeapType type, double sparsity) {
+		try {
+			OffHeapBuffer.init(type, limit);
+			String fname = TEST_DIR + "X_" + type.name();
+			MatrixBlock mb = MatrixBlock.randOperations(rows, cols, sparsity, 0, 1, "uniform", 7);
+			Assert.assertTrue(OffHeapBuffer.writeBlock(fname, mb));
+			Assert.assertEquals(mb.getExactSizeOnDisk(), OffHeapBuffer.getSize());
+			MatrixBlock mb2 = (MatrixBlock) OffHeapBuffer.readBlock(fname, true);
+			TestUtils.compareMatrices(mb, mb2, 1e-14);
+			Assert.assertEquals(type==OffHeapType.DIRECT, OffHeapBuffer.deleteBlock(fname));
+			Assert.assertNull(OffHeapBuffer.readBlock(fname, true));
+			Assert.assertEquals(0, OffHeapBuffer.getSize());
+		}
+		catch(IOException e) {
+			throw new RuntimeException(e);
+		}
+	}
+
+	private void runOffHeapFrameTest(OffHeapType type) {
+		try {
+			OffHeapBuffer.init(type, limit);
+			String fname = TEST_DIR + "F_" + type.name();
+			FrameBlock fb = new FrameBlock(new ValueType[]{ValueType.STRING, ValueType.FP64, ValueType.INT64});
+			for(int i=0; i<rows; i++)
+				fb.appendRow(new Object[]{"v"+i, Double.valueOf(i*0.5), Long.valueOf(i)});
+			Assert.assertTrue(OffHeapBuffer.writeBlock(fname, fb));
+			FrameBlock fb2 = (FrameBlock) OffHeapBuffer.readBlock(fname, false);
+			Assert.assertEquals(fb.getNumRows(), fb2.getNumRows());
+			for(int i=0; i<rows; i++)
+				for(int j=0; j<fb.getNumColumns(); j++)
+					Assert.assertEquals(fb.get(i, j).toString(), fb2.get(i, j).toString());
+			OffHeapBuffer.deleteBlock(fname);
+		}
+		catch(IOException e) {
+			throw new RuntimeException(e);
+		}
+	}
+
+	private void runOffHeapSpillTest(OffHeapType type) {
+		try {
+			MatrixBlock mb1 = MatrixBlock.randOperations(rows, cols, 0.9, 0, 1, "uniform", 3);
+			MatrixBlock mb2 = MatrixBlock.randOperations(rows, cols, 0.9, 0, 1, "uniform", 4);
+			//limit allows only a single block at a time
+			OffHeapBuffer.init(type, mb1.getExactSizeOnDisk()*3/2);
+			String fname1 = TEST_DIR + "S1_" + type.name();
+			String fname2 = TEST_DIR + "S2_" + type.name();
+			Assert.assertTrue(OffHeapBuffer.writeBlock(fname1, mb1));
+			Assert.assertTrue(OffHeapBuffer.writeBlock(fname2, mb2));
+			Assert.assertFalse(OffHeapBuffer.contains(fname1));
+			Assert.assertTrue(OffHeapBuffer.contains(fname2));
+			//spilled block is readable from local file system
+			TestUtils.compareMatrices(mb1, LocalFileUtils.readMatrixBlockFromLocal(fname1), 1e-14);
+			TestUtils.compareMatrices(mb2, (MatrixBlock) OffHeapBuffer.readBlock(fname2, true), 1e-14);
+			OffHeapBuffer.deleteBlock(fname2);
+			LocalFileUtils.deleteFileIfExists(fname1);
+			LocalFileUtils.deleteFileIfExists(fname2);
+		}
+		catch(IOException e) {
+			throw new RuntimeException(e);
+		}
+	}
+}
@@ -0,0 +1,101 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.sysds.test.functions.jmlc;
+
+import org.apache.sysds.api.DMLException;
+import org.apache.sysds.api.jmlc.Connection;
+import org.apache.sysds.api.jmlc.PreparedScript;
+import org.apache.sysds.api.jmlc.ResultVariables;
+import org.apache.sysds.runtime.matrix.data.MatrixBlock;
+import org.apache.sysds.test.AutomatedTestBase;
+import org.apache.sysds.test.TestUtils;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class JMLCHotExecutionTest extends AutomatedTestBase
+{
+	private static final String SCRIPT =
+		  "X = read(\"./tmp/X\", data_type=\"matrix\");"
+		+ "W = read(\"./tmp/W\", data_type=\"matrix\");"
+		+ "s = read(\"./tmp/s\", data_type=\"scalar\", value_type=\"double\");"
+		+ "R = (X %*% W) * s;"
+		+ "write(R, \"./tmp/R\");";
+
+	@Override
+	public void setUp() {
+		//do nothing
+	}
+
+	@Test
+	public void testHotExecutionSameDims() {
+		runHotExecutionTest(new int[]{1, 1, 1, 1});
+	}
+
+	@Test
+	public void testHotExecutionVaryingDims() {
+		runHotExecutionTest(new int[]{1, 7, 3, 100, 1});
+	}
+
+	@Test
+	public void testInvalidInputIndex() {
+		try( Connection conn = new Connection() ) {
+			PreparedScript ps = conn.prepareScript(SCRIPT, new String[]{"X", "W", "s"}, new String[]{"R"});
+			ps.enableHotExecution(true);
+			Assert.assertEquals(2, ps.getInputIndex("s"));
+			Assert.assertThrows(DMLException.class, () -> ps.getInputIndex("Y"));
+			Assert.assertThrows(DMLException.class, () -> ps.setScalar(3, 1));
+		}
+		catch(Exception ex) {
+			throw new RuntimeException(ex);
+		}
+	}
+
+	private static void runHotExecutionTest(int[] rows) {
+		MatrixBlock W = TestUtils.generateTestMatrixBlock(20, 5, -1, 1, 1.0, 3);
+		try( Connection conn = new Connection() ) {
+			PreparedScript ps = conn.prepareScript(SCRIPT, new String[]{"X", "W", "s"}, new String[]{"R"});
+			PreparedScript hot = ps.clone(false);
+			hot.enableHotExecution(true);
+			Assert.assertTrue(hot.isHotExecution());
+			Assert.assertFalse(ps.isHotExecution());
+			
+			//bind model once, and reuse across invocations
+			ps.setMatrix("W", W, true);
+			hot.setMatrix(hot.getInputIndex("W"), W);
+			int ixX = hot.getInputIndex("X");
+			int ixS = hot.getInputIndex("s");
+			
+			for( int i=0; i<rows.length; i++ ) {
+				MatrixBlock X = TestUtils.generateTestMatrixBlock(rows[i], 20, -1, 1, 1.0, i);
+				ps.setMatrix("X", X, false);
+				ps.setScalar("s", i+1);
+				MatrixBlock expected = ps.executeScript().getMatrixBlock("R");
+				
+				hot.setMatrix(ixX, X);
+				hot.setScalar(ixS, i+1);
+				ResultVariables rvars = hot.executeScript();
+				Assert.assertEquals(1, rvars.size());
+				TestUtils.compareMatricesBitAvgDistance(expected, rvars.getMatrixBlock("R"), 0, 0, "iteration "+i);
+			}
+		}
+		catch(Exception ex) {
+			throw new RuntimeException(ex);
+		}
+	}
+}
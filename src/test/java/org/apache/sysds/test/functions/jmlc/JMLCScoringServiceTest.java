@@ -0,0 +1,127 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.sysds.test.functions.jmlc;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.apache.sysds.api.jmlc.Connection;
+import org.apache.sysds.api.jmlc.PreparedScript;
+import org.apache.sysds.api.jmlc.ScoringService;
+import org.apache.sysds.runtime.instructions.InstructionUtils;
+import org.apache.sysds.runtime.matrix.data.MatrixBlock;
+import org.apache.sysds.test.AutomatedTestBase;
+import org.apache.sysds.test.TestUtils;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class JMLCScoringServiceTest extends AutomatedTestBase
+{
+	private static final String SCRIPT =
+		  "X = read(\"./tmp/X\", data_type=\"matrix\");"
+		+ "W = read(\"./tmp/W\", data_type=\"matrix\");"
+		+ "P = X %*% W;"
+		+ "write(P, \"./tmp/P\");";
+
+	private static final String SCRIPT_AGG =
+		  "X = read(\"./tmp/X\", data_type=\"matrix\");"
+		+ "P = colSums(X) %*% matrix(1, ncol(X), 2);"
+		+ "write(P, \"./tmp/P\");";
+
+	private static final int COLS = 30;
+
+	@Override
+	public void setUp() {
+		//do nothing
+	}
+
+	@Test
+	public void testSingleWorker() {
+		runScoringServiceTest(1, 16, 100);
+	}
+
+	@Test
+	public void testMultipleWorkers() {
+		runScoringServiceTest(4, 32, 1000);
+	}
+
+	@Test
+	public void testBatchSizeOne() {
+		runScoringServiceTest(2, 1, 100);
+	}
+
+	@Test
+	public void testInvalidColumns() throws Exception {
+		MatrixBlock W = TestUtils.generateTestMatrixBlock(COLS, 3, -1, 1, 1.0, 3);
+		try( Connection conn = new Connection() ) {
+			PreparedScript ps = conn.prepareScript(SCRIPT, new String[]{"X", "W"}, new String[]{"P"});
+			ps.setMatrix("W", W, true);
+			try( ScoringService service = new ScoringService(ps, "X", "P", 1, 8) ) {
+				double[] row = new double[COLS+1];
+				Arrays.fill(row, 1);
+				Future<double[]> f = service.score(row);
+				Assert.assertThrows(ExecutionException.class, () -> f.get());
+				//service still functional after failure
+				Assert.assertEquals(3, service.score(new double[COLS]).get().length);
+			}
+		}
+	}
+
+	@Test
+	public void testInvalidOutputRows() throws Exception {
+		try( Connection conn = new Connection() ) {
+			PreparedScript ps = conn.prepareScript(SCRIPT_AGG, new String[]{"X"}, new String[]{"P"});
+			try( ScoringService service = new ScoringService(ps, "X", "P", 1, 8) ) {
+				//single row batches are consistent, only larger batches fail
+				Assert.assertEquals(2, service.score(new double[COLS]).get().length);
+			}
+		}
+	}
+
+	private static void runScoringServiceTest(int numWorkers, int maxBatch, int numRequests) {
+		MatrixBlock W = TestUtils.generateTestMatrixBlock(COLS, 3, -1, 1, 1.0, 3);
+		MatrixBlock X = TestUtils.generateTestMatrixBlock(numRequests, COLS, -1, 1, 0.7, 7);
+		MatrixBlock expected = X.aggregateBinaryOperations(X, W, InstructionUtils.getMatMultOperator(1));
+		ExecutorService clients = Executors.newFixedThreadPool(8);
+		try( Connection conn = new Connection() ) {
+			PreparedScript ps = conn.prepareScript(SCRIPT, new String[]{"X", "W"}, new String[]{"P"});
+			ps.setMatrix("W", W, true);
+			try( ScoringService service = new ScoringService(ps, "X", "P", numWorkers, maxBatch) ) {
+				List<Future<MatrixBlock>> futures = new ArrayList<>();
+				for( int i=0; i<numRequests; i++ ) {
+					final int ix = i;
+					futures.add(clients.submit(() -> service.score(X.slice(ix, ix)).get()));
+				}
+				for( int i=0; i<numRequests; i++ )
+					TestUtils.compareMatrices(expected.slice(i, i), futures.get(i).get(), 1e-10);
+			}
+		}
+		catch(Exception ex) {
+			throw new RuntimeException(ex);
+		}
+		finally {
+			clients.shutdown();
+		}
+	}
+}
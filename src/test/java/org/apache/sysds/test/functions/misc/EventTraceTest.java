@@ -0,0 +1,122 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysds.test.functions.misc;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.FileReader;
+import java.util.HashSet;
+import java.util.Set;
+
+import org.apache.sysds.test.AutomatedTestBase;
+import org.apache.sysds.test.TestConfiguration;
+import org.apache.sysds.utils.stats.EventTrace;
+import org.apache.wink.json4j.JSONArray;
+import org.apache.wink.json4j.JSONObject;
+import org.junit.Test;
+
+public class EventTraceTest extends AutomatedTestBase
+{
+	private final static String TEST_DIR = "functions/misc/";
+	private final static String TEST_NAME1 = "EventTraceTest";
+	private final static String TEST_CLASS_DIR = TEST_DIR + EventTraceTest.class.getSimpleName() + "/";
+
+	@Override
+	public void setUp() {
+		addTestConfiguration(TEST_NAME1, new TestConfiguration(TEST_CLASS_DIR, TEST_NAME1, new String[] {"S"}));
+	}
+
+	@Test
+	public void testScriptTrace() throws Exception {
+		TestConfiguration config = getTestConfiguration(TEST_NAME1);
+		loadTestConfiguration(config);
+
+		String HOME = SCRIPT_DIR + TEST_DIR;
+		String trace = output("trace.json");
+		fullDMLScriptName = HOME + TEST_NAME1 + ".dml";
+		programArgs = new String[] {"-trace", trace, "-args", output("S")};
+		runTest(true, false, null, -1);
+		assertTrue(!EventTrace.isEnabled());
+
+		JSONArray events = readEvents(trace);
+		Set<Long> tids = new HashSet<>();
+		Set<String> names = new HashSet<>();
+		boolean matmult = false;
+		for( int i = 0; i < events.length(); i++ ) {
+			JSONObject e = events.getJSONObject(i);
+			if( !e.getString("ph").equals("X") )
+				continue;
+			tids.add(e.getLong("tid"));
+			names.add(e.getString("name"));
+			assertTrue(e.getDouble("dur") >= 0);
+			if( e.getString("name").equals("ba+*") ) {
+				assertEquals("CP", e.getString("cat"));
+				JSONObject args = e.getJSONObject("args");
+				assertEquals(2, args.getJSONArray("in").length());
+				assertTrue(args.getString("out").contains("200x200"));
+				matmult = true;
+			}
+		}
+		assertTrue(names.toString(), matmult);
+		//main thread and parfor workers
+		assertTrue(tids.size() > 1);
+	}
+
+	@Test
+	public void testBoundedEvents() throws Exception {
+		File file = new File(output("bounded.json"));
+		file.getParentFile().mkdirs();
+		long max = EventTrace.MAX_EVENTS;
+		try {
+			EventTrace.MAX_EVENTS = 100;
+			EventTrace.init(file.getAbsolutePath());
+			Thread[] threads = new Thread[4];
+			for( int i = 0; i < threads.length; i++ ) {
+				threads[i] = new Thread(() -> {
+					for( int j = 0; j < 50; j++ )
+						EventTrace.end("test", "TEST", EventTrace.begin(), "iter", j);
+				});
+				threads[i].start();
+			}
+			for( Thread t : threads )
+				t.join();
+			assertEquals(100, EventTrace.getNumEvents());
+			assertEquals(100, EventTrace.getNumDropped());
+			EventTrace.finish();
+		}
+		finally {
+			EventTrace.MAX_EVENTS = max;
+		}
+
+		JSONArray events = readEvents(file.getAbsolutePath());
+		int count = 0;
+		for( int i = 0; i < events.length(); i++ )
+			count += events.getJSONObject(i).getString("ph").equals("X") ? 1 : 0;
+		assertEquals(100, count);
+	}
+
+	private static JSONArray readEvents(String fname) throws Exception {
+		try( FileReader reader = new FileReader(fname) ) {
+			return new JSONObject(reader).getJSONArray("traceEvents");
+		}
+	}
+}
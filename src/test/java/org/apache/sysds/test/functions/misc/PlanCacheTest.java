@@ -0,0 +1,260 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysds.test.functions.misc;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+
+import org.apache.commons.io.FileUtils;
+import org.apache.sysds.api.DMLException;
+import org.apache.sysds.api.DMLScript;
+import org.apache.sysds.api.jmlc.Connection;
+import org.apache.sysds.api.jmlc.PreparedScript;
+import org.apache.sysds.common.Types.ExecMode;
+import org.apache.sysds.conf.CompilerConfig.ConfigType;
+import org.apache.sysds.conf.DMLConfig;
+import org.apache.sysds.runtime.matrix.data.MatrixValue.CellIndex;
+import org.apache.sysds.test.AutomatedTestBase;
+import org.apache.sysds.test.TestConfiguration;
+import org.apache.sysds.utils.stats.RecompileStatistics;
+import org.junit.Test;
+
+public class PlanCacheTest extends AutomatedTestBase
+{
+	private final static String TEST_DIR = "functions/misc/";
+	private final static String TEST_NAME1 = "PlanCacheTest";
+	private final static String TEST_NAME2 = "PlanCacheTest2";
+	private final static String TEST_NAME3 = "PlanCacheTest3";
+	private final static String TEST_CLASS_DIR = TEST_DIR + PlanCacheTest.class.getSimpleName() + "/";
+	private final static File TEST_CONF_FILE = new File(SCRIPT_DIR + TEST_DIR, TEST_NAME1 + ".xml");
+	private final static String CACHE_DIR = "target/testTemp/" + TEST_CLASS_DIR + "plancache";
+
+	@Override
+	public void setUp() {
+		addTestConfiguration(TEST_NAME1, new TestConfiguration(TEST_CLASS_DIR, TEST_NAME1, new String[] {"R"}));
+		addTestConfiguration(TEST_NAME2, new TestConfiguration(TEST_CLASS_DIR, TEST_NAME2, new String[] {"R"}));
+		addTestConfiguration(TEST_NAME3, new TestConfiguration(TEST_CLASS_DIR, TEST_NAME3, new String[] {"R"}));
+	}
+
+	@Test
+	public void testPlanCacheReuse() {
+		runPlanCacheTest(false);
+	}
+
+	@Test
+	public void testPlanCacheChangedInput() {
+		runPlanCacheTest(true);
+	}
+
+	@Test
+	public void testPlanCacheSourcedScript() {
+		ExecMode platformOld = setExecMode(ExecMode.SINGLE_NODE);
+		try {
+			FileUtils.deleteQuietly(new File(CACHE_DIR));
+			TestConfiguration config = getTestConfiguration(TEST_NAME2);
+			loadTestConfiguration(config);
+
+			String HOME = SCRIPT_DIR + TEST_DIR;
+			fullDMLScriptName = HOME + TEST_NAME2 + ".dml";
+			programArgs = new String[] {"-stats", "-args", input("X"), output("R")};
+
+			//scripts that source other scripts are never cached
+			double[][] X = writeInputMatrixWithMTD("X", getRandomMatrix(50, 10, 0, 1, 1.0, 7), false);
+			for( int i = 0; i < 2; i++ ) {
+				runTest(true, false, null, -1);
+				assertEquals(0, RecompileStatistics.getPlanCacheHits());
+				assertTrue(!new File(CACHE_DIR).exists()
+					|| new File(CACHE_DIR).list((d, n) -> n.endsWith(".plan")).length == 0);
+				assertEquals(getSum(X), readResult(), 1e-8);
+			}
+		}
+		finally {
+			rtplatform = platformOld;
+		}
+	}
+
+	@Test
+	public void testPlanCacheInputWithoutMetadata() {
+		runPlanCacheDependencyTest(true);
+	}
+
+	@Test
+	public void testPlanCacheChangedBuiltin() {
+		runPlanCacheDependencyTest(false);
+	}
+
+	@Test
+	public void testPlanCacheJMLC() {
+		boolean statsOld = DMLScript.STATISTICS;
+		FileUtils.deleteQuietly(new File(CACHE_DIR));
+		String script = "X = read('./tmp/X', data_type='matrix'); Y = t(X) %*% X + 6; R = sum(Y * 2); write(R, './tmp/R');";
+		double[][] X = getRandomMatrix(50, 10, 0, 1, 1.0, 7);
+		DMLConfig conf = new DMLConfig();
+		conf.setTextValue(DMLConfig.PLAN_CACHE, CACHE_DIR);
+		try( Connection conn = new Connection(conf) ) {
+			//plans of unknown input sizes are only cacheable w/o dynamic recompilation
+			conn.setConfigTypes(false, ConfigType.ALLOW_DYN_RECOMPILATION);
+			DMLScript.STATISTICS = true;
+			RecompileStatistics.reset();
+			//first prepare compiles and populates the plan cache,
+			//second prepare reuses the cached plan
+			for( int i = 0; i < 2; i++ ) {
+				PreparedScript pscript = conn.prepareScript(script, new String[] {"X"}, new String[] {"R"});
+				assertEquals(i, RecompileStatistics.getPlanCacheHits());
+				assertEquals(1, new File(CACHE_DIR).list((d, n) -> n.endsWith(".plan")).length);
+				pscript.setMatrix("X", X);
+				assertEquals(getExpected(X), pscript.executeScript().getDouble("R"), 1e-8);
+				//cached plans cannot be recompiled, which is reported instead of ignored
+				if( i == 1 ) {
+					try {
+						pscript.enableFunctionRecompile(null, "foo");
+						fail("Function recompile of a cached plan should fail.");
+					}
+					catch(DMLException ex) {
+						assertTrue(ex.getMessage().contains(DMLConfig.PLAN_CACHE));
+					}
+				}
+			}
+		}
+		finally {
+			DMLScript.STATISTICS = statsOld;
+		}
+	}
+
+	private void runPlanCacheDependencyTest(boolean changeInput) {
+		ExecMode platformOld = setExecMode(ExecMode.SINGLE_NODE);
+		try {
+			FileUtils.deleteQuietly(new File(CACHE_DIR));
+			TestConfiguration config = getTestConfiguration(TEST_NAME3);
+			loadTestConfiguration(config);
+
+			String HOME = SCRIPT_DIR + TEST_DIR;
+			fullDMLScriptName = HOME + TEST_NAME3 + ".dml";
+			programArgs = new String[] {"-stats", "-args", input("X"), output("R"), "50", "10"};
+
+			//first run compiles and populates the plan cache, incl dependencies
+			double[][] X = writeInputMatrix("X", getRandomMatrix(50, 10, 0, 1, 1.0, 7), false);
+			runTest(true, false, null, -1);
+			assertEquals(0, RecompileStatistics.getPlanCacheHits());
+			File[] entries = new File(CACHE_DIR).listFiles((d, n) -> n.endsWith(".plan"));
+			assertEquals(1, entries.length);
+			String entry = FileUtils.readFileToString(entries[0], StandardCharsets.UTF_8);
+			assertTrue(entry.contains("Sscripts/builtin/scale.dml\t"));
+			assertEquals(getSumScaled(X), readResult(), 1e-8);
+
+			//second run reuses the cached plan
+			runTest(true, false, null, -1);
+			assertEquals(1, RecompileStatistics.getPlanCacheHits());
+
+			//third run recompiles due to a changed input (w/o metadata) or builtin script
+			if( changeInput )
+				X = writeInputMatrix("X", getRandomMatrix(50, 10, 0, 1, 0.5, 3), false);
+			else //simulate a changed builtin script by a modified content hash
+				FileUtils.writeStringToFile(entries[0], entry.replaceFirst(
+					"(Sscripts/builtin/scale.dml\t)[0-9a-f]+", "$10"), StandardCharsets.UTF_8);
+			runTest(true, false, null, -1);
+			assertEquals(0, RecompileStatistics.getPlanCacheHits());
+			assertEquals(getSumScaled(X), readResult(), 1e-8);
+		}
+		catch(Exception ex) {
+			throw new RuntimeException(ex);
+		}
+		finally {
+			rtplatform = platformOld;
+		}
+	}
+
+	private void runPlanCacheTest(boolean changeInput) {
+		ExecMode platformOld = setExecMode(ExecMode.SINGLE_NODE);
+		try {
+			FileUtils.deleteQuietly(new File(CACHE_DIR));
+			TestConfiguration config = getTestConfiguration(TEST_NAME1);
+			loadTestConfiguration(config);
+
+			String HOME = SCRIPT_DIR + TEST_DIR;
+			fullDMLScriptName = HOME + TEST_NAME1 + ".dml";
+			programArgs = new String[] {"-stats", "-args", input("X"), output("R")};
+
+			//first run compiles and populates the plan cache
+			double[][] X = writeInputMatrixWithMTD("X", getRandomMatrix(50, 10, 0, 1, 1.0, 7), false);
+			runTest(true, false, null, -1);
+			assertEquals(0, RecompileStatistics.getPlanCacheHits());
+			assertEquals(1, RecompileStatistics.getPlanCacheMisses());
+			assertEquals(1, new File(CACHE_DIR).list((d, n) -> n.endsWith(".plan")).length);
+			assertEquals(getExpected(X), readResult(), 1e-8);
+
+			//second run reuses the cached plan, unless the input metadata changed
+			if( changeInput )
+				X = writeInputMatrixWithMTD("X", getRandomMatrix(60, 12, 0, 1, 1.0, 3), false);
+			runTest(true, false, null, -1);
+			assertEquals(changeInput ? 0 : 1, RecompileStatistics.getPlanCacheHits());
+			assertEquals(getExpected(X), readResult(), 1e-8);
+		}
+		finally {
+			rtplatform = platformOld;
+		}
+	}
+
+	@Override
+	protected File getConfigTemplateFile() {
+		return TEST_CONF_FILE;
+	}
+
+	private static double readResult() {
+		return readDMLMatrixFromOutputDir("R").get(new CellIndex(1, 1));
+	}
+
+	private static double getSum(double[][] X) {
+		double sum = 0;
+		for( double[] row : X )
+			for( double v : row )
+				sum += v;
+		return sum;
+	}
+
+	private static double getSumScaled(double[][] X) {
+		//sum(X) + sum((X - colMeans(X))^2)
+		double ssq = 0;
+		for( int j = 0; j < X[0].length; j++ ) {
+			double mean = 0;
+			for( double[] row : X )
+				mean += row[j] / X.length;
+			for( double[] row : X )
+				ssq += (row[j] - mean) * (row[j] - mean);
+		}
+		return getSum(X) + ssq;
+	}
+
+	private static double getExpected(double[][] X) {
+		//sum(2 * (t(X) %*% X + 6)) = 2 * (sum_i rowSum(X_i)^2 + 6 * ncol^2)
+		double sum = 0;
+		for( double[] row : X ) {
+			double rsum = 0;
+			for( double v : row )
+				rsum += v;
+			sum += rsum * rsum;
+		}
+		return 2 * (sum + 6 * X[0].length * X[0].length);
+	}
+}
@@ -65,8 +65,10 @@ public class LoopRecompileTest extends AutomatedTestBase
 			
 			if( IPA )
 				Assert.assertTrue(RecompileStatistics.getRecompiledSBDAGs() <= 4);
-			else
+			else {
 				Assert.assertTrue(RecompileStatistics.getRecompiledSBDAGs() >= 4890);
+				Assert.assertTrue(RecompileStatistics.getInstGenTime() > 0);
+			}
 		}
 		finally {
 			OptimizerUtils.ALLOW_INTER_PROCEDURAL_ANALYSIS = oldFlagIPA;